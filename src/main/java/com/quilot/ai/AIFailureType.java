@@ -0,0 +1,46 @@
+package com.quilot.ai;
+
+/**
+ * Classifies why an AI request failed, so callers can react differently to outages,
+ * slow responses and configuration mistakes.
+ */
+public enum AIFailureType {
+
+    /** The request did not complete before its deadline. */
+    TIMEOUT(true),
+
+    /** The circuit breaker is open after repeated failures, so the request was not sent. */
+    CIRCUIT_OPEN(false),
+
+    /** Too many requests are already queued locally. */
+    OVERLOADED(false),
+
+    /** The service is unreachable or returned a transient server error. */
+    UNAVAILABLE(true),
+
+    /** The service rejected the request because a quota was exceeded. */
+    RATE_LIMITED(true),
+
+    /** The credentials are missing, invalid or lack permission. */
+    AUTHENTICATION(false),
+
+    /** The request or settings are invalid, e.g., an unknown model ID. */
+    INVALID_REQUEST(false),
+
+    /** Any other error. */
+    UNKNOWN(false);
+
+    private final boolean outage;
+
+    AIFailureType(boolean outage) {
+        this.outage = outage;
+    }
+
+    /**
+     * @return True if this failure suggests the service itself is unhealthy and should count
+     *         toward opening the circuit breaker.
+     */
+    public boolean isOutage() {
+        return outage;
+    }
+}
@@ -0,0 +1,60 @@
+package com.quilot.ai;
+
+import com.quilot.ai.settings.AIBackend;
+import com.quilot.ai.settings.IAISettingsManager;
+import com.quilot.utils.Logger;
+import lombok.Getter;
+
+import java.util.Objects;
+
+/**
+ * An {@link IAIService} that forwards each request to the backend selected in the AI settings,
+ * so switching between Vertex AI and the simulated backend takes effect without a restart.
+ */
+public class AIServiceRouter implements IAIService {
+
+    @Getter
+    private final IAISettingsManager settingsManager;
+    private final IAIService vertexService;
+    private final IAIService fakeService;
+    private volatile AIBackend lastBackend;
+
+    /**
+     * Constructs a new AIServiceRouter.
+     *
+     * @param settingsManager The manager providing the selected backend.
+     * @param vertexService The service used for {@link AIBackend#VERTEX}.
+     * @param fakeService The service used for {@link AIBackend#FAKE}.
+     */
+    public AIServiceRouter(IAISettingsManager settingsManager, IAIService vertexService, IAIService fakeService) {
+        this.settingsManager = Objects.requireNonNull(settingsManager, "IAISettingsManager cannot be null.");
+        this.vertexService = Objects.requireNonNull(vertexService, "Vertex AI service cannot be null.");
+        this.fakeService = Objects.requireNonNull(fakeService, "Fake AI service cannot be null.");
+    }
+
+    @Override
+    public void generateResponse(String prompt, AIResponseListener listener) {
+        activeService().generateResponse(prompt, listener);
+    }
+
+    @Override
+    public void cancelGeneration() {
+        vertexService.cancelGeneration();
+        fakeService.cancelGeneration();
+    }
+
+    @Override
+    public void clearHistory() {
+        vertexService.clearHistory();
+        fakeService.clearHistory();
+    }
+
+    private IAIService activeService() {
+        AIBackend backend = settingsManager.loadSettings().getBackend();
+        if (backend != lastBackend) {
+            Logger.info("AI requests are now served by the " + backend + " backend.");
+            lastBackend = backend;
+        }
+        return backend == AIBackend.FAKE ? fakeService : vertexService;
+    }
+}
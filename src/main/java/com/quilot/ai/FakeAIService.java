@@ -0,0 +1,151 @@
+package com.quilot.ai;
+
+import com.quilot.ai.settings.AIConfigSettings;
+import com.quilot.ai.settings.FakeLatencyProfile;
+import com.quilot.ai.settings.IAISettingsManager;
+import com.quilot.utils.CorrelationId;
+import com.quilot.utils.Logger;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A local stand-in for {@link VertexAIService} that answers from a template after a simulated delay.
+ * <p>
+ * The delay models a streaming model: a time to first token, followed by one token per word at the
+ * configured token rate, plus random jitter. A configurable fraction of requests fails with a
+ * transient {@link AIFailureType}. This makes it possible to exercise and load-test the UI,
+ * speculation and persistence paths without a Google Cloud project. Requests never block a thread
+ * while "generating", so many can be in flight at once.
+ */
+public class FakeAIService implements IAIService {
+
+    private static final List<AIFailureType> INJECTED_FAILURES = List.of(
+            AIFailureType.TIMEOUT, AIFailureType.UNAVAILABLE, AIFailureType.RATE_LIMITED);
+
+    @Getter
+    private final IAISettingsManager settingsManager;
+    private final Random random;
+    private final ScheduledExecutorService scheduler;
+    private final AtomicLong cancellationEpoch = new AtomicLong(0);
+
+    /**
+     * Constructs a new FakeAIService.
+     *
+     * @param settingsManager The manager providing the simulated latency and error settings.
+     */
+    public FakeAIService(IAISettingsManager settingsManager) {
+        this(settingsManager, new Random());
+    }
+
+    FakeAIService(IAISettingsManager settingsManager, Random random) {
+        this.settingsManager = Objects.requireNonNull(settingsManager, "IAISettingsManager cannot be null.");
+        this.random = random;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "FakeAIThread");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Logger.info("FakeAIService initialized.");
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This implementation fills the response template and delivers it after the simulated latency.
+     */
+    @Override
+    public void generateResponse(String prompt, AIResponseListener listener) {
+        Objects.requireNonNull(listener, "AIResponseListener cannot be null.");
+        if (prompt == null || prompt.trim().isEmpty()) {
+            listener.onFailure(AIFailureType.INVALID_REQUEST, "[AI: Please provide a valid prompt.]");
+            return;
+        }
+
+        AIConfigSettings settings = settingsManager.loadSettings();
+        String response = settings.getFakeResponseTemplate().replace("{prompt}", prompt.trim());
+        int timeToFirstToken = timeToFirstTokenMillis(settings);
+        int jitter = nextJitter(settings);
+        long epoch = cancellationEpoch.get();
+
+        if (random.nextDouble() < settings.getFakeErrorRate()) {
+            AIFailureType failureType = INJECTED_FAILURES.get(random.nextInt(INJECTED_FAILURES.size()));
+            schedule(timeToFirstToken + jitter, epoch, () -> {
+                Logger.warn("Simulated AI request failed with " + failureType + ".");
+                listener.onFailure(failureType, "[AI Error: Simulated " + failureType + " failure.]");
+            });
+            return;
+        }
+
+        long delayMillis = timeToFirstToken + generationMillis(response, settings) + jitter;
+        schedule(delayMillis, epoch, () -> {
+            Logger.info("Simulated AI responded after " + delayMillis + " ms: " + response);
+            listener.onResponse(response);
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This implementation drops every request currently in flight.
+     */
+    @Override
+    public void cancelGeneration() {
+        cancellationEpoch.incrementAndGet();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The simulated backend keeps no history, so this only logs the call.
+     */
+    @Override
+    public void clearHistory() {
+        Logger.info("Simulated AI conversation history cleared.");
+    }
+
+    /**
+     * Stops the timer thread. Pending responses are dropped.
+     */
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    private void schedule(long delayMillis, long epoch, Runnable delivery) {
+        scheduler.schedule(CorrelationId.wrap(() -> {
+            if (cancellationEpoch.get() == epoch) {
+                delivery.run();
+            }
+        }), delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private static int timeToFirstTokenMillis(AIConfigSettings settings) {
+        FakeLatencyProfile profile = settings.getFakeLatencyProfile();
+        return Math.max(0, profile == FakeLatencyProfile.CUSTOM ? settings.getFakeTimeToFirstTokenMillis() : profile.getTimeToFirstTokenMillis());
+    }
+
+    /**
+     * Approximates the streaming time as one token per whitespace-separated word.
+     */
+    private static long generationMillis(String response, AIConfigSettings settings) {
+        FakeLatencyProfile profile = settings.getFakeLatencyProfile();
+        int tokensPerSecond = profile == FakeLatencyProfile.CUSTOM ? settings.getFakeTokensPerSecond() : profile.getTokensPerSecond();
+        if (tokensPerSecond <= 0) {
+            return 0;
+        }
+        int tokens = response.isBlank() ? 0 : response.trim().split("\\s+").length;
+        return tokens * 1000L / tokensPerSecond;
+    }
+
+    private int nextJitter(AIConfigSettings settings) {
+        FakeLatencyProfile profile = settings.getFakeLatencyProfile();
+        int jitterMillis = profile == FakeLatencyProfile.CUSTOM ? settings.getFakeJitterMillis() : profile.getJitterMillis();
+        return jitterMillis > 0 ? random.nextInt(jitterMillis + 1) : 0;
+    }
+}
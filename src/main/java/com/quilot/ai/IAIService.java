@@ -13,12 +13,22 @@ public interface IAIService {
     /**
      * Sends a prompt to the AI model and generates a response asynchronously.
      * The result, whether successful or an error, is communicated through the provided listener.
+     * The caller's {@link com.quilot.utils.CorrelationId} stays current for the request's log
+     * messages and listener callbacks, even when they run on other threads.
      *
      * @param prompt The user-provided text prompt to send to the AI.
      * @param listener The callback listener to handle the AI's response or any errors.
      */
     void generateResponse(String prompt, AIResponseListener listener);
 
+    /**
+     * Abandons the generation request currently in progress, if any.
+     * The listener of a cancelled request is never notified, and a new request may be
+     * submitted immediately afterward. Implementations that cannot cancel may ignore this call.
+     */
+    default void cancelGeneration() {
+    }
+
     /**
      * Clears the entire conversation history maintained by the service.
      */
@@ -43,6 +53,17 @@ public interface IAIService {
          */
         void onResponse(String aiResponse);
 
+        /**
+         * Called when a better answer replaces one already delivered through {@link #onResponse},
+         * e.g., when the configured model finishes shortly after a faster model raced against it.
+         *
+         * @param aiResponse The complete, upgraded response text.
+         * @param modelId The ID of the model that produced the upgraded response.
+         */
+        default void onResponseUpgraded(String aiResponse, String modelId) {
+            Logger.info("AI response upgraded by " + modelId + " but the listener does not handle upgrades.");
+        }
+
         /**
          * Called when an error occurs during the AI response generation.
          *
@@ -51,5 +72,16 @@ public interface IAIService {
         default void onError(String errorMessage) {
             Logger.error("AI Service Error: " + errorMessage);
         }
+
+        /**
+         * Called instead of {@link #onError} by services that classify their failures.
+         * The default implementation delegates to {@link #onError}.
+         *
+         * @param failureType Why the request failed.
+         * @param errorMessage A user-friendly message describing the error.
+         */
+        default void onFailure(AIFailureType failureType, String errorMessage) {
+            onError(errorMessage);
+        }
     }
 }
@@ -9,21 +9,50 @@ import com.google.cloud.vertexai.api.GenerationConfig;
 import com.google.cloud.vertexai.api.Part;
 import com.google.cloud.vertexai.generativeai.GenerativeModel;
 import com.google.cloud.vertexai.generativeai.ResponseStream;
+import com.quilot.ai.resilience.CircuitBreaker;
+import com.quilot.ai.retrieval.KnowledgeBase;
 import com.quilot.ai.settings.AIConfigSettings;
 import com.quilot.ai.settings.IAISettingsManager;
+import com.quilot.ai.settings.ModelRaceMode;
 import com.quilot.exceptions.ai.AIException;
 import com.quilot.exceptions.ai.AIInitializationException;
+import com.quilot.exceptions.ai.AIRequestException;
+import com.quilot.metrics.LatencyHistogram;
+import com.quilot.metrics.PipelineStage;
+import com.quilot.metrics.jfr.AiFirstTokenEvent;
+import com.quilot.metrics.jfr.AiRequestEvent;
+import com.quilot.utils.CorrelationId;
 import com.quilot.utils.Logger;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.Getter;
 
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Concrete implementation of {@link IAIService} that interacts with Google Cloud Vertex AI.
@@ -39,14 +68,35 @@ public class VertexAIService implements IAIService {
     private boolean isClientInitialized = false;
     private final IAISettingsManager settingsManager;
     private final AtomicBoolean isGenerating = new AtomicBoolean(false);
-
-    private List<Content> chatHistory;
+    private final AtomicLong activeGenerationId = new AtomicLong(0);
+    private final Object generationLock = new Object();
+    private final KnowledgeBase knowledgeBase = new KnowledgeBase();
+    private final Map<String, LatencyHistogram> modelLatencies = new ConcurrentHashMap<>();
+    private final CircuitBreaker circuitBreaker = createCircuitBreaker(AIConfigSettings.builder().build());
+    private final ThreadPoolExecutor requestExecutor = createRequestExecutor();
+    private final ScheduledExecutorService deadlineScheduler = Executors.newSingleThreadScheduledExecutor(
+            daemonThreadFactory("VertexAIDeadlineThread"));
+    // The running tasks of each generation, so that an abandoned request can interrupt a hung stream
+    @Getter(AccessLevel.NONE)
+    private final Map<Long, Set<Future<?>>> generationTasks = new ConcurrentHashMap<>();
+    @Getter(AccessLevel.NONE)
+    private final ResponseStreamOpener streamOpener;
+
+    // Guarded by generationLock: abandoned and cancelled requests keep running on worker threads.
+    @Getter(AccessLevel.NONE)
+    private final List<Content> chatHistory = new ArrayList<>();
     private final String ADMIN_PROMPT = """
             Please respond concisely and clearly. \
             Do not include any special characters like : * - or emojis. \
             Avoid extra blank lines or spaces. \
             Keep the response under 300 words.
             """;
+    private static final String CONTEXT_PREFIX = "Background notes about the candidate (use only if relevant):\n";
+    private static final String QUESTION_PREFIX = "\nQuestion: ";
+    private static final int MIN_SAMPLES_FOR_P95_HEDGE = 20;
+    // A request needs up to three threads while racing: the coordinator and one per model.
+    private static final int REQUEST_THREADS = 6;
+    private static final int REQUEST_QUEUE_CAPACITY = 12;
 
     /**
      * Constructs a new VertexAIService.
@@ -61,7 +111,7 @@ public class VertexAIService implements IAIService {
     public VertexAIService(String initialCredentialPath, IAISettingsManager settingsManager) {
         this.settingsManager = Objects.requireNonNull(settingsManager, "IAISettingsManager cannot be null.");
         this.credentialPath = initialCredentialPath;
-        this.chatHistory = new ArrayList<>();
+        this.streamOpener = this::openStream;
         Logger.info("VertexAIService initialized. Client initialization deferred.");
 
         try {
@@ -71,6 +121,16 @@ public class VertexAIService implements IAIService {
         }
     }
 
+    /**
+     * Constructs a service that streams responses from the given opener instead of Vertex AI.
+     * Used by tests.
+     */
+    VertexAIService(IAISettingsManager settingsManager, ResponseStreamOpener streamOpener) {
+        this.settingsManager = Objects.requireNonNull(settingsManager, "IAISettingsManager cannot be null.");
+        this.streamOpener = streamOpener;
+        this.isClientInitialized = true;
+    }
+
     /**
      * Attempts to initialize the Google Cloud VertexAI client using the current credential path and settings.
      * If a client is already active, it will be closed first.
@@ -127,110 +187,619 @@ public class VertexAIService implements IAIService {
     /**
      * {@inheritDoc}
      * <p>
-     * This implementation sends the prompt to the Vertex AI model asynchronously. It builds
-     * the request using the current settings from the {@link IAISettingsManager} and
-     * adds the new prompt and response to the conversation history.
+     * This implementation sends the prompt to the Vertex AI model asynchronously on a dedicated,
+     * bounded executor. It builds the request using the current settings from the
+     * {@link IAISettingsManager} and adds the new prompt and response to the conversation history.
+     * Each request has a deadline; if no answer arrives in time, the request is abandoned, its
+     * workers are interrupted and it is reported as {@link AIFailureType#TIMEOUT}. Repeated timeouts
+     * or outage errors open a circuit breaker, during which requests fail fast with
+     * {@link AIFailureType#CIRCUIT_OPEN}.
      */
     @Override
     public void generateResponse(String prompt, AIResponseListener listener) {
         Objects.requireNonNull(listener, "AIResponseListener cannot be null.");
 
-        if (!isClientInitialized || vertexAI == null) {
+        if (!isClientInitialized) {
             Logger.error("Vertex AI client is not initialized. Cannot generate response.");
-            listener.onError("[AI: Client not initialized. Check credentials and configuration.]");
+            listener.onFailure(AIFailureType.AUTHENTICATION, "[AI: Client not initialized. Check credentials and configuration.]");
             return;
         }
         if (prompt == null || prompt.trim().isEmpty()) {
-            listener.onError("[AI: Please provide a valid prompt.]");
+            listener.onFailure(AIFailureType.INVALID_REQUEST, "[AI: Please provide a valid prompt.]");
             return;
         }
 
-        if (!isGenerating.compareAndSet(false, true)) {
-            Logger.warn("Another generation request is already in progress. Ignoring new request.");
-            listener.onError("[AI: Another request is already being processed.]");
+        AIConfigSettings currentSettings = settingsManager.loadSettings();
+        circuitBreaker.reconfigure(currentSettings.getCircuitBreakerFailureThreshold(), currentSettings.getCircuitBreakerOpenMillis());
+        if (!circuitBreaker.tryAcquire()) {
+            long retrySeconds = Math.max(1, TimeUnit.MILLISECONDS.toSeconds(circuitBreaker.getRemainingOpenMillis() + 999));
+            Logger.warn("Circuit breaker is open. Rejecting AI request without contacting Vertex AI.");
+            listener.onFailure(AIFailureType.CIRCUIT_OPEN,
+                    "[AI: Service unavailable after repeated failures. Try again in " + retrySeconds + " s.]");
             return;
         }
 
-        CompletableFuture.runAsync(() -> {
-            try {
-                String combinedPrompt = ADMIN_PROMPT + prompt;
-
-                chatHistory.add(Content.newBuilder()
-                        .addParts(Part.newBuilder().setText(combinedPrompt).build())
-                        .setRole("user")
-                        .build());
-
-                Logger.info("Sending prompt to AI: " + prompt);
-
-                AIConfigSettings currentSettings = settingsManager.loadSettings();
-                GenerationConfig generationConfig = GenerationConfig.newBuilder()
-                        .setTemperature((float) currentSettings.getTemperature())
-                        .setMaxOutputTokens(currentSettings.getMaxOutputTokens())
-                        .setTopP((float) currentSettings.getTopP())
-                        .setTopK(currentSettings.getTopK())
-                        .build();
-
-                GenerativeModel generativeModel = new GenerativeModel.Builder()
-                        .setModelName(currentSettings.getModelId())
-                        .setVertexAi(vertexAI)
-                        .setGenerationConfig(generationConfig)
-                        .build();
-
-                ResponseStream<GenerateContentResponse> responseStream = generativeModel.generateContentStream(combinedPrompt);
-                StringBuilder aiResponseBuilder = new StringBuilder();
-
-                responseStream.forEach(response -> {
-                    Logger.info("Response: " + response);
-                    if (response.getCandidatesCount() > 0) {
-                        var candidate = response.getCandidates(0);
-                        if (candidate.hasContent() && candidate.getContent().getPartsCount() > 0) {
-                            String text = candidate.getContent().getParts(0).getText();
-                            aiResponseBuilder.append(text);
-                        } else {
-                            Logger.warn("Candidate content or parts missing.");
-                        }
-                    } else {
-                        Logger.warn("No candidates in response.");
-                    }
-                });
+        final long generationId;
+        synchronized (generationLock) {
+            if (!isGenerating.compareAndSet(false, true)) {
+                circuitBreaker.recordIgnored();
+                Logger.warn("Another generation request is already in progress. Ignoring new request.");
+                listener.onError("[AI: Another request is already being processed.]");
+                return;
+            }
+            generationId = activeGenerationId.incrementAndGet();
+        }
 
-                String finalResponse = aiResponseBuilder.toString();
+        int timeoutMillis = currentSettings.getRequestTimeoutMillis();
+        long deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        SingleOutcomeListener outcome = new SingleOutcomeListener(listener);
+        try {
+            submitTask(generationId, () -> {
+                runGeneration(prompt, currentSettings, generationId, deadlineNanos, outcome);
+                return null;
+            });
+        } catch (RejectedExecutionException e) {
+            releaseGeneration(generationId);
+            circuitBreaker.recordIgnored();
+            Logger.warn("AI request queue is full. Rejecting request.");
+            outcome.onFailure(AIFailureType.OVERLOADED, "[AI: Too many requests are queued. Please try again.]");
+            return;
+        }
+        deadlineScheduler.schedule(CorrelationId.wrap(() -> onDeadlineExceeded(generationId, timeoutMillis, outcome)), timeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void runGeneration(String prompt, AIConfigSettings currentSettings, long generationId, long deadlineNanos, AIResponseListener listener) {
+        Content userContent = null;
+        try {
+            String combinedPrompt = ADMIN_PROMPT + buildGroundingContext(prompt, currentSettings) + prompt;
+
+            userContent = Content.newBuilder()
+                    .addParts(Part.newBuilder().setText(combinedPrompt).build())
+                    .setRole("user")
+                    .build();
+            synchronized (generationLock) {
+                ensureCurrentGeneration(generationId);
+                chatHistory.add(userContent);
+            }
+
+            Logger.info("Sending prompt to AI: " + prompt);
+
+            if (isRacing(currentSettings)) {
+                raceModels(combinedPrompt, currentSettings, generationId, deadlineNanos, listener);
+            } else {
+                String finalResponse = streamResponse(currentSettings.getModelId(), combinedPrompt, currentSettings, generationId, deadlineNanos);
+                ensureCurrentGeneration(generationId, deadlineNanos);
                 if (finalResponse.isEmpty()) {
                     Logger.warn("Received empty response from Vertex AI.");
                     listener.onResponse("[AI: No response generated.]");
                 } else {
-                    chatHistory.add(Content.newBuilder()
-                            .addParts(Part.newBuilder().setText(finalResponse).build())
-                            .setRole("model")
-                            .build());
+                    addModelTurn(generationId, finalResponse);
                     Logger.info("AI responded: " + finalResponse);
                     listener.onResponse(finalResponse);
                 }
+            }
+            circuitBreaker.recordSuccess();
+
+        } catch (CancellationException e) {
+            discardGeneration(generationId, userContent);
 
-            } catch (ApiException e) {
-                Logger.error("A Google Cloud API error occurred while generating response.", e);
-                listener.onError("[AI Error: Could not connect to the service. Code: " + e.getStatusCode().getCode() + "]");
+        } catch (Exception e) {
+            if (!isCurrentGeneration(generationId)) {
+                discardGeneration(generationId, userContent); // Interrupted after being cancelled or abandoned
+                return;
+            }
+            AIFailureType failureType = classifyFailure(e);
+            if (failureType.isOutage()) {
+                circuitBreaker.recordFailure();
+            } else {
+                circuitBreaker.recordIgnored();
+            }
 
-            } catch (AIException e) {
+            if (e instanceof ApiException apiException) {
+                Logger.error("A Google Cloud API error occurred while generating response (" + failureType + ").", e);
+                listener.onFailure(failureType, "[AI Error: Could not connect to the service. Code: " + apiException.getStatusCode().getCode() + "]");
+            } else if (e instanceof AIRequestException) {
+                Logger.error("AI request failed (" + failureType + ").", e);
+                listener.onFailure(failureType, "[AI Error: " + e.getMessage() + "]");
+            } else if (e instanceof AIException) {
                 Logger.error("An AI service error occurred during response generation.", e);
-                listener.onError("[AI Error: A service configuration issue occurred. " + e.getMessage() + "]");
+                listener.onFailure(failureType, "[AI Error: A service configuration issue occurred. " + e.getMessage() + "]");
+            } else {
+                Logger.error("An unexpected error occurred during response generation (" + failureType + ").", e);
+                listener.onFailure(failureType, "[AI Error: An unexpected issue occurred. " + e.getMessage() + "]");
+            }
 
-            } catch (Exception e) {
-                Logger.error("An unexpected error occurred during response generation.", e);
-                listener.onError("[AI Error: An unexpected issue occurred. " + e.getMessage() + "]");
+        } finally {
+            releaseGeneration(generationId);
+        }
+    }
 
-            } finally {
+    private void discardGeneration(long generationId, Content userContent) {
+        synchronized (generationLock) {
+            chatHistory.remove(userContent);
+        }
+        circuitBreaker.recordIgnored();
+        Logger.info("Discarded result of cancelled generation request " + generationId + ".");
+    }
+
+    /**
+     * Abandons a request that has not produced an answer by its deadline, and interrupts its workers
+     * so that a hung stream does not keep a thread of the bounded pool forever. Any late result is
+     * discarded because its generation is no longer current.
+     */
+    private void onDeadlineExceeded(long generationId, int timeoutMillis, SingleOutcomeListener listener) {
+        synchronized (generationLock) {
+            if (!isCurrentGeneration(generationId) || listener.isSettled()) {
+                return;
+            }
+            activeGenerationId.incrementAndGet();
+            isGenerating.set(false);
+        }
+        cancelTasks(generationId);
+        circuitBreaker.recordFailure();
+        Logger.warn("Generation request " + generationId + " exceeded its " + timeoutMillis + " ms deadline and was abandoned.");
+        listener.onFailure(AIFailureType.TIMEOUT, "[AI: No response within " + timeoutMillis / 1000.0 + " s. Please try again.]");
+    }
+
+    /**
+     * Creates the bounded pool that runs Vertex AI calls, so hung streams cannot starve the
+     * common ForkJoin pool used elsewhere in the application.
+     */
+    private static ThreadPoolExecutor createRequestExecutor() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(REQUEST_THREADS, REQUEST_THREADS,
+                30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(REQUEST_QUEUE_CAPACITY),
+                daemonThreadFactory("VertexAIWorkerThread"),
+                new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private static CircuitBreaker createCircuitBreaker(AIConfigSettings defaults) {
+        return new CircuitBreaker("Vertex AI", defaults.getCircuitBreakerFailureThreshold(), defaults.getCircuitBreakerOpenMillis());
+    }
+
+    private static ThreadFactory daemonThreadFactory(String namePrefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, namePrefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private void releaseGeneration(long generationId) {
+        synchronized (generationLock) {
+            if (isCurrentGeneration(generationId)) {
                 isGenerating.set(false);
             }
+        }
+    }
+
+    /**
+     * Runs a task of a generation on the request pool, tracked so that {@link #cancelTasks} can interrupt it.
+     *
+     * @return Completes with the task's result, or exceptionally if it failed or was cancelled.
+     * @throws RejectedExecutionException if the pool's queue is full.
+     */
+    private <T> CompletableFuture<T> submitTask(long generationId, Callable<T> work) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        FutureTask<T> task = new FutureTask<>(work) {
+            @Override
+            protected void done() {
+                untrackTask(generationId, this);
+                try {
+                    result.complete(get());
+                } catch (ExecutionException e) {
+                    result.completeExceptionally(e.getCause());
+                } catch (CancellationException | InterruptedException e) {
+                    result.completeExceptionally(e);
+                }
+            }
+        };
+        generationTasks.compute(generationId, (_, tasks) -> {
+            Set<Future<?>> running = tasks != null ? tasks : ConcurrentHashMap.newKeySet();
+            running.add(task);
+            return running;
+        });
+        try {
+            requestExecutor.execute(CorrelationId.wrap(task));
+        } catch (RejectedExecutionException e) {
+            untrackTask(generationId, task);
+            throw e;
+        }
+        return result;
+    }
+
+    private void untrackTask(long generationId, Future<?> task) {
+        generationTasks.computeIfPresent(generationId, (_, tasks) -> {
+            tasks.remove(task);
+            return tasks.isEmpty() ? null : tasks;
         });
     }
 
+    /**
+     * Interrupts the running tasks of an abandoned generation. A stream blocked waiting for its next
+     * chunk is interrupted; tasks that have not started yet never run.
+     */
+    private void cancelTasks(long generationId) {
+        Set<Future<?>> tasks = generationTasks.remove(generationId);
+        if (tasks != null) {
+            tasks.forEach(task -> task.cancel(true));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The cancelled request's workers are interrupted, its result is discarded and the service
+     * accepts new requests immediately.
+     */
+    @Override
+    public void cancelGeneration() {
+        long cancelledId;
+        synchronized (generationLock) {
+            if (!isGenerating.get()) {
+                return;
+            }
+            cancelledId = activeGenerationId.getAndIncrement();
+            isGenerating.set(false);
+        }
+        cancelTasks(cancelledId);
+        Logger.info("Cancelled generation request " + cancelledId + ".");
+    }
+
+    /**
+     * Retrieves the knowledge base passages most relevant to the prompt, if any files are configured.
+     *
+     * @return A context block ending with the question prefix, or an empty string.
+     */
+    private String buildGroundingContext(String prompt, AIConfigSettings settings) {
+        List<String> files = settings.getKnowledgeBaseFilesAsList();
+        if (files.isEmpty()) {
+            return "";
+        }
+        knowledgeBase.ensureIndexed(files);
+        String context = knowledgeBase.buildContext(prompt, settings.getRetrievalTopK(), settings.getRetrievalMaxContextBytes());
+        return context.isEmpty() ? "" : CONTEXT_PREFIX + context + QUESTION_PREFIX;
+    }
+
+    /**
+     * Streams a complete answer from a single model and records its latency.
+     *
+     * @return The concatenated response text, possibly empty.
+     * @throws CancellationException if the generation is cancelled while streaming.
+     * @throws AIRequestException if the deadline passes while streaming.
+     */
+    private String streamResponse(String modelId, String combinedPrompt, AIConfigSettings settings, long generationId, long deadlineNanos) throws IOException {
+        long start = System.nanoTime();
+        AiRequestEvent requestEvent = new AiRequestEvent();
+        AiFirstTokenEvent firstTokenEvent = new AiFirstTokenEvent();
+        requestEvent.begin();
+        firstTokenEvent.begin();
+        requestEvent.model = modelId;
+        requestEvent.promptLength = combinedPrompt.length();
+        GenerationConfig generationConfig = GenerationConfig.newBuilder()
+                .setTemperature((float) settings.getTemperature())
+                .setMaxOutputTokens(settings.getMaxOutputTokens())
+                .setTopP((float) settings.getTopP())
+                .setTopK(settings.getTopK())
+                .build();
+
+        StringBuilder aiResponseBuilder = new StringBuilder();
+        AtomicBoolean firstResponse = new AtomicBoolean(true);
+        try {
+            Iterable<GenerateContentResponse> responseStream = streamOpener.open(modelId, generationConfig, combinedPrompt);
+            responseStream.forEach(response -> {
+                if (firstResponse.getAndSet(false)) {
+                    PipelineStage.AI_FIRST_TOKEN.recordSince(start);
+                    Logger.debug(() -> "First token from " + modelId + " after " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms.");
+                    firstTokenEvent.model = modelId;
+                    firstTokenEvent.commit();
+                }
+                ensureCurrentGeneration(generationId, deadlineNanos);
+                Logger.debug(() -> "Response from " + modelId + ": " + response);
+                if (response.getCandidatesCount() > 0) {
+                    var candidate = response.getCandidates(0);
+                    if (candidate.hasContent() && candidate.getContent().getPartsCount() > 0) {
+                        String text = candidate.getContent().getParts(0).getText();
+                        aiResponseBuilder.append(text);
+                    } else {
+                        Logger.warn("Candidate content or parts missing.");
+                    }
+                } else {
+                    Logger.warn("No candidates in response.");
+                }
+            });
+            requestEvent.succeeded = true;
+        } finally {
+            requestEvent.responseLength = aiResponseBuilder.length();
+            requestEvent.commit();
+        }
+
+        long elapsedNanos = System.nanoTime() - start;
+        PipelineStage.AI_TOTAL.recordNanos(elapsedNanos);
+        LatencyHistogram histogram = modelLatencies.computeIfAbsent(modelId, _ -> new LatencyHistogram());
+        histogram.recordNanos(elapsedNanos);
+        Logger.info("Latency for " + modelId + ": " + TimeUnit.NANOSECONDS.toMillis(elapsedNanos) + " ms (" + histogram.summary() + ")");
+        return aiResponseBuilder.toString();
+    }
+
+    private ResponseStream<GenerateContentResponse> openStream(String modelId, GenerationConfig generationConfig, String prompt) throws IOException {
+        GenerativeModel generativeModel = new GenerativeModel.Builder()
+                .setModelName(modelId)
+                .setVertexAi(vertexAI)
+                .setGenerationConfig(generationConfig)
+                .build();
+        return generativeModel.generateContentStream(prompt);
+    }
+
+    /**
+     * Queries the fast model alongside the configured model (immediately in RACE mode, or once the
+     * configured model misses its deadline in HEDGE mode). The first non-empty answer is delivered
+     * through {@link AIResponseListener#onResponse} and recorded as the model turn. If that was the
+     * fast model's, the generation is released so the next question is accepted at once, and the
+     * configured model may still replace the answer and its turn through
+     * {@link AIResponseListener#onResponseUpgraded} within the upgrade window, unless another
+     * request has started by then.
+     */
+    private void raceModels(String combinedPrompt, AIConfigSettings settings, long generationId, long deadlineNanos, AIResponseListener listener) throws Exception {
+        String primaryModel = settings.getModelId();
+        String fastModel = settings.getFastModelId();
+        CompletableFuture<ModelAnswer> primary = streamAsync(primaryModel, combinedPrompt, settings, generationId, deadlineNanos);
+
+        if (settings.getRaceMode() == ModelRaceMode.HEDGE) {
+            long deadline = Math.min(hedgeDeadlineMillis(primaryModel, settings), remainingMillis(deadlineNanos));
+            try {
+                ModelAnswer answer = primary.get(deadline, TimeUnit.MILLISECONDS);
+                if (!answer.text().isEmpty()) {
+                    ensureCurrentGeneration(generationId, deadlineNanos);
+                    addModelTurn(generationId, answer.text());
+                    Logger.info("AI responded (" + primaryModel + ", within hedge deadline): " + answer.text());
+                    listener.onResponse(answer.text());
+                    return;
+                }
+            } catch (TimeoutException e) {
+                Logger.info(primaryModel + " missed its " + deadline + " ms hedge deadline. Hedging with " + fastModel + ".");
+            } catch (ExecutionException e) {
+                Logger.warn(primaryModel + " failed before its hedge deadline. Falling back to " + fastModel + ".");
+            }
+        }
+
+        CompletableFuture<ModelAnswer> fast = streamAsync(fastModel, combinedPrompt, settings, generationId, deadlineNanos);
+        ModelAnswer first;
+        try {
+            first = firstNonEmpty(primary, fast).get(remainingMillis(deadlineNanos), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception cause ? cause : e;
+        } catch (TimeoutException e) {
+            throw new AIRequestException(AIFailureType.TIMEOUT, "Neither model answered before the deadline.", e);
+        }
+
+        ensureCurrentGeneration(generationId, deadlineNanos);
+        Content turn = addModelTurn(generationId, first.text());
+        Logger.info("AI responded (" + first.modelId() + ", first to finish): " + first.text());
+        listener.onResponse(first.text());
+        if (first.modelId().equals(primaryModel)) {
+            return;
+        }
+
+        releaseGeneration(generationId); // Waiting for the upgrade must not hold up the next question
+        primary.orTimeout(settings.getUpgradeWindowMillis(), TimeUnit.MILLISECONDS)
+                .whenComplete((upgrade, error) -> {
+                    if (error != null) {
+                        cancelTasks(generationId); // Do not leave the configured model's stream running
+                    }
+                    if (error != null || upgrade.text().isEmpty()) {
+                        Logger.info(primaryModel + " did not finish within the upgrade window. Keeping the " + fastModel + " answer.");
+                    } else if (!replaceModelTurn(generationId, turn, upgrade.text())) {
+                        Logger.info("Discarded the late " + primaryModel + " answer; another request has started.");
+                    } else {
+                        Logger.info("Upgrading displayed answer with the response from " + primaryModel + ".");
+                        listener.onResponseUpgraded(upgrade.text(), primaryModel);
+                    }
+                });
+    }
+
+    private CompletableFuture<ModelAnswer> streamAsync(String modelId, String combinedPrompt, AIConfigSettings settings, long generationId, long deadlineNanos) {
+        return submitTask(generationId, () -> new ModelAnswer(modelId, streamResponse(modelId, combinedPrompt, settings, generationId, deadlineNanos)));
+    }
+
+    /**
+     * Completes with the first answer that has text, or exceptionally once both attempts have failed.
+     */
+    private static CompletableFuture<ModelAnswer> firstNonEmpty(CompletableFuture<ModelAnswer> a, CompletableFuture<ModelAnswer> b) {
+        CompletableFuture<ModelAnswer> result = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        for (CompletableFuture<ModelAnswer> attempt : List.of(a, b)) {
+            attempt.whenComplete((answer, error) -> {
+                if (error == null && !answer.text().isEmpty()) {
+                    result.complete(answer);
+                } else if (failures.incrementAndGet() == 2) {
+                    result.completeExceptionally(error != null ? error
+                            : new AIException("Both models returned an empty response."));
+                }
+            });
+        }
+        return result;
+    }
+
+    /**
+     * Uses the configured model's observed p95 latency as the hedge deadline once enough samples exist.
+     */
+    private long hedgeDeadlineMillis(String modelId, AIConfigSettings settings) {
+        LatencyHistogram histogram = modelLatencies.get(modelId);
+        if (histogram == null || histogram.getCount() < MIN_SAMPLES_FOR_P95_HEDGE) {
+            return settings.getHedgeDelayMillis();
+        }
+        return Math.max(1, histogram.getPercentileMillis(95));
+    }
+
+    private boolean isRacing(AIConfigSettings settings) {
+        return settings.getRaceMode() != ModelRaceMode.OFF
+                && settings.getFastModelId() != null
+                && !settings.getFastModelId().isBlank()
+                && !settings.getFastModelId().equals(settings.getModelId());
+    }
+
+    /**
+     * Records an answer as the model turn of its generation.
+     *
+     * @return The recorded turn.
+     * @throws CancellationException if the generation is no longer current, in which case nothing is recorded.
+     */
+    private Content addModelTurn(long generationId, String response) {
+        Content turn = createModelTurn(response);
+        synchronized (generationLock) {
+            ensureCurrentGeneration(generationId);
+            chatHistory.add(turn);
+        }
+        return turn;
+    }
+
+    /**
+     * Replaces a recorded model turn with an upgraded answer, if its generation is still the latest.
+     *
+     * @return True if the turn was replaced.
+     */
+    private boolean replaceModelTurn(long generationId, Content turn, String response) {
+        synchronized (generationLock) {
+            int index = chatHistory.indexOf(turn);
+            if (!isCurrentGeneration(generationId) || index < 0) {
+                return false;
+            }
+            chatHistory.set(index, createModelTurn(response));
+            return true;
+        }
+    }
+
+    private static Content createModelTurn(String response) {
+        return Content.newBuilder()
+                .addParts(Part.newBuilder().setText(response).build())
+                .setRole("model")
+                .build();
+    }
+
+    private void ensureCurrentGeneration(long generationId) {
+        if (!isCurrentGeneration(generationId)) {
+            throw new CancellationException("Generation " + generationId + " was cancelled.");
+        }
+    }
+
+    private void ensureCurrentGeneration(long generationId, long deadlineNanos) {
+        ensureCurrentGeneration(generationId);
+        if (System.nanoTime() - deadlineNanos > 0) {
+            throw new AIRequestException(AIFailureType.TIMEOUT, "The request exceeded its deadline.");
+        }
+    }
+
+    private static long remainingMillis(long deadlineNanos) {
+        return Math.max(0, TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime()));
+    }
+
+    /**
+     * Maps an exception raised while generating a response to a failure category.
+     */
+    static AIFailureType classifyFailure(Throwable error) {
+        for (Throwable t = error; t != null; t = t.getCause()) {
+            if (t instanceof AIRequestException requestException) {
+                return requestException.getFailureType();
+            }
+            if (t instanceof ApiException apiException) {
+                return switch (apiException.getStatusCode().getCode()) {
+                    case DEADLINE_EXCEEDED -> AIFailureType.TIMEOUT;
+                    case UNAVAILABLE, INTERNAL, ABORTED -> AIFailureType.UNAVAILABLE;
+                    case RESOURCE_EXHAUSTED -> AIFailureType.RATE_LIMITED;
+                    case UNAUTHENTICATED, PERMISSION_DENIED -> AIFailureType.AUTHENTICATION;
+                    case INVALID_ARGUMENT, NOT_FOUND -> AIFailureType.INVALID_REQUEST;
+                    default -> AIFailureType.UNKNOWN;
+                };
+            }
+            if (t instanceof TimeoutException) {
+                return AIFailureType.TIMEOUT;
+            }
+            if (t instanceof RejectedExecutionException) {
+                return AIFailureType.OVERLOADED;
+            }
+            if (t instanceof IOException) {
+                return AIFailureType.UNAVAILABLE;
+            }
+        }
+        return error instanceof AIException ? AIFailureType.INVALID_REQUEST : AIFailureType.UNKNOWN;
+    }
+
+    private boolean isCurrentGeneration(long generationId) {
+        return activeGenerationId.get() == generationId;
+    }
+
+    /**
+     * Opens the response stream of a model for a prompt. The stream's iterator blocks until the next
+     * chunk arrives and can be interrupted.
+     */
+    @FunctionalInterface
+    interface ResponseStreamOpener {
+        Iterable<GenerateContentResponse> open(String modelId, GenerationConfig generationConfig, String prompt) throws IOException;
+    }
+
+    /**
+     * The complete answer produced by one model.
+     */
+    private record ModelAnswer(String modelId, String text) {
+    }
+
+    /**
+     * Ensures a request reports exactly one outcome, whether it comes from the worker or the
+     * deadline watchdog. Upgrades are only forwarded after a successful response.
+     */
+    private static final class SingleOutcomeListener implements AIResponseListener {
+        private final AIResponseListener delegate;
+        private final AtomicBoolean settled = new AtomicBoolean(false);
+        private volatile boolean answered;
+
+        private SingleOutcomeListener(AIResponseListener delegate) {
+            this.delegate = delegate;
+        }
+
+        boolean isSettled() {
+            return settled.get();
+        }
+
+        @Override
+        public void onResponse(String aiResponse) {
+            if (settled.compareAndSet(false, true)) {
+                answered = true;
+                delegate.onResponse(aiResponse);
+            }
+        }
+
+        @Override
+        public void onResponseUpgraded(String aiResponse, String modelId) {
+            if (answered) {
+                delegate.onResponseUpgraded(aiResponse, modelId);
+            }
+        }
+
+        @Override
+        public void onError(String errorMessage) {
+            onFailure(AIFailureType.UNKNOWN, errorMessage);
+        }
+
+        @Override
+        public void onFailure(AIFailureType failureType, String errorMessage) {
+            if (settled.compareAndSet(false, true)) {
+                delegate.onFailure(failureType, errorMessage);
+            }
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public void clearHistory() {
-        this.chatHistory.clear();
+        synchronized (generationLock) {
+            chatHistory.clear();
+        }
         Logger.info("AI conversation history cleared.");
     }
 
@@ -242,6 +811,13 @@ public class VertexAIService implements IAIService {
         return settingsManager;
     }
 
+    /**
+     * @return The number of requests waiting for a worker thread.
+     */
+    public int getQueuedRequestCount() {
+        return requestExecutor.getQueue().size();
+    }
+
     /**
      * Closes the Vertex AI client and releases all associated resources.
      * This method should be called on application shutdown.
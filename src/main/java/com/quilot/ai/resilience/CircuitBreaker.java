@@ -0,0 +1,136 @@
+package com.quilot.ai.resilience;
+
+import com.quilot.utils.Logger;
+
+import java.util.function.LongSupplier;
+
+/**
+ * A consecutive-failure circuit breaker.
+ * <p>
+ * While CLOSED, requests pass through and consecutive outage failures are counted. Reaching the
+ * threshold opens the circuit, and requests fail fast without touching the network. After the open
+ * duration, a single trial request is let through (HALF_OPEN): success closes the circuit again,
+ * failure re-opens it for another full duration.
+ */
+public class CircuitBreaker {
+
+    /**
+     * The state of the breaker.
+     */
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final String name;
+    private final LongSupplier clockMillis;
+
+    private int failureThreshold;
+    private long openDurationMillis;
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAtMillis;
+    private boolean trialInFlight;
+
+    /**
+     * Constructs a new CircuitBreaker using the system clock.
+     *
+     * @param name A name used in log messages.
+     * @param failureThreshold The number of consecutive failures that opens the circuit.
+     * @param openDurationMillis How long the circuit stays open before a trial request is allowed.
+     */
+    public CircuitBreaker(String name, int failureThreshold, long openDurationMillis) {
+        this(name, failureThreshold, openDurationMillis, System::currentTimeMillis);
+    }
+
+    CircuitBreaker(String name, int failureThreshold, long openDurationMillis, LongSupplier clockMillis) {
+        this.name = name;
+        this.clockMillis = clockMillis;
+        reconfigure(failureThreshold, openDurationMillis);
+    }
+
+    /**
+     * Updates the thresholds, e.g., after settings changed. The current state is kept.
+     */
+    public synchronized void reconfigure(int failureThreshold, long openDurationMillis) {
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openDurationMillis = Math.max(0, openDurationMillis);
+    }
+
+    /**
+     * Asks for permission to send a request. Every granted request must be followed by
+     * {@link #recordSuccess()}, {@link #recordFailure()} or {@link #recordIgnored()}.
+     *
+     * @return True if the request may proceed, false if it should fail fast.
+     */
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (clockMillis.getAsLong() - openedAtMillis < openDurationMillis) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            Logger.info("Circuit breaker '" + name + "' is half-open. Sending a trial request.");
+        }
+        if (state == State.HALF_OPEN) {
+            if (trialInFlight) {
+                return false;
+            }
+            trialInFlight = true;
+        }
+        return true;
+    }
+
+    /**
+     * Records a successful request, closing the circuit.
+     */
+    public synchronized void recordSuccess() {
+        if (state != State.CLOSED) {
+            Logger.info("Circuit breaker '" + name + "' closed after a successful request.");
+        }
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        trialInFlight = false;
+    }
+
+    /**
+     * Records a failure that indicates the service is unhealthy.
+     */
+    public synchronized void recordFailure() {
+        trialInFlight = false;
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            if (state != State.OPEN) {
+                Logger.warn("Circuit breaker '" + name + "' opened after " + consecutiveFailures
+                        + " consecutive failure(s). Failing fast for " + openDurationMillis + " ms.");
+            }
+            state = State.OPEN;
+            openedAtMillis = clockMillis.getAsLong();
+        }
+    }
+
+    /**
+     * Records a request whose outcome says nothing about service health, e.g., a cancellation
+     * or an invalid request. A half-open trial slot is released without changing state.
+     */
+    public synchronized void recordIgnored() {
+        trialInFlight = false;
+    }
+
+    /**
+     * @return The current state. An open circuit only becomes HALF_OPEN in {@link #tryAcquire()}.
+     */
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * @return The milliseconds until an open circuit allows a trial request, or 0 if not open.
+     */
+    public synchronized long getRemainingOpenMillis() {
+        if (state != State.OPEN) {
+            return 0;
+        }
+        return Math.max(0, openDurationMillis - (clockMillis.getAsLong() - openedAtMillis));
+    }
+}
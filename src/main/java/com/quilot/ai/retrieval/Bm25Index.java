@@ -0,0 +1,219 @@
+package com.quilot.ai.retrieval;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * An immutable, in-memory BM25 inverted index over a list of text passages.
+ * <p>
+ * Postings are stored as parallel primitive {@code int[]} arrays (document ids and term
+ * frequencies) per term, so the index has no per-posting object overhead. Queries score
+ * only the documents that appear in the postings of the query terms.
+ */
+public final class Bm25Index {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private final Map<String, Integer> termIds;
+    private final int[][] postingDocIds;
+    private final int[][] postingFrequencies;
+    private final int[] documentLengths;
+    private final double averageDocumentLength;
+
+    private Bm25Index(Map<String, Integer> termIds, int[][] postingDocIds, int[][] postingFrequencies, int[] documentLengths) {
+        this.termIds = termIds;
+        this.postingDocIds = postingDocIds;
+        this.postingFrequencies = postingFrequencies;
+        this.documentLengths = documentLengths;
+        long totalLength = 0;
+        for (int length : documentLengths) {
+            totalLength += length;
+        }
+        this.averageDocumentLength = documentLengths.length == 0 ? 0 : (double) totalLength / documentLengths.length;
+    }
+
+    /**
+     * Builds an index in which the document id of each passage is its position in the list.
+     *
+     * @param documents The passages to index.
+     * @return A new, immutable index.
+     */
+    public static Bm25Index build(List<String> documents) {
+        Builder builder = new Builder();
+        documents.forEach(builder::add);
+        return builder.build();
+    }
+
+    /**
+     * Returns the highest scoring documents for a free-text query.
+     *
+     * @param query The query text.
+     * @param topK The maximum number of hits to return.
+     * @return Hits sorted by descending score; empty if nothing matches.
+     */
+    public List<Hit> search(String query, int topK) {
+        if (topK <= 0 || documentLengths.length == 0) {
+            return List.of();
+        }
+
+        int[] queryTermIds = TextTokenizer.tokenize(query).stream()
+                .map(termIds::get)
+                .filter(id -> id != null)
+                .mapToInt(Integer::intValue)
+                .distinct()
+                .toArray();
+        if (queryTermIds.length == 0) {
+            return List.of();
+        }
+
+        double[] scores = new double[documentLengths.length];
+        int[] touched = new int[documentLengths.length];
+        int touchedCount = 0;
+        int documentCount = documentLengths.length;
+
+        for (int termId : queryTermIds) {
+            int[] docIds = postingDocIds[termId];
+            int[] frequencies = postingFrequencies[termId];
+            double idf = Math.log(1 + (documentCount - docIds.length + 0.5) / (docIds.length + 0.5));
+
+            for (int i = 0; i < docIds.length; i++) {
+                int docId = docIds[i];
+                double tf = frequencies[i];
+                double norm = K1 * (1 - B + B * documentLengths[docId] / averageDocumentLength);
+                if (scores[docId] == 0) {
+                    touched[touchedCount++] = docId;
+                }
+                scores[docId] += idf * (tf * (K1 + 1)) / (tf + norm);
+            }
+        }
+
+        PriorityQueue<Hit> best = new PriorityQueue<>(topK + 1, Comparator.comparingDouble(Hit::score));
+        for (int i = 0; i < touchedCount; i++) {
+            int docId = touched[i];
+            if (best.size() < topK) {
+                best.add(new Hit(docId, scores[docId]));
+            } else if (scores[docId] > best.peek().score()) {
+                best.poll();
+                best.add(new Hit(docId, scores[docId]));
+            }
+        }
+
+        List<Hit> hits = new ArrayList<>(best);
+        hits.sort(Comparator.comparingDouble(Hit::score).reversed());
+        return hits;
+    }
+
+    /**
+     * @return The number of indexed documents.
+     */
+    public int size() {
+        return documentLengths.length;
+    }
+
+    /**
+     * @return The number of distinct terms in the index.
+     */
+    public int termCount() {
+        return postingDocIds.length;
+    }
+
+    /**
+     * A single search result.
+     *
+     * @param documentId The position of the matching passage in the list the index was built from.
+     * @param score The BM25 relevance score.
+     */
+    public record Hit(int documentId, double score) {
+    }
+
+    /**
+     * Builds an index one passage at a time, so that the passages need not be held in memory
+     * together; only their postings are kept.
+     */
+    public static final class Builder {
+        private final Map<String, Integer> termIds = new HashMap<>();
+        private final List<PostingsBuilder> postings = new ArrayList<>();
+        private int[] documentLengths = new int[16];
+        private int documentCount;
+
+        /**
+         * Indexes a passage.
+         *
+         * @param document The passage text.
+         * @return Its document id, which is the number of passages added before it.
+         */
+        public int add(String document) {
+            int docId = documentCount++;
+            if (docId == documentLengths.length) {
+                documentLengths = Arrays.copyOf(documentLengths, docId * 2);
+            }
+            List<String> tokens = TextTokenizer.tokenize(document);
+            documentLengths[docId] = tokens.size();
+            if (tokens.isEmpty()) {
+                return docId;
+            }
+
+            int[] docTermIds = new int[tokens.size()];
+            for (int i = 0; i < tokens.size(); i++) {
+                Integer termId = termIds.get(tokens.get(i));
+                if (termId == null) {
+                    termId = postings.size();
+                    termIds.put(tokens.get(i), termId);
+                    postings.add(new PostingsBuilder());
+                }
+                docTermIds[i] = termId;
+            }
+
+            // Sorting groups repeated terms so frequencies can be counted without a map per document.
+            Arrays.sort(docTermIds);
+            int runStart = 0;
+            for (int i = 1; i <= docTermIds.length; i++) {
+                if (i == docTermIds.length || docTermIds[i] != docTermIds[runStart]) {
+                    postings.get(docTermIds[runStart]).add(docId, i - runStart);
+                    runStart = i;
+                }
+            }
+            return docId;
+        }
+
+        /**
+         * @return A new, immutable index of the passages added so far.
+         */
+        public Bm25Index build() {
+            int[][] postingDocIds = new int[postings.size()][];
+            int[][] postingFrequencies = new int[postings.size()][];
+            for (int termId = 0; termId < postings.size(); termId++) {
+                PostingsBuilder builder = postings.get(termId);
+                postingDocIds[termId] = Arrays.copyOf(builder.docIds, builder.size);
+                postingFrequencies[termId] = Arrays.copyOf(builder.frequencies, builder.size);
+            }
+            return new Bm25Index(new HashMap<>(termIds), postingDocIds, postingFrequencies,
+                    Arrays.copyOf(documentLengths, documentCount));
+        }
+    }
+
+    /**
+     * Growable primitive postings list used only while building.
+     */
+    private static final class PostingsBuilder {
+        private int[] docIds = new int[4];
+        private int[] frequencies = new int[4];
+        private int size;
+
+        private void add(int docId, int frequency) {
+            if (size == docIds.length) {
+                docIds = Arrays.copyOf(docIds, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            docIds[size] = docId;
+            frequencies[size] = frequency;
+            size++;
+        }
+    }
+}
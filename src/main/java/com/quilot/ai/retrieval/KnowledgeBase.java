@@ -0,0 +1,139 @@
+package com.quilot.ai.retrieval;
+
+import com.quilot.utils.Logger;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A local document store over user-supplied text files (e.g., a resume or prep notes).
+ * <p>
+ * Files are split into short passages and indexed with a {@link Bm25Index}. For each
+ * question, only the most relevant passages are returned, bounded by a UTF-8 byte budget,
+ * so prompts stay small. The index is rebuilt lazily whenever the configured file list or
+ * any file's size or modification time changes.
+ */
+public class KnowledgeBase {
+
+    private static final int TARGET_PASSAGE_WORDS = 120;
+    private static final String PASSAGE_SEPARATOR = "\n---\n";
+
+    private List<String> indexedPaths = List.of();
+    private long indexedSignature;
+    private List<String> passages = List.of();
+    private Bm25Index index = Bm25Index.build(List.of());
+
+    /**
+     * Makes sure the index reflects the given files, rebuilding it if anything changed.
+     * Unreadable files are logged and skipped.
+     *
+     * @param paths Absolute paths of the plain-text files to index.
+     */
+    public synchronized void ensureIndexed(List<String> paths) {
+        long signature = computeSignature(paths);
+        if (paths.equals(indexedPaths) && signature == indexedSignature) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        List<String> newPassages = new ArrayList<>();
+        for (String path : paths) {
+            try {
+                String text = Files.readString(Path.of(path), StandardCharsets.UTF_8);
+                newPassages.addAll(splitIntoPassages(text));
+            } catch (IOException | RuntimeException e) {
+                Logger.warn("Could not read knowledge base file '" + path + "': " + e.getMessage());
+            }
+        }
+
+        this.passages = List.copyOf(newPassages);
+        this.index = Bm25Index.build(passages);
+        this.indexedPaths = List.copyOf(paths);
+        this.indexedSignature = signature;
+        Logger.info(String.format("Indexed %d knowledge base passage(s) (%d terms) from %d file(s) in %d ms.",
+                index.size(), index.termCount(), paths.size(), (System.nanoTime() - start) / 1_000_000));
+    }
+
+    /**
+     * Builds a grounding context for the given question from the most relevant passages.
+     *
+     * @param query The question to retrieve passages for.
+     * @param topK The maximum number of passages to include.
+     * @param maxBytes The maximum size of the returned context in UTF-8 bytes.
+     * @return The selected passages joined by separators, or an empty string if none are relevant.
+     */
+    public synchronized String buildContext(String query, int topK, int maxBytes) {
+        StringBuilder context = new StringBuilder();
+        int usedBytes = 0;
+        for (Bm25Index.Hit hit : index.search(query, topK)) {
+            String passage = passages.get(hit.documentId());
+            int passageBytes = passage.getBytes(StandardCharsets.UTF_8).length
+                    + (context.isEmpty() ? 0 : PASSAGE_SEPARATOR.length());
+            if (usedBytes + passageBytes > maxBytes) {
+                continue; // A lower-ranked, shorter passage may still fit.
+            }
+            if (!context.isEmpty()) {
+                context.append(PASSAGE_SEPARATOR);
+            }
+            context.append(passage);
+            usedBytes += passageBytes;
+        }
+        return context.toString();
+    }
+
+    /**
+     * Splits text into passages of roughly {@value #TARGET_PASSAGE_WORDS} words, keeping
+     * paragraphs together where possible and breaking long paragraphs on word boundaries.
+     */
+    static List<String> splitIntoPassages(String text) {
+        List<String> result = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        int currentWords = 0;
+
+        for (String paragraph : text.split("\\R\\s*\\R")) {
+            String[] words = paragraph.trim().split("\\s+");
+            if (words.length == 0 || words[0].isEmpty()) {
+                continue;
+            }
+            if (currentWords > 0 && currentWords + words.length > TARGET_PASSAGE_WORDS) {
+                result.add(current.toString());
+                current.setLength(0);
+                currentWords = 0;
+            }
+            for (String word : words) {
+                if (currentWords == TARGET_PASSAGE_WORDS) {
+                    result.add(current.toString());
+                    current.setLength(0);
+                    currentWords = 0;
+                }
+                if (currentWords > 0) {
+                    current.append(' ');
+                }
+                current.append(word);
+                currentWords++;
+            }
+        }
+        if (currentWords > 0) {
+            result.add(current.toString());
+        }
+        return result;
+    }
+
+    private static long computeSignature(List<String> paths) {
+        long signature = 17;
+        for (String path : paths) {
+            try {
+                Path file = Path.of(path);
+                signature = 31 * signature + Files.size(file);
+                signature = 31 * signature + Files.getLastModifiedTime(file).toMillis();
+            } catch (IOException | RuntimeException e) {
+                signature = 31 * signature - 1;
+            }
+        }
+        return signature;
+    }
+}
@@ -0,0 +1,55 @@
+package com.quilot.ai.retrieval;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * A minimal tokenizer for retrieval: lowercases text, splits on anything that is not a
+ * letter or digit, and drops single-character tokens and common English stop words.
+ */
+public final class TextTokenizer {
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "but", "by", "for", "from", "has", "have",
+            "i", "if", "in", "into", "is", "it", "its", "me", "my", "of", "on", "or", "so", "that",
+            "the", "their", "then", "there", "these", "this", "to", "was", "we", "were", "what",
+            "when", "which", "who", "will", "with", "you", "your"
+    );
+
+    private TextTokenizer() {
+    }
+
+    /**
+     * Splits the given text into normalized index terms.
+     *
+     * @param text The text to tokenize; may be null.
+     * @return The list of terms in their original order, possibly empty.
+     */
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean isWordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (isWordChar && start < 0) {
+                start = i;
+            } else if (!isWordChar && start >= 0) {
+                addToken(tokens, lower.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private static void addToken(List<String> tokens, String token) {
+        if (token.length() > 1 && !STOP_WORDS.contains(token)) {
+            tokens.add(token);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.quilot.ai.settings;
+
+/**
+ * Selects the service that answers AI prompts.
+ */
+public enum AIBackend {
+
+    /** Google Cloud Vertex AI. */
+    VERTEX,
+
+    /** A local simulator with configurable latency and error injection, for offline testing. */
+    FAKE
+}
@@ -3,6 +3,9 @@ package com.quilot.ai.settings;
 import lombok.Builder;
 import lombok.Value;
 
+import java.util.Arrays;
+import java.util.List;
+
 /**
  * An immutable container for AI configuration settings.
  * <p>
@@ -42,4 +45,94 @@ public class AIConfigSettings {
     @Builder.Default
     int topK = 40;
 
+    /** If true, starts generating an answer from a stable interim transcript before the final result arrives. */
+    @Builder.Default
+    boolean enableSpeculativeGeneration = false;
+
+    /** How long (ms) an interim transcript must stay unchanged before a speculative request is sent. */
+    @Builder.Default
+    int speculationStabilityMillis = 700;
+
+    /** Plain-text files (e.g., resume, prep notes) used to ground answers, one absolute path per line. */
+    @Builder.Default
+    String knowledgeBaseFiles = "";
+
+    /** The maximum number of knowledge base passages injected into each prompt. */
+    @Builder.Default
+    int retrievalTopK = 3;
+
+    /** The maximum size, in UTF-8 bytes, of the knowledge base context injected into each prompt. */
+    @Builder.Default
+    int retrievalMaxContextBytes = 1500;
+
+    /** Whether prompts are also sent to {@link #fastModelId} to reduce tail latency. */
+    @Builder.Default
+    ModelRaceMode raceMode = ModelRaceMode.OFF;
+
+    /** The lower-latency model raced or hedged against the configured model. */
+    @Builder.Default
+    String fastModelId = "gemini-1.5-flash-8b";
+
+    /** In HEDGE mode, the deadline (ms) used until enough latency samples exist to use the model's p95. */
+    @Builder.Default
+    int hedgeDelayMillis = 2500;
+
+    /** How long (ms) after a fast answer is shown the configured model may still replace it. */
+    @Builder.Default
+    int upgradeWindowMillis = 4000;
+
+    /** The deadline (ms) for a complete answer, after which the request is abandoned and reported as timed out. */
+    @Builder.Default
+    int requestTimeoutMillis = 20000;
+
+    /** The number of consecutive timeouts or outage errors that opens the circuit breaker. */
+    @Builder.Default
+    int circuitBreakerFailureThreshold = 3;
+
+    /** How long (ms) the circuit breaker fails fast before letting a trial request through. */
+    @Builder.Default
+    int circuitBreakerOpenMillis = 30000;
+
+    /** Which backend answers prompts: Vertex AI, or a local simulator for offline testing. */
+    @Builder.Default
+    AIBackend backend = AIBackend.VERTEX;
+
+    /** The latency profile of the simulated backend. */
+    @Builder.Default
+    FakeLatencyProfile fakeLatencyProfile = FakeLatencyProfile.TYPICAL;
+
+    /** Simulated time to first token (ms), used by the CUSTOM latency profile. */
+    @Builder.Default
+    int fakeTimeToFirstTokenMillis = 800;
+
+    /** Simulated generation speed in tokens per second, used by the CUSTOM latency profile. */
+    @Builder.Default
+    int fakeTokensPerSecond = 40;
+
+    /** Maximum random delay (ms) added to each simulated response, used by the CUSTOM latency profile. */
+    @Builder.Default
+    int fakeJitterMillis = 200;
+
+    /** Probability (0.0 - 1.0) that a simulated request fails with a transient error. */
+    @Builder.Default
+    double fakeErrorRate = 0.0;
+
+    /** The simulated answer. {prompt} is replaced with the question. */
+    @Builder.Default
+    String fakeResponseTemplate = "This is a simulated answer to: {prompt}";
+
+    /**
+     * A derived property that parses the knowledgeBaseFiles string into a list of paths.
+     * @return A {@link List} of knowledge base file paths.
+     */
+    public List<String> getKnowledgeBaseFilesAsList() {
+        if (knowledgeBaseFiles == null || knowledgeBaseFiles.trim().isEmpty()) {
+            return List.of();
+        }
+
+        return Arrays.stream(knowledgeBaseFiles.split("\\R"))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .toList();
+    }
 }
\ No newline at end of file
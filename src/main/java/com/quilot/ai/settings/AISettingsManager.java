@@ -24,6 +24,25 @@ public class AISettingsManager implements IAISettingsManager {
     private static final String KEY_MAX_OUTPUT_TOKENS = "maxOutputTokens";
     private static final String KEY_TOP_P = "topP";
     private static final String KEY_TOP_K = "topK";
+    private static final String KEY_ENABLE_SPECULATIVE_GENERATION = "enableSpeculativeGeneration";
+    private static final String KEY_SPECULATION_STABILITY_MILLIS = "speculationStabilityMillis";
+    private static final String KEY_KNOWLEDGE_BASE_FILES = "knowledgeBaseFiles";
+    private static final String KEY_RETRIEVAL_TOP_K = "retrievalTopK";
+    private static final String KEY_RETRIEVAL_MAX_CONTEXT_BYTES = "retrievalMaxContextBytes";
+    private static final String KEY_RACE_MODE = "raceMode";
+    private static final String KEY_FAST_MODEL_ID = "fastModelId";
+    private static final String KEY_HEDGE_DELAY_MILLIS = "hedgeDelayMillis";
+    private static final String KEY_UPGRADE_WINDOW_MILLIS = "upgradeWindowMillis";
+    private static final String KEY_REQUEST_TIMEOUT_MILLIS = "requestTimeoutMillis";
+    private static final String KEY_CIRCUIT_BREAKER_FAILURE_THRESHOLD = "circuitBreakerFailureThreshold";
+    private static final String KEY_CIRCUIT_BREAKER_OPEN_MILLIS = "circuitBreakerOpenMillis";
+    private static final String KEY_BACKEND = "backend";
+    private static final String KEY_FAKE_LATENCY_PROFILE = "fakeLatencyProfile";
+    private static final String KEY_FAKE_TIME_TO_FIRST_TOKEN_MILLIS = "fakeTimeToFirstTokenMillis";
+    private static final String KEY_FAKE_TOKENS_PER_SECOND = "fakeTokensPerSecond";
+    private static final String KEY_FAKE_JITTER_MILLIS = "fakeJitterMillis";
+    private static final String KEY_FAKE_ERROR_RATE = "fakeErrorRate";
+    private static final String KEY_FAKE_RESPONSE_TEMPLATE = "fakeResponseTemplate";
 
     /**
      * Constructs a new AISettingsManager.
@@ -54,6 +73,25 @@ public class AISettingsManager implements IAISettingsManager {
                 .maxOutputTokens(prefs.getInt(KEY_MAX_OUTPUT_TOKENS, defaults.getMaxOutputTokens()))
                 .topP(prefs.getDouble(KEY_TOP_P, defaults.getTopP()))
                 .topK(prefs.getInt(KEY_TOP_K, defaults.getTopK()))
+                .enableSpeculativeGeneration(prefs.getBoolean(KEY_ENABLE_SPECULATIVE_GENERATION, defaults.isEnableSpeculativeGeneration()))
+                .speculationStabilityMillis(prefs.getInt(KEY_SPECULATION_STABILITY_MILLIS, defaults.getSpeculationStabilityMillis()))
+                .knowledgeBaseFiles(prefs.get(KEY_KNOWLEDGE_BASE_FILES, defaults.getKnowledgeBaseFiles()))
+                .retrievalTopK(prefs.getInt(KEY_RETRIEVAL_TOP_K, defaults.getRetrievalTopK()))
+                .retrievalMaxContextBytes(prefs.getInt(KEY_RETRIEVAL_MAX_CONTEXT_BYTES, defaults.getRetrievalMaxContextBytes()))
+                .raceMode(loadEnum(KEY_RACE_MODE, defaults.getRaceMode()))
+                .fastModelId(prefs.get(KEY_FAST_MODEL_ID, defaults.getFastModelId()))
+                .hedgeDelayMillis(prefs.getInt(KEY_HEDGE_DELAY_MILLIS, defaults.getHedgeDelayMillis()))
+                .upgradeWindowMillis(prefs.getInt(KEY_UPGRADE_WINDOW_MILLIS, defaults.getUpgradeWindowMillis()))
+                .requestTimeoutMillis(prefs.getInt(KEY_REQUEST_TIMEOUT_MILLIS, defaults.getRequestTimeoutMillis()))
+                .circuitBreakerFailureThreshold(prefs.getInt(KEY_CIRCUIT_BREAKER_FAILURE_THRESHOLD, defaults.getCircuitBreakerFailureThreshold()))
+                .circuitBreakerOpenMillis(prefs.getInt(KEY_CIRCUIT_BREAKER_OPEN_MILLIS, defaults.getCircuitBreakerOpenMillis()))
+                .backend(loadEnum(KEY_BACKEND, defaults.getBackend()))
+                .fakeLatencyProfile(loadEnum(KEY_FAKE_LATENCY_PROFILE, defaults.getFakeLatencyProfile()))
+                .fakeTimeToFirstTokenMillis(prefs.getInt(KEY_FAKE_TIME_TO_FIRST_TOKEN_MILLIS, defaults.getFakeTimeToFirstTokenMillis()))
+                .fakeTokensPerSecond(prefs.getInt(KEY_FAKE_TOKENS_PER_SECOND, defaults.getFakeTokensPerSecond()))
+                .fakeJitterMillis(prefs.getInt(KEY_FAKE_JITTER_MILLIS, defaults.getFakeJitterMillis()))
+                .fakeErrorRate(prefs.getDouble(KEY_FAKE_ERROR_RATE, defaults.getFakeErrorRate()))
+                .fakeResponseTemplate(prefs.get(KEY_FAKE_RESPONSE_TEMPLATE, defaults.getFakeResponseTemplate()))
                 .build();
     }
 
@@ -72,6 +110,25 @@ public class AISettingsManager implements IAISettingsManager {
             prefs.putInt(KEY_MAX_OUTPUT_TOKENS, settings.getMaxOutputTokens());
             prefs.putDouble(KEY_TOP_P, settings.getTopP());
             prefs.putInt(KEY_TOP_K, settings.getTopK());
+            prefs.putBoolean(KEY_ENABLE_SPECULATIVE_GENERATION, settings.isEnableSpeculativeGeneration());
+            prefs.putInt(KEY_SPECULATION_STABILITY_MILLIS, settings.getSpeculationStabilityMillis());
+            prefs.put(KEY_KNOWLEDGE_BASE_FILES, settings.getKnowledgeBaseFiles());
+            prefs.putInt(KEY_RETRIEVAL_TOP_K, settings.getRetrievalTopK());
+            prefs.putInt(KEY_RETRIEVAL_MAX_CONTEXT_BYTES, settings.getRetrievalMaxContextBytes());
+            prefs.put(KEY_RACE_MODE, settings.getRaceMode().name());
+            prefs.put(KEY_FAST_MODEL_ID, settings.getFastModelId());
+            prefs.putInt(KEY_HEDGE_DELAY_MILLIS, settings.getHedgeDelayMillis());
+            prefs.putInt(KEY_UPGRADE_WINDOW_MILLIS, settings.getUpgradeWindowMillis());
+            prefs.putInt(KEY_REQUEST_TIMEOUT_MILLIS, settings.getRequestTimeoutMillis());
+            prefs.putInt(KEY_CIRCUIT_BREAKER_FAILURE_THRESHOLD, settings.getCircuitBreakerFailureThreshold());
+            prefs.putInt(KEY_CIRCUIT_BREAKER_OPEN_MILLIS, settings.getCircuitBreakerOpenMillis());
+            prefs.put(KEY_BACKEND, settings.getBackend().name());
+            prefs.put(KEY_FAKE_LATENCY_PROFILE, settings.getFakeLatencyProfile().name());
+            prefs.putInt(KEY_FAKE_TIME_TO_FIRST_TOKEN_MILLIS, settings.getFakeTimeToFirstTokenMillis());
+            prefs.putInt(KEY_FAKE_TOKENS_PER_SECOND, settings.getFakeTokensPerSecond());
+            prefs.putInt(KEY_FAKE_JITTER_MILLIS, settings.getFakeJitterMillis());
+            prefs.putDouble(KEY_FAKE_ERROR_RATE, settings.getFakeErrorRate());
+            prefs.put(KEY_FAKE_RESPONSE_TEMPLATE, settings.getFakeResponseTemplate());
 
             prefs.flush();
             Logger.info("AI settings saved successfully.");
@@ -95,4 +152,13 @@ public class AISettingsManager implements IAISettingsManager {
         Logger.info("AI settings reset to defaults.");
         return defaultSettings;
     }
+
+    private <E extends Enum<E>> E loadEnum(String key, E defaultValue) {
+        try {
+            return Enum.valueOf(defaultValue.getDeclaringClass(), prefs.get(key, defaultValue.name()));
+        } catch (IllegalArgumentException e) {
+            Logger.warn("Unknown value for '" + key + "' in preferences. Falling back to " + defaultValue + ".");
+            return defaultValue;
+        }
+    }
 }
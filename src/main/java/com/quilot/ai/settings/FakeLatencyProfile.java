@@ -0,0 +1,36 @@
+package com.quilot.ai.settings;
+
+import lombok.Getter;
+
+/**
+ * Latency presets for the simulated AI backend. CUSTOM uses the values from {@link AIConfigSettings}.
+ */
+@Getter
+public enum FakeLatencyProfile {
+
+    /** Answers immediately. Useful for measuring the UI and persistence paths alone. */
+    INSTANT(0, 0, 0),
+
+    /** Roughly a small, low-latency model. */
+    FAST(250, 120, 50),
+
+    /** Roughly a typical hosted model. */
+    TYPICAL(800, 40, 200),
+
+    /** A slow or congested model, useful for exercising timeouts and hedging. */
+    SLOW(3000, 12, 1500),
+
+    /** Uses the custom values from the settings. */
+    CUSTOM(-1, -1, -1);
+
+    private final int timeToFirstTokenMillis;
+    /** Zero means tokens are produced instantly. */
+    private final int tokensPerSecond;
+    private final int jitterMillis;
+
+    FakeLatencyProfile(int timeToFirstTokenMillis, int tokensPerSecond, int jitterMillis) {
+        this.timeToFirstTokenMillis = timeToFirstTokenMillis;
+        this.tokensPerSecond = tokensPerSecond;
+        this.jitterMillis = jitterMillis;
+    }
+}
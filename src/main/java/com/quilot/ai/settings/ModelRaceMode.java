@@ -0,0 +1,16 @@
+package com.quilot.ai.settings;
+
+/**
+ * Controls whether a prompt is sent to a second, faster model to cut tail latency.
+ */
+public enum ModelRaceMode {
+
+    /** Only the configured model is queried. */
+    OFF,
+
+    /** The fast model and the configured model are queried at the same time. */
+    RACE,
+
+    /** The fast model is queried only if the configured model misses its latency deadline. */
+    HEDGE
+}
@@ -0,0 +1,81 @@
+package com.quilot.ai.speculation;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Thread-safe counters describing how well speculative generation is performing.
+ * <p>
+ * A speculation is a <em>hit</em> when the final transcript matched the interim text it was
+ * started from and its answer was shown, a <em>miss</em> when the final transcript differed
+ * and the request had to be restarted, and <em>discarded</em> when it was abandoned without
+ * any final transcript to compare against (e.g., the recording stopped).
+ */
+public class SpeculationMetrics {
+
+    private final AtomicLong attempts = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong discarded = new AtomicLong();
+    private final AtomicLong totalLatencySavedMillis = new AtomicLong();
+
+    void recordAttempt() {
+        attempts.incrementAndGet();
+    }
+
+    void recordHit(long latencySavedMillis) {
+        hits.incrementAndGet();
+        totalLatencySavedMillis.addAndGet(Math.max(0, latencySavedMillis));
+    }
+
+    void recordMiss() {
+        misses.incrementAndGet();
+    }
+
+    void recordDiscarded() {
+        discarded.incrementAndGet();
+    }
+
+    public long getAttempts() {
+        return attempts.get();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getDiscarded() {
+        return discarded.get();
+    }
+
+    public long getTotalLatencySavedMillis() {
+        return totalLatencySavedMillis.get();
+    }
+
+    /**
+     * @return The fraction of resolved speculations (hits + misses) that were hits, or 0 if none resolved yet.
+     */
+    public double getHitRate() {
+        long resolved = hits.get() + misses.get();
+        return resolved == 0 ? 0.0 : (double) hits.get() / resolved;
+    }
+
+    /**
+     * @return The average time saved per hit, in milliseconds, or 0 if there were no hits.
+     */
+    public long getAverageLatencySavedMillis() {
+        long hitCount = hits.get();
+        return hitCount == 0 ? 0 : totalLatencySavedMillis.get() / hitCount;
+    }
+
+    /**
+     * @return A one-line human-readable summary suitable for logging.
+     */
+    public String summary() {
+        return String.format("attempts=%d, hits=%d, misses=%d, discarded=%d, hitRate=%.0f%%, avgSaved=%dms",
+                getAttempts(), getHits(), getMisses(), getDiscarded(), getHitRate() * 100, getAverageLatencySavedMillis());
+    }
+}
@@ -0,0 +1,282 @@
+package com.quilot.ai.speculation;
+
+import com.quilot.ai.IAIService;
+import com.quilot.ai.settings.AIConfigSettings;
+import com.quilot.utils.CorrelationId;
+import com.quilot.utils.Logger;
+import lombok.Getter;
+
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Starts AI generation from interim STT results before the final transcript arrives.
+ * <p>
+ * When speculative generation is enabled in {@link AIConfigSettings}, every interim transcript
+ * restarts a short stability timer. If the text stays unchanged for the configured window and
+ * looks like a question, it is sent to the {@link IAIService} and the answer is buffered.
+ * When the final transcript arrives via {@link #submitFinal}, the buffered answer is committed
+ * if the two texts match closely; otherwise the speculative request is cancelled and a normal
+ * request is issued for the final text. Outcomes are recorded in {@link SpeculationMetrics}.
+ */
+public class SpeculativeGenerationManager {
+
+    /** Minimum word-level similarity between interim and final transcripts to reuse a speculative answer. */
+    static final double COMMIT_SIMILARITY_THRESHOLD = 0.85;
+
+    private final IAIService aiService;
+    private final Predicate<String> questionFilter;
+    private final ScheduledExecutorService stabilityExecutor;
+
+    @Getter
+    private final SpeculationMetrics metrics = new SpeculationMetrics();
+
+    private String lastInterim;
+    private ScheduledFuture<?> pendingStabilityCheck;
+    private Speculation current;
+
+    /**
+     * Constructs a new SpeculativeGenerationManager.
+     *
+     * @param aiService The AI service used for both speculative and regular requests.
+     * @param questionFilter Decides whether a stable interim transcript looks like a question worth answering.
+     */
+    public SpeculativeGenerationManager(IAIService aiService, Predicate<String> questionFilter) {
+        this.aiService = Objects.requireNonNull(aiService, "IAIService cannot be null.");
+        this.questionFilter = Objects.requireNonNull(questionFilter, "Question filter cannot be null.");
+        this.stabilityExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "SpeculationTimerThread");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Feeds an interim transcript into the stability tracker. Safe to call from any thread.
+     *
+     * @param transcript The latest interim transcription.
+     */
+    public synchronized void onInterimTranscript(String transcript) {
+        if (transcript == null || transcript.isBlank() || transcript.equals(lastInterim)) {
+            return;
+        }
+        AIConfigSettings settings = aiService.getSettingsManager().loadSettings();
+        if (!settings.isEnableSpeculativeGeneration()) {
+            return;
+        }
+
+        lastInterim = transcript;
+        cancelPendingStabilityCheck();
+        pendingStabilityCheck = stabilityExecutor.schedule(CorrelationId.wrap(() -> onInterimStable(transcript)),
+                settings.getSpeculationStabilityMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Sends the final transcript for an answer, reusing the speculative answer when it matches.
+     *
+     * @param transcript The final transcription.
+     * @param listener The listener that should receive the answer shown to the user.
+     */
+    public synchronized void submitFinal(String transcript, IAIService.AIResponseListener listener) {
+        lastInterim = null;
+        cancelPendingStabilityCheck();
+
+        Speculation speculation = current;
+        if (speculation != null && speculation.committedListener == null) {
+            boolean failed = speculation.completed && speculation.error != null;
+            if (!failed && similarity(speculation.prompt, transcript) >= COMMIT_SIMILARITY_THRESHOLD) {
+                speculation.committedListener = listener;
+                speculation.finalTranscript = transcript;
+                speculation.finalNanos = System.nanoTime();
+                if (speculation.completed) {
+                    deliver(speculation);
+                }
+                return;
+            }
+            Logger.info("Final transcript diverged from speculation. Restarting generation.");
+            abandon(speculation);
+            metrics.recordMiss();
+        }
+        aiService.generateResponse(transcript, listener);
+    }
+
+    /**
+     * Abandons any uncommitted speculation, e.g., when the final transcript will not be sent to the AI
+     * or the recording session ends.
+     */
+    public synchronized void discard() {
+        lastInterim = null;
+        cancelPendingStabilityCheck();
+        if (current != null && current.committedListener == null) {
+            abandon(current);
+            metrics.recordDiscarded();
+        }
+    }
+
+    /**
+     * Discards pending work and stops the stability timer thread. Call on application shutdown.
+     */
+    public void shutdown() {
+        discard();
+        stabilityExecutor.shutdownNow();
+    }
+
+    private synchronized void onInterimStable(String transcript) {
+        if (!transcript.equals(lastInterim)) {
+            return;
+        }
+        if (current != null) {
+            if (current.committedListener != null || similarity(current.prompt, transcript) >= COMMIT_SIMILARITY_THRESHOLD) {
+                return;
+            }
+            abandon(current);
+            metrics.recordDiscarded();
+        }
+        if (!questionFilter.test(transcript)) {
+            return;
+        }
+
+        Speculation speculation = new Speculation(transcript, System.nanoTime());
+        current = speculation;
+        metrics.recordAttempt();
+        Logger.info("Starting speculative generation for stable interim transcript: " + transcript);
+
+        aiService.generateResponse(transcript, new IAIService.AIResponseListener() {
+            @Override
+            public void onResponse(String aiResponse) {
+                onSpeculationComplete(speculation, aiResponse, null);
+            }
+
+            @Override
+            public void onResponseUpgraded(String aiResponse, String modelId) {
+                onSpeculationUpgraded(speculation, aiResponse, modelId);
+            }
+
+            @Override
+            public void onError(String errorMessage) {
+                onSpeculationComplete(speculation, null, errorMessage);
+            }
+        });
+    }
+
+    private synchronized void onSpeculationComplete(Speculation speculation, String response, String error) {
+        if (speculation != current) {
+            return; // Cancelled or superseded
+        }
+        speculation.response = response;
+        speculation.error = error;
+        speculation.completedNanos = System.nanoTime();
+        speculation.completed = true;
+        if (speculation.committedListener != null) {
+            deliver(speculation);
+        }
+    }
+
+    private synchronized void onSpeculationUpgraded(Speculation speculation, String response, String modelId) {
+        if (speculation.delivered) {
+            speculation.committedListener.onResponseUpgraded(response, modelId);
+        } else if (speculation == current && speculation.completed) {
+            speculation.response = response; // Not shown yet, so simply buffer the better answer
+        }
+    }
+
+    private void deliver(Speculation speculation) {
+        current = null;
+        if (speculation.error != null) {
+            Logger.warn("Committed speculation failed (" + speculation.error + "). Retrying with the final transcript.");
+            metrics.recordMiss();
+            aiService.generateResponse(speculation.finalTranscript, speculation.committedListener);
+            return;
+        }
+
+        // The user would otherwise have waited a full generation after the final result arrived.
+        long headStartNanos = speculation.finalNanos - speculation.startNanos;
+        long generationNanos = speculation.completedNanos - speculation.startNanos;
+        long savedMillis = TimeUnit.NANOSECONDS.toMillis(Math.min(headStartNanos, generationNanos));
+        metrics.recordHit(savedMillis);
+        Logger.info("Committed speculative answer, saved ~" + savedMillis + " ms. Speculation stats: " + metrics.summary());
+        speculation.delivered = true;
+        speculation.committedListener.onResponse(speculation.response);
+    }
+
+    private void abandon(Speculation speculation) {
+        if (!speculation.completed) {
+            aiService.cancelGeneration();
+        }
+        if (current == speculation) {
+            current = null;
+        }
+    }
+
+    private void cancelPendingStabilityCheck() {
+        if (pendingStabilityCheck != null) {
+            pendingStabilityCheck.cancel(false);
+            pendingStabilityCheck = null;
+        }
+    }
+
+    /**
+     * Computes a word-level similarity between two transcripts, ignoring case and punctuation.
+     *
+     * @return A value between 0.0 (completely different) and 1.0 (identical).
+     */
+    static double similarity(String a, String b) {
+        String[] left = normalize(a);
+        String[] right = normalize(b);
+        int longest = Math.max(left.length, right.length);
+        if (longest == 0) {
+            return 1.0;
+        }
+
+        int[] previous = new int[right.length + 1];
+        int[] currentRow = new int[right.length + 1];
+        for (int j = 0; j <= right.length; j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= left.length; i++) {
+            currentRow[0] = i;
+            for (int j = 1; j <= right.length; j++) {
+                int cost = left[i - 1].equals(right[j - 1]) ? 0 : 1;
+                currentRow[j] = Math.min(Math.min(currentRow[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+            }
+            int[] swap = previous;
+            previous = currentRow;
+            currentRow = swap;
+        }
+        return 1.0 - (double) previous[right.length] / longest;
+    }
+
+    private static String[] normalize(String text) {
+        if (text == null) {
+            return new String[0];
+        }
+        String cleaned = text.toLowerCase(Locale.ROOT).replaceAll("[^\\p{L}\\p{N}\\s]", " ").trim();
+        return cleaned.isEmpty() ? new String[0] : cleaned.split("\\s+");
+    }
+
+    /**
+     * Mutable state of a single speculative request. Guarded by the enclosing manager's monitor.
+     */
+    private static final class Speculation {
+        private final String prompt;
+        private final long startNanos;
+        private boolean completed;
+        private boolean delivered;
+        private String response;
+        private String error;
+        private long completedNanos;
+        private IAIService.AIResponseListener committedListener;
+        private String finalTranscript;
+        private long finalNanos;
+
+        private Speculation(String prompt, long startNanos) {
+            this.prompt = prompt;
+            this.startNanos = startNanos;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.quilot.audio.codec;
+
+import com.quilot.utils.Logger;
+
+import javax.sound.sampled.AudioFormat;
+import java.util.Arrays;
+
+/**
+ * The storage encodings available for recorded interview audio. The codec used for an interview
+ * is recorded alongside it, so recordings stay readable when the default changes.
+ */
+public enum AudioCodec {
+
+    /** Uncompressed audio exactly as captured. Used for recordings made before compression existed. */
+    PCM {
+        @Override
+        public byte[] encode(byte[] pcm, int length, AudioFormat format) {
+            return length == pcm.length ? pcm : Arrays.copyOf(pcm, length);
+        }
+
+        @Override
+        public byte[] decode(byte[] data, AudioFormat format) {
+            return data;
+        }
+    },
+
+    /** Lossless predictive compression of 16-bit PCM; see {@link LosslessAudioCodec}. */
+    LOSSLESS {
+        @Override
+        public byte[] encode(byte[] pcm, int length, AudioFormat format) {
+            return LosslessAudioCodec.encode(pcm, length, format.getChannels());
+        }
+
+        @Override
+        public byte[] decode(byte[] data, AudioFormat format) {
+            return LosslessAudioCodec.decode(data, format.getChannels());
+        }
+    };
+
+    /**
+     * Encodes captured audio for storage.
+     *
+     * @param pcm The buffer holding the captured audio.
+     * @param length The number of bytes of {@code pcm} to encode.
+     * @param format The format the audio was captured in.
+     * @return The encoded bytes.
+     */
+    public abstract byte[] encode(byte[] pcm, int length, AudioFormat format);
+
+    /**
+     * Restores captured audio from its stored encoding.
+     *
+     * @param data The stored bytes.
+     * @param format The format the audio was captured in.
+     * @return The audio bytes in the capture format.
+     * @throws IllegalArgumentException if the data is corrupt.
+     */
+    public abstract byte[] decode(byte[] data, AudioFormat format);
+
+    /**
+     * Chooses the best codec for audio captured in the given format.
+     *
+     * @param format The capture format.
+     * @return {@link #LOSSLESS} when the format is supported by it, otherwise {@link #PCM}.
+     */
+    public static AudioCodec forFormat(AudioFormat format) {
+        return LosslessAudioCodec.supports(format) ? LOSSLESS : PCM;
+    }
+
+    /**
+     * Parses a codec name as stored in the database.
+     *
+     * @param name The stored name; null for recordings made before codecs were recorded.
+     * @return The matching codec, or {@link #PCM} if the name is null or unknown.
+     */
+    public static AudioCodec fromName(String name) {
+        if (name == null) {
+            return PCM;
+        }
+        try {
+            return valueOf(name);
+        } catch (IllegalArgumentException e) {
+            Logger.warn("Unknown audio codec '" + name + "'. Treating the audio as uncompressed PCM.");
+            return PCM;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.quilot.audio.codec;
+
+import com.quilot.utils.Logger;
+
+import javax.sound.sampled.AudioFormat;
+
+/**
+ * Converts a PCM {@link AudioFormat} to and from the compact text form stored with each interview,
+ * e.g. {@code "44100:16:1:signed:little"}.
+ */
+public final class AudioFormatSpec {
+
+    /** The capture format used by recordings made before formats were stored. */
+    public static final AudioFormat LEGACY_FORMAT = new AudioFormat(44100, 16, 1, true, false);
+
+    private AudioFormatSpec() {
+    }
+
+    /**
+     * @param format A PCM audio format.
+     * @return The text form of the format.
+     */
+    public static String toSpec(AudioFormat format) {
+        return String.format("%d:%d:%d:%s:%s",
+                Math.round(format.getSampleRate()),
+                format.getSampleSizeInBits(),
+                format.getChannels(),
+                AudioFormat.Encoding.PCM_UNSIGNED.equals(format.getEncoding()) ? "unsigned" : "signed",
+                format.isBigEndian() ? "big" : "little");
+    }
+
+    /**
+     * Parses a format stored by {@link #toSpec}.
+     *
+     * @param spec The stored text; may be null.
+     * @return The format, or {@link #LEGACY_FORMAT} if the text is null or malformed.
+     */
+    public static AudioFormat fromSpec(String spec) {
+        if (spec == null) {
+            return LEGACY_FORMAT;
+        }
+        String[] parts = spec.split(":");
+        try {
+            if (parts.length != 5) {
+                throw new IllegalArgumentException("expected 5 fields");
+            }
+            return new AudioFormat(
+                    Integer.parseInt(parts[0]),
+                    Integer.parseInt(parts[1]),
+                    Integer.parseInt(parts[2]),
+                    !"unsigned".equals(parts[3]),
+                    "big".equals(parts[4]));
+        } catch (IllegalArgumentException e) {
+            Logger.warn("Invalid stored audio format '" + spec + "' (" + e.getMessage() + "). Assuming the default capture format.");
+            return LEGACY_FORMAT;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.quilot.audio.codec;
+
+/**
+ * Reads a most-significant-bit-first bit stream written by {@link BitOutput}.
+ * Reading past the end of the data throws an {@link IllegalArgumentException}.
+ */
+final class BitInput {
+
+    private final byte[] data;
+    private int position;
+    private long accumulator;
+    private int accumulatedBits;
+
+    BitInput(byte[] data) {
+        this.data = data;
+    }
+
+    /**
+     * Reads {@code count} bits as an unsigned value.
+     *
+     * @param count The number of bits, between 0 and 32.
+     */
+    int readBits(int count) {
+        while (accumulatedBits < count) {
+            fill();
+        }
+        accumulatedBits -= count;
+        return (int) ((accumulator >>> accumulatedBits) & ((1L << count) - 1));
+    }
+
+    /**
+     * Reads a unary value: the number of zero bits before the next one bit.
+     */
+    int readUnary() {
+        int value = 0;
+        while (true) {
+            if (accumulatedBits == 0) {
+                fill();
+            }
+            long window = accumulator & ((1L << accumulatedBits) - 1);
+            if (window == 0) {
+                value += accumulatedBits;
+                accumulatedBits = 0;
+                continue;
+            }
+            int highestSetBit = 63 - Long.numberOfLeadingZeros(window);
+            value += accumulatedBits - 1 - highestSetBit;
+            accumulatedBits = highestSetBit;
+            return value;
+        }
+    }
+
+    /**
+     * Reads a Rice code with parameter {@code k}.
+     */
+    int readRice(int k) {
+        return (readUnary() << k) | readBits(k);
+    }
+
+    private void fill() {
+        if (position == data.length) {
+            throw new IllegalArgumentException("Compressed audio data is truncated.");
+        }
+        accumulator = (accumulator << 8) | (data[position++] & 0xFF);
+        accumulatedBits += 8;
+    }
+}
@@ -0,0 +1,73 @@
+package com.quilot.audio.codec;
+
+import java.util.Arrays;
+
+/**
+ * Writes a most-significant-bit-first bit stream into a growable byte array.
+ */
+final class BitOutput {
+
+    private byte[] buffer;
+    private int size;
+    private long accumulator;
+    private int accumulatedBits;
+
+    BitOutput(int initialCapacity) {
+        this.buffer = new byte[Math.max(16, initialCapacity)];
+    }
+
+    /**
+     * Writes the lowest {@code count} bits of {@code value}, most significant first.
+     *
+     * @param value The bits to write.
+     * @param count The number of bits, between 0 and 32.
+     */
+    void writeBits(int value, int count) {
+        if (count == 0) {
+            return;
+        }
+        accumulator = (accumulator << count) | (value & ((1L << count) - 1));
+        accumulatedBits += count;
+        while (accumulatedBits >= 8) {
+            accumulatedBits -= 8;
+            put((byte) (accumulator >>> accumulatedBits));
+        }
+    }
+
+    /**
+     * Writes {@code value} in unary: that many zero bits followed by a one bit.
+     */
+    void writeUnary(int value) {
+        while (value >= 32) {
+            writeBits(0, 32);
+            value -= 32;
+        }
+        writeBits(1, value + 1);
+    }
+
+    /**
+     * Writes a non-negative value as a Rice code with parameter {@code k}.
+     */
+    void writeRice(int value, int k) {
+        writeUnary(value >>> k);
+        writeBits(value, k);
+    }
+
+    /**
+     * Pads the last byte with zero bits and returns the written bytes.
+     */
+    byte[] toByteArray() {
+        if (accumulatedBits > 0) {
+            put((byte) (accumulator << (8 - accumulatedBits)));
+            accumulatedBits = 0;
+        }
+        return Arrays.copyOf(buffer, size);
+    }
+
+    private void put(byte value) {
+        if (size == buffer.length) {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+        buffer[size++] = value;
+    }
+}
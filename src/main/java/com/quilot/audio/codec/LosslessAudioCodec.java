@@ -0,0 +1,215 @@
+package com.quilot.audio.codec;
+
+import javax.sound.sampled.AudioFormat;
+import java.util.Arrays;
+
+/**
+ * A FLAC-style lossless compressor for signed 16-bit little-endian PCM.
+ * <p>
+ * Samples are split into blocks of {@value #BLOCK_SIZE}. For each block the encoder picks the fixed
+ * polynomial predictor (order 0 to {@value #MAX_ORDER}) with the smallest total residual, and stores
+ * the residuals as Rice codes whose parameter is chosen per partition of {@value #PARTITION_SIZE}
+ * samples. Partitions that would not benefit fall back to fixed-width values. Multichannel audio is
+ * predicted from the previous frame of the same channel.
+ * <p>
+ * Each call encodes a self-contained payload, so chunks can be decoded independently. Any byte
+ * sequence round-trips exactly, including an odd trailing byte. Input that does not compress, such
+ * as white noise, is stored verbatim behind a one-byte header instead.
+ */
+public final class LosslessAudioCodec {
+
+    private static final int MODE_VERBATIM = 0;
+    private static final int MODE_PREDICTIVE = 1;
+    private static final int BLOCK_SIZE = 4096;
+    private static final int PARTITION_SIZE = 256;
+    private static final int MAX_ORDER = 4;
+    private static final int ORDER_BITS = 3;
+    private static final int PARAMETER_BITS = 5;
+    private static final int ESCAPE_PARAMETER = (1 << PARAMETER_BITS) - 1;
+    /** Wide enough for any zigzag-encoded order-4 residual of 16-bit samples. */
+    private static final int ESCAPE_BITS = 21;
+
+    private LosslessAudioCodec() {
+    }
+
+    /**
+     * @return True if audio in the given format can be compressed by this codec.
+     */
+    public static boolean supports(AudioFormat format) {
+        return format != null
+                && AudioFormat.Encoding.PCM_SIGNED.equals(format.getEncoding())
+                && format.getSampleSizeInBits() == 16
+                && !format.isBigEndian()
+                && format.getChannels() >= 1;
+    }
+
+    /**
+     * Compresses signed 16-bit little-endian PCM.
+     *
+     * @param pcm The buffer holding the audio.
+     * @param length The number of bytes of {@code pcm} to compress.
+     * @param channels The number of interleaved channels.
+     * @return The compressed payload.
+     */
+    public static byte[] encode(byte[] pcm, int length, int channels) {
+        int sampleCount = length / 2;
+        int[] samples = new int[sampleCount];
+        for (int i = 0; i < sampleCount; i++) {
+            samples[i] = (short) ((pcm[2 * i] & 0xFF) | (pcm[2 * i + 1] << 8));
+        }
+
+        BitOutput out = new BitOutput(length / 2);
+        out.writeBits(MODE_PREDICTIVE, 8);
+        out.writeBits(sampleCount, 32);
+        boolean hasTrailingByte = (length & 1) != 0;
+        out.writeBits(hasTrailingByte ? 1 : 0, 1);
+        if (hasTrailingByte) {
+            out.writeBits(pcm[length - 1], 8);
+        }
+
+        int[] residuals = new int[BLOCK_SIZE];
+        for (int start = 0; start < sampleCount; start += BLOCK_SIZE) {
+            int end = Math.min(sampleCount, start + BLOCK_SIZE);
+            int order = chooseOrder(samples, start, end, channels);
+            out.writeBits(order, ORDER_BITS);
+            for (int i = start; i < end; i++) {
+                residuals[i - start] = zigzag(samples[i] - predict(samples, i, order, channels));
+            }
+            for (int offset = 0; offset < end - start; offset += PARTITION_SIZE) {
+                writePartition(out, residuals, offset, Math.min(end - start, offset + PARTITION_SIZE));
+            }
+        }
+        byte[] encoded = out.toByteArray();
+        if (encoded.length <= length) {
+            return encoded;
+        }
+        byte[] verbatim = new byte[length + 1];
+        verbatim[0] = MODE_VERBATIM;
+        System.arraycopy(pcm, 0, verbatim, 1, length);
+        return verbatim;
+    }
+
+    /**
+     * Restores the exact PCM bytes from a payload produced by {@link #encode}.
+     *
+     * @param data The compressed payload.
+     * @param channels The number of interleaved channels used when encoding.
+     * @return The original PCM bytes.
+     * @throws IllegalArgumentException if the payload is corrupt or truncated.
+     */
+    public static byte[] decode(byte[] data, int channels) {
+        if (data.length > 0 && data[0] == MODE_VERBATIM) {
+            return Arrays.copyOfRange(data, 1, data.length);
+        }
+        BitInput in = new BitInput(data);
+        int mode = in.readBits(8);
+        if (mode != MODE_PREDICTIVE) {
+            throw new IllegalArgumentException("Unsupported compressed audio mode: " + mode);
+        }
+        int sampleCount = in.readBits(32);
+        // Every sample costs at least one bit, which bounds the allocation for corrupt headers.
+        if (sampleCount < 0 || sampleCount > (long) data.length * 8) {
+            throw new IllegalArgumentException("Invalid sample count in compressed audio: " + sampleCount);
+        }
+        boolean hasTrailingByte = in.readBits(1) == 1;
+        byte[] pcm = new byte[sampleCount * 2 + (hasTrailingByte ? 1 : 0)];
+        if (hasTrailingByte) {
+            pcm[pcm.length - 1] = (byte) in.readBits(8);
+        }
+
+        int[] samples = new int[sampleCount];
+        for (int start = 0; start < sampleCount; start += BLOCK_SIZE) {
+            int end = Math.min(sampleCount, start + BLOCK_SIZE);
+            int order = in.readBits(ORDER_BITS);
+            if (order > MAX_ORDER) {
+                throw new IllegalArgumentException("Invalid predictor order in compressed audio: " + order);
+            }
+            for (int partitionStart = start; partitionStart < end; partitionStart += PARTITION_SIZE) {
+                int partitionEnd = Math.min(end, partitionStart + PARTITION_SIZE);
+                int parameter = in.readBits(PARAMETER_BITS);
+                for (int i = partitionStart; i < partitionEnd; i++) {
+                    int value = parameter == ESCAPE_PARAMETER ? in.readBits(ESCAPE_BITS) : in.readRice(parameter);
+                    samples[i] = unzigzag(value) + predict(samples, i, order, channels);
+                }
+            }
+        }
+
+        for (int i = 0; i < sampleCount; i++) {
+            pcm[2 * i] = (byte) samples[i];
+            pcm[2 * i + 1] = (byte) (samples[i] >> 8);
+        }
+        return pcm;
+    }
+
+    private static int chooseOrder(int[] samples, int start, int end, int channels) {
+        int bestOrder = 0;
+        long bestCost = Long.MAX_VALUE;
+        for (int order = 0; order <= MAX_ORDER; order++) {
+            long cost = 0;
+            for (int i = start; i < end && cost < bestCost; i++) {
+                cost += Math.abs(samples[i] - predict(samples, i, order, channels));
+            }
+            if (cost < bestCost) {
+                bestCost = cost;
+                bestOrder = order;
+            }
+        }
+        return bestOrder;
+    }
+
+    /**
+     * Fixed polynomial prediction from previous samples of the same channel. Near the start of the
+     * payload, where fewer samples are available, the order is reduced accordingly.
+     */
+    private static int predict(int[] samples, int index, int order, int channels) {
+        int effectiveOrder = Math.min(order, index / channels);
+        return switch (effectiveOrder) {
+            case 0 -> 0;
+            case 1 -> samples[index - channels];
+            case 2 -> 2 * samples[index - channels] - samples[index - 2 * channels];
+            case 3 -> 3 * samples[index - channels] - 3 * samples[index - 2 * channels] + samples[index - 3 * channels];
+            default -> 4 * samples[index - channels] - 6 * samples[index - 2 * channels]
+                    + 4 * samples[index - 3 * channels] - samples[index - 4 * channels];
+        };
+    }
+
+    private static void writePartition(BitOutput out, int[] values, int from, int to) {
+        int count = to - from;
+        long sum = 0;
+        for (int i = from; i < to; i++) {
+            sum += values[i];
+        }
+        long mean = sum / count;
+        int estimate = mean == 0 ? 0 : 63 - Long.numberOfLeadingZeros(mean);
+
+        int bestParameter = ESCAPE_PARAMETER;
+        long bestBits = (long) count * ESCAPE_BITS;
+        for (int k = Math.max(0, estimate - 1); k <= Math.min(ESCAPE_BITS - 1, estimate + 1); k++) {
+            long bits = (long) count * (k + 1);
+            for (int i = from; i < to; i++) {
+                bits += values[i] >>> k;
+            }
+            if (bits < bestBits) {
+                bestBits = bits;
+                bestParameter = k;
+            }
+        }
+
+        out.writeBits(bestParameter, PARAMETER_BITS);
+        for (int i = from; i < to; i++) {
+            if (bestParameter == ESCAPE_PARAMETER) {
+                out.writeBits(values[i], ESCAPE_BITS);
+            } else {
+                out.writeRice(values[i], bestParameter);
+            }
+        }
+    }
+
+    private static int zigzag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    private static int unzigzag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
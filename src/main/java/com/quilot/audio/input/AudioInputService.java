@@ -60,12 +60,20 @@ public interface AudioInputService {
     void setAudioDataListener(AudioDataListener listener);
 
     /**
-     * Retrieves all audio data recorded since recording was last started.
+     * Retrieves the audio recorded since recording was last started. Implementations may keep only
+     * the most recent part of a long recording, which is persisted elsewhere in full.
      *
-     * @return A byte array containing the recorded audio data. Returns an empty array if no data was captured.
+     * @return A copy of the recorded audio data. Returns an empty array if no data was captured.
      */
     byte[] getRecordedAudioData();
 
+    /**
+     * Checks whether recorded audio is available for playback, without copying it.
+     *
+     * @return true if {@link #getRecordedAudioData()} would return any data.
+     */
+    boolean hasRecordedAudio();
+
     /**
      * Clears any accumulated recorded audio data from the internal buffer.
      */
@@ -0,0 +1,81 @@
+package com.quilot.audio.input;
+
+/**
+ * Keeps the most recent captured audio in a fixed-size ring, so local playback of a recording
+ * does not hold the whole session in memory. Older bytes are overwritten once the ring is full;
+ * the full recording is persisted by the database writers instead.
+ * <p>
+ * Written by the capture thread and read from other threads, so all methods are synchronized.
+ */
+final class RecentAudioBuffer {
+
+    private byte[] ring = new byte[0];
+    private int start;
+    private int size;
+
+    /**
+     * Discards the buffered audio and sets the capacity for the next recording.
+     *
+     * @param capacity The number of most recent bytes to keep; should be a multiple of the frame size.
+     */
+    synchronized void reset(int capacity) {
+        if (ring.length != capacity) {
+            ring = new byte[capacity];
+        }
+        start = 0;
+        size = 0;
+    }
+
+    /**
+     * Appends captured audio, overwriting the oldest bytes if the ring is full.
+     */
+    synchronized void write(byte[] data, int offset, int length) {
+        int capacity = ring.length;
+        if (capacity == 0) {
+            return;
+        }
+        if (length >= capacity) {
+            System.arraycopy(data, offset + length - capacity, ring, 0, capacity);
+            start = 0;
+            size = capacity;
+            return;
+        }
+        int end = (start + size) % capacity;
+        int firstPart = Math.min(length, capacity - end);
+        System.arraycopy(data, offset, ring, end, firstPart);
+        System.arraycopy(data, offset + firstPart, ring, 0, length - firstPart);
+        int overflow = size + length - capacity;
+        if (overflow > 0) {
+            start = (start + overflow) % capacity;
+            size = capacity;
+        } else {
+            size += length;
+        }
+    }
+
+    /**
+     * @return A copy of the buffered audio, oldest byte first.
+     */
+    synchronized byte[] toByteArray() {
+        byte[] copy = new byte[size];
+        int firstPart = Math.min(size, ring.length - start);
+        System.arraycopy(ring, start, copy, 0, firstPart);
+        System.arraycopy(ring, 0, copy, firstPart, size - firstPart);
+        return copy;
+    }
+
+    /**
+     * @return True if any audio is buffered.
+     */
+    synchronized boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Discards the buffered audio, keeping the capacity.
+     */
+    synchronized void clear() {
+        start = 0;
+        size = 0;
+    }
+}
@@ -1,12 +1,14 @@
 package com.quilot.audio.input;
 
 import com.quilot.exceptions.audio.AudioDeviceException;
+import com.quilot.metrics.MetricNames;
+import com.quilot.metrics.MetricsRegistry;
+import com.quilot.metrics.jfr.AudioCapturedEvent;
 import com.quilot.utils.Logger;
 import lombok.Getter;
 import lombok.Setter;
 
 import javax.sound.sampled.*;
-import java.io.ByteArrayOutputStream;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -18,7 +20,8 @@ import java.util.prefs.Preferences;
  * to interact with the system's audio input devices.
  * <p>
  * This class manages device discovery, selection, recording, and format negotiation.
- * It also persists the user's last selected device using Java Preferences.
+ * It also persists the user's last selected device using Java Preferences. Only the last
+ * {@value #RECENT_AUDIO_SECONDS} seconds of a recording are kept in memory for local playback.
  */
 @Getter
 @Setter
@@ -30,8 +33,9 @@ public class SystemAudioInputService implements AudioInputService {
     private final Preferences prefs;
     private static final AudioFormat DEFAULT_AUDIO_FORMAT = new AudioFormat(44100, 16, 1, true, false);
     private static final int JOIN_TIMEOUT_MS = 1000;
+    static final int RECENT_AUDIO_SECONDS = 60;
     private final AtomicBoolean isRecording = new AtomicBoolean(false);
-    private final ByteArrayOutputStream recordedAudioBuffer = new ByteArrayOutputStream();
+    private final RecentAudioBuffer recentAudio = new RecentAudioBuffer();
 
     private AudioFormat audioFormat = DEFAULT_AUDIO_FORMAT;
     private TargetDataLine targetDataLine;
@@ -114,7 +118,7 @@ public class SystemAudioInputService implements AudioInputService {
             return;
         }
 
-        clearRecordedAudioData();
+        recentAudio.reset(RECENT_AUDIO_SECONDS * (int) audioFormat.getSampleRate() * audioFormat.getFrameSize());
         isRecording.set(true);
         targetDataLine.start();
 
@@ -176,7 +180,15 @@ public class SystemAudioInputService implements AudioInputService {
      */
     @Override
     public byte[] getRecordedAudioData() {
-        return recordedAudioBuffer.toByteArray();
+        return recentAudio.toByteArray();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean hasRecordedAudio() {
+        return !recentAudio.isEmpty();
     }
 
     /**
@@ -184,7 +196,7 @@ public class SystemAudioInputService implements AudioInputService {
      */
     @Override
     public void clearRecordedAudioData() {
-        recordedAudioBuffer.reset();
+        recentAudio.clear();
     }
 
     /**
@@ -283,7 +295,14 @@ public class SystemAudioInputService implements AudioInputService {
         while (isRecording.get()) {
             int bytesRead = targetDataLine.read(buffer, 0, buffer.length);
             if (bytesRead > 0) {
-                recordedAudioBuffer.write(buffer, 0, bytesRead);
+                MetricsRegistry.global().mark(MetricNames.AUDIO_CAPTURED);
+                MetricsRegistry.global().counter(MetricNames.AUDIO_FRAMES_CAPTURED).add(bytesRead / Math.max(1, audioFormat.getFrameSize()));
+                AudioCapturedEvent event = new AudioCapturedEvent();
+                if (event.isEnabled()) {
+                    event.bytes = bytesRead;
+                    event.commit();
+                }
+                recentAudio.write(buffer, 0, bytesRead);
                 notifyAudioListener(buffer, bytesRead);
             }
         }
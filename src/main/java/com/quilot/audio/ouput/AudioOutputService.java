@@ -4,6 +4,7 @@ import com.quilot.exceptions.audio.AudioDeviceException;
 import com.quilot.exceptions.audio.AudioException;
 
 import javax.sound.sampled.AudioFormat;
+import java.io.InputStream;
 import java.util.List;
 
 /**
@@ -52,6 +53,18 @@ public interface AudioOutputService {
      */
     void playAudioData(byte[] audioData, AudioFormat format) throws AudioException;
 
+    /**
+     * Plays audio read progressively from a stream through the currently selected audio output device.
+     * Playback starts as soon as the first buffer is available and memory use does not depend on the
+     * length of the audio. Blocks until the stream is exhausted or {@link #stopPlayback()} is called.
+     * The stream is not closed by this method.
+     *
+     * @param audioStream The stream supplying audio data in the given format.
+     * @param format The {@link AudioFormat} of the streamed audio data.
+     * @throws AudioException if no device is selected, the format is unsupported, or the stream cannot be read.
+     */
+    void playAudioStream(InputStream audioStream, AudioFormat format) throws AudioException;
+
     /**
      * Immediately stops any audio that is currently playing.
      * If no audio is playing, this method does nothing.
@@ -6,6 +6,9 @@ import com.quilot.utils.Logger;
 import lombok.Getter;
 
 import javax.sound.sampled.*;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.prefs.BackingStoreException;
 import java.util.prefs.Preferences;
@@ -23,6 +26,7 @@ public class SystemAudioOutputService implements AudioOutputService {
     private static final String PREF_NODE_NAME = "com/quilot/audio";
     private static final String PREF_OUTPUT_DEVICE_KEY = "selectedOutputDevice";
     private static final AudioFormat DEFAULT_AUDIO_FORMAT = new AudioFormat(44100, 16, 1, true, false);
+    private static final int PLAYBACK_BUFFER_FRAMES = 4096;
 
     private final Preferences prefs;
     private Mixer selectedOutputMixer;
@@ -174,6 +178,45 @@ public class SystemAudioOutputService implements AudioOutputService {
      */
     @Override
     public void playAudioData(byte[] audioData, AudioFormat format) throws AudioException {
+        playAudioStream(new ByteArrayInputStream(audioData), format);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void playAudioStream(InputStream audioStream, AudioFormat format) throws AudioException {
+        SourceDataLine line = openPlaybackLine(format);
+        int frameSize = Math.max(1, format.getFrameSize());
+        byte[] buffer = new byte[frameSize * PLAYBACK_BUFFER_FRAMES];
+        int buffered = 0;
+
+        try {
+            line.start();
+            while (line.isOpen()) {
+                int read = audioStream.read(buffer, buffered, buffer.length - buffered);
+                if (read == -1) {
+                    break;
+                }
+                buffered += read;
+                // The line only accepts whole frames; keep any partial frame for the next read.
+                int writable = buffered - buffered % frameSize;
+                line.write(buffer, 0, writable);
+                buffered -= writable;
+                System.arraycopy(buffer, writable, buffer, 0, buffered);
+            }
+            if (line.isOpen()) {
+                line.drain(); // Returns early if stopPlayback() closes the line.
+            }
+        } catch (IOException e) {
+            throw new AudioException("Failed to read audio data for playback: " + e.getMessage(), e);
+        } finally {
+            // Always ensure the line is stopped and closed after playback.
+            stopPlayback();
+        }
+    }
+
+    private SourceDataLine openPlaybackLine(AudioFormat format) throws AudioException {
         if (selectedOutputMixer == null) {
             throw new AudioDeviceException("No audio output device selected.");
         }
@@ -184,20 +227,17 @@ public class SystemAudioOutputService implements AudioOutputService {
             if (!selectedOutputMixer.isLineSupported(info)) {
                 throw new AudioException("The selected device does not support the audio format: " + format);
             }
-            activePlaybackLine = (SourceDataLine) selectedOutputMixer.getLine(info);
-            activePlaybackLine.open(format);
+            SourceDataLine line = (SourceDataLine) selectedOutputMixer.getLine(info);
+            // About a second of audio lets the line ride out slow database reads between chunks.
+            int lineBufferBytes = Math.max(1, format.getFrameSize()) * Math.max(PLAYBACK_BUFFER_FRAMES, Math.round(format.getFrameRate()));
+            line.open(format, lineBufferBytes);
+            synchronized (this) {
+                activePlaybackLine = line;
+            }
+            return line;
         } catch (LineUnavailableException e) {
             throw new AudioDeviceException("Audio line is unavailable. It may be in use by another application.", e);
         }
-
-        try {
-            activePlaybackLine.start();
-            activePlaybackLine.write(audioData, 0, audioData.length);
-            activePlaybackLine.drain(); // This will now block correctly.
-        } finally {
-            // Always ensure the line is stopped and closed after playback.
-            stopPlayback();
-        }
     }
 
     /**
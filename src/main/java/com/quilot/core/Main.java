@@ -1,14 +1,21 @@
 package com.quilot.core;
 
 import com.formdev.flatlaf.FlatLightLaf;
+import com.quilot.metrics.jfr.FlightRecording;
+import com.quilot.ui.EdtStallDetector;
 import com.quilot.ui.MainFrame;
 import com.quilot.utils.Logger;
 
 import javax.swing.*;
 
 public class Main {
+
+    private static final long EDT_STALL_THRESHOLD_MS = Long.getLong("quilot.ui.edtStallMillis", 50);
+
     public static void main(String[] args) {
+        FlightRecording.startIfEnabled();
         FlatLightLaf.setup();
+        new EdtStallDetector(EDT_STALL_THRESHOLD_MS).install();
 
         SwingUtilities.invokeLater(() -> {
             try {
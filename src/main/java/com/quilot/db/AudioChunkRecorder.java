@@ -0,0 +1,271 @@
+package com.quilot.db;
+
+import com.quilot.audio.codec.AudioCodec;
+import com.quilot.db.dao.InterviewDao;
+import com.quilot.db.journal.SessionJournal;
+import com.quilot.utils.Logger;
+
+import javax.sound.sampled.AudioFormat;
+import java.sql.SQLException;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Writes an interview's audio to the {@code audio_chunks} table while it is being recorded.
+ * <p>
+ * Captured audio is copied into a fixed-size chunk buffer on the capture thread. Each full chunk
+ * is handed to a daemon writer thread through a bounded queue, so the capture thread never waits
+ * on the database and memory use is capped at roughly {@code chunkSize * (queueCapacity + 1)}.
+ * Chunks are encoded with the interview's {@link AudioCodec} on the writer thread.
+ * Stopping a recording only queues the final partial chunk and an end marker; it never waits for
+ * the database or for room in the queue. If the queue is full, the marker is set aside and the
+ * writer completes it once every chunk submitted before it has been written or dropped.
+ * <p>
+ * When a {@link SessionJournal} is given, each chunk is journaled before it is queued and
+ * acknowledged once written, so audio survives a dropped chunk, a database outage or a crash.
+ */
+public class AudioChunkRecorder {
+
+    /** About three seconds of 44.1 kHz, 16-bit mono audio. */
+    static final int DEFAULT_CHUNK_SIZE = 256 * 1024;
+    private static final int DEFAULT_QUEUE_CAPACITY = 32;
+    /** How often an idle writer checks for end markers that did not fit in the queue. */
+    private static final long MARKER_POLL_MILLIS = 100;
+
+    /**
+     * A chunk waiting to be written, or the end-of-recording marker when {@code data} is null.
+     * The ticket numbers chunks in submission order; a marker carries the ticket of the last chunk before it.
+     */
+    private record PendingChunk(long ticket, int interviewId, int seq, long byteOffset, byte[] data, int length,
+                                AudioCodec audioCodec, AudioFormat audioFormat, SessionJournal journal,
+                                boolean journaled, CompletableFuture<Long> finished) {
+    }
+
+    private final InterviewDao interviewDao;
+    private final Consumer<String> errorHandler;
+    private final int chunkSize;
+    private final BlockingQueue<PendingChunk> queue;
+    private final Queue<PendingChunk> overflowMarkers = new ConcurrentLinkedQueue<>();
+
+    private boolean recording;
+    private int interviewId = -1;
+    private SessionJournal journal;
+    private AudioCodec audioCodec;
+    private AudioFormat audioFormat;
+    private byte[] buffer;
+    private int buffered;
+    private int nextSeq;
+    private long bytesRecorded;
+    private boolean writerStarted;
+    private long lastTicket;
+    private long bytesStored; // Only touched by the writer thread
+    private long writtenTicket; // Only touched by the writer thread
+
+    /**
+     * Constructs a new AudioChunkRecorder with the default chunk size.
+     *
+     * @param interviewDao The DAO used to insert chunks.
+     * @param errorHandler Receives a user-facing message when audio could not be saved. Called on the writer thread.
+     */
+    public AudioChunkRecorder(InterviewDao interviewDao, Consumer<String> errorHandler) {
+        this(interviewDao, errorHandler, DEFAULT_CHUNK_SIZE, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    AudioChunkRecorder(InterviewDao interviewDao, Consumer<String> errorHandler, int chunkSize, int queueCapacity) {
+        this.interviewDao = Objects.requireNonNull(interviewDao, "InterviewDao cannot be null.");
+        this.errorHandler = Objects.requireNonNull(errorHandler, "Error handler cannot be null.");
+        this.chunkSize = chunkSize;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    /**
+     * Starts persisting audio for a new interview. Any unfinished recording is finished first.
+     *
+     * @param interviewId The ID of the interview the audio belongs to.
+     * @param audioCodec The codec recorded for the interview.
+     * @param audioFormat The format the audio is captured in.
+     */
+    public synchronized void start(int interviewId, AudioCodec audioCodec, AudioFormat audioFormat) {
+        start(interviewId, audioCodec, audioFormat, null);
+    }
+
+    /**
+     * Starts persisting audio for a new interview, journaling every chunk first.
+     * If the interview is {@link SessionJournal#PENDING_INTERVIEW}, chunks are only journaled.
+     *
+     * @param interviewId The ID of the interview the audio belongs to.
+     * @param audioCodec The codec recorded for the interview.
+     * @param audioFormat The format the audio is captured in.
+     * @param journal The session's journal, or null if it has none.
+     */
+    public synchronized void start(int interviewId, AudioCodec audioCodec, AudioFormat audioFormat, SessionJournal journal) {
+        if (recording) {
+            finish();
+        }
+        startWriterIfNeeded();
+        this.recording = true;
+        this.interviewId = interviewId;
+        this.journal = journal;
+        this.audioCodec = Objects.requireNonNull(audioCodec, "AudioCodec cannot be null.");
+        this.audioFormat = Objects.requireNonNull(audioFormat, "AudioFormat cannot be null.");
+        this.buffer = new byte[chunkSize];
+        this.buffered = 0;
+        this.nextSeq = 0;
+        this.bytesRecorded = 0;
+        Logger.info("Recording " + audioCodec + " audio in " + chunkSize / 1024 + " KiB chunks for interview ID: " + interviewId);
+    }
+
+    /**
+     * Appends captured audio. Ignored when no recording is active. Called on the audio capture thread.
+     *
+     * @param data The buffer holding captured audio.
+     * @param length The number of valid bytes in {@code data}.
+     */
+    public synchronized void append(byte[] data, int length) {
+        if (!recording) {
+            return;
+        }
+        int offset = 0;
+        while (offset < length) {
+            int count = Math.min(length - offset, chunkSize - buffered);
+            System.arraycopy(data, offset, buffer, buffered, count);
+            buffered += count;
+            offset += count;
+            if (buffered == chunkSize) {
+                submitBufferedChunk();
+            }
+        }
+    }
+
+    /**
+     * Ends the current recording without waiting for the database or blocking, so it may be called on the EDT.
+     *
+     * @return A future completing with the total number of bytes recorded once every chunk has been
+     *         written or dropped; completes immediately with 0 if no recording was active.
+     */
+    public synchronized CompletableFuture<Long> finish() {
+        CompletableFuture<Long> finished = new CompletableFuture<>();
+        if (!recording) {
+            finished.complete(0L);
+            return finished;
+        }
+        if (buffered > 0) {
+            submitBufferedChunk();
+        }
+        if (isJournalOnly()) {
+            Logger.info("Journaled " + nextSeq + " audio chunk(s), " + bytesRecorded + " bytes, for a session without a database record.");
+            finished.complete(bytesRecorded);
+        } else {
+            PendingChunk marker = new PendingChunk(lastTicket, interviewId, nextSeq, bytesRecorded, null, 0,
+                    audioCodec, audioFormat, null, false, finished);
+            if (!overflowMarkers.isEmpty() || !queue.offer(marker)) {
+                overflowMarkers.add(marker); // The writer completes it once the chunks before it are done
+            }
+        }
+        recording = false;
+        interviewId = -1;
+        journal = null;
+        buffer = null;
+        return finished;
+    }
+
+    /**
+     * @return The number of chunks waiting for the writer thread.
+     */
+    public int getPendingCount() {
+        return queue.size();
+    }
+
+    private void submitBufferedChunk() {
+        int seq = nextSeq++;
+        boolean journaled = journal != null && journal.logAudio(seq, bytesRecorded, buffer, buffered);
+        PendingChunk chunk = new PendingChunk(++lastTicket, interviewId, seq, bytesRecorded, buffer, buffered, audioCodec, audioFormat, journal, journaled, null);
+        bytesRecorded += buffered;
+        buffer = new byte[chunkSize];
+        buffered = 0;
+        if (isJournalOnly()) {
+            return;
+        }
+        if (!queue.offer(chunk)) {
+            Logger.error("Audio chunk queue is full. Dropping chunk " + chunk.seq() + " of interview " + chunk.interviewId() + ".");
+            if (!journaled) {
+                errorHandler.accept("DB_ERROR: The database is too slow; a few seconds of audio were not saved.");
+            }
+        }
+    }
+
+    private boolean isJournalOnly() {
+        return journal != null && interviewId == SessionJournal.PENDING_INTERVIEW;
+    }
+
+    private void startWriterIfNeeded() {
+        if (writerStarted) {
+            return;
+        }
+        Thread writer = new Thread(this::runWriter, "AudioChunkWriterThread");
+        writer.setDaemon(true);
+        writer.start();
+        writerStarted = true;
+    }
+
+    private void runWriter() {
+        while (true) {
+            PendingChunk chunk;
+            try {
+                // Not take(): an end marker that did not fit in the queue must be completed even if no chunk follows it.
+                chunk = queue.poll(MARKER_POLL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (chunk != null) {
+                if (chunk.data() == null) {
+                    completeMarker(chunk);
+                } else {
+                    writeChunk(chunk);
+                }
+                writtenTicket = Math.max(writtenTicket, chunk.ticket());
+            }
+            completeOverflowMarkers(queue.isEmpty());
+        }
+    }
+
+    /**
+     * Completes the set-aside end markers whose chunks have all been written or dropped.
+     *
+     * @param drained True if the queue is empty, so every chunk submitted so far has been handled.
+     */
+    private void completeOverflowMarkers(boolean drained) {
+        PendingChunk marker;
+        while ((marker = overflowMarkers.peek()) != null && (drained || marker.ticket() <= writtenTicket)) {
+            overflowMarkers.poll();
+            completeMarker(marker);
+        }
+    }
+
+    private void completeMarker(PendingChunk marker) {
+        Logger.info(String.format("Finished writing audio for interview ID %d: %d chunk(s), %d bytes captured, %d bytes stored (%s).",
+                marker.interviewId(), marker.seq(), marker.byteOffset(), bytesStored, marker.audioCodec()));
+        bytesStored = 0;
+        marker.finished().complete(marker.byteOffset());
+    }
+
+    private void writeChunk(PendingChunk chunk) {
+        try {
+            bytesStored += interviewDao.addAudioChunk(chunk.interviewId(), chunk.seq(), chunk.byteOffset(),
+                    chunk.data(), chunk.length(), chunk.audioCodec(), chunk.audioFormat());
+            if (chunk.journaled()) {
+                chunk.journal().acknowledgeAudio(chunk.seq());
+            }
+        } catch (SQLException e) {
+            Logger.error("Failed to save audio chunk " + chunk.seq() + " of interview " + chunk.interviewId() + ".", e);
+            errorHandler.accept("DB_ERROR: Failed to save part of the audio recording: " + e.getMessage()
+                    + (chunk.journaled() ? " It is kept in the local journal." : ""));
+        }
+    }
+}
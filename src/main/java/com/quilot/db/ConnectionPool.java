@@ -0,0 +1,468 @@
+package com.quilot.db;
+
+import com.quilot.metrics.LatencyHistogram;
+import com.quilot.utils.Logger;
+import lombok.Builder;
+import lombok.Value;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * A small, bounded JDBC connection pool.
+ * <p>
+ * Borrowed connections are proxies whose {@link Connection#close()} returns the physical
+ * connection to the pool instead of closing it, so existing try-with-resources code keeps
+ * working unchanged. The pool validates connections that have been idle for a while before
+ * handing them out, evicts idle and expired connections in the background, discards
+ * connections that reported a connection-level error, and logs a warning with the borrowing
+ * stack trace when a connection is held longer than the leak detection threshold.
+ */
+public class ConnectionPool implements AutoCloseable {
+
+    private static final long HOUSEKEEPING_INTERVAL_MILLIS = 5_000;
+
+    /**
+     * Opens a new physical connection.
+     */
+    @FunctionalInterface
+    public interface ConnectionFactory {
+        Connection create() throws SQLException;
+    }
+
+    /**
+     * Tuning parameters for a {@link ConnectionPool}.
+     */
+    @Value
+    @Builder(toBuilder = true)
+    public static class Config {
+
+        /** The maximum number of physical connections, borrowed and idle combined. */
+        @Builder.Default
+        int maxSize = 4;
+
+        /** The number of idle connections kept open by idle eviction. */
+        @Builder.Default
+        int minIdle = 1;
+
+        /** How long (ms) a caller waits for a free connection before failing. */
+        @Builder.Default
+        long connectionTimeoutMillis = 5_000;
+
+        /** Connections idle for longer than this (ms) are validated before being handed out. */
+        @Builder.Default
+        long validationIntervalMillis = 30_000;
+
+        /** The timeout (s) passed to {@link Connection#isValid(int)}. */
+        @Builder.Default
+        int validationTimeoutSeconds = 2;
+
+        /** Idle connections beyond {@link #minIdle} are closed after this long (ms). */
+        @Builder.Default
+        long idleTimeoutMillis = 10 * 60_000;
+
+        /** Connections are retired after this long (ms), staying well below MySQL's wait_timeout. */
+        @Builder.Default
+        long maxLifetimeMillis = 30 * 60_000;
+
+        /** A borrowed connection held longer than this (ms) is reported as a possible leak; 0 disables. */
+        @Builder.Default
+        long leakDetectionThresholdMillis = 30_000;
+    }
+
+    /**
+     * A point-in-time snapshot of pool usage.
+     */
+    public record Stats(int active, int idle, int total, int waiting,
+                        long created, long acquired, long timeouts, long validationFailures, long leaks,
+                        long acquireP50Micros, long acquireP99Micros) {
+
+        /**
+         * @return A one-line human-readable summary, suitable for logging.
+         */
+        public String summary() {
+            return String.format("active=%d, idle=%d, total=%d, waiting=%d, created=%d, acquired=%d, timeouts=%d, "
+                            + "validationFailures=%d, leaks=%d, acquire p50=%.2fms p99=%.2fms",
+                    active, idle, total, waiting, created, acquired, timeouts, validationFailures, leaks,
+                    acquireP50Micros / 1000.0, acquireP99Micros / 1000.0);
+        }
+    }
+
+    private final String name;
+    private final ConnectionFactory factory;
+    private final Config config;
+    private final LongSupplier clockNanos;
+    private final ScheduledExecutorService housekeeper;
+    private final LatencyHistogram acquireLatency = new LatencyHistogram();
+
+    private final Deque<PooledConnection> idle = new ArrayDeque<>();
+    private final Set<PooledConnection> borrowed = new LinkedHashSet<>();
+    private int total;
+    private int waiting;
+    private boolean closed;
+
+    private long createdCount;
+    private long acquiredCount;
+    private long timeoutCount;
+    private long validationFailureCount;
+    private long leakCount;
+
+    /**
+     * Constructs a new ConnectionPool and starts its housekeeping thread.
+     *
+     * @param name A name used in log messages and the housekeeping thread name.
+     * @param factory Opens new physical connections.
+     * @param config The pool parameters.
+     */
+    public ConnectionPool(String name, ConnectionFactory factory, Config config) {
+        this(name, factory, config, System::nanoTime, true);
+    }
+
+    ConnectionPool(String name, ConnectionFactory factory, Config config, LongSupplier clockNanos, boolean startHousekeeping) {
+        this.name = name;
+        this.factory = Objects.requireNonNull(factory, "ConnectionFactory cannot be null.");
+        this.config = Objects.requireNonNull(config, "Config cannot be null.");
+        this.clockNanos = clockNanos;
+        if (startHousekeeping) {
+            this.housekeeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, name + "-PoolHousekeeper");
+                thread.setDaemon(true);
+                return thread;
+            });
+            housekeeper.scheduleWithFixedDelay(this::runHousekeeping,
+                    HOUSEKEEPING_INTERVAL_MILLIS, HOUSEKEEPING_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        } else {
+            this.housekeeper = null;
+        }
+        Logger.info("Connection pool '" + name + "' created with max size " + config.getMaxSize() + ".");
+    }
+
+    /**
+     * Borrows a connection, waiting up to the configured timeout for one to become free.
+     * Closing the returned connection returns it to the pool.
+     *
+     * @return A pooled connection.
+     * @throws SQLException if the pool is closed, exhausted for longer than the timeout, or a
+     *                      new connection cannot be opened.
+     */
+    public Connection getConnection() throws SQLException {
+        long start = clockNanos.getAsLong();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(config.getConnectionTimeoutMillis());
+
+        while (true) {
+            PooledConnection candidate;
+            synchronized (this) {
+                candidate = takeIdleOrReserveSlot(deadline);
+            }
+
+            if (candidate == null) {
+                // A slot was reserved; open the physical connection outside the lock.
+                candidate = openConnection();
+            } else if (!isUsable(candidate)) {
+                discard(candidate);
+                continue;
+            }
+
+            synchronized (this) {
+                candidate.borrowedAtNanos = clockNanos.getAsLong();
+                candidate.borrowStack = config.getLeakDetectionThresholdMillis() > 0
+                        ? new Throwable("Connection borrowed here") : null;
+                candidate.leakReported = false;
+                borrowed.add(candidate);
+                acquiredCount++;
+            }
+            acquireLatency.recordNanos(clockNanos.getAsLong() - start);
+            return candidate.newHandle();
+        }
+    }
+
+    /**
+     * @return A snapshot of the current pool usage and counters.
+     */
+    public synchronized Stats getStats() {
+        return new Stats(borrowed.size(), idle.size(), total, waiting,
+                createdCount, acquiredCount, timeoutCount, validationFailureCount, leakCount,
+                acquireLatency.getValueAtPercentile(50), acquireLatency.getValueAtPercentile(99));
+    }
+
+    /**
+     * Closes all idle connections and stops housekeeping. Borrowed connections are closed when returned.
+     */
+    @Override
+    public void close() {
+        Deque<PooledConnection> toClose;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            toClose = new ArrayDeque<>(idle);
+            total -= idle.size();
+            idle.clear();
+            notifyAll();
+        }
+        toClose.forEach(PooledConnection::closePhysical);
+        if (housekeeper != null) {
+            housekeeper.shutdownNow();
+        }
+        Logger.info("Connection pool '" + name + "' closed. Final stats: " + getStats().summary());
+    }
+
+    /**
+     * Closes idle connections that exceeded their idle timeout or lifetime, and reports
+     * connections that have been borrowed for longer than the leak detection threshold.
+     */
+    void runHousekeeping() {
+        Deque<PooledConnection> toClose = new ArrayDeque<>();
+        long now = clockNanos.getAsLong();
+        synchronized (this) {
+            Iterator<PooledConnection> oldestFirst = idle.descendingIterator();
+            while (oldestFirst.hasNext()) {
+                PooledConnection connection = oldestFirst.next();
+                boolean expired = isExpired(connection, now);
+                boolean idleTooLong = idle.size() - toClose.size() > config.getMinIdle()
+                        && now - connection.lastReturnedNanos > TimeUnit.MILLISECONDS.toNanos(config.getIdleTimeoutMillis());
+                if (expired || idleTooLong) {
+                    oldestFirst.remove();
+                    toClose.add(connection);
+                    total--;
+                }
+            }
+
+            long leakThresholdNanos = TimeUnit.MILLISECONDS.toNanos(config.getLeakDetectionThresholdMillis());
+            for (PooledConnection connection : borrowed) {
+                if (leakThresholdNanos > 0 && !connection.leakReported && now - connection.borrowedAtNanos > leakThresholdNanos) {
+                    connection.leakReported = true;
+                    leakCount++;
+                    Logger.error("Possible connection leak in pool '" + name + "': a connection has been borrowed for more than "
+                            + config.getLeakDetectionThresholdMillis() + " ms.", connection.borrowStack);
+                }
+            }
+            if (!toClose.isEmpty()) {
+                notifyAll();
+            }
+        }
+        toClose.forEach(PooledConnection::closePhysical);
+        if (!toClose.isEmpty()) {
+            Logger.info("Connection pool '" + name + "' evicted " + toClose.size() + " idle connection(s). " + getStats().summary());
+        }
+    }
+
+    /**
+     * Returns an idle connection, or null after reserving a slot for a new connection.
+     * Must be called while holding the pool's monitor.
+     */
+    private PooledConnection takeIdleOrReserveSlot(long deadline) throws SQLException {
+        while (true) {
+            if (closed) {
+                throw new SQLException("Connection pool '" + name + "' is closed.");
+            }
+            if (!idle.isEmpty()) {
+                return idle.pollFirst(); // Most recently used first, so it is most likely still warm.
+            }
+            if (total < config.getMaxSize()) {
+                total++;
+                return null;
+            }
+
+            long remainingNanos = deadline - clockNanos.getAsLong();
+            if (remainingNanos <= 0) {
+                timeoutCount++;
+                throw new SQLException("Timed out after " + config.getConnectionTimeoutMillis()
+                        + " ms waiting for a connection from pool '" + name + "'. " + getStats().summary());
+            }
+            waiting++;
+            try {
+                TimeUnit.NANOSECONDS.timedWait(this, remainingNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Interrupted while waiting for a database connection.", e);
+            } finally {
+                waiting--;
+            }
+        }
+    }
+
+    private PooledConnection openConnection() throws SQLException {
+        try {
+            Connection physical = factory.create();
+            PooledConnection connection = new PooledConnection(physical, clockNanos.getAsLong());
+            synchronized (this) {
+                createdCount++;
+            }
+            return connection;
+        } catch (SQLException | RuntimeException e) {
+            synchronized (this) {
+                total--;
+                notifyAll();
+            }
+            throw e;
+        }
+    }
+
+    private boolean isUsable(PooledConnection connection) {
+        long now = clockNanos.getAsLong();
+        if (isExpired(connection, now)) {
+            return false;
+        }
+        if (now - connection.lastReturnedNanos < TimeUnit.MILLISECONDS.toNanos(config.getValidationIntervalMillis())) {
+            return true;
+        }
+        try {
+            if (connection.physical.isValid(config.getValidationTimeoutSeconds())) {
+                return true;
+            }
+        } catch (SQLException e) {
+            Logger.warn("Connection validation failed in pool '" + name + "': " + e.getMessage());
+        }
+        synchronized (this) {
+            validationFailureCount++;
+        }
+        return false;
+    }
+
+    private boolean isExpired(PooledConnection connection, long now) {
+        return now - connection.createdNanos > TimeUnit.MILLISECONDS.toNanos(config.getMaxLifetimeMillis());
+    }
+
+    private void discard(PooledConnection connection) {
+        synchronized (this) {
+            total--;
+            notifyAll();
+        }
+        connection.closePhysical();
+    }
+
+    private void release(PooledConnection connection) {
+        boolean reusable = !connection.broken && resetState(connection);
+        synchronized (this) {
+            if (!borrowed.remove(connection)) {
+                return;
+            }
+            if (reusable && !closed) {
+                connection.lastReturnedNanos = clockNanos.getAsLong();
+                idle.addFirst(connection);
+                notifyAll();
+                return;
+            }
+        }
+        discard(connection);
+    }
+
+    /**
+     * Rolls back abandoned transactions so the next borrower starts from a clean state.
+     */
+    private boolean resetState(PooledConnection connection) {
+        try {
+            if (!connection.physical.getAutoCommit()) {
+                connection.physical.rollback();
+                connection.physical.setAutoCommit(true);
+            }
+            return true;
+        } catch (SQLException e) {
+            Logger.warn("Discarding connection that could not be reset: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * A physical connection and its bookkeeping. Guarded by the pool's monitor, except for {@link #broken}.
+     */
+    private final class PooledConnection {
+        private final Connection physical;
+        private final long createdNanos;
+        private long lastReturnedNanos;
+        private long borrowedAtNanos;
+        private Throwable borrowStack;
+        private boolean leakReported;
+        private volatile boolean broken;
+
+        private PooledConnection(Connection physical, long createdNanos) {
+            this.physical = physical;
+            this.createdNanos = createdNanos;
+            this.lastReturnedNanos = createdNanos;
+        }
+
+        private Connection newHandle() {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, new Handle(this));
+        }
+
+        private void closePhysical() {
+            try {
+                physical.close();
+            } catch (SQLException e) {
+                Logger.warn("Failed to close a pooled connection: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * The borrower's view of a pooled connection. Closing it returns the connection to the pool;
+     * any later use fails as it would on a closed connection.
+     */
+    private final class Handle implements InvocationHandler {
+        private final PooledConnection connection;
+        private boolean returned;
+
+        private Handle(PooledConnection connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close" -> {
+                    if (!returned) {
+                        returned = true;
+                        release(connection);
+                    }
+                    return null;
+                }
+                case "isClosed" -> {
+                    return returned || connection.physical.isClosed();
+                }
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                case "toString" -> {
+                    return "Pooled[" + connection.physical + "]";
+                }
+                default -> {
+                    if (returned) {
+                        throw new SQLException("Connection has already been returned to the pool.");
+                    }
+                }
+            }
+
+            try {
+                return method.invoke(connection.physical, args);
+            } catch (InvocationTargetException e) {
+                Throwable cause = e.getCause();
+                // SQLState class 08 means the connection itself failed; never hand it out again.
+                if (cause instanceof SQLException sqlException
+                        && sqlException.getSQLState() != null && sqlException.getSQLState().startsWith("08")) {
+                    connection.broken = true;
+                }
+                throw cause;
+            }
+        }
+    }
+}
@@ -1,22 +1,25 @@
 package com.quilot.db;
 
+import com.quilot.db.migration.MigrationRunner;
+import com.quilot.db.migration.SqlScript;
 import com.quilot.utils.Logger;
 import lombok.NoArgsConstructor;
 
-import java.io.BufferedReader;
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.prefs.Preferences;
-import java.util.stream.Collectors;
 
 /**
- * Manages the connection to the MySQL database and handles initial schema setup.
- * This class now dynamically handles credentials provided by the user.
+ * Manages the pooled connections to the database and handles initial schema setup.
+ * <p>
+ * The database is either a MySQL server, using credentials provided by the user, or an embedded
+ * H2 database stored in {@code ~/.quilot} that runs in MySQL compatibility mode. Both use the
+ * same schema migrations and the same {@link com.quilot.db.dao.InterviewDao}; see {@link DatabaseMode}.
+ * Pending migrations are applied when the connection pool is created, so existing databases are
+ * upgraded on the first use after an update.
  */
 @NoArgsConstructor
 public class DatabaseManager {
@@ -25,66 +28,113 @@ public class DatabaseManager {
     private static final String DB_HOST = "jdbc:mysql://localhost:3306/";
     private static final String DB_NAME = "quilot_interviews";
     private static final String DB_URL = DB_HOST + DB_NAME;
+    private static final String EMBEDDED_URL_OPTIONS = ";MODE=MySQL;DATABASE_TO_LOWER=TRUE";
+    private static final String EMBEDDED_USER = "sa";
+    /** System property that overrides the directory of the embedded database file. */
+    private static final String DATA_DIR_PROPERTY = "quilot.data.dir";
 
     // PREFERENCES FOR SAVING CREDENTIALS
     private static final String PREF_NODE_NAME = "com/quilot/db";
     private static final String PREF_DB_USER = "dbUser";
     private static final String PREF_DB_PASSWORD = "dbPassword";
     private static final String PREF_DB_ENABLED = "dbEnabled";
+    private static final String PREF_DB_MODE = "dbMode";
 
-    private static Connection connection;
+    private static ConnectionPool connectionPool;
     private static String currentUser;
     private static String currentPassword;
+    /** Set by {@link #useSession}; overrides the saved preferences until the JVM exits. */
+    private static DatabaseMode sessionMode;
 
 
     /**
-     * Gets the active database connection using stored or provided credentials.
+     * Borrows a connection from the pool, creating the pool with the stored credentials on first use.
+     * Closing the returned connection returns it to the pool.
      *
-     * @return The active {@link Connection} object.
+     * @return A pooled {@link Connection} object.
      * @throws SQLException if a database access error occurs or credentials are not set.
      */
     public static Connection getConnection() throws SQLException {
-        if (!isDatabaseEnabled()) {
-            throw new SQLException("Database feature is not enabled by the user.");
+        return getConnectionPool().getConnection();
+    }
+
+    /**
+     * Returns usage statistics of the connection pool, or null if no connection has been requested yet.
+     *
+     * @return A snapshot of the pool statistics.
+     */
+    public static synchronized ConnectionPool.Stats getPoolStats() {
+        return connectionPool == null ? null : connectionPool.getStats();
+    }
+
+    /**
+     * Closes the connection pool and all idle connections in it.
+     */
+    public static synchronized void closeConnection() {
+        if (connectionPool != null) {
+            connectionPool.close();
+            connectionPool = null;
+            Logger.info("Database connection pool closed.");
         }
-        if (currentUser == null || currentPassword == null) {
-            loadCredentials();
+    }
+
+    private static synchronized ConnectionPool getConnectionPool() throws SQLException {
+        if (sessionMode == null && !isDatabaseEnabled()) {
+            throw new SQLException("Database feature is not enabled by the user.");
         }
-        if (currentUser == null) {
-            throw new SQLException("Database credentials are not set.");
+        if (connectionPool != null) {
+            return connectionPool;
         }
 
-        if (connection == null || connection.isClosed()) {
-            try {
-                Class.forName("com.mysql.cj.jdbc.Driver");
-                connection = DriverManager.getConnection(DB_URL, currentUser, currentPassword);
-                Logger.info("Successfully connected to the database.");
-            } catch (ClassNotFoundException e) {
-                Logger.error("MySQL JDBC Driver not found!", e);
-                throw new SQLException("Database driver not found.", e);
+        DatabaseMode mode = getMode();
+        String url;
+        String user;
+        String password;
+        if (mode == DatabaseMode.EMBEDDED) {
+            url = getEmbeddedUrl();
+            user = EMBEDDED_USER;
+            password = "";
+        } else {
+            if (currentUser == null || currentPassword == null) {
+                loadCredentials();
             }
+            if (currentUser == null) {
+                throw new SQLException("Database credentials are not set.");
+            }
+            url = DB_URL;
+            user = currentUser;
+            password = currentPassword;
+        }
+
+        loadDriver(mode);
+        ConnectionPool pool = new ConnectionPool(mode == DatabaseMode.EMBEDDED ? "H2" : "MySQL", () -> {
+            Connection connection = DriverManager.getConnection(url, user, password);
+            Logger.info("Successfully connected to the database.");
+            return connection;
+        }, ConnectionPool.Config.builder().build());
+        // Databases set up by older versions are upgraded before anything else touches them.
+        try (Connection connection = pool.getConnection()) {
+            new MigrationRunner().migrate(connection, mode);
+        } catch (SQLException e) {
+            pool.close();
+            throw new SQLException("Could not bring the database schema up to date.", e);
         }
-        return connection;
+        connectionPool = pool;
+        return connectionPool;
     }
 
-    /**
-     * Closes the database connection if it is open.
-     */
-    public static void closeConnection() {
-        if (connection != null) {
-            try {
-                if (!connection.isClosed()) {
-                    connection.close();
-                    Logger.info("Database connection closed.");
-                }
-            } catch (SQLException e) {
-                Logger.error("Failed to close the database connection.", e);
-            }
+    private static void loadDriver(DatabaseMode mode) throws SQLException {
+        String driver = mode == DatabaseMode.EMBEDDED ? "org.h2.Driver" : "com.mysql.cj.jdbc.Driver";
+        try {
+            Class.forName(driver);
+        } catch (ClassNotFoundException e) {
+            Logger.error("JDBC driver " + driver + " not found!", e);
+            throw new SQLException("Database driver not found.", e);
         }
     }
 
     /**
-     * Reads the schema.sql file and executes it to set up the database and tables.
+     * Creates the database if needed and applies the schema migrations to set up its tables.
      * This method uses the provided credentials to connect to the server.
      *
      * @param user The MySQL username.
@@ -92,34 +142,52 @@ public class DatabaseManager {
      * @throws SQLException if the schema setup fails.
      */
     public static void setupDatabaseSchema(String user, String password) throws SQLException {
-        try (Connection conn = DriverManager.getConnection(DB_HOST, user, password);
-             Statement stmt = conn.createStatement()) {
-
-            Logger.info("Reading database schema script...");
-            InputStream is = DatabaseManager.class.getResourceAsStream("/schema.sql");
-            if (is == null) {
-                Logger.error("Could not find schema.sql in resources. Make sure it's in src/main/resources.");
-                throw new SQLException("Database schema file not found.");
-            }
-
-            String sqlScript;
-            try (BufferedReader reader = new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8))) {
-                sqlScript = reader.lines().collect(Collectors.joining("\n"));
-            }
+        try {
+            loadDriver(DatabaseMode.MYSQL);
+            migrateSchema(DB_HOST, user, password, DatabaseMode.MYSQL);
+        } catch (Exception e) {
+            Logger.error("Failed to execute database schema setup.", e);
+            throw new SQLException("Could not set up database schema. Please check credentials and server status.", e);
+        }
+    }
 
-            String[] statements = sqlScript.split(";");
+    /**
+     * Creates the embedded database file if needed, sets up its schema and makes it the active database.
+     * No server or credentials are required.
+     *
+     * @throws SQLException if the database file cannot be created or the schema setup fails.
+     */
+    public static void setupEmbeddedDatabase() throws SQLException {
+        try {
+            loadDriver(DatabaseMode.EMBEDDED);
+            migrateSchema(getEmbeddedUrl(), EMBEDDED_USER, "", DatabaseMode.EMBEDDED);
+        } catch (Exception e) {
+            Logger.error("Failed to set up the embedded database.", e);
+            throw new SQLException("Could not set up the embedded database at " + getEmbeddedDatabasePath() + ".", e);
+        }
+        Preferences prefs = Preferences.userRoot().node(PREF_NODE_NAME);
+        prefs.put(PREF_DB_MODE, DatabaseMode.EMBEDDED.name());
+        prefs.putBoolean(PREF_DB_ENABLED, true);
+        closeConnection(); // The next request opens a pool on the embedded database
+        Logger.info("Embedded database enabled at " + getEmbeddedDatabasePath() + ".");
+    }
 
+    /**
+     * Creates the database if needed and applies all schema migrations, using a dedicated connection
+     * so that bad credentials or an unreachable server are reported by the setup dialog.
+     */
+    private static void migrateSchema(String url, String user, String password, DatabaseMode mode) throws Exception {
+        try (Connection conn = DriverManager.getConnection(url, user, password)) {
             Logger.info("Executing database schema setup...");
-            for (String statement : statements) {
-                if (statement.trim().isEmpty()) {
-                    continue;
+            try (Statement stmt = conn.createStatement()) {
+                for (String statement : SqlScript.forMode(SqlScript.load("/schema.sql"), mode)) {
+                    if (SqlScript.isDatabaseStatement(statement)) {
+                        stmt.execute(statement); // CREATE DATABASE and USE; the migrations create the tables
+                    }
                 }
-                stmt.execute(statement);
             }
+            new MigrationRunner().migrate(conn, mode);
             Logger.info("Database schema created successfully.");
-        } catch (Exception e) {
-            Logger.error("Failed to execute database schema setup.", e);
-            throw new SQLException("Could not set up database schema. Please check credentials and server status.", e);
         }
     }
 
@@ -134,8 +202,10 @@ public class DatabaseManager {
         prefs.put(PREF_DB_USER, user);
         prefs.put(PREF_DB_PASSWORD, password); // Note: Storing passwords in preferences is not secure for production apps.
         prefs.putBoolean(PREF_DB_ENABLED, true);
+        prefs.put(PREF_DB_MODE, DatabaseMode.MYSQL.name());
         currentUser = user;
         currentPassword = password;
+        closeConnection(); // The next request opens a pool with the new credentials
         Logger.info("Database credentials and enabled status saved.");
     }
 
@@ -156,4 +226,52 @@ public class DatabaseManager {
         Preferences prefs = Preferences.userRoot().node(PREF_NODE_NAME);
         return prefs.getBoolean(PREF_DB_ENABLED, false);
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns where interview history is stored. Installations that predate the embedded database use MySQL.
+     *
+     * @return The active {@link DatabaseMode}.
+     */
+    public static DatabaseMode getMode() {
+        if (sessionMode != null) {
+            return sessionMode;
+        }
+        Preferences prefs = Preferences.userRoot().node(PREF_NODE_NAME);
+        try {
+            return DatabaseMode.valueOf(prefs.get(PREF_DB_MODE, DatabaseMode.MYSQL.name()));
+        } catch (IllegalArgumentException e) {
+            return DatabaseMode.MYSQL;
+        }
+    }
+
+    /**
+     * @return The directory for local application data, {@code ~/.quilot} unless overridden with {@value #DATA_DIR_PROPERTY}.
+     */
+    public static Path getDataDirectory() {
+        String dataDir = System.getProperty(DATA_DIR_PROPERTY);
+        Path directory = dataDir != null ? Path.of(dataDir) : Path.of(System.getProperty("user.home"), ".quilot");
+        return directory.toAbsolutePath();
+    }
+
+    /**
+     * @return The path of the embedded database file, without H2's {@code .mv.db} extension.
+     */
+    public static Path getEmbeddedDatabasePath() {
+        return getDataDirectory().resolve(DB_NAME);
+    }
+
+    private static String getEmbeddedUrl() {
+        return "jdbc:h2:file:" + getEmbeddedDatabasePath() + EMBEDDED_URL_OPTIONS;
+    }
+
+    /**
+     * Uses the given database for the rest of this JVM without touching the saved preferences, e.g. for
+     * benchmarks. For {@link DatabaseMode#EMBEDDED} the credentials are ignored.
+     */
+    static synchronized void useSession(DatabaseMode mode, String user, String password) {
+        closeConnection();
+        sessionMode = mode;
+        currentUser = user;
+        currentPassword = password;
+    }
+}
@@ -0,0 +1,13 @@
+package com.quilot.db;
+
+/**
+ * Where interview history is stored.
+ */
+public enum DatabaseMode {
+
+    /** A MySQL server on localhost, set up with the user's credentials. */
+    MYSQL,
+
+    /** An H2 database file in the user's home directory; no server or credentials required. */
+    EMBEDDED
+}
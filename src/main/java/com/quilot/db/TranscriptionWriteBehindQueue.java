@@ -0,0 +1,306 @@
+package com.quilot.db;
+
+import com.quilot.db.dao.InterviewDao;
+import com.quilot.db.journal.SessionJournal;
+import com.quilot.db.model.TranscriptionEntry;
+import com.quilot.metrics.jfr.DbBatchFlushEvent;
+import com.quilot.utils.Logger;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Persists transcription entries in the background so callers, typically the EDT, never wait on the database.
+ * <p>
+ * {@link #enqueue} only timestamps the entry and offers it to a bounded in-memory queue. A daemon
+ * writer thread drains the queue and inserts entries in JDBC batches, writing whenever
+ * {@value #DEFAULT_MAX_BATCH_SIZE} entries are pending, when the flush interval elapses, or when
+ * {@link #flush()} or {@link #close} is called. A failed batch is retried with backoff and then
+ * dropped, and the error handler is notified.
+ * <p>
+ * Entries queued with a {@link SessionJournal} are logged there by the writer thread as they are
+ * taken from the queue, before their batch is sent, and acknowledged once written, so a dropped batch
+ * or a crash after that point doesn't lose them; the journal is replayed later. Journaling on the
+ * writer keeps file I/O off the caller's thread.
+ */
+public class TranscriptionWriteBehindQueue implements AutoCloseable {
+
+    static final int DEFAULT_MAX_BATCH_SIZE = 50;
+    private static final long DEFAULT_FLUSH_INTERVAL_MILLIS = 500;
+    private static final int DEFAULT_CAPACITY = 10_000;
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long RETRY_BACKOFF_MILLIS = 250;
+
+    /**
+     * An entry waiting to be written, with the journal to log it to and, once logged, its sequence
+     * number there ({@code journalSeq} is -1 until then, or if it could not be journaled).
+     */
+    private record QueuedEntry(TranscriptionEntry entry, SessionJournal journal, long journalSeq) {
+    }
+
+    /** Queued marker that completes its future once everything queued before it has been written. */
+    private record FlushMarker(CompletableFuture<Void> done) {
+    }
+
+    private final InterviewDao interviewDao;
+    private final Consumer<String> errorHandler;
+    private final int maxBatchSize;
+    private final long flushIntervalMillis;
+    private final BlockingQueue<Object> queue;
+    private final Thread writerThread;
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private volatile boolean closed;
+
+    /**
+     * Constructs a new queue with default batching parameters and starts its writer thread.
+     *
+     * @param interviewDao The DAO used to insert batches.
+     * @param errorHandler Receives a user-facing message when entries could not be saved. Called on the writer thread.
+     */
+    public TranscriptionWriteBehindQueue(InterviewDao interviewDao, Consumer<String> errorHandler) {
+        this(interviewDao, errorHandler, DEFAULT_MAX_BATCH_SIZE, DEFAULT_FLUSH_INTERVAL_MILLIS, DEFAULT_CAPACITY);
+    }
+
+    TranscriptionWriteBehindQueue(InterviewDao interviewDao, Consumer<String> errorHandler,
+                                  int maxBatchSize, long flushIntervalMillis, int capacity) {
+        this.interviewDao = Objects.requireNonNull(interviewDao, "InterviewDao cannot be null.");
+        this.errorHandler = Objects.requireNonNull(errorHandler, "Error handler cannot be null.");
+        this.maxBatchSize = maxBatchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.writerThread = new Thread(this::runWriter, "TranscriptionWriterThread");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * Queues a transcription entry for insertion. Never blocks.
+     *
+     * @param interviewId The ID of the interview this entry belongs to.
+     * @param speaker The speaker of the content (e.g., "Interviewer", "AI").
+     * @param content The transcribed text or AI response.
+     * @param isQuestion True if the content is a question, false otherwise.
+     * @return True if the entry was queued, false if the queue is closed or full.
+     */
+    public boolean enqueue(int interviewId, String speaker, String content, boolean isQuestion) {
+        return enqueue(null, interviewId, speaker, content, isQuestion);
+    }
+
+    /**
+     * Queues a transcription entry to be logged to the session journal and inserted. Never blocks.
+     * If the interview is {@link SessionJournal#PENDING_INTERVIEW}, the entry is only journaled.
+     *
+     * @param journal The session's journal, or null if it has none.
+     * @param interviewId The ID of the interview this entry belongs to.
+     * @param speaker The speaker of the content (e.g., "Interviewer", "AI").
+     * @param content The transcribed text or AI response.
+     * @param isQuestion True if the content is a question, false otherwise.
+     * @return True if the entry was queued, false if the queue is closed or full.
+     */
+    public boolean enqueue(SessionJournal journal, int interviewId, String speaker, String content, boolean isQuestion) {
+        return enqueue(journal, interviewId, speaker, content, isQuestion, null);
+    }
+
+    /**
+     * Queues a transcription entry to be logged to the session journal and inserted. Never blocks.
+     * If the interview is {@link SessionJournal#PENDING_INTERVIEW}, the entry is only journaled.
+     *
+     * @param journal The session's journal, or null if it has none.
+     * @param interviewId The ID of the interview this entry belongs to.
+     * @param speaker The speaker of the content (e.g., "Interviewer", "AI").
+     * @param content The transcribed text or AI response.
+     * @param isQuestion True if the content is a question, false otherwise.
+     * @param correlationId The correlation ID of the utterance the entry belongs to, or null.
+     * @return True if the entry was queued, false if the queue is closed or full.
+     */
+    public boolean enqueue(SessionJournal journal, int interviewId, String speaker, String content, boolean isQuestion,
+                           String correlationId) {
+        TranscriptionEntry entry = new TranscriptionEntry();
+        entry.setInterviewId(interviewId);
+        entry.setSpeaker(speaker);
+        entry.setContent(content);
+        entry.setQuestion(isQuestion);
+        entry.setCorrelationId(correlationId);
+        entry.setTimestamp(LocalDateTime.now()); // The time it was said, not the time it is written
+
+        if (closed || !queue.offer(new QueuedEntry(entry, journal, -1))) {
+            dropped.incrementAndGet();
+            Logger.error("Transcription write queue is " + (closed ? "closed" : "full") + ". Dropping entry from " + speaker + ".");
+            errorHandler.accept("DB_ERROR: Could not queue transcription entry for saving.");
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Requests that all entries queued so far are written immediately.
+     *
+     * @return A future that completes once those entries have been written or dropped.
+     */
+    public CompletableFuture<Void> flush() {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        if (!writerThread.isAlive() || !queue.offer(new FlushMarker(done))) {
+            done.complete(null);
+        }
+        return done;
+    }
+
+    /**
+     * Flushes pending entries, waiting up to the given timeout, and stops the writer thread.
+     */
+    public void close(long timeout, TimeUnit unit) {
+        if (closed) {
+            return;
+        }
+        try {
+            flush().get(timeout, unit);
+        } catch (TimeoutException e) {
+            Logger.warn("Timed out flushing transcription entries on shutdown. " + queue.size() + " entries may be lost.");
+        } catch (Exception e) {
+            Logger.error("Failed to flush transcription entries on shutdown.", e);
+        }
+        closed = true;
+        writerThread.interrupt();
+        Logger.info("Transcription write queue closed. " + summary());
+    }
+
+    @Override
+    public void close() {
+        close(5, TimeUnit.SECONDS);
+    }
+
+    /**
+     * @return The number of entries and flush requests waiting for the writer thread.
+     */
+    public int getPendingCount() {
+        return queue.size();
+    }
+
+    /**
+     * @return A one-line summary of the writer's counters, suitable for logging.
+     */
+    public String summary() {
+        return String.format("written=%d, batches=%d, dropped=%d, pending=%d",
+                written.get(), batches.get(), dropped.get(), queue.size());
+    }
+
+    private void runWriter() {
+        List<QueuedEntry> batch = new ArrayList<>(maxBatchSize);
+        List<FlushMarker> markers = new ArrayList<>();
+        long nextFlushNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+
+        while (!closed || !queue.isEmpty()) {
+            try {
+                long waitNanos = batch.isEmpty() ? TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis) : nextFlushNanos - System.nanoTime();
+                Object item = queue.poll(Math.max(0, waitNanos), TimeUnit.NANOSECONDS);
+                if (item instanceof QueuedEntry queued) {
+                    QueuedEntry entry = journal(queued);
+                    if (entry != null) {
+                        if (batch.isEmpty()) {
+                            nextFlushNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+                        }
+                        batch.add(entry);
+                    }
+                } else if (item instanceof FlushMarker marker) {
+                    markers.add(marker);
+                }
+            } catch (InterruptedException e) {
+                if (closed) {
+                    break;
+                }
+            }
+
+            boolean due = !batch.isEmpty() && System.nanoTime() - nextFlushNanos >= 0;
+            if (batch.size() >= maxBatchSize || due || !markers.isEmpty()) {
+                writeBatch(batch);
+                batch.clear();
+                markers.forEach(marker -> marker.done().complete(null));
+                markers.clear();
+            }
+        }
+        writeBatch(batch);
+        markers.forEach(marker -> marker.done().complete(null));
+    }
+
+    /**
+     * Logs an entry to its journal, if it has one.
+     *
+     * @return The entry with its journal sequence number, or null if it is only journaled.
+     */
+    private QueuedEntry journal(QueuedEntry queued) {
+        SessionJournal journal = queued.journal();
+        if (journal == null) {
+            return queued;
+        }
+        long journalSeq = journal.logEntry(queued.entry());
+        if (queued.entry().getInterviewId() == SessionJournal.PENDING_INTERVIEW) {
+            return null;
+        }
+        return new QueuedEntry(queued.entry(), journal, journalSeq);
+    }
+
+    private void writeBatch(List<QueuedEntry> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<TranscriptionEntry> entries = batch.stream().map(QueuedEntry::entry).toList();
+        DbBatchFlushEvent event = new DbBatchFlushEvent();
+        event.begin();
+        event.entries = batch.size();
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            event.attempts = attempt;
+            try {
+                interviewDao.addTranscriptionEntries(entries);
+                written.addAndGet(batch.size());
+                batches.incrementAndGet();
+                acknowledge(batch);
+                event.succeeded = true;
+                event.commit();
+                return;
+            } catch (SQLException e) {
+                Logger.warn("Failed to write " + batch.size() + " transcription entries (attempt " + attempt + "/" + MAX_ATTEMPTS + "): " + e.getMessage());
+                if (attempt < MAX_ATTEMPTS && !sleepQuietly(RETRY_BACKOFF_MILLIS * attempt)) {
+                    break;
+                }
+            }
+        }
+        event.commit();
+        dropped.addAndGet(batch.size());
+        boolean journaled = batch.stream().allMatch(entry -> entry.journalSeq() >= 0);
+        errorHandler.accept("DB_ERROR: Failed to save " + batch.size() + " transcription entries."
+                + (journaled ? " They are kept in the local journal and will be saved when the database is available." : ""));
+    }
+
+    private void acknowledge(List<QueuedEntry> batch) {
+        Map<SessionJournal, List<Long>> seqsByJournal = new IdentityHashMap<>();
+        for (QueuedEntry entry : batch) {
+            if (entry.journalSeq() >= 0) {
+                seqsByJournal.computeIfAbsent(entry.journal(), _ -> new ArrayList<>()).add(entry.journalSeq());
+            }
+        }
+        seqsByJournal.forEach(SessionJournal::acknowledgeEntries);
+    }
+
+    private boolean sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            return false;
+        }
+    }
+}
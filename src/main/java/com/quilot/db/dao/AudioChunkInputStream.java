@@ -0,0 +1,93 @@
+package com.quilot.db.dao;
+
+import com.quilot.audio.codec.AudioCodec;
+import com.quilot.db.model.AudioChunk;
+
+import javax.sound.sampled.AudioFormat;
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.SQLException;
+import java.util.Objects;
+
+/**
+ * An {@link InputStream} over the rows of the {@code audio_chunks} table for one interview.
+ * Only a single chunk is held in memory at a time, and each chunk is fetched and decoded on demand.
+ * Missing chunks (e.g., ones that failed to save) are skipped.
+ */
+public class AudioChunkInputStream extends InputStream {
+
+    private final InterviewDao interviewDao;
+    private final int interviewId;
+    private final AudioCodec audioCodec;
+    private final AudioFormat audioFormat;
+    private int nextSeq;
+    private byte[] chunk = new byte[0];
+    private int position;
+    private boolean exhausted;
+
+    /**
+     * Constructs a new AudioChunkInputStream starting at the first chunk.
+     *
+     * @param interviewDao The DAO used to fetch chunks.
+     * @param interviewId The ID of the interview whose audio is read.
+     * @param audioCodec The codec the interview's chunks were encoded with.
+     * @param audioFormat The format the audio was captured in.
+     */
+    public AudioChunkInputStream(InterviewDao interviewDao, int interviewId, AudioCodec audioCodec, AudioFormat audioFormat) {
+        this.interviewDao = Objects.requireNonNull(interviewDao, "InterviewDao cannot be null.");
+        this.interviewId = interviewId;
+        this.audioCodec = Objects.requireNonNull(audioCodec, "AudioCodec cannot be null.");
+        this.audioFormat = Objects.requireNonNull(audioFormat, "AudioFormat cannot be null.");
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!ensureData()) {
+            return -1;
+        }
+        return chunk[position++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        Objects.checkFromIndexSize(offset, length, buffer.length);
+        if (length == 0) {
+            return 0;
+        }
+        if (!ensureData()) {
+            return -1;
+        }
+        int count = Math.min(length, chunk.length - position);
+        System.arraycopy(chunk, position, buffer, offset, count);
+        position += count;
+        return count;
+    }
+
+    @Override
+    public int available() {
+        return chunk.length - position;
+    }
+
+    private boolean ensureData() throws IOException {
+        while (position == chunk.length) {
+            if (exhausted) {
+                return false;
+            }
+            try {
+                AudioChunk next = interviewDao.getNextAudioChunk(interviewId, nextSeq);
+                if (next == null) {
+                    exhausted = true;
+                    return false;
+                }
+                nextSeq = next.getSeq() + 1;
+                chunk = audioCodec.decode(next.getData(), audioFormat);
+                position = 0;
+            } catch (SQLException e) {
+                throw new IOException("Failed to read audio chunk " + nextSeq + " of interview " + interviewId + ".", e);
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Audio chunk " + (nextSeq - 1) + " of interview " + interviewId + " is corrupt.", e);
+            }
+        }
+        return true;
+    }
+}
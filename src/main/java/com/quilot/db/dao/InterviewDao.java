@@ -1,19 +1,36 @@
 package com.quilot.db.dao;
 
+import com.quilot.audio.codec.AudioCodec;
+import com.quilot.audio.codec.AudioFormatSpec;
 import com.quilot.db.DatabaseManager;
+import com.quilot.db.DatabaseMode;
+import com.quilot.db.model.AudioChunk;
 import com.quilot.db.model.Interview;
+import com.quilot.db.model.TranscriptSearchHit;
 import com.quilot.db.model.TranscriptionEntry;
+import com.quilot.metrics.PipelineStage;
+import com.quilot.utils.CorrelationId;
 import com.quilot.utils.Logger;
 
+import javax.sound.sampled.AudioFormat;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Data Access Object for handling all database operations related to interviews.
  */
 public class InterviewDao {
 
+    private static final String SEARCH_HIT_COLUMNS = "SELECT e.id AS entry_id, e.timestamp, e.speaker, e.content, e.is_question, "
+            + "i.id AS id, i.title, i.interview_date, i.audio_codec, i.audio_format";
+    private static final String SEARCH_HIT_FROM = "FROM transcription_entries e JOIN interviews i ON i.id = e.interview_id ";
+
     /**
      * Creates a new interview record in the database.
      *
@@ -22,7 +39,20 @@ public class InterviewDao {
      * @throws SQLException if a database access error occurs.
      */
     public int createNewInterview(String title) throws SQLException {
-        String sql = "INSERT INTO interviews (title, interview_date) VALUES (?, ?)";
+        return createNewInterview(title, AudioCodec.PCM, AudioFormatSpec.LEGACY_FORMAT);
+    }
+
+    /**
+     * Creates a new interview record in the database, recording how its audio will be stored.
+     *
+     * @param title The initial title for the interview (can be null).
+     * @param audioCodec The codec the interview's audio chunks will be encoded with.
+     * @param audioFormat The format the audio is captured in.
+     * @return The generated ID of the new interview record.
+     * @throws SQLException if a database access error occurs.
+     */
+    public int createNewInterview(String title, AudioCodec audioCodec, AudioFormat audioFormat) throws SQLException {
+        String sql = "INSERT INTO interviews (title, interview_date, audio_codec, audio_format) VALUES (?, ?, ?, ?)";
         int generatedId = -1;
 
         try (Connection conn = DatabaseManager.getConnection();
@@ -30,6 +60,8 @@ public class InterviewDao {
 
             pstmt.setString(1, title);
             pstmt.setTimestamp(2, Timestamp.valueOf(java.time.LocalDateTime.now()));
+            pstmt.setString(3, audioCodec.name());
+            pstmt.setString(4, AudioFormatSpec.toSpec(audioFormat));
 
             int affectedRows = pstmt.executeUpdate();
 
@@ -55,8 +87,9 @@ public class InterviewDao {
      * @throws SQLException if a database access error occurs.
      */
     public void addTranscriptionEntry(int interviewId, String speaker, String content, boolean isQuestion) throws SQLException {
-        String sql = "INSERT INTO transcription_entries (interview_id, speaker, content, is_question, timestamp) VALUES (?, ?, ?, ?, ?)";
+        String sql = "INSERT INTO transcription_entries (interview_id, speaker, content, is_question, timestamp, correlation_id) VALUES (?, ?, ?, ?, ?, ?)";
 
+        long start = System.nanoTime();
         try (Connection conn = DatabaseManager.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
@@ -65,8 +98,55 @@ public class InterviewDao {
             pstmt.setString(3, content);
             pstmt.setBoolean(4, isQuestion);
             pstmt.setTimestamp(5, Timestamp.valueOf(java.time.LocalDateTime.now()));
+            pstmt.setString(6, CorrelationId.current());
 
             pstmt.executeUpdate();
+        } finally {
+            PipelineStage.DB_WRITE.recordSince(start);
+        }
+    }
+
+    /**
+     * Inserts several transcription entries in a single JDBC batch and transaction.
+     * Each entry keeps its own timestamp, so entries written late still record when they were spoken.
+     *
+     * @param entries The entries to insert; their IDs are ignored.
+     * @throws SQLException if a database access error occurs. No entry is inserted in that case.
+     */
+    public void addTranscriptionEntries(List<TranscriptionEntry> entries) throws SQLException {
+        if (entries.isEmpty()) {
+            return;
+        }
+        String sql = "INSERT INTO transcription_entries (interview_id, speaker, content, is_question, timestamp, correlation_id) VALUES (?, ?, ?, ?, ?, ?)";
+
+        long start = System.nanoTime();
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            conn.setAutoCommit(false);
+            try {
+                for (TranscriptionEntry entry : entries) {
+                    pstmt.setInt(1, entry.getInterviewId());
+                    pstmt.setString(2, entry.getSpeaker());
+                    pstmt.setString(3, entry.getContent());
+                    pstmt.setBoolean(4, entry.isQuestion());
+                    pstmt.setTimestamp(5, Timestamp.valueOf(entry.getTimestamp()));
+                    pstmt.setString(6, entry.getCorrelationId());
+                    pstmt.addBatch();
+                }
+                pstmt.executeBatch();
+                conn.commit();
+                Logger.debug(() -> "Inserted " + entries.size() + " transcription entries in "
+                        + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms for utterances "
+                        + entries.stream().map(TranscriptionEntry::getCorrelationId).filter(Objects::nonNull).distinct().toList() + ".");
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } finally {
+            PipelineStage.DB_WRITE.recordSince(start);
         }
     }
 
@@ -91,15 +171,184 @@ public class InterviewDao {
         }
     }
 
+    /**
+     * Encodes and stores one chunk of an interview's audio recording.
+     *
+     * @param interviewId The ID of the interview the audio belongs to.
+     * @param seq The zero-based sequence number of the chunk.
+     * @param byteOffset The offset of the chunk's first byte within the whole (decoded) recording.
+     * @param data The buffer holding the captured audio bytes.
+     * @param length The number of bytes of {@code data} to store.
+     * @param audioCodec The codec recorded for the interview.
+     * @param audioFormat The format the audio was captured in.
+     * @return The number of bytes actually stored after encoding.
+     * @throws SQLException if a database access error occurs.
+     */
+    public int addAudioChunk(int interviewId, int seq, long byteOffset, byte[] data, int length,
+                             AudioCodec audioCodec, AudioFormat audioFormat) throws SQLException {
+        String sql = "INSERT INTO audio_chunks (interview_id, seq, byte_offset, data) VALUES (?, ?, ?, ?)";
+        byte[] encoded = audioCodec.encode(data, length, audioFormat);
+
+        long start = System.nanoTime();
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setInt(1, interviewId);
+            pstmt.setInt(2, seq);
+            pstmt.setLong(3, byteOffset);
+            pstmt.setBinaryStream(4, new ByteArrayInputStream(encoded), encoded.length);
+
+            pstmt.executeUpdate();
+        } finally {
+            PipelineStage.DB_WRITE.recordSince(start);
+        }
+        return encoded.length;
+    }
+
+    /**
+     * Retrieves the first audio chunk at or after the given position. Skipping ahead lets readers
+     * continue past a chunk that failed to save. The chunk's data is returned as stored, i.e.
+     * still encoded with the interview's codec.
+     *
+     * @param interviewId The ID of the interview.
+     * @param minSeq The lowest sequence number to return.
+     * @return The chunk, or null if there are no further chunks.
+     * @throws SQLException if a database access error occurs.
+     */
+    public AudioChunk getNextAudioChunk(int interviewId, int minSeq) throws SQLException {
+        String sql = "SELECT seq, byte_offset, data FROM audio_chunks WHERE interview_id = ? AND seq >= ? ORDER BY seq ASC LIMIT 1";
+
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setInt(1, interviewId);
+            pstmt.setInt(2, minSeq);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (!rs.next()) {
+                    return null;
+                }
+                AudioChunk chunk = new AudioChunk();
+                chunk.setInterviewId(interviewId);
+                chunk.setSeq(rs.getInt("seq"));
+                chunk.setByteOffset(rs.getLong("byte_offset"));
+                chunk.setData(rs.getBytes("data"));
+                return chunk;
+            }
+        }
+    }
+
+    /**
+     * Checks whether an interview exists, without loading any of its columns.
+     *
+     * @param interviewId The ID of the interview.
+     * @return True if the interview exists.
+     * @throws SQLException if a database access error occurs.
+     */
+    public boolean interviewExists(int interviewId) throws SQLException {
+        String sql = "SELECT 1 FROM interviews WHERE id = ?";
+
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setInt(1, interviewId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    /**
+     * Checks whether an interview's audio was stored in chunks.
+     *
+     * @param interviewId The ID of the interview.
+     * @return True if at least one audio chunk exists.
+     * @throws SQLException if a database access error occurs.
+     */
+    public boolean hasAudioChunks(int interviewId) throws SQLException {
+        String sql = "SELECT 1 FROM audio_chunks WHERE interview_id = ? LIMIT 1";
+
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setInt(1, interviewId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    /**
+     * Opens a stream over an interview's recorded audio. Chunked recordings are read and decoded
+     * one chunk at a time, so memory use stays bounded regardless of the recording's length.
+     * Recordings saved by older versions as a single blob are still supported.
+     *
+     * @param interviewId The ID of the interview.
+     * @return A stream of the decoded audio bytes in the interview's capture format
+     *         (see {@link Interview#getAudioFormat()}), or null if the interview has no audio.
+     * @throws SQLException if a database access error occurs.
+     */
+    public InputStream openAudioStream(int interviewId) throws SQLException {
+        if (hasAudioChunks(interviewId)) {
+            Interview header = getInterviewHeader(interviewId);
+            if (header == null) {
+                return null;
+            }
+            return new AudioChunkInputStream(this, interviewId, header.getAudioCodec(), header.getAudioFormat());
+        }
+        return openLegacyAudioStream(interviewId);
+    }
+
+    /**
+     * Streams the single-blob audio of recordings made before chunked storage. The connection stays
+     * checked out until the returned stream is closed.
+     */
+    private InputStream openLegacyAudioStream(int interviewId) throws SQLException {
+        String sql = "SELECT full_audio FROM interviews WHERE id = ? AND full_audio IS NOT NULL";
+
+        Connection conn = DatabaseManager.getConnection();
+        PreparedStatement pstmt = null;
+        ResultSet rs = null;
+        try {
+            pstmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            if (DatabaseManager.getMode() == DatabaseMode.MYSQL) {
+                pstmt.setFetchSize(Integer.MIN_VALUE); // Tells MySQL Connector/J to stream the result instead of buffering it
+            }
+            pstmt.setInt(1, interviewId);
+            rs = pstmt.executeQuery();
+            InputStream blob = rs.next() ? rs.getBinaryStream("full_audio") : null;
+            if (blob != null) {
+                return new ResultSetInputStream(blob, rs, pstmt, conn);
+            }
+        } catch (SQLException e) {
+            closeQuietly(rs, pstmt, conn);
+            throw e;
+        }
+        closeQuietly(rs, pstmt, conn);
+        return null;
+    }
+
+    private static void closeQuietly(AutoCloseable... resources) {
+        for (AutoCloseable resource : resources) {
+            if (resource == null) {
+                continue;
+            }
+            try {
+                resource.close();
+            } catch (Exception e) {
+                Logger.warn("Failed to close database resource: " + e.getMessage());
+            }
+        }
+    }
+
     /**
      * Retrieves a list of all interviews from the database, ordered by most recent first.
-     * This method only fetches the ID, title, and date to keep the list lightweight.
+     * This method only fetches the ID, title, date, and audio format to keep the list lightweight.
      *
      * @return A List of Interview objects.
      * @throws SQLException if a database access error occurs.
      */
     public List<Interview> getAllInterviews() throws SQLException {
-        String sql = "SELECT id, title, interview_date FROM interviews ORDER BY interview_date DESC";
+        String sql = "SELECT id, title, interview_date, audio_codec, audio_format FROM interviews ORDER BY interview_date DESC, id DESC";
         List<Interview> interviews = new ArrayList<>();
 
         try (Connection conn = DatabaseManager.getConnection();
@@ -107,11 +356,46 @@ public class InterviewDao {
              ResultSet rs = stmt.executeQuery(sql)) {
 
             while (rs.next()) {
-                Interview interview = new Interview();
-                interview.setId(rs.getInt("id"));
-                interview.setTitle(rs.getString("title"));
-                interview.setInterviewDate(rs.getTimestamp("interview_date").toLocalDateTime());
-                interviews.add(interview);
+                interviews.add(mapInterviewHeader(rs));
+            }
+        }
+        return interviews;
+    }
+
+    /**
+     * Retrieves one page of interviews, most recent first, using keyset pagination on
+     * {@code (interview_date, id)}. Unlike an OFFSET, the cost of each page does not grow with its
+     * position, and pages stay consistent when interviews are added or deleted in between.
+     *
+     * @param after The last interview of the previous page, or null for the first page.
+     * @param pageSize The maximum number of interviews to return.
+     * @return Up to {@code pageSize} interviews older than {@code after}, lightweight as in {@link #getAllInterviews()}.
+     * @throws SQLException if a database access error occurs.
+     */
+    public List<Interview> getInterviewPage(Interview after, int pageSize) throws SQLException {
+        String sql = after == null
+                ? "SELECT id, title, interview_date, audio_codec, audio_format FROM interviews "
+                + "ORDER BY interview_date DESC, id DESC LIMIT ?"
+                : "SELECT id, title, interview_date, audio_codec, audio_format FROM interviews "
+                + "WHERE interview_date < ? OR (interview_date = ? AND id < ?) "
+                + "ORDER BY interview_date DESC, id DESC LIMIT ?";
+        List<Interview> interviews = new ArrayList<>(pageSize);
+
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            int index = 1;
+            if (after != null) {
+                Timestamp afterDate = Timestamp.valueOf(after.getInterviewDate());
+                pstmt.setTimestamp(index++, afterDate);
+                pstmt.setTimestamp(index++, afterDate);
+                pstmt.setInt(index++, after.getId());
+            }
+            pstmt.setInt(index, pageSize);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    interviews.add(mapInterviewHeader(rs));
+                }
             }
         }
         return interviews;
@@ -141,6 +425,7 @@ public class InterviewDao {
                     entry.setSpeaker(rs.getString("speaker"));
                     entry.setContent(rs.getString("content"));
                     entry.setQuestion(rs.getBoolean("is_question"));
+                    entry.setCorrelationId(rs.getString("correlation_id"));
                     entries.add(entry);
                 }
             }
@@ -148,8 +433,119 @@ public class InterviewDao {
         return entries;
     }
 
+    /**
+     * Searches all transcription entries with the MySQL FULLTEXT index on {@code content}, most relevant first.
+     *
+     * @param query The user's search text, interpreted in natural language mode.
+     * @param offset The number of hits to skip.
+     * @param limit The maximum number of hits to return.
+     * @return The matching entries with their interviews and relevance scores.
+     * @throws SQLException if a database access error occurs, including when the FULLTEXT index is missing.
+     */
+    public List<TranscriptSearchHit> searchTranscriptionsFullText(String query, int offset, int limit) throws SQLException {
+        String sql = SEARCH_HIT_COLUMNS + ", MATCH(e.content) AGAINST (? IN NATURAL LANGUAGE MODE) AS score "
+                + SEARCH_HIT_FROM
+                + "WHERE MATCH(e.content) AGAINST (? IN NATURAL LANGUAGE MODE) "
+                + "ORDER BY score DESC, e.id DESC LIMIT ? OFFSET ?";
+        List<TranscriptSearchHit> hits = new ArrayList<>(limit);
+
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setString(1, query);
+            pstmt.setString(2, query);
+            pstmt.setInt(3, limit);
+            pstmt.setInt(4, offset);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    TranscriptSearchHit hit = mapSearchHit(rs);
+                    hit.setScore(rs.getDouble("score"));
+                    hits.add(hit);
+                }
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * Retrieves transcription entries by ID together with their interviews. Entries that no longer
+     * exist are omitted, and the result is in no particular order.
+     *
+     * @param entryIds The IDs of the entries to fetch.
+     * @return The entries found, with a score of zero.
+     * @throws SQLException if a database access error occurs.
+     */
+    public List<TranscriptSearchHit> getSearchHitsForEntries(List<Integer> entryIds) throws SQLException {
+        if (entryIds.isEmpty()) {
+            return List.of();
+        }
+        String placeholders = String.join(", ", Collections.nCopies(entryIds.size(), "?"));
+        String sql = SEARCH_HIT_COLUMNS + " " + SEARCH_HIT_FROM + "WHERE e.id IN (" + placeholders + ")";
+        List<TranscriptSearchHit> hits = new ArrayList<>(entryIds.size());
+
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            for (int i = 0; i < entryIds.size(); i++) {
+                pstmt.setInt(i + 1, entryIds.get(i));
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    hits.add(mapSearchHit(rs));
+                }
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * Retrieves the IDs and content of transcription entries in ID order, using keyset pagination.
+     * Used to build the local search index.
+     *
+     * @param afterId Only entries with a greater ID are returned; use 0 to start from the beginning.
+     * @param limit The maximum number of entries to return.
+     * @return Entries with only {@code id}, {@code interviewId} and {@code content} populated.
+     * @throws SQLException if a database access error occurs.
+     */
+    public List<TranscriptionEntry> getTranscriptionContentAfter(int afterId, int limit) throws SQLException {
+        String sql = "SELECT id, interview_id, content FROM transcription_entries WHERE id > ? ORDER BY id ASC LIMIT ?";
+        List<TranscriptionEntry> entries = new ArrayList<>(limit);
+
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setInt(1, afterId);
+            pstmt.setInt(2, limit);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    TranscriptionEntry entry = new TranscriptionEntry();
+                    entry.setId(rs.getInt("id"));
+                    entry.setInterviewId(rs.getInt("interview_id"));
+                    entry.setContent(rs.getString("content"));
+                    entries.add(entry);
+                }
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * @return The highest transcription entry ID, or 0 if there are none. Cheap, as it reads the primary key.
+     * @throws SQLException if a database access error occurs.
+     */
+    public int getMaxTranscriptionEntryId() throws SQLException {
+        String sql = "SELECT MAX(id) FROM transcription_entries";
+
+        try (Connection conn = DatabaseManager.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
     /**
      * Retrieves a single, complete interview record, including the full audio data.
+     * Prefer {@link #openAudioStream(int)} for playback, which does not load the audio into memory.
      *
      * @param interviewId The ID of the interview to fetch.
      * @return An Interview object, or null if not found.
@@ -165,10 +561,7 @@ public class InterviewDao {
             pstmt.setInt(1, interviewId);
             try (ResultSet rs = pstmt.executeQuery()) {
                 if (rs.next()) {
-                    interview = new Interview();
-                    interview.setId(rs.getInt("id"));
-                    interview.setTitle(rs.getString("title"));
-                    interview.setInterviewDate(rs.getTimestamp("interview_date").toLocalDateTime());
+                    interview = mapInterviewHeader(rs);
                     interview.setFullAudio(rs.getBytes("full_audio"));
                 }
             }
@@ -220,4 +613,43 @@ public class InterviewDao {
             Logger.info("Updated title for interview ID " + interviewId + " to: " + newTitle);
         }
     }
-}
\ No newline at end of file
+
+    private Interview getInterviewHeader(int interviewId) throws SQLException {
+        String sql = "SELECT id, title, interview_date, audio_codec, audio_format FROM interviews WHERE id = ?";
+
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setInt(1, interviewId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? mapInterviewHeader(rs) : null;
+            }
+        }
+    }
+
+    private Interview mapInterviewHeader(ResultSet rs) throws SQLException {
+        Interview interview = new Interview();
+        interview.setId(rs.getInt("id"));
+        interview.setTitle(rs.getString("title"));
+        interview.setInterviewDate(rs.getTimestamp("interview_date").toLocalDateTime());
+        interview.setAudioCodec(AudioCodec.fromName(rs.getString("audio_codec")));
+        interview.setAudioFormat(AudioFormatSpec.fromSpec(rs.getString("audio_format")));
+        return interview;
+    }
+
+    private TranscriptSearchHit mapSearchHit(ResultSet rs) throws SQLException {
+        Interview interview = mapInterviewHeader(rs);
+        TranscriptionEntry entry = new TranscriptionEntry();
+        entry.setId(rs.getInt("entry_id"));
+        entry.setInterviewId(interview.getId());
+        entry.setTimestamp(rs.getTimestamp("timestamp").toLocalDateTime());
+        entry.setSpeaker(rs.getString("speaker"));
+        entry.setContent(rs.getString("content"));
+        entry.setQuestion(rs.getBoolean("is_question"));
+
+        TranscriptSearchHit hit = new TranscriptSearchHit();
+        hit.setInterview(interview);
+        hit.setEntry(entry);
+        return hit;
+    }
+}
@@ -0,0 +1,36 @@
+package com.quilot.db.dao;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Wraps a column stream obtained from {@link ResultSet#getBinaryStream} and keeps the underlying
+ * JDBC resources open until the stream is closed, so a blob can be consumed progressively.
+ */
+class ResultSetInputStream extends FilterInputStream {
+
+    private final ResultSet resultSet;
+    private final Statement statement;
+    private final Connection connection;
+
+    ResultSetInputStream(InputStream columnStream, ResultSet resultSet, Statement statement, Connection connection) {
+        super(columnStream);
+        this.resultSet = resultSet;
+        this.statement = statement;
+        this.connection = connection;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try (connection; statement; resultSet) {
+            super.close();
+        } catch (SQLException e) {
+            throw new IOException("Failed to release database resources after reading audio.", e);
+        }
+    }
+}
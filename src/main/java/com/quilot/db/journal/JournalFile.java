@@ -0,0 +1,168 @@
+package com.quilot.db.journal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * An append-only file of checksummed records, the on-disk format of a {@link SessionJournal}.
+ * <p>
+ * Each record is framed as {@code [int length][int crc32][byte type][payload]}, where the checksum
+ * covers the type and payload. Appends go to the OS page cache and only become durable on
+ * {@link #sync()}. A record cut short by a crash fails its length or checksum test; reading stops
+ * there, and the torn tail is truncated so later appends follow the last intact record.
+ * <p>
+ * The file is exclusively locked while open, so a journal that is still being written, by this or
+ * another instance of the application, is never replayed.
+ */
+final class JournalFile implements Closeable {
+
+    /** A decoded record. */
+    record Record(byte type, byte[] payload) {
+    }
+
+    private static final int HEADER_SIZE = 9;
+    /** Larger than any record written, so a corrupt length can't trigger a huge allocation. */
+    private static final int MAX_PAYLOAD_SIZE = 16 * 1024 * 1024;
+
+    private final FileChannel channel;
+    private final FileLock lock;
+    private final List<Record> records;
+    private long bytesWritten;
+    private volatile boolean dirty;
+
+    private JournalFile(FileChannel channel, FileLock lock) throws IOException {
+        this.channel = channel;
+        this.lock = lock;
+        this.records = new ArrayList<>();
+        long validLength = readRecords(channel, records);
+        if (validLength < channel.size()) {
+            channel.truncate(validLength);
+        }
+        channel.position(validLength);
+    }
+
+    /**
+     * Opens or creates a journal file and reads its intact records.
+     *
+     * @return The open file, or null if it is locked by another writer.
+     * @throws IOException if the file cannot be opened or read.
+     */
+    static JournalFile tryOpen(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            FileLock lock = channel.tryLock();
+            if (lock == null) {
+                channel.close();
+                return null;
+            }
+            return new JournalFile(channel, lock);
+        } catch (OverlappingFileLockException e) {
+            channel.close();
+            return null;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return The intact records that were in the file when it was opened.
+     */
+    List<Record> records() {
+        return records;
+    }
+
+    /**
+     * Appends a record. It is durable once {@link #sync()} returns.
+     */
+    synchronized void append(byte type, byte[] payload) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + payload.length);
+        buffer.putInt(payload.length).putInt(checksum(type, payload)).put(type).put(payload).flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        bytesWritten += HEADER_SIZE + payload.length;
+        dirty = true;
+    }
+
+    /**
+     * Forces appended records to disk. Does nothing if nothing was appended since the last sync.
+     *
+     * @return True if the file had to be forced.
+     */
+    boolean sync() throws IOException {
+        if (!dirty) {
+            return false;
+        }
+        dirty = false;
+        channel.force(false);
+        return true;
+    }
+
+    /**
+     * @return The number of bytes appended since the file was opened, including record headers.
+     */
+    synchronized long bytesWritten() {
+        return bytesWritten;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (lock.isValid()) {
+                lock.release();
+            }
+        } finally {
+            channel.close();
+        }
+    }
+
+    private static long readRecords(FileChannel channel, List<Record> records) throws IOException {
+        long size = channel.size();
+        long position = 0;
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        while (position + HEADER_SIZE <= size) {
+            header.clear();
+            readFully(channel, header, position);
+            header.flip();
+            int length = header.getInt();
+            int crc = header.getInt();
+            byte type = header.get();
+            if (length < 0 || length > MAX_PAYLOAD_SIZE || position + HEADER_SIZE + length > size) {
+                break;
+            }
+            ByteBuffer payload = ByteBuffer.allocate(length);
+            readFully(channel, payload, position + HEADER_SIZE);
+            if (checksum(type, payload.array()) != crc) {
+                break;
+            }
+            records.add(new Record(type, payload.array()));
+            position += HEADER_SIZE + length;
+        }
+        return position;
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of journal file.");
+            }
+        }
+    }
+
+    private static int checksum(byte type, byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(type);
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,272 @@
+package com.quilot.db.journal;
+
+import com.quilot.audio.codec.AudioCodec;
+import com.quilot.audio.codec.AudioFormatSpec;
+import com.quilot.db.dao.InterviewDao;
+import com.quilot.db.model.TranscriptionEntry;
+import com.quilot.utils.Logger;
+
+import javax.sound.sampled.AudioFormat;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Writes sessions left behind by {@link SessionJournal} into the database.
+ * <p>
+ * For each journal that no one is writing to anymore, the replayer creates the interview if it
+ * was never created, then inserts the unacknowledged transcription entries and audio chunks and
+ * applies a pending title. Each step is acknowledged in the journal as it completes, so a replay
+ * that is interrupted resumes where it stopped. Audio chunks that already exist count as written.
+ * A transcription entry whose acknowledgement was lost in a crash may be inserted twice. Once a
+ * session is fully written its journal is deleted. If the database is unavailable, the remaining
+ * journals are left for the next attempt.
+ */
+public class JournalReplayer {
+
+    private static final int BATCH_SIZE = 50;
+
+    private final InterviewDao interviewDao;
+    private final Path directory;
+    private final Consumer<String> messageHandler;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    /** Everything in a journal that still has to reach the database. */
+    private static final class PendingSession {
+        private boolean started;
+        private int interviewId = SessionJournal.PENDING_INTERVIEW;
+        private String title;
+        private AudioCodec audioCodec = AudioCodec.PCM;
+        private AudioFormat audioFormat = AudioFormatSpec.LEGACY_FORMAT;
+        private String finalTitle;
+        private final Map<Long, TranscriptionEntry> entries = new LinkedHashMap<>();
+        private final Map<Integer, AudioReference> audio = new LinkedHashMap<>();
+    }
+
+    private record AudioReference(int seq, long byteOffset, long fileOffset, int length) {
+    }
+
+    /**
+     * Constructs a replayer for journals in {@link SessionJournal#defaultDirectory()}.
+     *
+     * @param interviewDao The DAO the sessions are written with.
+     * @param messageHandler Receives a user-facing message when sessions were recovered. Called on the replay thread.
+     */
+    public JournalReplayer(InterviewDao interviewDao, Consumer<String> messageHandler) {
+        this(interviewDao, SessionJournal.defaultDirectory(), messageHandler);
+    }
+
+    JournalReplayer(InterviewDao interviewDao, Path directory, Consumer<String> messageHandler) {
+        this.interviewDao = Objects.requireNonNull(interviewDao, "InterviewDao cannot be null.");
+        this.directory = Objects.requireNonNull(directory, "Directory cannot be null.");
+        this.messageHandler = Objects.requireNonNull(messageHandler, "Message handler cannot be null.");
+    }
+
+    /**
+     * Replays pending journals on a background thread, unless a replay is already running.
+     */
+    public void replayPendingAsync() {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        Thread thread = new Thread(() -> {
+            try {
+                replayPending();
+            } finally {
+                running.set(false);
+            }
+        }, "JournalReplayThread");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Replays every pending journal, oldest first. Stops at the first database error.
+     *
+     * @return The number of sessions that were written to the database.
+     */
+    public synchronized int replayPending() {
+        List<Path> journals;
+        try (Stream<Path> files = Files.list(directory)) {
+            journals = files.filter(path -> path.getFileName().toString().endsWith(SessionJournal.JOURNAL_EXTENSION))
+                    .sorted()
+                    .toList();
+        } catch (NoSuchFileException e) {
+            return 0;
+        } catch (IOException e) {
+            Logger.error("Failed to list session journals in " + directory, e);
+            return 0;
+        }
+
+        int recovered = 0;
+        for (Path journal : journals) {
+            try {
+                if (replay(journal)) {
+                    recovered++;
+                }
+            } catch (SQLException e) {
+                Logger.warn("Database unavailable while replaying session journals; will retry later: " + e.getMessage());
+                break;
+            } catch (IOException e) {
+                Logger.error("Failed to replay session journal " + journal, e);
+            }
+        }
+        if (recovered > 0) {
+            messageHandler.accept("Recovered " + recovered + " interview session(s) from the local journal.");
+        }
+        return recovered;
+    }
+
+    /**
+     * @return True if the session was written to the database, false if the journal was skipped or discarded.
+     */
+    boolean replay(Path journalPath) throws IOException, SQLException {
+        String name = journalPath.getFileName().toString();
+        Path audioPath = journalPath.resolveSibling(
+                name.substring(0, name.length() - SessionJournal.JOURNAL_EXTENSION.length()) + SessionJournal.AUDIO_EXTENSION);
+        boolean saved;
+        try (JournalFile file = JournalFile.tryOpen(journalPath)) {
+            if (file == null) {
+                return false; // Still being written
+            }
+            PendingSession session = read(file.records());
+            saved = session.started && write(session, file, audioPath);
+            if (!session.started) {
+                Logger.warn("Discarding session journal without a start record: " + journalPath);
+            }
+        }
+        Files.deleteIfExists(journalPath);
+        Files.deleteIfExists(audioPath);
+        return saved;
+    }
+
+    private boolean write(PendingSession session, JournalFile file, Path audioPath) throws IOException, SQLException {
+        if (session.entries.isEmpty() && session.audio.isEmpty() && session.finalTitle == null
+                && session.interviewId != SessionJournal.PENDING_INTERVIEW) {
+            return false; // Fully written, the journal just wasn't deleted
+        }
+        int interviewId = session.interviewId;
+        if (interviewId == SessionJournal.PENDING_INTERVIEW) {
+            int createdId = interviewDao.createNewInterview(session.title, session.audioCodec, session.audioFormat);
+            interviewId = createdId;
+            file.append(SessionJournal.INTERVIEW, SessionJournal.encode(out -> out.writeInt(createdId)));
+            file.sync();
+        } else if (!interviewDao.interviewExists(interviewId)) { // Not getInterviewById, which loads legacy audio blobs
+            Logger.warn("Interview " + interviewId + " was deleted. Discarding its session journal.");
+            return false;
+        }
+
+        List<Long> seqs = new ArrayList<>(session.entries.keySet());
+        for (int from = 0; from < seqs.size(); from += BATCH_SIZE) {
+            List<Long> batchSeqs = seqs.subList(from, Math.min(seqs.size(), from + BATCH_SIZE));
+            List<TranscriptionEntry> batch = new ArrayList<>(batchSeqs.size());
+            for (long seq : batchSeqs) {
+                TranscriptionEntry entry = session.entries.get(seq);
+                entry.setInterviewId(interviewId);
+                batch.add(entry);
+            }
+            interviewDao.addTranscriptionEntries(batch);
+            file.append(SessionJournal.ENTRY_ACK, SessionJournal.entryAckPayload(batchSeqs));
+            file.sync();
+        }
+
+        if (!session.audio.isEmpty()) {
+            writeAudio(session, interviewId, file, audioPath);
+        }
+        if (session.finalTitle != null) {
+            interviewDao.updateInterviewTitle(interviewId, session.finalTitle);
+        }
+        Logger.info(String.format("Replayed session journal into interview ID %d: %d entries, %d audio chunks.",
+                interviewId, seqs.size(), session.audio.size()));
+        return true;
+    }
+
+    private void writeAudio(PendingSession session, int interviewId, JournalFile file, Path audioPath) throws IOException, SQLException {
+        if (!Files.exists(audioPath)) {
+            Logger.warn("Audio file " + audioPath + " is missing. Replaying the session without its audio.");
+            return;
+        }
+        try (FileChannel audio = FileChannel.open(audioPath, StandardOpenOption.READ)) {
+            for (AudioReference reference : session.audio.values()) {
+                if (reference.fileOffset() + reference.length() > audio.size()) {
+                    Logger.warn("Audio chunk " + reference.seq() + " never reached " + audioPath + ". Skipping it.");
+                    continue;
+                }
+                ByteBuffer data = ByteBuffer.allocate(reference.length());
+                while (data.hasRemaining()) {
+                    audio.read(data, reference.fileOffset() + data.position());
+                }
+                try {
+                    interviewDao.addAudioChunk(interviewId, reference.seq(), reference.byteOffset(), data.array(),
+                            reference.length(), session.audioCodec, session.audioFormat);
+                } catch (SQLIntegrityConstraintViolationException e) {
+                    // Stored before the crash; only its acknowledgement was lost.
+                }
+                file.append(SessionJournal.AUDIO_ACK, SessionJournal.audioAckPayload(reference.seq()));
+            }
+            file.sync();
+        }
+    }
+
+    private static PendingSession read(List<JournalFile.Record> records) throws IOException {
+        PendingSession session = new PendingSession();
+        for (JournalFile.Record record : records) {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(record.payload()));
+            switch (record.type()) {
+                case SessionJournal.START -> {
+                    session.started = true;
+                    session.interviewId = in.readInt();
+                    session.title = SessionJournal.readString(in);
+                    session.audioCodec = AudioCodec.fromName(SessionJournal.readString(in));
+                    session.audioFormat = AudioFormatSpec.fromSpec(SessionJournal.readString(in));
+                }
+                case SessionJournal.INTERVIEW -> session.interviewId = in.readInt();
+                case SessionJournal.ENTRY -> {
+                    long seq = in.readLong();
+                    TranscriptionEntry entry = new TranscriptionEntry();
+                    entry.setTimestamp(LocalDateTime.parse(SessionJournal.readString(in)));
+                    entry.setSpeaker(SessionJournal.readString(in));
+                    entry.setContent(SessionJournal.readString(in));
+                    entry.setQuestion(in.readBoolean());
+                    if (in.available() > 0) {
+                        entry.setCorrelationId(SessionJournal.readString(in));
+                    }
+                    session.entries.put(seq, entry);
+                }
+                case SessionJournal.ENTRY_ACK -> {
+                    int count = in.readInt();
+                    for (int i = 0; i < count; i++) {
+                        session.entries.remove(in.readLong());
+                    }
+                }
+                case SessionJournal.AUDIO -> {
+                    AudioReference reference = new AudioReference(in.readInt(), in.readLong(), in.readLong(), in.readInt());
+                    session.audio.put(reference.seq(), reference);
+                }
+                case SessionJournal.AUDIO_ACK -> session.audio.remove(in.readInt());
+                case SessionJournal.TITLE -> session.finalTitle = SessionJournal.readString(in);
+                default -> {
+                    // END and unknown record types carry nothing to replay
+                }
+            }
+        }
+        return session;
+    }
+}
@@ -0,0 +1,416 @@
+package com.quilot.db.journal;
+
+import com.quilot.audio.codec.AudioCodec;
+import com.quilot.audio.codec.AudioFormatSpec;
+import com.quilot.db.DatabaseManager;
+import com.quilot.db.model.TranscriptionEntry;
+import com.quilot.utils.Logger;
+
+import javax.sound.sampled.AudioFormat;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A crash-safe local record of one interview session, kept until the database has stored all of it.
+ * <p>
+ * Transcription entries and audio chunks are logged here before they are handed to the database
+ * writers, and acknowledged once the database has stored them. When the session ends with
+ * everything acknowledged, the journal is deleted. Otherwise it stays on disk, and
+ * {@link JournalReplayer} writes the unacknowledged parts into the database on the next start or
+ * once the database is reachable again. A session whose interview could not be created at all is
+ * journaled with {@link #PENDING_INTERVIEW}, and the replayer creates the interview.
+ * <p>
+ * Records go to {@code <session>.journal} and raw audio to {@code <session>.audio}, which the
+ * audio records reference by offset. Every logged byte is written once, plus a 9-byte header per
+ * record and one acknowledgement per database batch. Appends only reach the page cache; a
+ * daemon thread forces both files to disk at most every {@value #DEFAULT_SYNC_INTERVAL_MILLIS} ms,
+ * so the number of fsyncs is bounded no matter how fast entries arrive. A crash therefore loses at
+ * most that interval, and a torn last record is detected by its checksum and ignored.
+ * <p>
+ * Journaling is best effort: after an I/O error the journal logs it, stops recording, and the
+ * session continues with database writes only. All methods are thread-safe.
+ */
+public class SessionJournal implements AutoCloseable {
+
+    /** The interview ID of a session whose interview is not in the database yet. */
+    public static final int PENDING_INTERVIEW = -1;
+
+    static final String JOURNAL_EXTENSION = ".journal";
+    static final String AUDIO_EXTENSION = ".audio";
+    private static final long DEFAULT_SYNC_INTERVAL_MILLIS = 200;
+
+    // Record types
+    static final byte START = 1;
+    static final byte INTERVIEW = 2;
+    static final byte ENTRY = 3;
+    static final byte ENTRY_ACK = 4;
+    static final byte AUDIO = 5;
+    static final byte AUDIO_ACK = 6;
+    static final byte TITLE = 7;
+    static final byte END = 8;
+
+    private final Path journalPath;
+    private final Path audioPath;
+    private final JournalFile journal;
+    private final FileChannel audio;
+    private final int interviewId;
+    private final long syncIntervalMillis;
+    private final Thread syncThread;
+    private final Set<Long> pendingEntries = new HashSet<>();
+    private final Set<Integer> pendingAudio = new HashSet<>();
+
+    private long nextEntrySeq;
+    private long audioLength;
+    private long loggedBytes;
+    private long syncs;
+    private boolean titlePending;
+    private boolean failed;
+    private volatile boolean audioDirty;
+    private volatile boolean closed;
+
+    /**
+     * Starts a journal for a new session in {@link #defaultDirectory()}.
+     *
+     * @param interviewId The ID of the session's interview, or {@link #PENDING_INTERVIEW} if it could not be created.
+     * @param title The interview title, used if the replayer has to create the interview.
+     * @param audioCodec The codec the audio is stored with.
+     * @param audioFormat The format the audio is captured in.
+     * @return The open journal.
+     * @throws IOException if the journal files cannot be created.
+     */
+    public static SessionJournal open(int interviewId, String title, AudioCodec audioCodec, AudioFormat audioFormat) throws IOException {
+        return new SessionJournal(defaultDirectory(), interviewId, title, audioCodec, audioFormat, DEFAULT_SYNC_INTERVAL_MILLIS);
+    }
+
+    /**
+     * @return The directory holding session journals, inside the application data directory.
+     */
+    public static Path defaultDirectory() {
+        return DatabaseManager.getDataDirectory().resolve("journal");
+    }
+
+    SessionJournal(Path directory, int interviewId, String title, AudioCodec audioCodec, AudioFormat audioFormat,
+                   long syncIntervalMillis) throws IOException {
+        Files.createDirectories(directory);
+        // The timestamp prefix makes the replayer process sessions in the order they were recorded.
+        String name = String.format("session-%d-%s", System.currentTimeMillis(), UUID.randomUUID().toString().substring(0, 8));
+        this.journalPath = directory.resolve(name + JOURNAL_EXTENSION);
+        this.audioPath = directory.resolve(name + AUDIO_EXTENSION);
+        this.interviewId = interviewId;
+        this.syncIntervalMillis = syncIntervalMillis;
+        this.audio = FileChannel.open(audioPath, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        JournalFile file = null;
+        try {
+            file = JournalFile.tryOpen(journalPath);
+            if (file == null) {
+                throw new IOException("Session journal " + journalPath + " is locked.");
+            }
+            file.append(START, encode(out -> {
+                out.writeInt(interviewId);
+                writeString(out, title);
+                writeString(out, Objects.requireNonNull(audioCodec, "AudioCodec cannot be null.").name());
+                writeString(out, AudioFormatSpec.toSpec(audioFormat));
+            }));
+            file.sync();
+        } catch (IOException | RuntimeException e) {
+            if (file != null) {
+                file.close();
+            }
+            audio.close();
+            throw e;
+        }
+        this.journal = file;
+        this.syncThread = new Thread(this::runSync, "SessionJournalSyncThread");
+        syncThread.setDaemon(true);
+        syncThread.start();
+        Logger.info("Journaling session to " + journalPath);
+    }
+
+    /**
+     * @return The interview ID the journal was opened with.
+     */
+    public int getInterviewId() {
+        return interviewId;
+    }
+
+    /**
+     * Logs a transcription entry before it is written to the database.
+     *
+     * @param entry The entry; its interview ID is ignored.
+     * @return The sequence number to acknowledge it with, or -1 if it was not journaled.
+     */
+    public synchronized long logEntry(TranscriptionEntry entry) {
+        if (failed || closed) {
+            return -1;
+        }
+        long seq = nextEntrySeq++;
+        try {
+            byte[] payload = encode(out -> {
+                out.writeLong(seq);
+                writeString(out, entry.getTimestamp().toString());
+                writeString(out, entry.getSpeaker());
+                writeString(out, entry.getContent());
+                out.writeBoolean(entry.isQuestion());
+                writeString(out, entry.getCorrelationId()); // Absent in journals written by older versions
+            });
+            journal.append(ENTRY, payload);
+            loggedBytes += payload.length;
+            pendingEntries.add(seq);
+            return seq;
+        } catch (IOException e) {
+            fail("logging a transcription entry", e);
+            return -1;
+        }
+    }
+
+    /**
+     * Records that the database has stored the given entries.
+     *
+     * @param seqs Sequence numbers returned by {@link #logEntry}.
+     */
+    public synchronized void acknowledgeEntries(Collection<Long> seqs) {
+        if (seqs.isEmpty()) {
+            return;
+        }
+        pendingEntries.removeAll(seqs);
+        if (!failed && !closed) {
+            try {
+                journal.append(ENTRY_ACK, entryAckPayload(seqs));
+            } catch (IOException e) {
+                fail("acknowledging transcription entries", e);
+            }
+        }
+    }
+
+    /**
+     * Logs a chunk of captured audio before it is written to the database.
+     *
+     * @param seq The chunk's position within the recording.
+     * @param byteOffset The offset of the chunk within the recording.
+     * @param data The buffer holding the audio.
+     * @param length The number of bytes of {@code data} in the chunk.
+     * @return True if the chunk was journaled and should be acknowledged.
+     */
+    public synchronized boolean logAudio(int seq, long byteOffset, byte[] data, int length) {
+        if (failed || closed) {
+            return false;
+        }
+        try {
+            long fileOffset = audioLength;
+            ByteBuffer buffer = ByteBuffer.wrap(data, 0, length);
+            while (buffer.hasRemaining()) {
+                audio.write(buffer, audioLength + buffer.position());
+            }
+            audioLength += length;
+            audioDirty = true;
+            journal.append(AUDIO, encode(out -> {
+                out.writeInt(seq);
+                out.writeLong(byteOffset);
+                out.writeLong(fileOffset);
+                out.writeInt(length);
+            }));
+            loggedBytes += length;
+            pendingAudio.add(seq);
+            return true;
+        } catch (IOException e) {
+            fail("logging audio", e);
+            return false;
+        }
+    }
+
+    /**
+     * Records that the database has stored an audio chunk.
+     *
+     * @param seq The chunk's position within the recording.
+     */
+    public synchronized void acknowledgeAudio(int seq) {
+        pendingAudio.remove(seq);
+        if (!failed && !closed) {
+            try {
+                journal.append(AUDIO_ACK, audioAckPayload(seq));
+            } catch (IOException e) {
+                fail("acknowledging audio", e);
+            }
+        }
+    }
+
+    /**
+     * Logs the final interview title when it could not be saved to the database directly.
+     */
+    public synchronized void logTitle(String title) {
+        titlePending = true;
+        if (!failed && !closed) {
+            try {
+                journal.append(TITLE, encode(out -> writeString(out, title)));
+            } catch (IOException e) {
+                fail("logging the interview title", e);
+            }
+        }
+    }
+
+    /**
+     * @return True if the database has everything that was logged, so the journal is not needed any more.
+     */
+    public synchronized boolean isFullyPersisted() {
+        return interviewId != PENDING_INTERVIEW && !titlePending && pendingEntries.isEmpty() && pendingAudio.isEmpty();
+    }
+
+    /**
+     * Forces everything logged so far to disk.
+     */
+    public void sync() {
+        try {
+            if (audioDirty) {
+                audioDirty = false;
+                audio.force(false); // Before the journal, so no durable record points at missing audio
+            }
+            if (journal.sync()) {
+                synchronized (this) {
+                    syncs++;
+                }
+            }
+        } catch (IOException e) {
+            synchronized (this) {
+                fail("syncing to disk", e);
+            }
+        }
+    }
+
+    /**
+     * Ends the session. The journal is deleted if the database has everything; otherwise it is kept for replay.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            if (!failed) {
+                try {
+                    journal.append(END, new byte[0]);
+                } catch (IOException e) {
+                    fail("closing", e);
+                }
+            }
+            closed = true;
+        }
+        syncThread.interrupt();
+        try {
+            syncThread.join(TimeUnit.SECONDS.toMillis(1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        sync();
+        try {
+            journal.close();
+            audio.close();
+        } catch (IOException e) {
+            Logger.warn("Failed to close session journal " + journalPath + ": " + e.getMessage());
+        }
+
+        if (isFullyPersisted()) {
+            try {
+                Files.deleteIfExists(journalPath);
+                Files.deleteIfExists(audioPath);
+            } catch (IOException e) {
+                Logger.warn("Failed to delete session journal " + journalPath + ": " + e.getMessage());
+            }
+            Logger.info("Session journal closed and deleted. " + summary());
+        } else {
+            Logger.warn("Session journal kept for replay at " + journalPath + ". " + summary());
+        }
+    }
+
+    /**
+     * @return A one-line summary of the journal's counters, suitable for logging. Write amplification is
+     *         the bytes written to disk divided by the bytes of transcript and audio logged.
+     */
+    public synchronized String summary() {
+        long written = journal.bytesWritten() + audioLength;
+        return String.format("logged=%d B, written=%d B (%.3fx), syncs=%d, pendingEntries=%d, pendingAudio=%d",
+                loggedBytes, written, loggedBytes == 0 ? 0.0 : (double) written / loggedBytes,
+                syncs, pendingEntries.size(), pendingAudio.size());
+    }
+
+    Path getJournalPath() {
+        return journalPath;
+    }
+
+    private void runSync() {
+        while (!closed) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(syncIntervalMillis);
+            } catch (InterruptedException e) {
+                return;
+            }
+            sync();
+        }
+    }
+
+    private void fail(String action, IOException e) {
+        if (!failed) {
+            failed = true;
+            Logger.error("Session journal failed while " + action + ". Journaling is disabled for the rest of the session.", e);
+        }
+    }
+
+    // Record payloads, shared with JournalReplayer
+
+    @FunctionalInterface
+    interface PayloadWriter {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    static byte[] encode(PayloadWriter writer) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            writer.write(out);
+        }
+        return bytes.toByteArray();
+    }
+
+    static byte[] entryAckPayload(Collection<Long> seqs) throws IOException {
+        return encode(out -> {
+            out.writeInt(seqs.size());
+            for (long seq : seqs) {
+                out.writeLong(seq);
+            }
+        });
+    }
+
+    static byte[] audioAckPayload(int seq) throws IOException {
+        return encode(out -> out.writeInt(seq));
+    }
+
+    static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        return new String(in.readNBytes(length), StandardCharsets.UTF_8);
+    }
+}
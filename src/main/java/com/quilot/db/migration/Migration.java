@@ -0,0 +1,18 @@
+package com.quilot.db.migration;
+
+import java.util.List;
+
+/**
+ * A numbered, described change to the database schema. Once released, a migration must never be
+ * edited; later changes go into a new migration with a higher version.
+ *
+ * @param version The version the schema has after this migration; unique and increasing.
+ * @param description A short description, stored in the {@code schema_version} table.
+ * @param steps The changes, applied in order.
+ */
+public record Migration(int version, String description, List<MigrationStep> steps) {
+
+    public Migration(int version, String description, MigrationStep... steps) {
+        this(version, description, List.of(steps));
+    }
+}
@@ -0,0 +1,123 @@
+package com.quilot.db.migration;
+
+import com.quilot.db.DatabaseMode;
+import com.quilot.utils.Logger;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Brings a database schema up to date by applying the migrations it doesn't have yet.
+ * <p>
+ * Applied versions are recorded in the {@code schema_version} table together with how long each
+ * took. MySQL commits every DDL statement implicitly, so a migration is not atomic; if one fails,
+ * the versions before it stay recorded and the failed one is attempted again on the next run.
+ */
+public class MigrationRunner {
+
+    /**
+     * A migration applied by {@link #migrate}.
+     *
+     * @param version The migration's version.
+     * @param description The migration's description.
+     * @param durationMillis How long applying it took.
+     */
+    public record AppliedMigration(int version, String description, long durationMillis) {
+    }
+
+    private static final String CREATE_VERSION_TABLE = """
+            CREATE TABLE IF NOT EXISTS schema_version (
+              `version` INT NOT NULL,
+              `description` VARCHAR(255) NOT NULL,
+              `applied_at` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+              `duration_ms` BIGINT NOT NULL,
+              PRIMARY KEY (`version`))""";
+
+    private final List<Migration> migrations;
+
+    /**
+     * Constructs a runner for the application's {@link SchemaMigrations#ALL}.
+     */
+    public MigrationRunner() {
+        this(SchemaMigrations.ALL);
+    }
+
+    MigrationRunner(List<Migration> migrations) {
+        this.migrations = migrations.stream().sorted(Comparator.comparingInt(Migration::version)).toList();
+        for (int i = 1; i < this.migrations.size(); i++) {
+            if (this.migrations.get(i).version() == this.migrations.get(i - 1).version()) {
+                throw new IllegalArgumentException("Duplicate migration version " + this.migrations.get(i).version() + ".");
+            }
+        }
+    }
+
+    /**
+     * Applies every migration that is not recorded yet, in version order.
+     *
+     * @param connection A connection to the application database.
+     * @param mode The kind of database.
+     * @return The migrations that were applied; empty if the schema was up to date.
+     * @throws SQLException if a migration fails. Later migrations are not attempted.
+     */
+    public List<AppliedMigration> migrate(Connection connection, DatabaseMode mode) throws SQLException {
+        long start = System.nanoTime();
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute(CREATE_VERSION_TABLE);
+        }
+        Set<Integer> appliedVersions = getAppliedVersions(connection);
+
+        List<AppliedMigration> applied = new ArrayList<>();
+        for (Migration migration : migrations) {
+            if (appliedVersions.contains(migration.version())) {
+                continue;
+            }
+            long migrationStart = System.nanoTime();
+            try {
+                for (MigrationStep step : migration.steps()) {
+                    step.apply(connection, mode);
+                }
+            } catch (SQLException e) {
+                Logger.error("Schema migration V" + migration.version() + " (" + migration.description() + ") failed.", e);
+                throw e;
+            }
+            long durationMillis = (System.nanoTime() - migrationStart) / 1_000_000;
+            recordVersion(connection, migration, durationMillis);
+            applied.add(new AppliedMigration(migration.version(), migration.description(), durationMillis));
+            Logger.info(String.format("Applied schema migration V%d (%s) in %d ms.", migration.version(), migration.description(), durationMillis));
+        }
+
+        long totalMillis = (System.nanoTime() - start) / 1_000_000;
+        int latest = migrations.isEmpty() ? 0 : migrations.getLast().version();
+        Logger.info(String.format("Database schema is at version %d. %d migration(s) applied in %d ms.", latest, applied.size(), totalMillis));
+        return applied;
+    }
+
+    private Set<Integer> getAppliedVersions(Connection connection) throws SQLException {
+        Set<Integer> versions = new HashSet<>();
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT version FROM schema_version")) {
+            while (rs.next()) {
+                versions.add(rs.getInt(1));
+            }
+        }
+        return versions;
+    }
+
+    private void recordVersion(Connection connection, Migration migration, long durationMillis) throws SQLException {
+        String sql = "INSERT INTO schema_version (version, description, duration_ms) VALUES (?, ?, ?)";
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setInt(1, migration.version());
+            pstmt.setString(2, migration.description());
+            pstmt.setLong(3, durationMillis);
+            pstmt.executeUpdate();
+        }
+    }
+}
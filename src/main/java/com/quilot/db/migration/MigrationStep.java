@@ -0,0 +1,132 @@
+package com.quilot.db.migration;
+
+import com.quilot.db.DatabaseMode;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * One change made by a {@link Migration}.
+ * <p>
+ * Databases created before migrations existed may already contain some of the changes, because
+ * they were set up from a newer {@code schema.sql}. The factory methods therefore check the
+ * schema first and skip what is already there, which also makes a migration that failed halfway
+ * safe to run again. Table, column and index names are compared case-insensitively.
+ */
+@FunctionalInterface
+public interface MigrationStep {
+
+    /**
+     * Applies the change.
+     *
+     * @param connection A connection to the application database.
+     * @param mode The kind of database, for dialect differences.
+     * @throws SQLException if the change fails.
+     */
+    void apply(Connection connection, DatabaseMode mode) throws SQLException;
+
+    /**
+     * Runs a SQL statement unconditionally.
+     */
+    static MigrationStep sql(String statement) {
+        return (connection, _) -> execute(connection, statement);
+    }
+
+    /**
+     * Runs every schema statement of a script from the classpath, adapted to the database.
+     */
+    static MigrationStep script(String resource) {
+        return (connection, mode) -> {
+            try {
+                for (String statement : SqlScript.forMode(SqlScript.load(resource), mode)) {
+                    if (!SqlScript.isDatabaseStatement(statement)) { // The connection already uses the right database
+                        execute(connection, statement);
+                    }
+                }
+            } catch (IOException e) {
+                throw new SQLException("Could not read migration script " + resource + ".", e);
+            }
+        };
+    }
+
+    /**
+     * Creates a table unless it exists.
+     *
+     * @param table The table name.
+     * @param statement The {@code CREATE TABLE} statement.
+     */
+    static MigrationStep createTable(String table, String statement) {
+        return (connection, _) -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            try (ResultSet rs = metaData.getTables(connection.getCatalog(), connection.getSchema(), table, null)) {
+                if (rs.next()) {
+                    return;
+                }
+            }
+            execute(connection, statement);
+        };
+    }
+
+    /**
+     * Adds a column unless it exists.
+     *
+     * @param table The table name.
+     * @param column The column name.
+     * @param statement The {@code ALTER TABLE ... ADD COLUMN} statement.
+     */
+    static MigrationStep addColumn(String table, String column, String statement) {
+        return (connection, _) -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            try (ResultSet rs = metaData.getColumns(connection.getCatalog(), connection.getSchema(), table, null)) {
+                while (rs.next()) {
+                    if (column.equalsIgnoreCase(rs.getString("COLUMN_NAME"))) {
+                        return;
+                    }
+                }
+            }
+            execute(connection, statement);
+        };
+    }
+
+    /**
+     * Creates an index unless one with the same name exists.
+     *
+     * @param table The table name.
+     * @param index The index name.
+     * @param statement The {@code CREATE INDEX} statement.
+     */
+    static MigrationStep createIndex(String table, String index, String statement) {
+        return (connection, _) -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            try (ResultSet rs = metaData.getIndexInfo(connection.getCatalog(), connection.getSchema(), table, false, true)) {
+                while (rs.next()) {
+                    if (index.equalsIgnoreCase(rs.getString("INDEX_NAME"))) {
+                        return;
+                    }
+                }
+            }
+            execute(connection, statement);
+        };
+    }
+
+    /**
+     * Applies a step only on one kind of database, e.g. for features the embedded database lacks.
+     */
+    static MigrationStep onlyOn(DatabaseMode onlyMode, MigrationStep step) {
+        return (connection, mode) -> {
+            if (mode == onlyMode) {
+                step.apply(connection, mode);
+            }
+        };
+    }
+
+    private static void execute(Connection connection, String statement) throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute(statement);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.quilot.db.migration;
+
+import com.quilot.db.DatabaseMode;
+
+import java.util.List;
+
+import static com.quilot.db.migration.MigrationStep.*;
+
+/**
+ * The history of the application's database schema, oldest first.
+ * <p>
+ * Version 1 is the original {@code schema.sql}. The later versions existed as edits to that file
+ * before migrations were introduced, which is why their steps tolerate databases that already
+ * have them.
+ */
+public final class SchemaMigrations {
+
+    /** All migrations, in version order. Append new ones at the end. */
+    public static final List<Migration> ALL = List.of(
+            new Migration(1, "Baseline schema",
+                    script("/schema.sql")),
+
+            new Migration(2, "Store interview audio in chunks",
+                    createTable("audio_chunks", """
+                            CREATE TABLE audio_chunks (
+                              `interview_id` INT NOT NULL,
+                              `seq` INT NOT NULL COMMENT 'Zero-based position of the chunk within the recording',
+                              `byte_offset` BIGINT NOT NULL COMMENT 'Offset of the first byte of the chunk within the decoded recording',
+                              `data` MEDIUMBLOB NOT NULL COMMENT 'The chunk encoded with the audio_codec of its interview',
+                              PRIMARY KEY (`interview_id`, `seq`),
+                              CONSTRAINT `fk_audio_chunks_interviews`
+                                FOREIGN KEY (`interview_id`)
+                                REFERENCES `interviews` (`id`)
+                                ON DELETE CASCADE
+                                ON UPDATE NO ACTION)""")),
+
+            new Migration(3, "Record the codec and format of interview audio",
+                    addColumn("interviews", "audio_codec",
+                            "ALTER TABLE interviews ADD COLUMN `audio_codec` VARCHAR(16) NULL "
+                                    + "COMMENT 'Storage encoding of the audio, e.g. \"LOSSLESS\". NULL means raw PCM'"),
+                    addColumn("interviews", "audio_format",
+                            "ALTER TABLE interviews ADD COLUMN `audio_format` VARCHAR(64) NULL "
+                                    + "COMMENT 'Capture format, e.g. \"44100:16:1:signed:little\"'")),
+
+            new Migration(4, "Index interviews by date for the history list",
+                    createIndex("interviews", "idx_interviews_date_id",
+                            "CREATE INDEX idx_interviews_date_id ON interviews (`interview_date` DESC, `id` DESC)")),
+
+            new Migration(5, "Full-text index on transcript content",
+                    onlyOn(DatabaseMode.MYSQL, createIndex("transcription_entries", "ft_transcription_entries_content",
+                            "CREATE FULLTEXT INDEX ft_transcription_entries_content ON transcription_entries (`content`)"))),
+
+            new Migration(6, "Index transcription entries by interview and time for the review dialog",
+                    createIndex("transcription_entries", "idx_transcription_entries_interview_time",
+                            "CREATE INDEX idx_transcription_entries_interview_time ON transcription_entries (`interview_id`, `timestamp`)")),
+
+            new Migration(7, "Tag transcription entries with the correlation ID of their utterance",
+                    addColumn("transcription_entries", "correlation_id",
+                            "ALTER TABLE transcription_entries ADD COLUMN `correlation_id` VARCHAR(32) NULL "
+                                    + "COMMENT 'ID shared by a question, its answer and their log messages'"),
+                    createIndex("transcription_entries", "idx_transcription_entries_correlation",
+                            "CREATE INDEX idx_transcription_entries_correlation ON transcription_entries (`correlation_id`)"))
+    );
+
+    private SchemaMigrations() {
+    }
+}
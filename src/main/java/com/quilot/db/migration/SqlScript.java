@@ -0,0 +1,121 @@
+package com.quilot.db.migration;
+
+import com.quilot.db.DatabaseMode;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Splits SQL scripts into statements.
+ * <p>
+ * Unlike splitting on every {@code ;}, this understands MySQL's quoting: semicolons inside
+ * {@code '...'}, {@code "..."} and {@code `...`} literals (with backslash escapes) and inside
+ * {@code --}, {@code #} and {@code /* *}{@code /} comments don't end a statement. Comments are
+ * dropped from the returned statements.
+ */
+public final class SqlScript {
+
+    private SqlScript() {
+    }
+
+    /**
+     * Reads and splits a script from the classpath.
+     *
+     * @param resource The absolute resource name, e.g. {@code /schema.sql}.
+     * @return The statements in the script.
+     * @throws IOException if the resource is missing or cannot be read.
+     */
+    public static List<String> load(String resource) throws IOException {
+        try (InputStream in = SqlScript.class.getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IOException("SQL script " + resource + " not found on the classpath.");
+            }
+            return split(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * @param script The script text.
+     * @return The non-empty statements, trimmed and without comments or the terminating semicolon.
+     */
+    public static List<String> split(String script) {
+        List<String> statements = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        int length = script.length();
+        int i = 0;
+        while (i < length) {
+            char c = script.charAt(i);
+            char next = i + 1 < length ? script.charAt(i + 1) : '\0';
+            if (c == '\'' || c == '"' || c == '`') {
+                int end = endOfQuoted(script, i, c);
+                current.append(script, i, end);
+                i = end;
+            } else if ((c == '-' && next == '-') || c == '#') {
+                int end = script.indexOf('\n', i);
+                i = end < 0 ? length : end;
+            } else if (c == '/' && next == '*') {
+                int end = script.indexOf("*/", i + 2);
+                i = end < 0 ? length : end + 2;
+                current.append(' ');
+            } else if (c == ';') {
+                addStatement(statements, current);
+                i++;
+            } else {
+                current.append(c);
+                i++;
+            }
+        }
+        addStatement(statements, current);
+        return statements;
+    }
+
+    /**
+     * Adapts statements of a MySQL script for the given database. For {@link DatabaseMode#EMBEDDED},
+     * {@code CREATE DATABASE} and {@code USE} are dropped, as the embedded database has a single
+     * schema, and MySQL's {@code VISIBLE} index attribute is removed.
+     */
+    public static List<String> forMode(List<String> statements, DatabaseMode mode) {
+        if (mode != DatabaseMode.EMBEDDED) {
+            return statements;
+        }
+        return statements.stream()
+                .filter(statement -> !isDatabaseStatement(statement))
+                .map(statement -> statement.replace(" VISIBLE", ""))
+                .toList();
+    }
+
+    /**
+     * @return True for statements that create or select a database rather than change its schema.
+     */
+    public static boolean isDatabaseStatement(String statement) {
+        String upper = statement.toUpperCase(Locale.ROOT);
+        return upper.startsWith("CREATE DATABASE") || upper.startsWith("CREATE SCHEMA") || upper.startsWith("USE ");
+    }
+
+    private static int endOfQuoted(String script, int start, char quote) {
+        int i = start + 1;
+        while (i < script.length()) {
+            char c = script.charAt(i);
+            if (c == '\\' && quote != '`') {
+                i += 2;
+            } else if (c == quote) {
+                return i + 1; // A doubled quote simply starts a new literal right after this one
+            } else {
+                i++;
+            }
+        }
+        return script.length();
+    }
+
+    private static void addStatement(List<String> statements, StringBuilder current) {
+        String statement = current.toString().trim();
+        if (!statement.isEmpty()) {
+            statements.add(statement);
+        }
+        current.setLength(0);
+    }
+}
@@ -0,0 +1,14 @@
+package com.quilot.db.model;
+
+import lombok.Data;
+
+/**
+ * Represents one piece of an interview's audio recording from the 'audio_chunks' table.
+ */
+@Data
+public class AudioChunk {
+    private int interviewId;
+    private int seq;
+    private long byteOffset;
+    private byte[] data;
+}
@@ -1,6 +1,9 @@
 package com.quilot.db.model;
 
+import com.quilot.audio.codec.AudioCodec;
 import lombok.Data;
+
+import javax.sound.sampled.AudioFormat;
 import java.time.LocalDateTime;
 
 /**
@@ -12,4 +15,6 @@ public class Interview {
     private String title;
     private LocalDateTime interviewDate;
     private byte[] fullAudio;
+    private AudioCodec audioCodec;
+    private AudioFormat audioFormat;
 }
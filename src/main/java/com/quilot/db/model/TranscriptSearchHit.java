@@ -0,0 +1,13 @@
+package com.quilot.db.model;
+
+import lombok.Data;
+
+/**
+ * Represents a transcription entry that matched a transcript search, with the interview it belongs to.
+ */
+@Data
+public class TranscriptSearchHit {
+    private Interview interview;
+    private TranscriptionEntry entry;
+    private double score; // Higher is more relevant; only comparable within one search
+}
@@ -14,4 +14,5 @@ public class TranscriptionEntry {
     private String speaker; // e.g., "Interviewer", "AI"
     private String content;
     private boolean isQuestion;
+    private String correlationId; // The utterance this entry belongs to, see CorrelationId; null for older entries
 }
@@ -0,0 +1,151 @@
+package com.quilot.db.search;
+
+import com.quilot.ai.retrieval.Bm25Index;
+import com.quilot.db.dao.InterviewDao;
+import com.quilot.db.model.TranscriptionEntry;
+import com.quilot.utils.Logger;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * An in-memory BM25 inverted index over all transcription entries, used when the database has no
+ * FULLTEXT support.
+ * <p>
+ * The index holds only postings and entry IDs; matching entries are loaded from the database
+ * when results are displayed. Building it reads the entries in batches and indexes each batch
+ * before reading the next, so the whole corpus is never in memory at once. It is built on the first search. Later searches use the current
+ * snapshot while a rebuild runs in the background whenever new entries have been saved since.
+ */
+public class LocalTranscriptIndex {
+
+    private static final int BUILD_BATCH_SIZE = 5_000;
+
+    /** An immutable index together with the entry ID of each of its documents. */
+    private record Snapshot(Bm25Index index, int[] entryIds, int maxEntryId) {
+    }
+
+    /** A ranked match. */
+    public record Match(int entryId, double score) {
+    }
+
+    private final InterviewDao interviewDao;
+    private final ExecutorService rebuilder;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private volatile Snapshot snapshot;
+    private volatile boolean invalidated;
+
+    /**
+     * Constructs a new, empty LocalTranscriptIndex.
+     *
+     * @param interviewDao The DAO used to read transcription entries.
+     */
+    public LocalTranscriptIndex(InterviewDao interviewDao) {
+        this.interviewDao = Objects.requireNonNull(interviewDao, "InterviewDao cannot be null.");
+        this.rebuilder = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "TranscriptIndexThread");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Ranks transcription entries against a query.
+     *
+     * @param query The search text.
+     * @param limit The number of top matches to return.
+     * @return Matches sorted by descending score.
+     * @throws SQLException if the index had to be built and the entries could not be read.
+     */
+    public List<Match> search(String query, int limit) throws SQLException {
+        Snapshot current = snapshot;
+        if (current == null) {
+            current = buildNow();
+        } else {
+            refreshIfStale(current);
+        }
+
+        List<Match> matches = new ArrayList<>();
+        for (Bm25Index.Hit hit : current.index().search(query, limit)) {
+            matches.add(new Match(current.entryIds()[hit.documentId()], hit.score()));
+        }
+        return matches;
+    }
+
+    /**
+     * Marks the index as out of date, e.g. after an interview was deleted, so the next search rebuilds it.
+     */
+    public void invalidate() {
+        invalidated = true;
+    }
+
+    /**
+     * @return The number of indexed entries, or 0 if the index has not been built yet.
+     */
+    public int size() {
+        Snapshot current = snapshot;
+        return current == null ? 0 : current.entryIds().length;
+    }
+
+    private synchronized Snapshot buildNow() throws SQLException {
+        if (snapshot == null) {
+            snapshot = build();
+        }
+        return snapshot;
+    }
+
+    private void refreshIfStale(Snapshot current) {
+        try {
+            if (!invalidated && interviewDao.getMaxTranscriptionEntryId() == current.maxEntryId()) {
+                return;
+            }
+        } catch (SQLException e) {
+            Logger.warn("Could not check whether the transcript search index is up to date: " + e.getMessage());
+            return;
+        }
+        if (rebuilding.compareAndSet(false, true)) {
+            invalidated = false;
+            rebuilder.execute(() -> {
+                try {
+                    snapshot = build();
+                } catch (SQLException e) {
+                    invalidated = true;
+                    Logger.error("Failed to rebuild the transcript search index.", e);
+                } finally {
+                    rebuilding.set(false);
+                }
+            });
+        }
+    }
+
+    private Snapshot build() throws SQLException {
+        long start = System.nanoTime();
+        Bm25Index.Builder builder = new Bm25Index.Builder();
+        int[] entryIds = new int[1024];
+        int lastId = 0;
+
+        List<TranscriptionEntry> batch;
+        do {
+            batch = interviewDao.getTranscriptionContentAfter(lastId, BUILD_BATCH_SIZE);
+            for (TranscriptionEntry entry : batch) {
+                int docId = builder.add(entry.getContent());
+                if (docId == entryIds.length) {
+                    entryIds = Arrays.copyOf(entryIds, entryIds.length * 2);
+                }
+                entryIds[docId] = entry.getId();
+                lastId = entry.getId();
+            }
+        } while (batch.size() == BUILD_BATCH_SIZE);
+
+        Bm25Index index = builder.build();
+        Logger.info(String.format("Built local transcript search index: %d entries, %d terms in %d ms.",
+                index.size(), index.termCount(), (System.nanoTime() - start) / 1_000_000));
+        return new Snapshot(index, Arrays.copyOf(entryIds, index.size()), lastId);
+    }
+}
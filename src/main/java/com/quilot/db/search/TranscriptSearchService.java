@@ -0,0 +1,161 @@
+package com.quilot.db.search;
+
+import com.quilot.db.dao.InterviewDao;
+import com.quilot.db.model.TranscriptSearchHit;
+import com.quilot.utils.Logger;
+
+import java.sql.SQLException;
+import java.sql.SQLSyntaxErrorException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Searches the transcripts of all stored interviews and returns ranked, paginated results.
+ * <p>
+ * Searches use the MySQL FULLTEXT index on {@code transcription_entries.content}. If the database
+ * cannot run FULLTEXT queries (the index is missing or the engine does not support {@code MATCH}),
+ * the service switches to a {@link LocalTranscriptIndex} for the rest of the session.
+ * Methods block on the database and must not be called on the EDT.
+ */
+public class TranscriptSearchService {
+
+    /** MySQL: "Can't find FULLTEXT index matching the column list". */
+    private static final int ER_FT_MATCHING_KEY_NOT_FOUND = 1191;
+    /** MySQL: "The used table type doesn't support FULLTEXT indexes". */
+    private static final int ER_TABLE_CANT_HANDLE_FT = 1214;
+
+    /** Where search results come from. */
+    public enum Backend {
+        /** The database's FULLTEXT index. */
+        FULLTEXT,
+        /** An in-memory BM25 index built from the entries. */
+        LOCAL_INDEX
+    }
+
+    /**
+     * One page of search results.
+     *
+     * @param hits The hits on this page, most relevant first.
+     * @param offset The number of hits before this page.
+     * @param hasMore True if at least one more hit follows this page.
+     * @param elapsedMillis How long the search took.
+     * @param backend The backend that produced the results.
+     */
+    public record Page(List<TranscriptSearchHit> hits, int offset, boolean hasMore, long elapsedMillis, Backend backend) {
+    }
+
+    private final InterviewDao interviewDao;
+    private final LocalTranscriptIndex localIndex;
+    private volatile Backend backend = Backend.FULLTEXT;
+
+    /**
+     * Constructs a new TranscriptSearchService that prefers the FULLTEXT index.
+     *
+     * @param interviewDao The DAO used to run searches and load results.
+     */
+    public TranscriptSearchService(InterviewDao interviewDao) {
+        this(interviewDao, new LocalTranscriptIndex(interviewDao));
+    }
+
+    TranscriptSearchService(InterviewDao interviewDao, LocalTranscriptIndex localIndex) {
+        this.interviewDao = Objects.requireNonNull(interviewDao, "InterviewDao cannot be null.");
+        this.localIndex = Objects.requireNonNull(localIndex, "LocalTranscriptIndex cannot be null.");
+    }
+
+    /**
+     * Runs a search and returns one page of results.
+     *
+     * @param query The search text.
+     * @param offset The number of hits to skip.
+     * @param pageSize The maximum number of hits to return.
+     * @return The requested page; empty if the query is blank.
+     * @throws SQLException if a database access error occurs.
+     */
+    public Page search(String query, int offset, int pageSize) throws SQLException {
+        long start = System.nanoTime();
+        if (query == null || query.isBlank()) {
+            return new Page(List.of(), offset, false, 0, backend);
+        }
+
+        Backend used = backend;
+        List<TranscriptSearchHit> hits = null;
+        if (used == Backend.FULLTEXT) {
+            try {
+                hits = interviewDao.searchTranscriptionsFullText(query.trim(), offset, pageSize + 1);
+            } catch (SQLException e) {
+                if (!isFullTextUnavailable(e)) {
+                    throw e;
+                }
+                Logger.warn("FULLTEXT search is unavailable (" + e.getMessage() + "). Falling back to a local search index.");
+                backend = used = Backend.LOCAL_INDEX;
+            }
+        }
+        if (used == Backend.LOCAL_INDEX) {
+            hits = searchLocalIndex(query, offset, pageSize + 1);
+        }
+
+        boolean hasMore = hits.size() > pageSize;
+        if (hasMore) {
+            hits = hits.subList(0, pageSize);
+        }
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        Logger.info("Transcript search for '" + query + "' returned " + hits.size() + " hit(s) at offset " + offset
+                + " in " + elapsedMillis + " ms using " + used + ".");
+        return new Page(List.copyOf(hits), offset, hasMore, elapsedMillis, used);
+    }
+
+    /**
+     * Forces the backend, e.g. {@link Backend#LOCAL_INDEX} for databases without FULLTEXT support.
+     */
+    public void setBackend(Backend backend) {
+        this.backend = Objects.requireNonNull(backend, "Backend cannot be null.");
+    }
+
+    /**
+     * @return The backend that will serve the next search.
+     */
+    public Backend getBackend() {
+        return backend;
+    }
+
+    /**
+     * Tells the service that transcripts were deleted, so the local index drops them.
+     */
+    public void onInterviewDeleted() {
+        localIndex.invalidate();
+    }
+
+    private List<TranscriptSearchHit> searchLocalIndex(String query, int offset, int limit) throws SQLException {
+        List<LocalTranscriptIndex.Match> matches = localIndex.search(query, offset + limit);
+        if (matches.size() <= offset) {
+            return new ArrayList<>();
+        }
+        matches = matches.subList(offset, matches.size());
+
+        List<Integer> entryIds = matches.stream().map(LocalTranscriptIndex.Match::entryId).toList();
+        Map<Integer, TranscriptSearchHit> loaded = new HashMap<>();
+        for (TranscriptSearchHit hit : interviewDao.getSearchHitsForEntries(entryIds)) {
+            loaded.put(hit.getEntry().getId(), hit);
+        }
+
+        // Keep the index's ranking; entries deleted since the index was built are skipped.
+        List<TranscriptSearchHit> hits = new ArrayList<>(matches.size());
+        for (LocalTranscriptIndex.Match match : matches) {
+            TranscriptSearchHit hit = loaded.get(match.entryId());
+            if (hit != null) {
+                hit.setScore(match.score());
+                hits.add(hit);
+            }
+        }
+        return hits;
+    }
+
+    private static boolean isFullTextUnavailable(SQLException e) {
+        return e.getErrorCode() == ER_FT_MATCHING_KEY_NOT_FOUND
+                || e.getErrorCode() == ER_TABLE_CANT_HANDLE_FT
+                || e instanceof SQLSyntaxErrorException;
+    }
+}
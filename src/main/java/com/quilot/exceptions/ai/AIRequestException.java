@@ -0,0 +1,23 @@
+package com.quilot.exceptions.ai;
+
+import com.quilot.ai.AIFailureType;
+import lombok.Getter;
+
+/**
+ * Thrown when a single AI request fails, carrying a classification of the failure.
+ */
+@Getter
+public class AIRequestException extends AIException {
+
+    private final AIFailureType failureType;
+
+    public AIRequestException(AIFailureType failureType, String message) {
+        super(message);
+        this.failureType = failureType;
+    }
+
+    public AIRequestException(AIFailureType failureType, String message, Throwable cause) {
+        super(message, cause);
+        this.failureType = failureType;
+    }
+}
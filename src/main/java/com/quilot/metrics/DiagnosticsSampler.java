@@ -0,0 +1,159 @@
+package com.quilot.metrics;
+
+import com.quilot.utils.Logger;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryUsage;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Periodically reads the counters, gauges and histograms of a {@link MetricsRegistry} into an
+ * immutable {@link Snapshot} for the live diagnostics panel.
+ * <p>
+ * Sampling runs on its own daemon thread, so the EDT only ever reads the latest snapshot and never
+ * touches a queue, histogram or MXBean itself. Rates are computed from the counter deltas between
+ * two samples.
+ */
+public class DiagnosticsSampler implements AutoCloseable {
+
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    /**
+     * The pipeline's health at one point in time. Queue depths and the restart countdown are -1
+     * when the component that reports them is not running.
+     */
+    public record Snapshot(double audioFramesPerSecond,
+                           double sttBytesPerSecond,
+                           long transcriptQueueDepth,
+                           long audioQueueDepth,
+                           long aiQueueDepth,
+                           long logQueueDepth,
+                           long millisUntilStreamRestart,
+                           long aiFirstTokenP50Millis,
+                           long aiFirstTokenP95Millis,
+                           long aiTotalP50Millis,
+                           long aiTotalP95Millis,
+                           long edtLagP95Millis,
+                           long heapUsedBytes,
+                           long heapMaxBytes) {
+    }
+
+    private final MetricsRegistry registry;
+    private final LongSupplier nanoClock;
+    private final MemoryMXBean memory;
+
+    private ScheduledExecutorService scheduler;
+    private long lastSampleNanos;
+    private long lastAudioFrames;
+    private long lastSttBytes;
+    private volatile Snapshot latest;
+
+    /**
+     * Constructs a sampler over the {@linkplain MetricsRegistry#global() global registry}.
+     */
+    public DiagnosticsSampler() {
+        this(MetricsRegistry.global(), System::nanoTime, ManagementFactory.getMemoryMXBean());
+    }
+
+    DiagnosticsSampler(MetricsRegistry registry, LongSupplier nanoClock, MemoryMXBean memory) {
+        this.registry = registry;
+        this.nanoClock = nanoClock;
+        this.memory = memory;
+        this.lastSampleNanos = nanoClock.getAsLong();
+        this.lastAudioFrames = registry.getCount(MetricNames.AUDIO_FRAMES_CAPTURED);
+        this.lastSttBytes = registry.getCount(MetricNames.STT_BYTES_SENT);
+    }
+
+    /**
+     * Starts sampling at a fixed rate. Calling this again while running has no effect.
+     *
+     * @param periodMillis The time between samples.
+     */
+    public synchronized void start(long periodMillis) {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "DiagnosticsSamplerThread");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(() -> {
+            try {
+                sample();
+            } catch (RuntimeException e) {
+                // An exception would cancel the schedule; a broken gauge should only cost one sample.
+                Logger.warn("Failed to sample diagnostics: " + e.getMessage());
+            }
+        }, 0, periodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @return The most recent snapshot, or null before the first sample.
+     */
+    public Snapshot getLatest() {
+        return latest;
+    }
+
+    /**
+     * Stops sampling. The latest snapshot remains available.
+     */
+    @Override
+    public synchronized void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * Takes a snapshot and makes it the latest. Called by the sampler thread only, or by tests.
+     */
+    Snapshot sample() {
+        long now = nanoClock.getAsLong();
+        long audioFrames = registry.getCount(MetricNames.AUDIO_FRAMES_CAPTURED);
+        long sttBytes = registry.getCount(MetricNames.STT_BYTES_SENT);
+        long elapsedNanos = now - lastSampleNanos;
+        double audioRate = rate(audioFrames - lastAudioFrames, elapsedNanos);
+        double sttRate = rate(sttBytes - lastSttBytes, elapsedNanos);
+        lastSampleNanos = now;
+        lastAudioFrames = audioFrames;
+        lastSttBytes = sttBytes;
+
+        LatencyHistogram firstToken = registry.histogram(PipelineStage.AI_FIRST_TOKEN.getMetricName());
+        LatencyHistogram total = registry.histogram(PipelineStage.AI_TOTAL.getMetricName());
+        MemoryUsage heap = memory.getHeapMemoryUsage();
+
+        Snapshot snapshot = new Snapshot(
+                audioRate,
+                sttRate,
+                registry.getGaugeValue(MetricNames.TRANSCRIPT_QUEUE_DEPTH),
+                registry.getGaugeValue(MetricNames.AUDIO_QUEUE_DEPTH),
+                registry.getGaugeValue(MetricNames.AI_QUEUE_DEPTH),
+                registry.getGaugeValue(MetricNames.LOG_QUEUE_DEPTH),
+                registry.getGaugeValue(MetricNames.STT_MILLIS_UNTIL_RESTART),
+                firstToken.getPercentileMillis(50),
+                firstToken.getPercentileMillis(95),
+                total.getPercentileMillis(50),
+                total.getPercentileMillis(95),
+                registry.histogram(MetricNames.UI_EDT_LAG).getPercentileMillis(95),
+                heap.getUsed(),
+                heap.getMax());
+        latest = snapshot;
+        return snapshot;
+    }
+
+    /**
+     * @return Events per second, or 0 if no time has passed or the counter was reset.
+     */
+    private static double rate(long delta, long elapsedNanos) {
+        if (elapsedNanos <= 0 || delta < 0) {
+            return 0;
+        }
+        return delta * NANOS_PER_SECOND / elapsedNanos;
+    }
+}
@@ -0,0 +1,148 @@
+package com.quilot.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A fixed-size, log-linear latency histogram with lock-free recording.
+ * <p>
+ * Values are recorded in microseconds. Values below {@value #LINEAR_LIMIT} µs get exact buckets;
+ * above that, every power of two is split into {@value #SUB_BUCKETS} linear sub-buckets, which
+ * bounds the relative error of reported percentiles to roughly 3% (the same idea as
+ * HdrHistogram with two significant digits). Recording is a single atomic increment, so it is
+ * safe to call from audio, gRPC and UI threads concurrently.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int LINEAR_LIMIT = SUB_BUCKETS * 2;
+    private static final int LINEAR_BITS = SUB_BUCKET_BITS + 1;
+    private static final int MAX_EXPONENT = 40; // ~12.7 days in microseconds
+    private static final int BUCKET_COUNT = LINEAR_LIMIT + (MAX_EXPONENT - LINEAR_BITS + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong totalCount = new AtomicLong();
+    private final AtomicLong totalMicros = new AtomicLong();
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    /**
+     * Records a duration measured with {@link System#nanoTime()}.
+     *
+     * @param durationNanos The elapsed time in nanoseconds; negative values are recorded as zero.
+     */
+    public void recordNanos(long durationNanos) {
+        recordMicros(TimeUnit.NANOSECONDS.toMicros(Math.max(0, durationNanos)));
+    }
+
+    /**
+     * Records a duration in microseconds.
+     *
+     * @param micros The elapsed time in microseconds; negative values are recorded as zero.
+     */
+    public void recordMicros(long micros) {
+        long value = Math.max(0, micros);
+        counts.incrementAndGet(bucketIndex(value));
+        totalCount.incrementAndGet();
+        totalMicros.addAndGet(value);
+        maxMicros.accumulateAndGet(value, Math::max);
+    }
+
+    /**
+     * @return The number of recorded values.
+     */
+    public long getCount() {
+        return totalCount.get();
+    }
+
+    /**
+     * @return The largest recorded value in microseconds.
+     */
+    public long getMaxMicros() {
+        return maxMicros.get();
+    }
+
+    /**
+     * @return The mean of all recorded values in microseconds, or 0 if empty.
+     */
+    public long getMeanMicros() {
+        long count = totalCount.get();
+        return count == 0 ? 0 : totalMicros.get() / count;
+    }
+
+    /**
+     * Estimates the value at the given percentile.
+     *
+     * @param percentile A percentile between 0 and 100.
+     * @return The upper bound (in microseconds) of the bucket containing the percentile, or 0 if empty.
+     */
+    public long getValueAtPercentile(double percentile) {
+        long count = totalCount.get();
+        if (count == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(count * Math.min(100.0, Math.max(0.0, percentile)) / 100.0));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts.get(i);
+            if (seen >= target) {
+                return Math.min(bucketUpperBound(i), maxMicros.get());
+            }
+        }
+        return maxMicros.get();
+    }
+
+    /**
+     * Convenience wrapper around {@link #getValueAtPercentile(double)} returning milliseconds.
+     */
+    public long getPercentileMillis(double percentile) {
+        return TimeUnit.MICROSECONDS.toMillis(getValueAtPercentile(percentile));
+    }
+
+    /**
+     * Clears all recorded values. Not atomic with respect to concurrent recording.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts.set(i, 0);
+        }
+        totalCount.set(0);
+        totalMicros.set(0);
+        maxMicros.set(0);
+    }
+
+    /**
+     * @return A one-line human-readable summary in milliseconds, suitable for logging.
+     */
+    public String summary() {
+        return String.format("n=%d, p50=%.1fms, p95=%.1fms, p99=%.1fms, max=%.1fms",
+                getCount(),
+                getValueAtPercentile(50) / 1000.0,
+                getValueAtPercentile(95) / 1000.0,
+                getValueAtPercentile(99) / 1000.0,
+                getMaxMicros() / 1000.0);
+    }
+
+    static int bucketIndex(long value) {
+        if (value < LINEAR_LIMIT) {
+            return (int) value;
+        }
+        int exponent = Math.min(63 - Long.numberOfLeadingZeros(value), MAX_EXPONENT);
+        if (exponent == MAX_EXPONENT && value >= (1L << (MAX_EXPONENT + 1))) {
+            return BUCKET_COUNT - 1;
+        }
+        int subBucket = (int) ((value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1));
+        return LINEAR_LIMIT + (exponent - LINEAR_BITS) * SUB_BUCKETS + subBucket;
+    }
+
+    static long bucketUpperBound(int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        int exponent = (index - LINEAR_LIMIT) / SUB_BUCKETS + LINEAR_BITS;
+        int subBucket = (index - LINEAR_LIMIT) % SUB_BUCKETS;
+        long width = 1L << (exponent - SUB_BUCKET_BITS);
+        return ((long) (SUB_BUCKETS + subBucket) * width) + width - 1;
+    }
+}
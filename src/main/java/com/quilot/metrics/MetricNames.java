@@ -0,0 +1,46 @@
+package com.quilot.metrics;
+
+/**
+ * Names of the marks, counters, gauges and histograms in the {@linkplain MetricsRegistry#global() global registry}
+ * that are shared between the component that records them and the ones that read them.
+ * Latency histograms of the pipeline are named by {@link PipelineStage}.
+ */
+public final class MetricNames {
+
+    /** Mark: a chunk of audio has been read from the input line. */
+    public static final String AUDIO_CAPTURED = "pipeline.audio_captured";
+    /** Mark: the capture time of the end of the speech in the latest final transcript, or 0 if unknown. */
+    public static final String SPEECH_END = "pipeline.speech_end";
+
+    /** Counter: audio frames (one sample per channel) read from the input line. */
+    public static final String AUDIO_FRAMES_CAPTURED = "audio.frames_captured";
+    /** Counter: audio bytes sent to the STT service. */
+    public static final String STT_BYTES_SENT = "stt.bytes_sent";
+    /** Counter: UI updates submitted to the {@code UiUpdateScheduler}. */
+    public static final String UI_UPDATES_SUBMITTED = "ui.updates_submitted";
+    /** Counter: UI updates that were combined with or superseded by another update before being applied. */
+    public static final String UI_UPDATES_MERGED = "ui.updates_merged";
+    /** Counter: UI updates dropped because too much text was pending. */
+    public static final String UI_UPDATES_DROPPED = "ui.updates_dropped";
+    /** Counter: frames of coalesced UI updates applied on the EDT. */
+    public static final String UI_FRAMES = "ui.frames";
+    /** Counter: events that kept the EDT busy for longer than the stall threshold. */
+    public static final String EDT_STALLS = "ui.edt_stalls";
+
+    /** Gauge: milliseconds until the STT stream is proactively restarted, or -1 if not streaming. */
+    public static final String STT_MILLIS_UNTIL_RESTART = "stt.millis_until_restart";
+    /** Gauge: transcription entries waiting to be written to the database. */
+    public static final String TRANSCRIPT_QUEUE_DEPTH = "db.transcript_queue_depth";
+    /** Gauge: audio chunks waiting to be written to the database. */
+    public static final String AUDIO_QUEUE_DEPTH = "db.audio_queue_depth";
+    /** Gauge: AI requests waiting for a worker thread. */
+    public static final String AI_QUEUE_DEPTH = "ai.queue_depth";
+    /** Gauge: log events waiting to be written. */
+    public static final String LOG_QUEUE_DEPTH = "log.queue_depth";
+
+    /** Histogram: time from posting a frame of UI updates to the EDT until it runs. */
+    public static final String UI_EDT_LAG = "ui.edt_lag";
+
+    private MetricNames() {
+    }
+}
@@ -0,0 +1,129 @@
+package com.quilot.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Named {@link LatencyHistogram}s, counters, gauges and timestamps shared across the application.
+ * <p>
+ * Histograms and counters are created on first use and never removed, so callers may keep a
+ * reference and record into it directly; the lookup is only needed once. Gauges are read on
+ * demand, e.g. by the {@link DiagnosticsSampler}. Marks hold the {@link System#nanoTime()} of the
+ * latest occurrence of an event, so that one component can measure from an event that another
+ * component observed, e.g. from audio capture to the STT request that carries it. Shared names
+ * are listed in {@link MetricNames}.
+ */
+public class MetricsRegistry {
+
+    private static final MetricsRegistry GLOBAL = new MetricsRegistry();
+
+    private final ConcurrentMap<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, AtomicLong> marks = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, LongSupplier> gauges = new ConcurrentHashMap<>();
+
+    /**
+     * @return The registry used by the application's services.
+     */
+    public static MetricsRegistry global() {
+        return GLOBAL;
+    }
+
+    /**
+     * @return The histogram with the given name, created if it does not exist yet.
+     */
+    public LatencyHistogram histogram(String name) {
+        return histograms.computeIfAbsent(name, _ -> new LatencyHistogram());
+    }
+
+    /**
+     * @return All histograms, sorted by name. The map is a snapshot; the histograms are live.
+     */
+    public Map<String, LatencyHistogram> getHistograms() {
+        return Collections.unmodifiableMap(new TreeMap<>(histograms));
+    }
+
+    /**
+     * @return The counter with the given name, created if it does not exist yet.
+     */
+    public LongAdder counter(String name) {
+        return counters.computeIfAbsent(name, _ -> new LongAdder());
+    }
+
+    /**
+     * @return The current total of the counter, or 0 if nothing was counted.
+     */
+    public long getCount(String name) {
+        LongAdder counter = counters.get(name);
+        return counter == null ? 0 : counter.sum();
+    }
+
+    /**
+     * Registers a value that is read whenever the gauge is queried, replacing any earlier gauge of that name.
+     *
+     * @param name The gauge name.
+     * @param gauge Supplies the current value; must be cheap and thread-safe.
+     */
+    public void registerGauge(String name, LongSupplier gauge) {
+        gauges.put(name, gauge);
+    }
+
+    /**
+     * @return The current value of the gauge, or -1 if no gauge of that name is registered.
+     */
+    public long getGaugeValue(String name) {
+        LongSupplier gauge = gauges.get(name);
+        return gauge == null ? -1 : gauge.getAsLong();
+    }
+
+    /**
+     * Records that an event happened now.
+     */
+    public void mark(String event) {
+        mark(event, System.nanoTime());
+    }
+
+    /**
+     * Records that an event happened at the given {@link System#nanoTime()}.
+     */
+    public void mark(String event, long nanos) {
+        marks.computeIfAbsent(event, _ -> new AtomicLong()).set(nanos);
+    }
+
+    /**
+     * @return The {@link System#nanoTime()} of the latest occurrence of the event, or 0 if it never happened.
+     */
+    public long getLastMark(String event) {
+        AtomicLong mark = marks.get(event);
+        return mark == null ? 0 : mark.get();
+    }
+
+    /**
+     * Clears every histogram, counter and mark. Histograms and counters stay registered, so
+     * references to them remain valid. Gauges are kept.
+     */
+    public void reset() {
+        histograms.values().forEach(LatencyHistogram::reset);
+        counters.values().forEach(LongAdder::reset);
+        marks.clear();
+    }
+
+    /**
+     * @return One line per non-empty histogram, suitable for logging.
+     */
+    public String summary() {
+        StringBuilder summary = new StringBuilder();
+        getHistograms().forEach((name, histogram) -> {
+            if (histogram.getCount() > 0) {
+                summary.append(name).append(": ").append(histogram.summary()).append(System.lineSeparator());
+            }
+        });
+        return summary.toString();
+    }
+}
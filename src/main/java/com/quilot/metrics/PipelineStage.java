@@ -0,0 +1,49 @@
+package com.quilot.metrics;
+
+import lombok.Getter;
+
+/**
+ * The measured stages between the interviewer speaking and an answer appearing on screen.
+ * <p>
+ * Each stage records into a histogram of the {@linkplain MetricsRegistry#global() global registry}
+ * named by {@link #getMetricName()}. Speech-relative stages are measured from when the audio was
+ * captured, using the result offsets reported by the STT service, so they include the time audio
+ * spends being buffered and sent.
+ */
+@Getter
+public enum PipelineStage {
+
+    CAPTURE_TO_STT_SEND("pipeline.capture_to_stt_send", "Audio capture to STT send"),
+    STT_INTERIM("pipeline.stt_interim", "Speech to interim transcript"),
+    STT_FINAL("pipeline.stt_final", "Speech end to final transcript"),
+    QUESTION_DETECTION("pipeline.question_detection", "Question detection"),
+    AI_FIRST_TOKEN("pipeline.ai_first_token", "AI time to first token"),
+    AI_TOTAL("pipeline.ai_total", "AI total response time"),
+    DB_WRITE("pipeline.db_write", "Database write"),
+    UI_RENDER("pipeline.ui_render", "UI update, including EDT queueing"),
+    END_TO_END("pipeline.end_to_end", "Speech end to answer on screen");
+
+    private final String metricName;
+    private final String description;
+    private final LatencyHistogram histogram;
+
+    PipelineStage(String metricName, String description) {
+        this.metricName = metricName;
+        this.description = description;
+        this.histogram = MetricsRegistry.global().histogram(metricName);
+    }
+
+    /**
+     * Records a duration measured with {@link System#nanoTime()}.
+     */
+    public void recordNanos(long durationNanos) {
+        histogram.recordNanos(durationNanos);
+    }
+
+    /**
+     * Records the time elapsed since the given {@link System#nanoTime()}.
+     */
+    public void recordSince(long startNanos) {
+        histogram.recordNanos(System.nanoTime() - startNanos);
+    }
+}
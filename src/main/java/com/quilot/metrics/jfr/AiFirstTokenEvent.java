@@ -0,0 +1,20 @@
+package com.quilot.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The first part of a streamed answer arrived. The duration is the time since the request.
+ */
+@Name("com.quilot.AiFirstToken")
+@Label("AI First Token")
+@Category({"Quilot", "AI"})
+@Description("The first part of a streamed answer arrived")
+public class AiFirstTokenEvent extends Event {
+
+    @Label("Model")
+    public String model;
+}
@@ -0,0 +1,29 @@
+package com.quilot.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A streamed answer from one model, from the request until the stream completed or failed.
+ */
+@Name("com.quilot.AiRequest")
+@Label("AI Request")
+@Category({"Quilot", "AI"})
+@Description("A streamed answer from one model")
+public class AiRequestEvent extends Event {
+
+    @Label("Model")
+    public String model;
+
+    @Label("Prompt Length")
+    public int promptLength;
+
+    @Label("Response Length")
+    public int responseLength;
+
+    @Label("Succeeded")
+    public boolean succeeded;
+}
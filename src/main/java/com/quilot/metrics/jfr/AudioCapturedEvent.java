@@ -0,0 +1,22 @@
+package com.quilot.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A chunk of audio was read from the input line.
+ */
+@Name("com.quilot.AudioCaptured")
+@Label("Audio Captured")
+@Category({"Quilot", "Audio"})
+@Description("A chunk of audio was read from the input line")
+public class AudioCapturedEvent extends Event {
+
+    @Label("Bytes")
+    @DataAmount
+    public int bytes;
+}
@@ -0,0 +1,26 @@
+package com.quilot.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A batch of transcription entries was written to the database, including retries.
+ */
+@Name("com.quilot.DbBatchFlush")
+@Label("DB Batch Flush")
+@Category({"Quilot", "Database"})
+@Description("A batch of transcription entries was written to the database")
+public class DbBatchFlushEvent extends Event {
+
+    @Label("Entries")
+    public int entries;
+
+    @Label("Attempts")
+    public int attempts;
+
+    @Label("Succeeded")
+    public boolean succeeded;
+}
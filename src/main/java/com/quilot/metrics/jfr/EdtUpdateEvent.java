@@ -0,0 +1,26 @@
+package com.quilot.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * The UI was updated on the event dispatch thread. The duration is the time spent on the EDT.
+ */
+@Name("com.quilot.EdtUpdate")
+@Label("EDT Update")
+@Category({"Quilot", "UI"})
+@Description("The UI was updated on the event dispatch thread")
+public class EdtUpdateEvent extends Event {
+
+    @Label("Update")
+    public String update;
+
+    @Label("Queue Delay")
+    @Description("Time between posting the update and the EDT starting it")
+    @Timespan(Timespan.NANOSECONDS)
+    public long queueDelay;
+}
@@ -0,0 +1,126 @@
+package com.quilot.metrics.jfr;
+
+import com.quilot.db.DatabaseManager;
+import com.quilot.utils.Logger;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * An optional, continuously running Java Flight Recorder recording of the application and its
+ * pipeline events, kept on disk so that a sluggish session can be analysed afterwards.
+ * <p>
+ * Enabled at startup with {@code -Dquilot.jfr=true}. The recording uses the JDK's low-overhead
+ * "default" settings plus the {@code com.quilot.*} events, and keeps at most
+ * {@code quilot.jfr.maxAgeMinutes} (default 30) and {@code quilot.jfr.maxSizeMb} (default 250)
+ * of data in the JFR disk repository, discarding the oldest chunks first. The retained window is
+ * written to {@code <data dir>/recordings} on exit, or by {@link #dump()} from the
+ * "View &gt; Save Flight Recording" menu item while the application runs; only the newest
+ * {@value #MAX_DUMPS} dumps are kept.
+ */
+public final class FlightRecording {
+
+    private static final String RECORDING_NAME = "Quilot continuous recording";
+    private static final int MAX_DUMPS = 5;
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+
+    private static Recording recording;
+
+    private FlightRecording() {
+    }
+
+    /**
+     * Starts the continuous recording if it is enabled by the {@code quilot.jfr} system property.
+     */
+    public static synchronized void startIfEnabled() {
+        if (!Boolean.getBoolean("quilot.jfr") || recording != null) {
+            return;
+        }
+        try {
+            Recording newRecording = new Recording(Configuration.getConfiguration("default"));
+            newRecording.setName(RECORDING_NAME);
+            newRecording.setToDisk(true);
+            newRecording.setMaxAge(Duration.ofMinutes(Long.getLong("quilot.jfr.maxAgeMinutes", 30)));
+            newRecording.setMaxSize(Long.getLong("quilot.jfr.maxSizeMb", 250) * 1024 * 1024);
+            newRecording.setDumpOnExit(true);
+            newRecording.setDestination(nextDumpPath());
+            newRecording.start();
+            recording = newRecording;
+            Logger.info("Continuous flight recording started; it will be written to " + newRecording.getDestination() + " on exit.");
+        } catch (IOException | ParseException | IllegalStateException | SecurityException e) {
+            Logger.error("Failed to start the continuous flight recording.", e);
+        }
+    }
+
+    /**
+     * Stops and discards the continuous recording without writing it. Used by tests.
+     */
+    static synchronized void stop() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    /**
+     * @return True if the continuous recording is running.
+     */
+    public static synchronized boolean isRecording() {
+        return recording != null;
+    }
+
+    /**
+     * Writes the currently retained window of the recording to a new file in the recordings directory.
+     *
+     * @return The written file.
+     * @throws IOException if the recording is not running or the file could not be written.
+     */
+    public static synchronized Path dump() throws IOException {
+        if (recording == null) {
+            throw new IOException("The continuous flight recording is not running.");
+        }
+        Path path = nextDumpPath();
+        recording.dump(path);
+        Logger.info("Flight recording written to " + path);
+        return path;
+    }
+
+    /**
+     * @return The directory that recordings are written to.
+     */
+    public static Path getRecordingsDirectory() {
+        return DatabaseManager.getDataDirectory().resolve("recordings");
+    }
+
+    private static Path nextDumpPath() throws IOException {
+        Path directory = getRecordingsDirectory();
+        Files.createDirectories(directory);
+        deleteOldDumps(directory);
+        return directory.resolve("quilot-" + LocalDateTime.now().format(FILE_TIME) + ".jfr");
+    }
+
+    /**
+     * Leaves room for one more dump within {@value #MAX_DUMPS}, deleting the oldest first.
+     */
+    private static void deleteOldDumps(Path directory) throws IOException {
+        List<Path> dumps;
+        try (Stream<Path> files = Files.list(directory)) {
+            dumps = files.filter(path -> path.getFileName().toString().endsWith(".jfr"))
+                    .sorted(Comparator.comparing(path -> path.getFileName().toString()))
+                    .toList();
+        }
+        for (int i = 0; i <= dumps.size() - MAX_DUMPS; i++) {
+            Files.deleteIfExists(dumps.get(i));
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.quilot.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Audio was sent on the streaming recognition call. The duration is the time spent in the send.
+ */
+@Name("com.quilot.SttRequestSent")
+@Label("STT Request Sent")
+@Category({"Quilot", "Speech-to-Text"})
+@Description("Audio was sent on the streaming recognition call")
+public class SttRequestSentEvent extends Event {
+
+    @Label("Bytes")
+    @DataAmount
+    public int bytes;
+}
@@ -0,0 +1,29 @@
+package com.quilot.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * A recognition result was received from the STT service.
+ */
+@Name("com.quilot.SttResult")
+@Label("STT Result Received")
+@Category({"Quilot", "Speech-to-Text"})
+@Description("A recognition result was received from the STT service")
+public class SttResultEvent extends Event {
+
+    @Label("Final")
+    public boolean isFinal;
+
+    @Label("Transcript Length")
+    public int transcriptLength;
+
+    @Label("Latency")
+    @Description("Time since the end of the recognized speech was captured, or -1 if unknown")
+    @Timespan(Timespan.NANOSECONDS)
+    public long latency;
+}
@@ -0,0 +1,20 @@
+package com.quilot.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The streaming recognition call was closed and reopened before the API's stream time limit.
+ */
+@Name("com.quilot.SttStreamRestart")
+@Label("STT Stream Restart")
+@Category({"Quilot", "Speech-to-Text"})
+@Description("The streaming recognition call was restarted")
+public class SttStreamRestartEvent extends Event {
+
+    @Label("Succeeded")
+    public boolean succeeded;
+}
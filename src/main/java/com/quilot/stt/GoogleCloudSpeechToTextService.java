@@ -12,7 +12,14 @@ import com.google.protobuf.ByteString;
 import com.quilot.audio.input.AudioInputService;
 import com.quilot.exceptions.stt.STTAuthenticationException;
 import com.quilot.exceptions.stt.STTException;
+import com.quilot.metrics.MetricNames;
+import com.quilot.metrics.MetricsRegistry;
+import com.quilot.metrics.PipelineStage;
+import com.quilot.metrics.jfr.SttRequestSentEvent;
+import com.quilot.metrics.jfr.SttResultEvent;
+import com.quilot.metrics.jfr.SttStreamRestartEvent;
 import com.quilot.stt.settings.RecognitionConfigSettings;
+import com.quilot.utils.CorrelationId;
 import com.quilot.utils.Logger;
 import lombok.Getter;
 
@@ -54,6 +61,12 @@ public class GoogleCloudSpeechToTextService implements SpeechToTextService, Audi
 
     private ResponseObserver<StreamingRecognizeResponse> responseObserver;
 
+    /** The {@link System#nanoTime()} at which the first audio of the current stream was captured, or 0. */
+    private volatile long streamAudioStartNanos;
+    private volatile long streamStartedNanos;
+    /** The correlation ID of the utterance being recognized, or null between utterances. */
+    private volatile String utteranceId;
+
     public GoogleCloudSpeechToTextService(String initialCredentialPath, ISpeechToTextSettingsManager settingsManager) {
         this.settingsManager = Objects.requireNonNull(settingsManager, "Settings manager cannot be null.");
         this.credentialPath = initialCredentialPath;
@@ -123,6 +136,9 @@ public class GoogleCloudSpeechToTextService implements SpeechToTextService, Audi
         try {
             RecognitionConfigSettings currentSettings = settingsManager.loadSettings();
             StreamingRecognitionConfig streamingConfig = buildStreamingConfig(currentAudioFormat, currentSettings);
+            streamAudioStartNanos = 0;
+            streamStartedNanos = System.nanoTime();
+            utteranceId = null; // A result cut off by the restart is not continued on the new stream
 
             this.responseObserver = new ResponseObserver<>() {
                 @Override
@@ -133,9 +149,15 @@ public class GoogleCloudSpeechToTextService implements SpeechToTextService, Audi
                 public void onResponse(StreamingRecognizeResponse response) {
                     if (streamingRecognitionListener != null && !response.getResultsList().isEmpty()) {
                         StreamingRecognitionResult result = response.getResultsList().getFirst();
-                        if (!result.getAlternativesList().isEmpty()) {
-                            String transcription = result.getAlternativesList().getFirst().getTranscript();
-                            streamingRecognitionListener.onTranscriptionResult(transcription, result.getIsFinal());
+                        if (utteranceId == null) {
+                            utteranceId = CorrelationId.next();
+                        }
+                        try (CorrelationId.Scope _ = CorrelationId.open(utteranceId)) {
+                            deliverResult(result);
+                        } finally {
+                            if (result.getIsFinal()) {
+                                utteranceId = null;
+                            }
                         }
                     }
                 }
@@ -183,16 +205,21 @@ public class GoogleCloudSpeechToTextService implements SpeechToTextService, Audi
         }
 
         Logger.info("Proactively restarting STT stream to avoid API timeout...");
+        SttStreamRestartEvent event = new SttStreamRestartEvent();
+        event.begin();
         closeClientStream();
 
         try {
             createAndStartStream();
             startRestartTimer();
+            event.succeeded = true;
         } catch (STTException e) {
             Logger.error("Failed to automatically restart STT stream.", e);
             if (streamingRecognitionListener != null) {
                 streamingRecognitionListener.onTranscriptionError(e);
             }
+        } finally {
+            event.commit();
         }
     }
 
@@ -235,9 +262,22 @@ public class GoogleCloudSpeechToTextService implements SpeechToTextService, Audi
     public void onAudioDataCaptured(byte[] audioData, int bytesRead) {
         if (isStreamingActive.get() && clientStream != null) {
             try {
+                long capturedNanos = MetricsRegistry.global().getLastMark(MetricNames.AUDIO_CAPTURED);
+                if (streamAudioStartNanos == 0) {
+                    long capturedAt = capturedNanos != 0 ? capturedNanos : System.nanoTime();
+                    streamAudioStartNanos = capturedAt - audioDurationNanos(bytesRead);
+                }
+                SttRequestSentEvent event = new SttRequestSentEvent();
+                event.begin();
                 clientStream.send(StreamingRecognizeRequest.newBuilder()
                         .setAudioContent(ByteString.copyFrom(audioData, 0, bytesRead))
                         .build());
+                event.bytes = bytesRead;
+                event.commit();
+                MetricsRegistry.global().counter(MetricNames.STT_BYTES_SENT).add(bytesRead);
+                if (capturedNanos != 0) {
+                    PipelineStage.CAPTURE_TO_STT_SEND.recordSince(capturedNanos);
+                }
             } catch (Exception e) {
                 Logger.error("Error sending audio data to STT stream.", e);
                 if (streamingRecognitionListener != null) {
@@ -248,6 +288,69 @@ public class GoogleCloudSpeechToTextService implements SpeechToTextService, Audi
         }
     }
 
+    private void deliverResult(StreamingRecognitionResult result) {
+        long latencyNanos = recordRecognitionLatency(result);
+        if (result.getAlternativesList().isEmpty()) {
+            return;
+        }
+        String transcription = result.getAlternativesList().getFirst().getTranscript();
+        SttResultEvent event = new SttResultEvent();
+        if (event.isEnabled()) {
+            event.isFinal = result.getIsFinal();
+            event.transcriptLength = transcription.length();
+            event.latency = latencyNanos;
+            event.commit();
+        }
+        if (result.getIsFinal()) {
+            Logger.debug(() -> "Final transcript received " + (latencyNanos < 0 ? "" : TimeUnit.NANOSECONDS.toMillis(latencyNanos) + " ms ")
+                    + "after the end of speech.");
+        }
+        streamingRecognitionListener.onTranscriptionResult(transcription, result.getIsFinal(), utteranceId);
+    }
+
+    /**
+     * @return Milliseconds until the stream is proactively restarted, or -1 if no stream is active.
+     */
+    public long getMillisUntilRestart() {
+        if (!isStreamingActive.get() || clientStream == null) {
+            return -1;
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - streamStartedNanos);
+        return Math.max(0, TimeUnit.SECONDS.toMillis(STREAM_RESTART_SECONDS) - elapsedMillis);
+    }
+
+    /**
+     * Records how long after the end of the recognized speech a result arrived. The result's end
+     * offset is relative to the first audio sent on the stream, which was captured in real time.
+     * For final results, the capture time of the speech end is also marked for end-to-end timing.
+     *
+     * @return The latency in nanoseconds, or -1 if it is unknown.
+     */
+    private long recordRecognitionLatency(StreamingRecognitionResult result) {
+        long audioStart = streamAudioStartNanos;
+        if (audioStart == 0 || !result.hasResultEndTime()) {
+            if (result.getIsFinal()) {
+                MetricsRegistry.global().mark(MetricNames.SPEECH_END, 0);
+            }
+            return -1;
+        }
+        var resultEnd = result.getResultEndTime();
+        long speechEndNanos = audioStart + TimeUnit.SECONDS.toNanos(resultEnd.getSeconds()) + resultEnd.getNanos();
+        long latencyNanos = System.nanoTime() - speechEndNanos;
+        if (result.getIsFinal()) {
+            PipelineStage.STT_FINAL.recordNanos(latencyNanos);
+            MetricsRegistry.global().mark(MetricNames.SPEECH_END, speechEndNanos);
+        } else {
+            PipelineStage.STT_INTERIM.recordNanos(latencyNanos);
+        }
+        return latencyNanos;
+    }
+
+    private long audioDurationNanos(int bytes) {
+        double bytesPerSecond = currentAudioFormat.getFrameSize() * (double) currentAudioFormat.getFrameRate();
+        return bytesPerSecond > 0 ? (long) (bytes / bytesPerSecond * TimeUnit.SECONDS.toNanos(1)) : 0;
+    }
+
     @Override
     public void testCredentials() throws STTAuthenticationException {
         Logger.info("Testing Google Cloud SpeechClient credentials by re-initializing...");
@@ -40,6 +40,7 @@ public interface SpeechToTextService {
 
     /**
      * Listener interface for receiving real-time transcription results from a streaming STT service.
+     * Results are delivered with the utterance's {@link com.quilot.utils.CorrelationId} current.
      */
     @FunctionalInterface
     interface StreamingRecognitionListener {
@@ -49,8 +50,9 @@ public interface SpeechToTextService {
          *
          * @param transcription The transcribed text.
          * @param isFinal True if this is a final transcription result, false for interim.
+         * @param utteranceId The correlation ID of the utterance, shared by its interim results and its final result.
          */
-        void onTranscriptionResult(String transcription, boolean isFinal);
+        void onTranscriptionResult(String transcription, boolean isFinal, String utteranceId);
 
         /**
          * Called when an error occurs during the streaming recognition.
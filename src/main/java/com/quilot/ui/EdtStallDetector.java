@@ -0,0 +1,148 @@
+package com.quilot.ui;
+
+import com.quilot.metrics.MetricNames;
+import com.quilot.metrics.MetricsRegistry;
+import com.quilot.utils.Logger;
+
+import java.awt.*;
+import java.util.Arrays;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * Logs every event that keeps the EDT busy for longer than a threshold, so that blocking work which
+ * slipped onto it shows up in the log with what caused it.
+ * <p>
+ * Once {@linkplain #install() installed}, it times every event the EDT dispatches by pushing its own
+ * {@link EventQueue}. An event that runs longer than the threshold is logged with its duration and
+ * source when it ends. Because the stack at that point no longer shows the culprit, a watchdog thread
+ * also checks the running event twice per threshold and, the first time it finds it overdue, logs the
+ * EDT's stack trace while it is still blocked. An event that opened a modal dialog is not reported,
+ * since the dialog kept dispatching other events. Stalls are counted in {@link MetricNames#EDT_STALLS}.
+ */
+public class EdtStallDetector implements AutoCloseable {
+
+    private static final int STACK_DEPTH = 12;
+
+    /** The number of an event in dispatch order, and when it started. */
+    record Dispatch(long number, long startedNanos) {
+    }
+
+    /** Times each dispatched event. */
+    private final class TimingEventQueue extends EventQueue {
+        @Override
+        protected void dispatchEvent(AWTEvent event) {
+            Dispatch dispatch = beginDispatch();
+            try {
+                super.dispatchEvent(event);
+            } finally {
+                endDispatch(dispatch, event);
+            }
+        }
+    }
+
+    private final long thresholdNanos;
+    private final LongSupplier nanoClock;
+    private final LongAdder stalls;
+
+    private volatile Thread edtThread;
+    private volatile long dispatchStartedNanos; // 0 while the EDT is idle
+    private volatile boolean stallReported;
+    private long dispatchCount; // Only used on the EDT
+    private ScheduledExecutorService watchdog;
+
+    /**
+     * @param thresholdMillis How long an event may run before it is reported.
+     */
+    public EdtStallDetector(long thresholdMillis) {
+        this(thresholdMillis, System::nanoTime, MetricsRegistry.global());
+    }
+
+    EdtStallDetector(long thresholdMillis, LongSupplier nanoClock, MetricsRegistry metrics) {
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+        this.nanoClock = nanoClock;
+        this.stalls = metrics.counter(MetricNames.EDT_STALLS);
+    }
+
+    /**
+     * Starts timing the events of the system event queue and the watchdog. Calling this again has no effect.
+     */
+    public synchronized void install() {
+        if (watchdog != null) {
+            return;
+        }
+        Toolkit.getDefaultToolkit().getSystemEventQueue().push(new TimingEventQueue());
+        watchdog = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "EdtStallWatchdogThread");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long periodNanos = Math.max(1, thresholdNanos / 2);
+        watchdog.scheduleAtFixedRate(this::checkForStall, periodNanos, periodNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Stops the watchdog. Events keep being timed, since the pushed queue cannot be removed safely.
+     */
+    @Override
+    public synchronized void close() {
+        if (watchdog != null) {
+            watchdog.shutdownNow();
+            watchdog = null;
+        }
+    }
+
+    Dispatch beginDispatch() {
+        edtThread = Thread.currentThread();
+        stallReported = false;
+        long now = nanoClock.getAsLong();
+        dispatchStartedNanos = now;
+        return new Dispatch(++dispatchCount, now);
+    }
+
+    void endDispatch(Dispatch dispatch, Object event) {
+        dispatchStartedNanos = 0;
+        if (dispatch.number() != dispatchCount) {
+            return; // Other events were dispatched meanwhile, by the loop of a modal dialog; the EDT was not blocked
+        }
+        long durationNanos = nanoClock.getAsLong() - dispatch.startedNanos();
+        if (durationNanos > thresholdNanos) {
+            stalls.increment();
+            Logger.warn("The EDT was blocked for " + TimeUnit.NANOSECONDS.toMillis(durationNanos)
+                    + " ms by " + describe(event) + ".");
+        }
+    }
+
+    /**
+     * Logs the EDT's stack if the running event is overdue and has not been reported yet.
+     * Called by the watchdog thread only, or by tests.
+     *
+     * @return True if the stack was logged.
+     */
+    boolean checkForStall() {
+        long started = dispatchStartedNanos;
+        Thread thread = edtThread;
+        if (started == 0 || thread == null || stallReported || nanoClock.getAsLong() - started <= thresholdNanos) {
+            return false;
+        }
+        stallReported = true;
+        String stack = Arrays.stream(thread.getStackTrace())
+                .limit(STACK_DEPTH)
+                .map(frame -> "\tat " + frame)
+                .collect(Collectors.joining(System.lineSeparator()));
+        Logger.warn("The EDT has been blocked for over " + TimeUnit.NANOSECONDS.toMillis(thresholdNanos)
+                + " ms and is at:" + System.lineSeparator() + stack);
+        return true;
+    }
+
+    private static String describe(Object event) {
+        if (event instanceof AWTEvent awtEvent) {
+            return awtEvent.paramString() + " on " + awtEvent.getSource().getClass().getName();
+        }
+        return String.valueOf(event);
+    }
+}
@@ -0,0 +1,124 @@
+package com.quilot.ui;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * A scratch file holding the lines that were trimmed from the start of a text area, so that they
+ * can be read back by line number when the user scrolls back.
+ * <p>
+ * Lines are stored as UTF-8 and only their start offsets are kept in memory, 8 bytes per line. The
+ * file belongs to one session and is deleted when closed. Only the EDT may call its methods.
+ */
+final class LineSpillFile implements Closeable {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final Path file;
+    private final FileChannel channel;
+    private long[] lineStarts = new long[INITIAL_CAPACITY];
+    private int lineCount;
+    private long size;
+
+    /**
+     * Creates the file, replacing any file of the same name.
+     *
+     * @param file The file to spill to; it is deleted by {@link #close()}.
+     */
+    LineSpillFile(Path file) throws IOException {
+        this.file = file;
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    /**
+     * Creates a spill file in the temporary directory.
+     *
+     * @param name Identifies the text area in the file name, e.g. "log".
+     */
+    static LineSpillFile createTemp(String name) throws IOException {
+        Path file = Files.createTempFile("quilot-" + name + "-", ".spill");
+        file.toFile().deleteOnExit(); // In case the application is not closed normally
+        return new LineSpillFile(file);
+    }
+
+    /**
+     * Appends lines to the end of the file.
+     *
+     * @param text One or more lines, each ending with a newline.
+     */
+    void append(String text) throws IOException {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        // A newline byte never occurs inside a multibyte UTF-8 sequence, so lines can be split on bytes.
+        int lineStart = 0;
+        for (int i = 0; i < bytes.length; i++) {
+            if (bytes[i] == '\n') {
+                addLineStart(size + lineStart);
+                lineStart = i + 1;
+            }
+        }
+        if (lineStart < bytes.length) {
+            addLineStart(size + lineStart); // An unterminated last line still counts as a line
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, size + buffer.position());
+        }
+        size += bytes.length;
+    }
+
+    /**
+     * Reads a range of lines.
+     *
+     * @param fromLine The first line to read, inclusive.
+     * @param toLine The last line to read, exclusive.
+     * @return The lines including their newlines.
+     */
+    String read(int fromLine, int toLine) throws IOException {
+        if (fromLine < 0 || toLine > lineCount || fromLine > toLine) {
+            throw new IndexOutOfBoundsException("Lines " + fromLine + " to " + toLine + " of " + lineCount);
+        }
+        long start = fromLine == lineCount ? size : lineStarts[fromLine];
+        long end = toLine == lineCount ? size : lineStarts[toLine];
+        ByteBuffer buffer = ByteBuffer.allocate(Math.toIntExact(end - start));
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, start + buffer.position()) < 0) {
+                throw new IOException("The spill file " + file + " is shorter than expected.");
+            }
+        }
+        return new String(buffer.array(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return The number of lines in the file.
+     */
+    int getLineCount() {
+        return lineCount;
+    }
+
+    /**
+     * Closes and deletes the file.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            channel.close();
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private void addLineStart(long offset) {
+        if (lineCount == lineStarts.length) {
+            lineStarts = Arrays.copyOf(lineStarts, lineCount * 2);
+        }
+        lineStarts[lineCount++] = offset;
+    }
+}
@@ -1,22 +1,42 @@
 package com.quilot.ui;
 
+import com.quilot.ai.AIFailureType;
+import com.quilot.ai.AIServiceRouter;
+import com.quilot.ai.FakeAIService;
 import com.quilot.ai.IAIService;
 import com.quilot.ai.VertexAIService;
+import com.quilot.ai.settings.AIBackend;
 import com.quilot.ai.settings.AISettingsManager;
+import com.quilot.ai.speculation.SpeculativeGenerationManager;
+import com.quilot.audio.codec.AudioCodec;
+import com.quilot.audio.codec.AudioFormatSpec;
 import com.quilot.audio.input.AudioInputService;
 import com.quilot.audio.input.SystemAudioInputService;
 import com.quilot.audio.ouput.AudioOutputService;
 import com.quilot.audio.ouput.SystemAudioOutputService;
+import com.quilot.db.AudioChunkRecorder;
+import com.quilot.db.ConnectionPool;
 import com.quilot.db.DatabaseManager;
+import com.quilot.db.DatabaseMode;
+import com.quilot.db.TranscriptionWriteBehindQueue;
 import com.quilot.db.dao.InterviewDao;
+import com.quilot.db.journal.JournalReplayer;
+import com.quilot.db.journal.SessionJournal;
+import com.quilot.db.search.TranscriptSearchService;
 import com.quilot.exceptions.audio.AudioDeviceException;
-import com.quilot.exceptions.audio.AudioException;
 import com.quilot.exceptions.stt.STTException;
+import com.quilot.metrics.DiagnosticsSampler;
+import com.quilot.metrics.MetricNames;
+import com.quilot.metrics.MetricsRegistry;
+import com.quilot.metrics.PipelineStage;
+import com.quilot.metrics.jfr.EdtUpdateEvent;
+import com.quilot.metrics.jfr.FlightRecording;
 import com.quilot.stt.GoogleCloudSpeechToTextService;
 import com.quilot.stt.ISpeechToTextSettingsManager;
 import com.quilot.stt.SpeechToTextService;
 import com.quilot.stt.settings.RecognitionConfigSettings;
 import com.quilot.stt.settings.SpeechToTextSettingsManager;
+import com.quilot.ui.builders.DiagnosticsPanelBuilder;
 import com.quilot.ui.help.CredentialsSetupDialog;
 import com.quilot.ui.help.DatabaseSetupDialog;
 import com.quilot.ui.help.GoogleCloudSetupGuideDialog;
@@ -26,12 +46,16 @@ import com.quilot.ui.history.SaveInterviewDialog;
 import com.quilot.ui.settings.AISettingsDialog;
 import com.quilot.ui.settings.STTSettingsDialog;
 import com.quilot.utils.CredentialManager;
+import com.quilot.utils.CorrelationId;
 import com.quilot.utils.Logger;
 import com.quilot.utils.QuestionDetector;
+import com.quilot.utils.TaskExecutors;
 import lombok.Getter;
 
 import javax.sound.sampled.AudioFormat;
 import javax.swing.*;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Position;
 import javax.swing.text.SimpleAttributeSet;
 import javax.swing.text.StyleConstants;
 import javax.swing.text.StyledDocument;
@@ -39,9 +63,12 @@ import java.awt.*;
 import java.awt.event.ItemEvent;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
+import java.io.IOException;
 import java.sql.SQLException;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 /**
  * The main user interface frame for the application.
@@ -60,6 +87,16 @@ import java.time.format.DateTimeFormatter;
 @Getter
 public class MainFrame extends JFrame {
 
+    private static final long DIAGNOSTICS_SAMPLE_INTERVAL_MS = 1000;
+    private static final int MAX_UI_FRAMES_PER_SECOND = Integer.getInteger("quilot.ui.maxFps", 30);
+    // Lines kept in the text areas; older lines are spilled to disk and loaded back on scroll-back
+    private static final int MAX_TRANSCRIPT_LINES = Integer.getInteger("quilot.ui.transcriptMaxLines", 1000);
+    private static final int MAX_LOG_LINES = Integer.getInteger("quilot.ui.logMaxLines", 2000);
+    // Keys of coalesced UI updates
+    private static final String INTERIM_TRANSCRIPT_UPDATE = "transcript.interim";
+    private static final String LOG_UPDATE = "log";
+    private static final String STATUS_UPDATE = "status";
+
     // UI Components
     private final JTextArea transcribedAudioArea;
     private final JTextPane aiResponseTextPane;
@@ -72,6 +109,10 @@ public class MainFrame extends JFrame {
     private final JButton stopInputRecordingButton;
     private final JButton playRecordedInputButton;
     private final StatusBar statusBar;
+    private final TranscriptViewModel transcriptView;
+    private final ScrollbackWindow transcriptScrollback;
+    private final ScrollbackWindow logScrollback;
+    private final UiUpdateScheduler uiUpdates = new UiUpdateScheduler(MAX_UI_FRAMES_PER_SECOND);
 
     // Services and Managers
     private final ElapsedTimerManager timerManager;
@@ -81,12 +122,25 @@ public class MainFrame extends JFrame {
     private final CredentialManager credentialManager;
     private final ISpeechToTextSettingsManager sttSettingsManager;
     private final IAIService aiService;
+    private final VertexAIService vertexAiService;
     private final InterviewDao interviewDao;
+    private final TranscriptionWriteBehindQueue transcriptionWriter;
+    private final AudioChunkRecorder audioChunkRecorder;
+    private final JournalReplayer journalReplayer;
+    private final TranscriptSearchService transcriptSearchService;
     private final QuestionDetector questionDetector;
+    private final SpeculativeGenerationManager speculativeGeneration;
+    private final DiagnosticsSampler diagnosticsSampler;
+    private final DiagnosticsPanelBuilder diagnosticsPanel;
 
     // State Management
     private int currentInterviewId = -1; // -1 indicates no active recording session
+    private SessionJournal sessionJournal; // Non-null while a session is saved, even if its interview isn't in the database yet
     private boolean askForDatabaseSetup = true;
+    // Button state, only used on the EDT
+    private boolean recording;
+    private boolean sessionStarting; // While the interview record is created in the background
+    private boolean selectingInputDevice; // While the input device is opened in the background
     private final DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("HH:mm:ss");
 
     /**
@@ -101,18 +155,33 @@ public class MainFrame extends JFrame {
         this.audioInputService = new SystemAudioInputService();
         this.sttSettingsManager = new SpeechToTextSettingsManager();
         this.interviewDao = new InterviewDao();
+        this.transcriptionWriter = new TranscriptionWriteBehindQueue(interviewDao, this::appendToLogArea);
+        this.audioChunkRecorder = new AudioChunkRecorder(interviewDao, this::appendToLogArea);
+        this.journalReplayer = new JournalReplayer(interviewDao, this::appendToLogArea);
+        this.transcriptSearchService = new TranscriptSearchService(interviewDao);
+        selectSearchBackend();
         this.questionDetector = new QuestionDetector();
 
         // Initialize services that depend on others
         String savedCredentialPath = credentialManager.loadGoogleCloudCredentialPath();
-        this.aiService = new VertexAIService(savedCredentialPath, new AISettingsManager());
+        AISettingsManager aiSettingsManager = new AISettingsManager();
+        this.vertexAiService = new VertexAIService(savedCredentialPath, aiSettingsManager);
+        this.aiService = new AIServiceRouter(aiSettingsManager, vertexAiService, new FakeAIService(aiSettingsManager));
         this.speechToTextService = new GoogleCloudSpeechToTextService(savedCredentialPath, sttSettingsManager);
+        this.speculativeGeneration = new SpeculativeGenerationManager(aiService,
+                text -> questionDetector.isQuestion(text, sttSettingsManager.loadSettings().getLanguageCode()));
+
+        this.diagnosticsSampler = new DiagnosticsSampler();
+        registerDiagnosticsGauges();
 
         // Build the UI
-        UIBuilder uiBuilder = new UIBuilder(audioOutputService, audioInputService, timerManager);
+        UIBuilder uiBuilder = new UIBuilder(audioOutputService, audioInputService, timerManager, diagnosticsSampler::getLatest);
         this.transcribedAudioArea = uiBuilder.getTranscribedAudioArea();
+        this.transcriptView = new TranscriptViewModel(transcribedAudioArea.getDocument());
         this.aiResponseTextPane = uiBuilder.getAiResponseArea();
         this.logArea = uiBuilder.getLogArea();
+        this.transcriptScrollback = ScrollbackWindow.create(transcribedAudioArea, MAX_TRANSCRIPT_LINES, "transcript");
+        this.logScrollback = ScrollbackWindow.create(logArea, MAX_LOG_LINES, "log");
         this.outputDeviceComboBox = uiBuilder.getOutputDeviceComboBox();
         this.volumeSlider = uiBuilder.getVolumeSlider();
         this.testVolumeButton = uiBuilder.getTestVolumeButton();
@@ -121,14 +190,36 @@ public class MainFrame extends JFrame {
         this.stopInputRecordingButton = uiBuilder.getStopInputRecordingButton();
         this.playRecordedInputButton = uiBuilder.getPlayRecordedInputButton();
         this.statusBar = uiBuilder.getStatusBar();
+        this.diagnosticsPanel = uiBuilder.getDiagnosticsPanelBuilder();
 
         initializeFrame(uiBuilder);
+        transcriptScrollback.install();
+        logScrollback.install();
         bindListeners();
+        diagnosticsSampler.start(DIAGNOSTICS_SAMPLE_INTERVAL_MS);
+        diagnosticsPanel.startRefreshing();
 
         Logger.info("Quilot UI initialized.");
         appendToLogArea("UI initialized. Ready to start.");
         updateStatus("Ready.", StatusBar.StatusType.INFO);
         performPostStartupChecks();
+        if (DatabaseManager.isDatabaseEnabled()) {
+            journalReplayer.replayPendingAsync(); // Sessions left behind by a crash or a database outage
+        }
+    }
+
+    /**
+     * Exposes the depths of the pipeline's queues to the {@link DiagnosticsSampler}.
+     */
+    private void registerDiagnosticsGauges() {
+        MetricsRegistry metrics = MetricsRegistry.global();
+        metrics.registerGauge(MetricNames.TRANSCRIPT_QUEUE_DEPTH, transcriptionWriter::getPendingCount);
+        metrics.registerGauge(MetricNames.AUDIO_QUEUE_DEPTH, audioChunkRecorder::getPendingCount);
+        metrics.registerGauge(MetricNames.AI_QUEUE_DEPTH, vertexAiService::getQueuedRequestCount);
+        metrics.registerGauge(MetricNames.LOG_QUEUE_DEPTH, Logger::getQueueDepth);
+        if (speechToTextService instanceof GoogleCloudSpeechToTextService googleStt) {
+            metrics.registerGauge(MetricNames.STT_MILLIS_UNTIL_RESTART, googleStt::getMillisUntilRestart);
+        }
     }
 
     /**
@@ -152,8 +243,10 @@ public class MainFrame extends JFrame {
      * Binds all event listeners for the application.
      */
     private void bindListeners() {
-        audioInputService.setAudioDataListener((audioData, bytesRead) ->
-                ((GoogleCloudSpeechToTextService) speechToTextService).onAudioDataCaptured(audioData, bytesRead));
+        audioInputService.setAudioDataListener((audioData, bytesRead) -> {
+            ((GoogleCloudSpeechToTextService) speechToTextService).onAudioDataCaptured(audioData, bytesRead);
+            audioChunkRecorder.append(audioData, bytesRead);
+        });
         addAudioOutputListeners();
         addAudioInputListeners();
         addWindowListeners();
@@ -166,21 +259,26 @@ public class MainFrame extends JFrame {
         outputDeviceComboBox.addItemListener(e -> {
             if (e.getStateChange() == ItemEvent.SELECTED) {
                 String selectedDevice = (String) e.getItem();
-                try {
+                float volume = volumeSlider.getValue() / 100.0f;
+                volumeSlider.setEnabled(false);
+                testVolumeButton.setEnabled(false);
+                TaskExecutors.io("Select output device", () -> {
                     audioOutputService.selectOutputDevice(selectedDevice);
-                    updateStatus("Selected output device: " + selectedDevice, StatusBar.StatusType.SUCCESS);
-                    volumeSlider.setEnabled(true);
-                    testVolumeButton.setEnabled(true);
-                    audioOutputService.setVolume(volumeSlider.getValue() / 100.0f);
-                } catch (AudioDeviceException ex) {
-                    updateStatus("Selected output device: " + selectedDevice, StatusBar.StatusType.ERROR);
-                    volumeSlider.setEnabled(false);
-                    testVolumeButton.setEnabled(false);
-                    JOptionPane.showMessageDialog(this,
-                            "Could not open audio output device: " + selectedDevice + "\nIt may be in use or disconnected.",
-                            "Audio Device Error",
-                            JOptionPane.ERROR_MESSAGE);
-                }
+                    audioOutputService.setVolume(volume);
+                    return null;
+                }).whenCompleteAsync((_, error) -> {
+                    if (error == null) {
+                        updateStatus("Selected output device: " + selectedDevice, StatusBar.StatusType.SUCCESS);
+                        volumeSlider.setEnabled(true);
+                        testVolumeButton.setEnabled(true);
+                    } else {
+                        updateStatus("Selected output device: " + selectedDevice, StatusBar.StatusType.ERROR);
+                        JOptionPane.showMessageDialog(this,
+                                "Could not open audio output device: " + selectedDevice + "\nIt may be in use or disconnected.",
+                                "Audio Device Error",
+                                JOptionPane.ERROR_MESSAGE);
+                    }
+                }, TaskExecutors.edt());
             }
         });
 
@@ -193,17 +291,23 @@ public class MainFrame extends JFrame {
         });
 
         testVolumeButton.addActionListener(_ -> {
-            try {
-                updateStatus("Playing test sound...", StatusBar.StatusType.INFO);
+            updateStatus("Playing test sound...", StatusBar.StatusType.INFO);
+            testVolumeButton.setEnabled(false);
+            TaskExecutors.io("Play test sound", () -> {
                 audioOutputService.playTestSound();
-                updateStatus("Ready.", StatusBar.StatusType.SUCCESS);
-            } catch (AudioDeviceException e) {
-                updateStatus("Error: Could not play test sound.", StatusBar.StatusType.ERROR);
-                JOptionPane.showMessageDialog(this,
-                        "Could not play test sound. Please ensure an output device is selected.",
-                        "Playback Error",
-                        JOptionPane.ERROR_MESSAGE);
-            }
+                return null;
+            }).whenCompleteAsync((_, error) -> {
+                testVolumeButton.setEnabled(true);
+                if (error == null) {
+                    updateStatus("Ready.", StatusBar.StatusType.SUCCESS);
+                } else {
+                    updateStatus("Error: Could not play test sound.", StatusBar.StatusType.ERROR);
+                    JOptionPane.showMessageDialog(this,
+                            "Could not play test sound. Please ensure an output device is selected.",
+                            "Playback Error",
+                            JOptionPane.ERROR_MESSAGE);
+                }
+            }, TaskExecutors.edt());
         });
     }
 
@@ -231,6 +335,15 @@ public class MainFrame extends JFrame {
         }
     }
 
+    /**
+     * The embedded database has no FULLTEXT indexes, so transcript search goes straight to the local index.
+     */
+    private void selectSearchBackend() {
+        if (DatabaseManager.getMode() == DatabaseMode.EMBEDDED) {
+            transcriptSearchService.setBackend(TranscriptSearchService.Backend.LOCAL_INDEX);
+        }
+    }
+
     /**
      * Prompts the user to set up the database if it's their first time, and they haven't declined.
      * @return true if the process can continue.
@@ -244,7 +357,9 @@ public class MainFrame extends JFrame {
             if (response == JOptionPane.YES_OPTION) {
                 DatabaseSetupDialog setupDialog = new DatabaseSetupDialog(this);
                 setupDialog.setVisible(true);
-                if (!setupDialog.wasSetupSuccessful()) {
+                if (setupDialog.wasSetupSuccessful()) {
+                    selectSearchBackend();
+                } else {
                     askForDatabaseSetup = false; // Don't ask again this session
                     appendToLogArea("Database setup was not completed. Proceeding without saving.");
                 }
@@ -260,9 +375,29 @@ public class MainFrame extends JFrame {
      * Starts the audio capture and speech-to-text transcription stream.
      */
     private void startRecordingAndTranscription() {
+        if (!DatabaseManager.isDatabaseEnabled()) {
+            startSession();
+            return;
+        }
+        sessionStarting = true; // Keeps Start disabled until the session has started or failed to
+        updateAudioInputButtonStates(false);
+        updateStatus("Starting session...", StatusBar.StatusType.INFO);
+        TaskExecutors.io("Create interview record", () -> {
+            createNewInterviewRecord();
+            return null;
+        }).whenCompleteAsync((_, _) -> {
+            sessionStarting = false;
+            startSession();
+        }, TaskExecutors.edt());
+    }
+
+    /**
+     * Starts recording and streaming recognition once the interview record, if any, has been created.
+     */
+    private void startSession() {
         try {
-            if (DatabaseManager.isDatabaseEnabled()) {
-                createNewInterviewRecord();
+            if (isSavingSession()) {
+                audioChunkRecorder.start(currentInterviewId, AudioCodec.forFormat(captureFormat()), captureFormat(), sessionJournal);
             }
             audioInputService.startRecording();
             updateStatus("Recording audio...", StatusBar.StatusType.INFO);
@@ -271,10 +406,11 @@ public class MainFrame extends JFrame {
 
             speechToTextService.startStreamingRecognition(audioInputService.getAudioFormat(), new SpeechToTextService.StreamingRecognitionListener() {
                 @Override
-                public void onTranscriptionResult(String transcription, boolean isFinal) {
+                public void onTranscriptionResult(String transcription, boolean isFinal, String utteranceId) {
                     if (isFinal) {
-                        handleFinalTranscription(transcription);
+                        handleFinalTranscription(transcription, utteranceId);
                     } else {
+                        speculativeGeneration.onInterimTranscript(transcription);
                         updateInterimTranscription(transcription);
                     }
                 }
@@ -285,6 +421,12 @@ public class MainFrame extends JFrame {
                 }
             });
         } catch (AudioDeviceException | STTException ex) {
+            audioChunkRecorder.finish();
+            if (sessionJournal != null) {
+                sessionJournal.close();
+                sessionJournal = null;
+            }
+            currentInterviewId = -1;
             updateStatus("Error: Failed to start session.", StatusBar.StatusType.ERROR);
             JOptionPane.showMessageDialog(this, "Could not start session:\n" + ex.getMessage(), "Session Error", JOptionPane.ERROR_MESSAGE);
             updateAudioInputButtonStates(false);
@@ -294,25 +436,33 @@ public class MainFrame extends JFrame {
     /**
      * Handles a final transcription result from the STT service.
      * @param transcription The final transcribed text.
+     * @param utteranceId The correlation ID of the utterance, stored with the question and its answer.
      */
-    private void handleFinalTranscription(String transcription) {
-        SwingUtilities.invokeLater(() -> {
+    private void handleFinalTranscription(String transcription, String utteranceId) {
+        long speechEndNanos = MetricsRegistry.global().getLastMark(MetricNames.SPEECH_END);
+        long receivedNanos = System.nanoTime();
+        uiUpdates.cancel(INTERIM_TRANSCRIPT_UPDATE); // Would otherwise overwrite the final transcript
+        updateOnEdt("Final transcript", () -> {
             String timestamp = LocalTime.now().format(timeFormatter);
             String formattedTranscription = String.format("[%s] Interviewer (Final): '%s'\n", timestamp, transcription);
-            transcribedAudioArea.append(formattedTranscription);
-            transcribedAudioArea.setCaretPosition(transcribedAudioArea.getDocument().getLength());
+            transcriptView.commit(formattedTranscription);
+            transcriptScrollback.update();
+            PipelineStage.UI_RENDER.recordSince(receivedNanos);
 
             RecognitionConfigSettings settings = sttSettingsManager.loadSettings();
             String currentLanguage = settings.getLanguageCode();
+            long detectionStart = System.nanoTime();
             boolean isQuestion = questionDetector.isQuestion(transcription, currentLanguage);
+            PipelineStage.QUESTION_DETECTION.recordSince(detectionStart);
 
-            if (currentInterviewId != -1) {
-                saveTranscriptionEntry("Interviewer", transcription, isQuestion);
+            if (isSavingSession()) {
+                saveTranscriptionEntry("Interviewer", transcription, isQuestion, utteranceId);
             }
 
             if (!settings.isEnableQuestionDetection() || isQuestion) {
-                sendToAiService(transcription);
+                sendToAiService(transcription, speechEndNanos, utteranceId);
             } else {
+                speculativeGeneration.discard();
                 appendToLogArea("Non-question detected. Ignoring for AI response.");
             }
         });
@@ -321,21 +471,58 @@ public class MainFrame extends JFrame {
     /**
      * Sends a transcription to the AI service and handles the response.
      * @param transcription The text to send.
+     * @param speechEndNanos The {@link System#nanoTime()} at which the question was spoken, or 0 if unknown.
+     * @param utteranceId The correlation ID of the question's utterance.
      */
-    private void sendToAiService(String transcription) {
+    private void sendToAiService(String transcription, long speechEndNanos, String utteranceId) {
         final Color aiColor = new Color(0, 120, 0); // A dark green for the "AI" label
         final Color errorColor = new Color(180, 0, 0); // A dark red for the "Error" label
 
-        aiService.generateResponse(transcription, new IAIService.AIResponseListener() {
+        speculativeGeneration.submitFinal(transcription, new IAIService.AIResponseListener() {
+            // Track the displayed answer so a later, better answer can replace it in place.
+            private Position answerStart;
+            private Position answerEnd;
+
             @Override
             public void onResponse(String aiResponse) {
-                SwingUtilities.invokeLater(() -> {
+                long receivedNanos = System.nanoTime();
+                updateOnEdt("AI answer", () -> {
                     String timestamp = LocalTime.now().format(timeFormatter);
                     appendStyledText(aiResponseTextPane, String.format("[%s] AI (Response): ", timestamp), aiColor, true);
-                    appendStyledText(aiResponseTextPane, "'" + aiResponse + "'\n\n", Color.BLACK, false);
+                    appendStyledText(aiResponseTextPane, "'", Color.BLACK, false);
+                    int start = aiResponseTextPane.getDocument().getLength();
+                    appendStyledText(aiResponseTextPane, aiResponse, Color.BLACK, false);
+                    answerStart = createPosition(aiResponseTextPane, start);
+                    answerEnd = createPosition(aiResponseTextPane, start + aiResponse.length());
+                    appendStyledText(aiResponseTextPane, "'\n\n", Color.BLACK, false);
+                    PipelineStage.UI_RENDER.recordSince(receivedNanos);
+                    if (speechEndNanos != 0) {
+                        PipelineStage.END_TO_END.recordSince(speechEndNanos);
+                        Logger.info("Answer shown " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - speechEndNanos)
+                                + " ms after the end of the question.");
+                    }
+
+                    if (isSavingSession()) {
+                        saveTranscriptionEntry("AI", aiResponse, false, utteranceId);
+                    }
+                });
+            }
+
+            @Override
+            public void onResponseUpgraded(String aiResponse, String modelId) {
+                updateOnEdt("AI answer upgrade", () -> {
+                    if (answerStart == null || answerEnd == null) {
+                        onResponse(aiResponse);
+                        return;
+                    }
+                    int start = answerStart.getOffset();
+                    replaceStyledText(aiResponseTextPane, start, answerEnd.getOffset() - start, aiResponse);
+                    answerStart = createPosition(aiResponseTextPane, start);
+                    answerEnd = createPosition(aiResponseTextPane, start + aiResponse.length());
+                    appendToLogArea("AI answer upgraded by " + modelId + ".");
 
-                    if (currentInterviewId != -1) {
-                        saveTranscriptionEntry("AI", aiResponse, false);
+                    if (isSavingSession()) {
+                        saveTranscriptionEntry("AI (Upgraded)", aiResponse, false, utteranceId);
                     }
                 });
             }
@@ -347,70 +534,164 @@ public class MainFrame extends JFrame {
                 });
                 appendToLogArea("AI Response Error: " + errorMessage);
             }
+       
+            @Override
+            public void onFailure(AIFailureType failureType, String errorMessage) {
+                onError(errorMessage);
+                switch (failureType) {
+                    case TIMEOUT -> updateStatus("AI did not answer in time.", StatusBar.StatusType.ERROR);
+                    case CIRCUIT_OPEN, UNAVAILABLE -> updateStatus("AI service unavailable. Requests are paused briefly.", StatusBar.StatusType.ERROR);
+                    case RATE_LIMITED -> updateStatus("AI quota exceeded. Please wait before asking again.", StatusBar.StatusType.ERROR);
+                    case AUTHENTICATION -> updateStatus("AI credentials are invalid or missing.", StatusBar.StatusType.ERROR);
+                    default -> updateStatus("AI request failed: " + failureType, StatusBar.StatusType.ERROR);
+                }
+            }
         });
     }
 
     /**
-     * Creates a new interview record in the database and stores its ID.
+     * Creates a new interview record in the database, stores its ID and starts the session journal.
+     * If the database is unavailable, the session is only journaled and saved once it is back.
+     * Runs on a background thread; the fields it sets are read on the EDT once it has finished.
      */
     private void createNewInterviewRecord() {
+        String title = "Interview - " + java.time.LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm"));
         try {
-            String title = "Interview - " + java.time.LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm"));
-            currentInterviewId = interviewDao.createNewInterview(title);
+            currentInterviewId = interviewDao.createNewInterview(title, AudioCodec.forFormat(captureFormat()), captureFormat());
             appendToLogArea("Started new interview session. Saving to database with ID: " + currentInterviewId);
+            journalReplayer.replayPendingAsync(); // The database is reachable, so earlier sessions can be saved too
         } catch (SQLException e) {
             currentInterviewId = -1;
-            appendToLogArea("WARNING: Could not create interview record in database. History will not be saved. Error: " + e.getMessage());
+            appendToLogArea("WARNING: Could not create interview record in database. Error: " + e.getMessage());
         }
+        try {
+            sessionJournal = SessionJournal.open(currentInterviewId == -1 ? SessionJournal.PENDING_INTERVIEW : currentInterviewId,
+                    title, AudioCodec.forFormat(captureFormat()), captureFormat());
+            if (currentInterviewId == -1) {
+                appendToLogArea("The session is kept in the local journal and will be saved when the database is available.");
+            }
+        } catch (IOException e) {
+            sessionJournal = null;
+            Logger.error("Failed to open the session journal.", e);
+            appendToLogArea("WARNING: Could not open the local session journal. Error: " + e.getMessage()
+                    + (currentInterviewId == -1 ? " History will not be saved." : ""));
+        }
+    }
+
+    /**
+     * @return True if the current session is being saved, to the database or at least to the local journal.
+     */
+    private boolean isSavingSession() {
+        return currentInterviewId != -1 || sessionJournal != null;
     }
 
     /**
-     * Saves a single line of dialogue to the database for the current interview.
+     * @return The input line's current format, or the default capture format if no line is open yet.
+     */
+    private AudioFormat captureFormat() {
+        AudioFormat format = audioInputService.getAudioFormat();
+        return format != null ? format : AudioFormatSpec.LEGACY_FORMAT;
+    }
+
+    /**
+     * Queues a single line of dialogue for saving to the database for the current interview.
+     * The insert happens on a background thread, so this never blocks the EDT.
      * @param speaker The speaker ("Interviewer" or "AI").
      * @param content The text content.
      * @param isQuestion Whether the content was detected as a question.
+     * @param utteranceId The correlation ID of the utterance the content belongs to.
      */
-    private void saveTranscriptionEntry(String speaker, String content, boolean isQuestion) {
-        try {
-            interviewDao.addTranscriptionEntry(currentInterviewId, speaker, content, isQuestion);
-        } catch (SQLException e) {
-            appendToLogArea("DB_ERROR: Failed to save transcription entry: " + e.getMessage());
-        }
+    private void saveTranscriptionEntry(String speaker, String content, boolean isQuestion, String utteranceId) {
+        transcriptionWriter.enqueue(sessionJournal, currentInterviewId, speaker, content, isQuestion, utteranceId);
     }
 
     /**
      * Handles the logic for stopping a recording session.
      */
     private void handleStopRecording() {
-        if (audioInputService.stopRecording()) {
+        boolean stopped = audioInputService.stopRecording();
+        speechToTextService.stopStreamingRecognition();
+        if (stopped) {
             updateStatus("Recording stopped. Processing final audio...", StatusBar.StatusType.INFO);
             timerManager.stopElapsedTimer();
             updateAudioInputButtonStates(false);
+            speculativeGeneration.discard();
+            if (speculativeGeneration.getMetrics().getAttempts() > 0) {
+                appendToLogArea("Speculative generation: " + speculativeGeneration.getMetrics().summary());
+            }
+
+            // End the session before flushing: transcripts and answers that arrive later, e.g. while the
+            // title dialog is open, must not be queued behind the flush, or the journal would be closed
+            // before their acknowledgements and replay them into the database a second time.
+            boolean savingSession = isSavingSession();
+            int interviewId = currentInterviewId;
+            SessionJournal journal = sessionJournal;
+            currentInterviewId = -1;
+            sessionJournal = null;
 
-            if (currentInterviewId != -1) {
+            CompletableFuture<Void> entriesFlushed = transcriptionWriter.flush();
+            entriesFlushed.thenRun(() -> appendToLogArea("Transcription entries flushed: " + transcriptionWriter.summary()));
+            ConnectionPool.Stats poolStats = DatabaseManager.getPoolStats();
+            if (poolStats != null) {
+                appendToLogArea("Database pool: " + poolStats.summary());
+            }
+            String pipelineSummary = MetricsRegistry.global().summary();
+            if (!pipelineSummary.isEmpty()) {
+                Logger.info("Pipeline latencies:" + System.lineSeparator() + pipelineSummary.stripTrailing());
+            }
+
+            if (savingSession) {
                 String defaultTitle = "Interview - " + java.time.LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm"));
-                try {
-                    byte[] recordedData = audioInputService.getRecordedAudioData();
-                    interviewDao.saveFullAudio(currentInterviewId, recordedData);
-                    appendToLogArea("Full audio recording saved for interview ID: " + currentInterviewId);
-
-                    SaveInterviewDialog saveDialog = new SaveInterviewDialog(this, defaultTitle);
-                    saveDialog.setVisible(true);
-                    String finalTitle = saveDialog.getInterviewTitle();
-                    interviewDao.updateInterviewTitle(currentInterviewId, finalTitle);
-
-                    updateStatus("Recording saved as '" + finalTitle + "'.", StatusBar.StatusType.SUCCESS);
-                } catch (SQLException e) {
-                    updateStatus("Error: Failed to save audio recording.", StatusBar.StatusType.ERROR);
-                    appendToLogArea("DB_ERROR: Failed to save full audio recording: " + e.getMessage());
-                } finally {
-                    currentInterviewId = -1; // End the session
+                CompletableFuture<Long> audioSaved = audioChunkRecorder.finish();
+                if (interviewId != -1) {
+                    audioSaved.thenAccept(bytes ->
+                            appendToLogArea("Full audio recording saved for interview ID: " + interviewId + " (" + bytes + " bytes)."));
+                }
+                SaveInterviewDialog saveDialog = new SaveInterviewDialog(this, defaultTitle);
+                saveDialog.setVisible(true);
+                String finalTitle = saveDialog.getInterviewTitle();
+
+                CompletableFuture<Void> titleSaved;
+                if (interviewId == -1) {
+                    journal.logTitle(finalTitle);
+                    updateStatus("Recording kept locally as '" + finalTitle + "' until the database is available.", StatusBar.StatusType.INFO);
+                    titleSaved = CompletableFuture.completedFuture(null);
+                } else {
+                    titleSaved = TaskExecutors.io("Save interview title", () -> {
+                        interviewDao.updateInterviewTitle(interviewId, finalTitle);
+                        return null;
+                    }).handleAsync((_, error) -> {
+                        if (error == null) {
+                            updateStatus("Recording saved as '" + finalTitle + "'.", StatusBar.StatusType.SUCCESS);
+                        } else {
+                            if (journal != null) {
+                                journal.logTitle(finalTitle); // Before the journal is closed, so the replayer can save it
+                            }
+                            updateStatus("Error: Failed to save the interview title.", StatusBar.StatusType.ERROR);
+                            appendToLogArea("DB_ERROR: Failed to save the interview title: " + TaskExecutors.unwrap(error).getMessage());
+                        }
+                        return null;
+                    }, TaskExecutors.edt());
+                }
+                if (journal != null) {
+                    CompletableFuture.allOf(entriesFlushed, audioSaved, titleSaved).thenRun(() -> closeSessionJournal(journal));
                 }
             } else {
                 updateStatus("Ready.", StatusBar.StatusType.INFO);
             }
         }
-        speechToTextService.stopStreamingRecognition();
+    }
+
+    /**
+     * Closes a session journal once the database writers are done with it. It is deleted if the
+     * database has everything, and otherwise kept for {@link JournalReplayer}.
+     */
+    private void closeSessionJournal(SessionJournal journal) {
+        journal.close();
+        if (!journal.isFullyPersisted()) {
+            appendToLogArea("Part of this session could not be saved to the database. "
+                    + "It is kept in the local journal and will be saved when the database is available.");
+        }
     }
 
     /**
@@ -421,21 +702,19 @@ public class MainFrame extends JFrame {
         AudioFormat format = audioInputService.getAudioFormat();
         if (recordedData != null && recordedData.length > 0 && format != null) {
             updateStatus("Playing recorded audio...", StatusBar.StatusType.INFO);
-            new Thread(() -> {
-                try {
-                    audioOutputService.playAudioData(recordedData, format);
-                    audioInputService.clearRecordedAudioData();
-                    SwingUtilities.invokeLater(() -> {
-                        playRecordedInputButton.setEnabled(false);
-                        updateStatus("Playback finished. Ready.", StatusBar.StatusType.SUCCESS);
-                    });
-                } catch (AudioException ex) {
-                    SwingUtilities.invokeLater(() -> {
-                        updateStatus("Error: Playback failed.", StatusBar.StatusType.ERROR);
-                        JOptionPane.showMessageDialog(this, "Could not play recorded audio.\n" + ex.getMessage(), "Playback Error", JOptionPane.ERROR_MESSAGE);
-                    });
+            TaskExecutors.io("Play recorded audio", () -> {
+                audioOutputService.playAudioData(recordedData, format);
+                audioInputService.clearRecordedAudioData();
+                return null;
+            }).whenCompleteAsync((_, error) -> {
+                if (error == null) {
+                    playRecordedInputButton.setEnabled(false);
+                    updateStatus("Playback finished. Ready.", StatusBar.StatusType.SUCCESS);
+                } else {
+                    updateStatus("Error: Playback failed.", StatusBar.StatusType.ERROR);
+                    JOptionPane.showMessageDialog(this, "Could not play recorded audio.\n" + TaskExecutors.unwrap(error).getMessage(), "Playback Error", JOptionPane.ERROR_MESSAGE);
                 }
-            }).start();
+            }, TaskExecutors.edt());
         } else {
             updateStatus("No recorded audio to play.", StatusBar.StatusType.INFO);
             playRecordedInputButton.setEnabled(false);
@@ -447,40 +726,45 @@ public class MainFrame extends JFrame {
      * @param selectedDevice The name of the device to select.
      */
     private void handleInputDeviceSelection(String selectedDevice) {
-        try {
+        selectingInputDevice = true; // Keeps Start disabled until the device is open
+        updateAudioInputButtonStates(recording);
+        TaskExecutors.io("Select input device", () -> {
             audioInputService.selectInputDevice(selectedDevice);
-            updateStatus("Selected input device: " + selectedDevice, StatusBar.StatusType.SUCCESS);
-        } catch (AudioDeviceException ex) {
-            updateStatus("Error: Could not select input device.", StatusBar.StatusType.ERROR);
-            JOptionPane.showMessageDialog(this, "Could not open audio device: " + selectedDevice + "\nIt may be in use by another application or disconnected.", "Audio Device Error", JOptionPane.ERROR_MESSAGE);
-        }
-        updateAudioInputButtonStates(false);
+            return null;
+        }).whenCompleteAsync((_, error) -> {
+            selectingInputDevice = false;
+            updateAudioInputButtonStates(recording);
+            if (error == null) {
+                updateStatus("Selected input device: " + selectedDevice, StatusBar.StatusType.SUCCESS);
+            } else {
+                updateStatus("Error: Could not select input device.", StatusBar.StatusType.ERROR);
+                JOptionPane.showMessageDialog(this, "Could not open audio device: " + selectedDevice + "\nIt may be in use by another application or disconnected.", "Audio Device Error", JOptionPane.ERROR_MESSAGE);
+            }
+        }, TaskExecutors.edt());
     }
 
     /**
-     * Updates the enabled state of the audio input control buttons.
+     * Updates the enabled state of the audio input control buttons. Start also stays disabled while a
+     * session is starting or the input device is being opened.
      * @param isRecording true if recording is active, false otherwise.
      */
     private void updateAudioInputButtonStates(boolean isRecording) {
-        startInputRecordingButton.setEnabled(!isRecording);
+        recording = isRecording;
+        startInputRecordingButton.setEnabled(!isRecording && !sessionStarting && !selectingInputDevice);
         stopInputRecordingButton.setEnabled(isRecording);
-        playRecordedInputButton.setEnabled(!isRecording && audioInputService.getRecordedAudioData() != null && audioInputService.getRecordedAudioData().length > 0);
+        playRecordedInputButton.setEnabled(!isRecording && audioInputService.hasRecordedAudio());
     }
 
     /**
-     * Updates the display of interim (non-final) transcription results.
+     * Updates the display of interim (non-final) transcription results. Each result replaces the
+     * previous one, and the final result replaces the last. Results arriving faster than the UI
+     * frame rate are coalesced, so only the latest is painted.
      * @param transcription The interim text.
      */
     private void updateInterimTranscription(String transcription) {
-        SwingUtilities.invokeLater(() -> {
-            String existingText = transcribedAudioArea.getText();
-            int lastNewline = existingText.lastIndexOf('\n');
-            if (lastNewline != -1 && existingText.substring(lastNewline + 1).startsWith("Interviewer (Interim):")) {
-                transcribedAudioArea.replaceRange("Interviewer (Interim): '" + transcription + "'", lastNewline + 1, existingText.length());
-            } else {
-                transcribedAudioArea.append("Interviewer (Interim): '" + transcription + "'\n");
-            }
-            transcribedAudioArea.setCaretPosition(transcribedAudioArea.getDocument().getLength());
+        uiUpdates.replace(INTERIM_TRANSCRIPT_UPDATE, () -> {
+            transcriptView.showInterim("Interviewer (Interim): '" + transcription + "'\n");
+            transcriptScrollback.update();
         });
     }
 
@@ -491,15 +775,23 @@ public class MainFrame extends JFrame {
         addWindowListener(new WindowAdapter() {
             @Override
             public void windowClosing(WindowEvent e) {
+                diagnosticsPanel.stopRefreshing();
+                diagnosticsSampler.close();
+                uiUpdates.close();
+                transcriptScrollback.close();
+                logScrollback.close();
                 audioOutputService.close();
                 audioInputService.close();
+                transcriptionWriter.close();
+                if (sessionJournal != null) {
+                    sessionJournal.close(); // Audio still in flight stays journaled and is replayed on the next start
+                }
                 DatabaseManager.closeConnection();
+                speculativeGeneration.shutdown();
                 if (speechToTextService instanceof GoogleCloudSpeechToTextService) {
                     ((GoogleCloudSpeechToTextService) speechToTextService).closeClient();
                 }
-                if (aiService instanceof VertexAIService) {
-                    ((VertexAIService) aiService).closeClient();
-                }
+                vertexAiService.closeClient();
                 Logger.info("Application closing. All resources released.");
             }
         });
@@ -523,6 +815,11 @@ public class MainFrame extends JFrame {
         JMenuItem historyItem = new JMenuItem("Interview History...");
         historyItem.addActionListener(_ -> openHistoryDialog());
         viewMenu.add(historyItem);
+        JMenuItem flightRecordingItem = new JMenuItem("Save Flight Recording");
+        flightRecordingItem.setEnabled(FlightRecording.isRecording()); // Only with -Dquilot.jfr=true
+        flightRecordingItem.addActionListener(_ -> saveFlightRecording());
+        viewMenu.addSeparator();
+        viewMenu.add(flightRecordingItem);
 
         // Settings Menu
         JMenu settingsMenu = getJMenu();
@@ -563,7 +860,7 @@ public class MainFrame extends JFrame {
      * Opens the AI settings dialog.
      */
     private void openAiSettingsDialog() {
-        AISettingsDialog dialog = new AISettingsDialog(this, aiService.getSettingsManager(), (VertexAIService) aiService);
+        AISettingsDialog dialog = new AISettingsDialog(this, aiService.getSettingsManager(), vertexAiService);
         dialog.setVisible(true);
     }
 
@@ -583,12 +880,29 @@ public class MainFrame extends JFrame {
         dialog.setVisible(true);
     }
 
+    /**
+     * Writes the retained window of the continuous flight recording to disk, so a sluggish session
+     * can be captured without quitting.
+     */
+    private void saveFlightRecording() {
+        updateStatus("Saving flight recording...", StatusBar.StatusType.INFO);
+        TaskExecutors.io("Save flight recording", FlightRecording::dump).whenCompleteAsync((path, error) -> {
+            if (error == null) {
+                appendToLogArea("Flight recording saved to " + path);
+                updateStatus("Flight recording saved.", StatusBar.StatusType.SUCCESS);
+            } else {
+                updateStatus("Error: Could not save the flight recording.", StatusBar.StatusType.ERROR);
+                JOptionPane.showMessageDialog(this, "Could not save the flight recording.\n" + TaskExecutors.unwrap(error).getMessage(), "Flight Recording Error", JOptionPane.ERROR_MESSAGE);
+            }
+        }, TaskExecutors.edt());
+    }
+
     /**
      * Opens the interview history dialog.
      */
     private void openHistoryDialog() {
         if (DatabaseManager.isDatabaseEnabled()) {
-            InterviewHistoryDialog historyDialog = new InterviewHistoryDialog(this, interviewDao, audioOutputService);
+            InterviewHistoryDialog historyDialog = new InterviewHistoryDialog(this, interviewDao, audioOutputService, transcriptSearchService);
             historyDialog.setVisible(true);
         } else {
             JOptionPane.showMessageDialog(this,
@@ -604,7 +918,8 @@ public class MainFrame extends JFrame {
      */
     private void performPostStartupChecks() {
         SwingUtilities.invokeLater(() -> {
-            boolean isAiServiceReady = ((VertexAIService) aiService).isClientInitialized();
+            boolean isAiServiceReady = vertexAiService.isClientInitialized()
+                    || aiService.getSettingsManager().loadSettings().getBackend() == AIBackend.FAKE;
             boolean isSttServiceReady = ((GoogleCloudSpeechToTextService) speechToTextService).isClientInitialized();
 
             if (!isAiServiceReady || !isSttServiceReady) {
@@ -619,21 +934,43 @@ public class MainFrame extends JFrame {
 
     /**
      * Appends a message to the application's log text area in a thread-safe manner.
+     * Messages logged within one UI frame are appended together.
      * @param message The string message to append.
      */
     public void appendToLogArea(String message) {
-        SwingUtilities.invokeLater(() -> {
-            logArea.append(message + "\n");
-            logArea.setCaretPosition(logArea.getDocument().getLength());
+        uiUpdates.append(LOG_UPDATE, message + "\n", text -> {
+            logArea.append(text);
+            logScrollback.update();
         });
     }
 
     /**
-     * Updates the text in the status bar in a thread-safe manner.
+     * Runs a UI update on the EDT and records it, including how long it waited, as an {@link EdtUpdateEvent}.
+     * The caller's {@link CorrelationId} is current while the update runs.
+     * @param update A short name for the kind of update.
+     * @param runnable The update.
+     */
+    private static void updateOnEdt(String update, Runnable runnable) {
+        long postedNanos = System.nanoTime();
+        SwingUtilities.invokeLater(CorrelationId.wrap(() -> {
+            EdtUpdateEvent event = new EdtUpdateEvent();
+            event.queueDelay = System.nanoTime() - postedNanos;
+            event.begin();
+            try {
+                runnable.run();
+            } finally {
+                event.update = update;
+                event.commit();
+            }
+        }));
+    }
+
+    /**
+     * Updates the text in the status bar in a thread-safe manner. Only the latest status of a UI frame is shown.
      * @param status The new status message to display.
      */
     private void updateStatus(String status, StatusBar.StatusType type) {
-        statusBar.setStatus(status, type);
+        uiUpdates.replace(STATUS_UPDATE, () -> statusBar.applyStatus(status, type));
     }
 
     /**
@@ -658,4 +995,36 @@ public class MainFrame extends JFrame {
             Logger.error("Failed to append styled text.", e);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Replaces a range of plain text in a JTextPane, keeping the caret at the end of the document.
+     * Must be called on the EDT.
+     *
+     * @param textPane The JTextPane to modify.
+     * @param offset The start of the range to replace.
+     * @param length The length of the range to replace.
+     * @param text The replacement text.
+     */
+    private void replaceStyledText(JTextPane textPane, int offset, int length, String text) {
+        StyledDocument doc = textPane.getStyledDocument();
+        SimpleAttributeSet style = new SimpleAttributeSet();
+        StyleConstants.setForeground(style, Color.BLACK);
+
+        try {
+            doc.remove(offset, length);
+            doc.insertString(offset, text, style);
+            textPane.setCaretPosition(doc.getLength());
+        } catch (BadLocationException e) {
+            Logger.error("Failed to replace styled text.", e);
+        }
+    }
+
+    private Position createPosition(JTextPane textPane, int offset) {
+        try {
+            return textPane.getDocument().createPosition(offset);
+        } catch (BadLocationException e) {
+            Logger.error("Failed to track text position.", e);
+            return null;
+        }
+    }
+}
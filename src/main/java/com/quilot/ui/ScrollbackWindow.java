@@ -0,0 +1,255 @@
+package com.quilot.ui;
+
+import com.quilot.utils.Logger;
+
+import javax.swing.*;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.DefaultCaret;
+import javax.swing.text.Document;
+import javax.swing.text.Element;
+import java.awt.*;
+import java.awt.geom.Rectangle2D;
+import java.io.IOException;
+
+/**
+ * Keeps a text area that grows for the whole session down to its last lines, and brings older
+ * lines back when the user scrolls to the top.
+ * <p>
+ * After each append, lines beyond the window of {@code maxLines} are removed from the start of the
+ * document and written to a {@link LineSpillFile}, so the document, and with it the heap and the
+ * cost of layout and painting, stays small however long the session runs. Reaching the top of the
+ * scroll pane prepends the previous page of lines from the file, keeping the visible text in place.
+ * While the user reads older lines the view no longer follows new text, and the document may grow
+ * to {@value #HISTORY_FACTOR} times the window; once the user scrolls back to the end, it is
+ * trimmed to the window again. Lines already in the file are never written twice.
+ * <p>
+ * Only the EDT may call the methods of this class.
+ */
+public class ScrollbackWindow implements AutoCloseable {
+
+    static final int HISTORY_FACTOR = 10;
+    private static final int FOLLOW_SLACK_PX = 4;
+
+    /** A document change that keeps the visible text in place. */
+    @FunctionalInterface
+    private interface DocumentEdit {
+        void apply() throws BadLocationException;
+    }
+
+    private final JTextArea area;
+    private final Document document;
+    private final int maxLines;
+    private final int maxHistoryLines;
+    private final int pageLines;
+    private LineSpillFile spill; // Null when older lines are discarded
+    private JScrollPane scrollPane;
+    private int firstLine; // Number of the document's first line, counted from the start of the session
+
+    /**
+     * Creates a window over a text area whose older lines are spilled to a temporary file. If the
+     * file cannot be created, older lines are discarded instead.
+     *
+     * @param area The text area to keep small.
+     * @param maxLines How many lines the area keeps while following new text.
+     * @param name Identifies the area in the spill file name, e.g. "log".
+     */
+    public static ScrollbackWindow create(JTextArea area, int maxLines, String name) {
+        LineSpillFile spill = null;
+        try {
+            spill = LineSpillFile.createTemp(name);
+        } catch (IOException e) {
+            Logger.warn("Failed to create the " + name + " spill file; older lines will be discarded: " + e.getMessage());
+        }
+        return new ScrollbackWindow(area, maxLines, spill);
+    }
+
+    ScrollbackWindow(JTextArea area, int maxLines, LineSpillFile spill) {
+        if (maxLines <= 0) {
+            throw new IllegalArgumentException("The window must hold at least one line.");
+        }
+        this.area = area;
+        this.document = area.getDocument();
+        this.maxLines = maxLines;
+        this.maxHistoryLines = maxLines * HISTORY_FACTOR;
+        this.pageLines = Math.max(1, maxLines / 4);
+        this.spill = spill;
+    }
+
+    /**
+     * Starts loading older lines when the area's scroll pane reaches the top, and trimming when it
+     * reaches the end. Must be called after the area has been added to its scroll pane.
+     */
+    public void install() {
+        scrollPane = (JScrollPane) SwingUtilities.getAncestorOfClass(JScrollPane.class, area);
+        if (scrollPane == null) {
+            Logger.warn("The text area is not in a scroll pane; older lines cannot be scrolled back to.");
+            return;
+        }
+        if (area.getCaret() instanceof DefaultCaret caret) {
+            caret.setUpdatePolicy(DefaultCaret.NEVER_UPDATE); // Appends must not pull the view away from older lines
+        }
+        scrollPane.getVerticalScrollBar().addAdjustmentListener(event -> {
+            if (event.getValueIsAdjusting()) {
+                return; // Wait until the user releases the thumb
+            }
+            if (isAtTop()) {
+                loadOlder();
+            } else if (isFollowing()) {
+                trim(maxLines, false);
+            }
+        });
+    }
+
+    /**
+     * Trims the document after text was appended, and moves the caret to the end if the view was
+     * following new text.
+     */
+    public void update() {
+        boolean following = isFollowing();
+        trim(following ? maxLines : maxHistoryLines, !following);
+        if (following) {
+            area.setCaretPosition(document.getLength());
+        }
+    }
+
+    /**
+     * @return True if the view shows the end of the text, or the area is not in a scroll pane.
+     */
+    public boolean isFollowing() {
+        if (scrollPane == null) {
+            return true;
+        }
+        JScrollBar scrollBar = scrollPane.getVerticalScrollBar();
+        return scrollBar.getValue() + scrollBar.getVisibleAmount() >= scrollBar.getMaximum() - FOLLOW_SLACK_PX;
+    }
+
+    /**
+     * Prepends the previous page of spilled lines.
+     *
+     * @return True if lines were loaded, false if there are none or the document is at its history limit.
+     */
+    boolean loadOlder() {
+        int count = Math.min(Math.min(pageLines, firstLine), maxHistoryLines - getLineCount());
+        if (spill == null || count <= 0) {
+            return false;
+        }
+        try {
+            String text = spill.read(firstLine - count, firstLine);
+            keepViewAnchored(text.length(), () -> document.insertString(0, text, null));
+            firstLine -= count;
+            return true;
+        } catch (IOException | BadLocationException e) {
+            Logger.error("Failed to load older lines.", e);
+            return false;
+        }
+    }
+
+    /**
+     * @return The number of lines in the document; a last line without text is not counted.
+     */
+    int getLineCount() {
+        Element root = document.getDefaultRootElement();
+        int count = root.getElementCount();
+        if (count > 0 && root.getElement(count - 1).getStartOffset() == document.getLength()) {
+            count--;
+        }
+        return count;
+    }
+
+    /**
+     * @return The number of lines written to the spill file so far.
+     */
+    int getSpilledLineCount() {
+        return spill == null ? 0 : spill.getLineCount();
+    }
+
+    /**
+     * Deletes the spill file.
+     */
+    @Override
+    public void close() {
+        if (spill != null) {
+            try {
+                spill.close();
+            } catch (IOException e) {
+                Logger.warn("Failed to delete a spill file: " + e.getMessage());
+            }
+            spill = null;
+        }
+    }
+
+    private boolean isAtTop() {
+        JScrollBar scrollBar = scrollPane.getVerticalScrollBar();
+        return scrollBar.getValue() == scrollBar.getMinimum() && scrollBar.getMaximum() > scrollBar.getVisibleAmount();
+    }
+
+    private void trim(int limit, boolean anchored) {
+        int excess = getLineCount() - limit;
+        if (excess <= 0) {
+            return;
+        }
+        Element root = document.getDefaultRootElement();
+        int end = root.getElement(excess).getStartOffset();
+        try {
+            spillUnsaved(excess);
+            keepViewAnchored(anchored ? -end : 0, () -> document.remove(0, end));
+            firstLine += excess;
+        } catch (BadLocationException e) {
+            Logger.error("Failed to trim older lines.", e);
+        }
+    }
+
+    /**
+     * Writes those of the first lines of the document that are not in the spill file yet.
+     */
+    private void spillUnsaved(int lines) throws BadLocationException {
+        if (spill == null) {
+            return;
+        }
+        int saved = spill.getLineCount() - firstLine; // Lines that were loaded back from the file
+        if (saved >= lines) {
+            return;
+        }
+        Element root = document.getDefaultRootElement();
+        int start = root.getElement(saved).getStartOffset();
+        int end = root.getElement(lines).getStartOffset();
+        try {
+            spill.append(document.getText(start, end - start));
+        } catch (IOException e) {
+            Logger.error("Failed to spill older lines; they will be discarded from now on.", e);
+            close();
+        }
+    }
+
+    /**
+     * Applies an edit and scrolls so that the text at the top of the view stays there.
+     *
+     * @param shift How far the edit moves that text, in characters.
+     */
+    private void keepViewAnchored(int shift, DocumentEdit edit) throws BadLocationException {
+        if (scrollPane == null || shift == 0) {
+            edit.apply();
+            return;
+        }
+        JViewport viewport = scrollPane.getViewport();
+        Point viewPosition = viewport.getViewPosition();
+        int anchor = area.viewToModel2D(viewPosition);
+        Rectangle2D anchorBounds = area.modelToView2D(anchor);
+        edit.apply();
+        if (anchorBounds == null) {
+            return; // Not laid out yet, so nothing is visible to keep in place
+        }
+        double offsetInLine = viewPosition.y - anchorBounds.getY();
+        int movedAnchor = Math.clamp(anchor + (long) shift, 0, document.getLength());
+        SwingUtilities.invokeLater(() -> { // After the area has been laid out again
+            try {
+                Rectangle2D bounds = area.modelToView2D(movedAnchor);
+                if (bounds != null) {
+                    viewport.setViewPosition(new Point(viewPosition.x, (int) Math.max(0, bounds.getY() + offsetInLine)));
+                }
+            } catch (BadLocationException e) {
+                Logger.debug(() -> "The scroll anchor is gone: " + e.getMessage());
+            }
+        });
+    }
+}
@@ -48,13 +48,21 @@ public class StatusBar extends JPanel {
      * @param type The type of the message (INFO, SUCCESS, ERROR).
      */
     public void setStatus(String status, StatusType type) {
-        SwingUtilities.invokeLater(() -> {
-            statusLabel.setText(status);
-            switch (type) {
-                case SUCCESS -> statusLabel.setForeground(COLOR_SUCCESS);
-                case ERROR -> statusLabel.setForeground(COLOR_ERROR);
-                default -> statusLabel.setForeground(COLOR_INFO);
-            }
-        });
+        SwingUtilities.invokeLater(() -> applyStatus(status, type));
+    }
+
+    /**
+     * Sets the text and color displayed in the status bar immediately. Must be called on the EDT.
+     *
+     * @param status The new status message to display.
+     * @param type The type of the message (INFO, SUCCESS, ERROR).
+     */
+    public void applyStatus(String status, StatusType type) {
+        statusLabel.setText(status);
+        switch (type) {
+            case SUCCESS -> statusLabel.setForeground(COLOR_SUCCESS);
+            case ERROR -> statusLabel.setForeground(COLOR_ERROR);
+            default -> statusLabel.setForeground(COLOR_INFO);
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,75 @@
+package com.quilot.ui;
+
+import com.quilot.utils.Logger;
+
+import javax.swing.text.AbstractDocument;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Document;
+
+/**
+ * Maintains the transcript document: committed lines followed by at most one interim line that
+ * is replaced in place as recognition refines it.
+ * <p>
+ * The interim line is always the last text in the document, so it is tracked by its length from
+ * the end rather than by searching the text. An update replaces just that range, which costs the
+ * same for a 100-character transcript as for a 1-million-character one, and stays correct when
+ * lines are removed from the start of the document. All methods must be called on the EDT.
+ */
+public class TranscriptViewModel {
+
+    private final AbstractDocument document;
+    private int interimLength;
+
+    /**
+     * @param document The transcript document, e.g. of a {@link javax.swing.JTextArea}.
+     */
+    public TranscriptViewModel(Document document) {
+        this.document = (AbstractDocument) document;
+    }
+
+    /**
+     * Shows an interim result, replacing the previous interim line if there is one.
+     *
+     * @param line The line to show, including its trailing newline.
+     */
+    public void showInterim(String line) {
+        interimLength = replaceInterim(line) ? line.length() : 0;
+    }
+
+    /**
+     * Appends a committed line in place of the interim line, if there is one.
+     *
+     * @param line The line to append, including its trailing newline.
+     */
+    public void commit(String line) {
+        replaceInterim(line);
+        interimLength = 0;
+    }
+
+    /**
+     * Removes the interim line, e.g. when its utterance produced no final result.
+     */
+    public void clearInterim() {
+        replaceInterim("");
+        interimLength = 0;
+    }
+
+    /**
+     * @return The length of the interim line, or 0 if none is shown.
+     */
+    public int getInterimLength() {
+        return interimLength;
+    }
+
+    private boolean replaceInterim(String text) {
+        int end = document.getLength();
+        int start = Math.max(0, end - interimLength); // In case trimming from the start reached the interim line
+        try {
+            document.replace(start, end - start, text, null);
+            return true;
+        } catch (BadLocationException e) {
+            Logger.error("Failed to update the transcript.", e);
+            return false;
+        }
+    }
+}
@@ -2,11 +2,13 @@ package com.quilot.ui;
 
 import com.quilot.audio.input.AudioInputService;
 import com.quilot.audio.ouput.AudioOutputService;
+import com.quilot.metrics.DiagnosticsSampler;
 import com.quilot.ui.builders.*;
 import lombok.Getter;
 
 import javax.swing.*;
 import java.awt.*;
+import java.util.function.Supplier;
 
 
 /**
@@ -25,16 +27,19 @@ public class UIBuilder {
     private final TranscribedAudioPanelBuilder transcribedAudioPanelBuilder;
     private final AIResponsePanelBuilder aiResponsePanelBuilder;
     private final LogPanelBuilder logPanelBuilder;
+    private final DiagnosticsPanelBuilder diagnosticsPanelBuilder;
     private final StatusBar statusBar;
 
     public UIBuilder(AudioOutputService audioOutputService,
                      AudioInputService audioInputService,
-                     ElapsedTimerManager timerManager) {
+                     ElapsedTimerManager timerManager,
+                     Supplier<DiagnosticsSampler.Snapshot> diagnosticsSupplier) {
         this.audioOutputSettingsPanelBuilder = new AudioOutputSettingsPanelBuilder(audioOutputService);
         this.audioInputSettingsPanelBuilder = new AudioInputSettingsPanelBuilder(audioInputService);
         this.transcribedAudioPanelBuilder = new TranscribedAudioPanelBuilder();
         this.aiResponsePanelBuilder = new AIResponsePanelBuilder();
         this.logPanelBuilder = new LogPanelBuilder(timerManager);
+        this.diagnosticsPanelBuilder = new DiagnosticsPanelBuilder(diagnosticsSupplier);
         this.statusBar = new StatusBar();
     }
 
@@ -69,8 +74,11 @@ public class UIBuilder {
         addComponent(mainPanel, transcribedAudioPanelBuilder.build(), 0, 2, 1, 0.5, 0.4);
         addComponent(mainPanel, aiResponsePanelBuilder.build(), 1, 2, 1, 0.5, 0.4);
 
-        // Row 3: Application Logs Panel (full width)
-        addComponent(mainPanel, logPanelBuilder.build(), 0, 3, 2, 1.0, 0.2);
+        // Row 3: Application Logs Panel with the Diagnostics Panel on its right (full width)
+        JPanel logAndDiagnosticsPanel = new JPanel(new BorderLayout());
+        logAndDiagnosticsPanel.add(logPanelBuilder.build(), BorderLayout.CENTER);
+        logAndDiagnosticsPanel.add(diagnosticsPanelBuilder.build(), BorderLayout.EAST);
+        addComponent(mainPanel, logAndDiagnosticsPanel, 0, 3, 2, 1.0, 0.2);
 
         // Row 4: Status Bar
         addComponent(mainPanel, statusBar, 0, 4, 2, 1.0, 0.0);
@@ -0,0 +1,208 @@
+package com.quilot.ui;
+
+import com.quilot.metrics.LatencyHistogram;
+import com.quilot.metrics.MetricNames;
+import com.quilot.metrics.MetricsRegistry;
+import com.quilot.metrics.jfr.EdtUpdateEvent;
+import com.quilot.utils.Logger;
+
+import javax.swing.*;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Batches frequent UI updates and applies them on the EDT at most a fixed number of times per second.
+ * <p>
+ * Updates are kept per key until the next frame. {@link #replace} keeps only the latest update
+ * for its key, for state such as the interim transcript or the status bar, where intermediate
+ * values are never worth painting. {@link #append} concatenates text for its key, for logs, so
+ * that a burst of lines becomes a single document edit. A frame applies all pending updates in one
+ * EDT runnable, in the order their keys were first submitted, and is posted at least
+ * {@code 1000 / maxFramesPerSecond} ms after the previous one, so the EDT receives at most that
+ * many runnables per second however many updates arrive.
+ * <p>
+ * Replaced and cancelled updates are counted as merged, and text beyond {@value #MAX_PENDING_CHARS}
+ * characters per key and frame is dropped and counted. The EDT lag of each frame, from posting it
+ * to running it, is recorded in the {@link MetricNames#UI_EDT_LAG} histogram. All methods are
+ * thread-safe.
+ */
+public class UiUpdateScheduler implements AutoCloseable {
+
+    static final int MAX_PENDING_CHARS = 256 * 1024;
+
+    /** A pending update: the latest runnable for its key, or the text appended so far. */
+    private static final class Pending {
+        private Runnable update;
+        private StringBuilder text;
+        private Consumer<String> sink;
+    }
+
+    private final long frameIntervalNanos;
+    private final Executor edt;
+    private final ScheduledExecutorService timer;
+    private final LongSupplier nanoClock;
+    private final LongAdder submitted;
+    private final LongAdder merged;
+    private final LongAdder dropped;
+    private final LongAdder frames;
+    private final LatencyHistogram edtLag;
+
+    private Map<String, Pending> pending = new LinkedHashMap<>();
+    private boolean frameScheduled;
+    private long lastFrameNanos;
+    private boolean closed;
+
+    /**
+     * Constructs a scheduler that records into the {@linkplain MetricsRegistry#global() global registry}.
+     *
+     * @param maxFramesPerSecond How many times per second pending updates may be applied.
+     */
+    public UiUpdateScheduler(int maxFramesPerSecond) {
+        this(maxFramesPerSecond, SwingUtilities::invokeLater, Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "UiUpdateSchedulerThread");
+            thread.setDaemon(true);
+            return thread;
+        }), System::nanoTime, MetricsRegistry.global());
+    }
+
+    UiUpdateScheduler(int maxFramesPerSecond, Executor edt, ScheduledExecutorService timer, LongSupplier nanoClock,
+                      MetricsRegistry metrics) {
+        if (maxFramesPerSecond <= 0) {
+            throw new IllegalArgumentException("The frame rate must be positive.");
+        }
+        this.frameIntervalNanos = TimeUnit.SECONDS.toNanos(1) / maxFramesPerSecond;
+        this.edt = edt;
+        this.timer = timer;
+        this.nanoClock = nanoClock;
+        this.submitted = metrics.counter(MetricNames.UI_UPDATES_SUBMITTED);
+        this.merged = metrics.counter(MetricNames.UI_UPDATES_MERGED);
+        this.dropped = metrics.counter(MetricNames.UI_UPDATES_DROPPED);
+        this.frames = metrics.counter(MetricNames.UI_FRAMES);
+        this.edtLag = metrics.histogram(MetricNames.UI_EDT_LAG);
+        this.lastFrameNanos = nanoClock.getAsLong() - frameIntervalNanos;
+    }
+
+    /**
+     * Applies the update in the next frame, replacing any update of the same key that is still pending.
+     *
+     * @param key Identifies the state the update sets, e.g. "status".
+     * @param update Sets the state; runs on the EDT.
+     */
+    public synchronized void replace(String key, Runnable update) {
+        if (closed) {
+            return;
+        }
+        submitted.increment();
+        Pending entry = pending.computeIfAbsent(key, _ -> new Pending());
+        if (entry.update != null) {
+            merged.increment();
+        }
+        entry.update = update;
+        scheduleFrame();
+    }
+
+    /**
+     * Appends text in the next frame, together with all other text appended to the same key until then.
+     *
+     * @param key Identifies the destination, e.g. "log".
+     * @param text The text to append.
+     * @param sink Appends the combined text; runs on the EDT. The sink of the first pending text is used.
+     */
+    public synchronized void append(String key, String text, Consumer<String> sink) {
+        if (closed) {
+            return;
+        }
+        submitted.increment();
+        Pending entry = pending.computeIfAbsent(key, _ -> new Pending());
+        if (entry.text == null) {
+            entry.text = new StringBuilder(text);
+            entry.sink = sink;
+        } else if (entry.text.length() + text.length() > MAX_PENDING_CHARS) {
+            dropped.increment();
+            return;
+        } else {
+            entry.text.append(text);
+            merged.increment();
+        }
+        scheduleFrame();
+    }
+
+    /**
+     * Discards the pending update of a key, e.g. an interim transcript once the final one is shown.
+     */
+    public synchronized void cancel(String key) {
+        Pending entry = pending.remove(key);
+        if (entry != null) {
+            merged.increment();
+        }
+    }
+
+    /**
+     * Stops scheduling frames. Updates still pending are discarded.
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        pending.clear();
+        timer.shutdownNow();
+    }
+
+    private void scheduleFrame() {
+        if (frameScheduled) {
+            return;
+        }
+        frameScheduled = true;
+        long delayNanos = lastFrameNanos + frameIntervalNanos - nanoClock.getAsLong();
+        if (delayNanos <= 0) {
+            postFrame();
+        } else {
+            timer.schedule(this::postFrame, delayNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void postFrame() {
+        long postedNanos = nanoClock.getAsLong();
+        edt.execute(() -> runFrame(postedNanos));
+    }
+
+    private void runFrame(long postedNanos) {
+        Map<String, Pending> updates;
+        synchronized (this) {
+            frameScheduled = false;
+            lastFrameNanos = nanoClock.getAsLong();
+            updates = pending;
+            pending = new LinkedHashMap<>();
+        }
+        long lagNanos = lastFrameNanos - postedNanos;
+        edtLag.recordNanos(lagNanos);
+        frames.increment();
+
+        EdtUpdateEvent event = new EdtUpdateEvent();
+        event.queueDelay = lagNanos;
+        event.begin();
+        try {
+            for (Pending entry : updates.values()) {
+                try {
+                    if (entry.update != null) {
+                        entry.update.run();
+                    }
+                    if (entry.text != null) {
+                        entry.sink.accept(entry.text.toString());
+                    }
+                } catch (RuntimeException e) {
+                    Logger.error("A UI update failed.", e); // One broken update must not cost the others
+                }
+            }
+        } finally {
+            event.update = "Coalesced frame (" + updates.size() + " updates)";
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.quilot.ui.builders;
+
+import com.quilot.metrics.DiagnosticsSampler.Snapshot;
+import lombok.Getter;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.function.Supplier;
+
+/**
+ * Builds the live diagnostics panel shown next to the application logs.
+ * <p>
+ * The panel only displays {@link Snapshot}s taken elsewhere; it never samples anything itself.
+ * A Swing timer reads the latest snapshot at a fixed, low rate, so the labels are repainted at
+ * most once per {@value #REFRESH_INTERVAL_MS} ms however busy the pipeline is.
+ */
+@Getter
+public class DiagnosticsPanelBuilder implements ComponentPanelBuilder {
+
+    static final int REFRESH_INTERVAL_MS = 1000;
+    private static final String UNAVAILABLE = "–";
+
+    private final Supplier<Snapshot> snapshotSupplier;
+    private final JLabel audioFramesLabel = createValueLabel();
+    private final JLabel sttBytesLabel = createValueLabel();
+    private final JLabel streamRestartLabel = createValueLabel();
+    private final JLabel queueDepthsLabel = createValueLabel();
+    private final JLabel dbBacklogLabel = createValueLabel();
+    private final JLabel aiFirstTokenLabel = createValueLabel();
+    private final JLabel aiTotalLabel = createValueLabel();
+    private final JLabel edtLagLabel = createValueLabel();
+    private final JLabel heapLabel = createValueLabel();
+    private final Timer refreshTimer;
+
+    public DiagnosticsPanelBuilder(Supplier<Snapshot> snapshotSupplier) {
+        this.snapshotSupplier = snapshotSupplier;
+        this.refreshTimer = new Timer(REFRESH_INTERVAL_MS, _ -> refresh());
+        this.refreshTimer.setCoalesce(true);
+        refresh();
+    }
+
+    private static JLabel createValueLabel() {
+        JLabel label = new JLabel(UNAVAILABLE);
+        label.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 11));
+        return label;
+    }
+
+    /**
+     * Starts repainting the panel from the latest snapshot.
+     */
+    public void startRefreshing() {
+        refreshTimer.start();
+    }
+
+    public void stopRefreshing() {
+        refreshTimer.stop();
+    }
+
+    /**
+     * Updates the labels from the latest snapshot. Must be called on the EDT.
+     */
+    public void refresh() {
+        Snapshot snapshot = snapshotSupplier.get();
+        if (snapshot == null) {
+            return;
+        }
+        audioFramesLabel.setText(String.format("%,.0f", snapshot.audioFramesPerSecond()));
+        sttBytesLabel.setText(String.format("%,.0f", snapshot.sttBytesPerSecond()));
+        streamRestartLabel.setText(snapshot.millisUntilStreamRestart() < 0
+                ? UNAVAILABLE : (snapshot.millisUntilStreamRestart() / 1000) + " s");
+        queueDepthsLabel.setText(count(snapshot.aiQueueDepth()) + " / " + count(snapshot.logQueueDepth()));
+        dbBacklogLabel.setText(count(snapshot.transcriptQueueDepth()) + " / " + count(snapshot.audioQueueDepth()));
+        aiFirstTokenLabel.setText(snapshot.aiFirstTokenP50Millis() + " / " + snapshot.aiFirstTokenP95Millis() + " ms");
+        aiTotalLabel.setText(snapshot.aiTotalP50Millis() + " / " + snapshot.aiTotalP95Millis() + " ms");
+        edtLagLabel.setText(snapshot.edtLagP95Millis() + " ms");
+        heapLabel.setText(megabytes(snapshot.heapUsedBytes()) + " / "
+                + (snapshot.heapMaxBytes() < 0 ? UNAVAILABLE : megabytes(snapshot.heapMaxBytes())) + " MB");
+    }
+
+    private static String count(long value) {
+        return value < 0 ? UNAVAILABLE : Long.toString(value);
+    }
+
+    private static long megabytes(long bytes) {
+        return bytes / (1024 * 1024);
+    }
+
+    @Override
+    public JPanel build() {
+        JPanel grid = new JPanel(new GridLayout(0, 2, 8, 2));
+        addRow(grid, "Audio frames/s", audioFramesLabel);
+        addRow(grid, "STT bytes/s", sttBytesLabel);
+        addRow(grid, "Stream restart in", streamRestartLabel);
+        addRow(grid, "AI / log queue", queueDepthsLabel);
+        addRow(grid, "DB backlog (text / audio)", dbBacklogLabel);
+        addRow(grid, "AI first token p50/p95", aiFirstTokenLabel);
+        addRow(grid, "AI total p50/p95", aiTotalLabel);
+        addRow(grid, "UI lag p95", edtLagLabel);
+        addRow(grid, "Heap used / max", heapLabel);
+
+        JPanel panel = new JPanel(new BorderLayout());
+        panel.add(new JLabel("Diagnostics"), BorderLayout.NORTH);
+        panel.add(grid, BorderLayout.CENTER);
+        panel.setBorder(BorderFactory.createEmptyBorder(5, 10, 0, 0));
+        return panel;
+    }
+
+    private static void addRow(JPanel grid, String name, JLabel value) {
+        grid.add(new JLabel(name));
+        grid.add(value);
+    }
+}
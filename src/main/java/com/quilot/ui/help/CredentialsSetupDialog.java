@@ -5,6 +5,7 @@ import com.quilot.exceptions.stt.STTAuthenticationException;
 import com.quilot.stt.GoogleCloudSpeechToTextService;
 import com.quilot.utils.CredentialManager;
 import com.quilot.utils.Logger;
+import com.quilot.utils.TaskExecutors;
 import lombok.Getter;
 
 import javax.swing.*;
@@ -118,21 +119,28 @@ public class CredentialsSetupDialog extends JDialog {
             return;
         }
 
-        try {
+        // Creating the client and calling the service can take seconds, so it must not block the EDT.
+        testButton.setEnabled(false);
+        TaskExecutors.io("Test STT credentials", () -> {
             speechToTextService.setCredentialPath(path);
             speechToTextService.testCredentials();
-
-            showInfoMessage("Credentials test successful! The service is ready.", "Test Success");
-            Logger.info("Credentials test successful.");
-        } catch (STTAuthenticationException e) {
-            String errorMessage = "Authentication Failed: " + e.getMessage();
-            showErrorMessage(errorMessage, "Test Failed");
-            Logger.error(errorMessage, e.getCause());
-        } catch (Exception e) {
-            String errorMessage = "An unexpected error occurred during testing: " + e.getMessage();
-            showErrorMessage(errorMessage, "Test Error");
-            Logger.error(errorMessage, e);
-        }
+            return null;
+        }).whenCompleteAsync((_, error) -> {
+            testButton.setEnabled(true);
+            Throwable cause = error == null ? null : TaskExecutors.unwrap(error);
+            if (cause == null) {
+                showInfoMessage("Credentials test successful! The service is ready.", "Test Success");
+                Logger.info("Credentials test successful.");
+            } else if (cause instanceof STTAuthenticationException) {
+                String errorMessage = "Authentication Failed: " + cause.getMessage();
+                showErrorMessage(errorMessage, "Test Failed");
+                Logger.error(errorMessage, cause.getCause());
+            } else {
+                String errorMessage = "An unexpected error occurred during testing: " + cause.getMessage();
+                showErrorMessage(errorMessage, "Test Error");
+                Logger.error(errorMessage, cause);
+            }
+        }, TaskExecutors.edt());
     }
 
     private void loadSavedCredentialPath() {
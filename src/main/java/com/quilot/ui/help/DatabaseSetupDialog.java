@@ -1,6 +1,7 @@
 package com.quilot.ui.help;
 
 import com.quilot.db.DatabaseManager;
+import com.quilot.db.DatabaseMode;
 import com.quilot.utils.Logger;
 import lombok.Getter;
 
@@ -10,11 +11,14 @@ import java.sql.SQLException;
 
 /**
  * A modal dialog for setting up the initial database connection.
- * Prompts the user for their MySQL credentials and runs the schema setup.
+ * Lets the user choose between the embedded database, which needs no server, and a MySQL server,
+ * for which it prompts for credentials. Either way it runs the schema setup.
  */
 @Getter
 public class DatabaseSetupDialog extends JDialog {
 
+    private final JRadioButton embeddedRadio;
+    private final JRadioButton mysqlRadio;
     private final JTextField userField;
     private final JPasswordField passwordField;
     private final JButton setupButton;
@@ -29,6 +33,16 @@ public class DatabaseSetupDialog extends JDialog {
         setLayout(new GridBagLayout());
         GridBagConstraints gbc = new GridBagConstraints();
 
+        embeddedRadio = new JRadioButton("Embedded database (no server needed)");
+        mysqlRadio = new JRadioButton("MySQL server");
+        ButtonGroup modeGroup = new ButtonGroup();
+        modeGroup.add(embeddedRadio);
+        modeGroup.add(mysqlRadio);
+        if (DatabaseManager.getMode() == DatabaseMode.EMBEDDED) {
+            embeddedRadio.setSelected(true);
+        } else {
+            mysqlRadio.setSelected(true);
+        }
         userField = new JTextField("root", 20);
         passwordField = new JPasswordField(20);
         setupButton = new JButton("Connect & Setup");
@@ -36,14 +50,26 @@ public class DatabaseSetupDialog extends JDialog {
 
         // Layout components
         gbc.insets = new Insets(5, 10, 5, 10);
+        JPanel modePanel = new JPanel(new GridLayout(0, 1));
+        modePanel.add(embeddedRadio);
+        modePanel.add(mysqlRadio);
+
         gbc.gridx = 0;
         gbc.gridy = 0;
+        gbc.anchor = GridBagConstraints.NORTHWEST;
+        add(new JLabel("Store history in:"), gbc);
+        gbc.gridx = 1;
+        add(modePanel, gbc);
+        gbc.anchor = GridBagConstraints.CENTER;
+
+        gbc.gridx = 0;
+        gbc.gridy = 1;
         add(new JLabel("MySQL Username:"), gbc);
         gbc.gridx = 1;
         add(userField, gbc);
 
         gbc.gridx = 0;
-        gbc.gridy = 1;
+        gbc.gridy = 2;
         add(new JLabel("MySQL Password:"), gbc);
         gbc.gridx = 1;
         add(passwordField, gbc);
@@ -53,11 +79,14 @@ public class DatabaseSetupDialog extends JDialog {
         buttonPanel.add(setupButton);
 
         gbc.gridx = 0;
-        gbc.gridy = 2;
+        gbc.gridy = 3;
         gbc.gridwidth = 2;
         gbc.anchor = GridBagConstraints.EAST;
         add(buttonPanel, gbc);
 
+        embeddedRadio.addActionListener(_ -> updateCredentialFields());
+        mysqlRadio.addActionListener(_ -> updateCredentialFields());
+        updateCredentialFields();
         setupButton.addActionListener(_ -> onSetup());
         cancelButton.addActionListener(_ -> dispose());
 
@@ -66,11 +95,21 @@ public class DatabaseSetupDialog extends JDialog {
         setDefaultCloseOperation(DISPOSE_ON_CLOSE);
     }
 
+    private void updateCredentialFields() {
+        boolean mysql = mysqlRadio.isSelected();
+        userField.setEnabled(mysql);
+        passwordField.setEnabled(mysql);
+    }
+
     /**
      * Handles the setup button click event.
      * Attempts to create the database schema and save credentials.
      */
     private void onSetup() {
+        if (embeddedRadio.isSelected()) {
+            onEmbeddedSetup();
+            return;
+        }
         String user = userField.getText().trim();
         String password = new String(passwordField.getPassword());
 
@@ -94,6 +133,20 @@ public class DatabaseSetupDialog extends JDialog {
         }
     }
 
+    private void onEmbeddedSetup() {
+        try {
+            DatabaseManager.setupEmbeddedDatabase();
+            setupSuccessful = true;
+            JOptionPane.showMessageDialog(this, "Embedded database created at\n" + DatabaseManager.getEmbeddedDatabasePath()
+                    + "\nInterview history is now enabled.", "Success", JOptionPane.INFORMATION_MESSAGE);
+            dispose();
+        } catch (SQLException ex) {
+            Logger.error("Embedded database setup failed.", ex);
+            JOptionPane.showMessageDialog(this, "Database setup failed:\n" + ex.getMessage(), "Database Error", JOptionPane.ERROR_MESSAGE);
+            setupSuccessful = false;
+        }
+    }
+
     /**
      * Checks if the database setup was completed successfully.
      * @return true if setup was successful, false otherwise.
@@ -2,6 +2,7 @@ package com.quilot.ui.history;
 
 import com.quilot.db.dao.InterviewDao;
 import com.quilot.db.model.Interview;
+import com.quilot.db.search.TranscriptSearchService;
 import com.quilot.audio.ouput.AudioOutputService;
 import com.quilot.utils.Logger;
 import lombok.Getter;
@@ -11,27 +12,51 @@ import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.sql.SQLException;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.List;
 
 /**
  * A dialog to display a list of all past interviews from the database.
+ * Interviews are loaded page by page in the background as the list is scrolled, and the
+ * transcripts of all interviews can be searched from the search field.
  */
 @Getter
 public class InterviewHistoryDialog extends JDialog {
 
+    private static final String CARD_INTERVIEWS = "interviews";
+    private static final String CARD_SEARCH = "search";
+
     private final InterviewDao interviewDao;
     private final AudioOutputService audioOutputService;
     private final JList<Interview> interviewList;
+    private final LazyInterviewListModel interviewListModel;
+    private final TranscriptSearchService searchService;
+    private final TranscriptSearchPanel searchPanel;
+    private final JTextField searchField;
+    private final JPanel cards;
     private final JButton viewButton;
     private final JButton deleteButton;
     private final JButton closeButton;
+    private boolean showingSearchResults;
 
     public InterviewHistoryDialog(Frame owner, InterviewDao interviewDao, AudioOutputService audioOutputService) {
+        this(owner, interviewDao, audioOutputService, new TranscriptSearchService(interviewDao));
+    }
+
+    /**
+     * @param searchService A search service shared across dialogs, so its local index survives between openings.
+     */
+    public InterviewHistoryDialog(Frame owner, InterviewDao interviewDao, AudioOutputService audioOutputService,
+                                  TranscriptSearchService searchService) {
         super(owner, "Interview History", true);
         this.interviewDao = interviewDao;
         this.audioOutputService = audioOutputService;
-        this.interviewList = new JList<>();
+        this.searchService = searchService;
+        this.interviewListModel = new LazyInterviewListModel(interviewDao, this::showLoadError);
+        this.interviewList = new JList<>(interviewListModel);
+        this.searchPanel = new TranscriptSearchPanel(searchService, this::openInterview);
+        this.searchField = new JTextField();
+        this.cards = new JPanel(new CardLayout());
 
         this.viewButton = new JButton("View Selected");
         this.deleteButton = new JButton("Delete Selected");
@@ -42,12 +67,14 @@ public class InterviewHistoryDialog extends JDialog {
     }
 
     private void initComponents() {
-        setSize(500, 600);
+        setSize(600, 600);
         setLocationRelativeTo(getOwner());
         setLayout(new BorderLayout(10, 10));
 
         interviewList.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
         interviewList.setCellRenderer(new InterviewListCellRenderer());
+        // A fixed row height stops the list from rendering every row to measure it, so only visible rows are requested.
+        interviewList.setPrototypeCellValue(prototypeInterview());
         interviewList.addMouseListener(new MouseAdapter() {
             public void mouseClicked(MouseEvent evt) {
                 if (evt.getClickCount() == 2) {
@@ -59,11 +86,44 @@ public class InterviewHistoryDialog extends JDialog {
         JScrollPane scrollPane = new JScrollPane(interviewList);
         JPanel buttonPanel = getJPanel();
 
-        add(new JLabel("Double-click an interview to view details."), BorderLayout.NORTH);
-        add(scrollPane, BorderLayout.CENTER);
+        cards.add(scrollPane, CARD_INTERVIEWS);
+        cards.add(searchPanel, CARD_SEARCH);
+
+        add(getSearchBar(), BorderLayout.NORTH);
+        add(cards, BorderLayout.CENTER);
         add(buttonPanel, BorderLayout.SOUTH);
     }
 
+    private JPanel getSearchBar() {
+        JButton clearButton = new JButton("Clear");
+        searchField.setToolTipText("Search the transcripts of all interviews. Press Enter to search.");
+        searchField.addActionListener(_ -> runSearch());
+        clearButton.addActionListener(_ -> {
+            searchField.setText("");
+            runSearch();
+        });
+
+        JPanel searchRow = new JPanel(new BorderLayout(5, 0));
+        searchRow.add(new JLabel("Search transcripts:"), BorderLayout.WEST);
+        searchRow.add(searchField, BorderLayout.CENTER);
+        searchRow.add(clearButton, BorderLayout.EAST);
+
+        JPanel searchBar = new JPanel(new BorderLayout(0, 5));
+        searchBar.add(searchRow, BorderLayout.NORTH);
+        searchBar.add(new JLabel("Double-click an interview or search result to view details."), BorderLayout.SOUTH);
+        return searchBar;
+    }
+
+    private void runSearch() {
+        String query = searchField.getText();
+        boolean searching = !query.isBlank();
+        if (searching) {
+            searchPanel.search(query);
+        }
+        showingSearchResults = searching;
+        ((CardLayout) cards.getLayout()).show(cards, searching ? CARD_SEARCH : CARD_INTERVIEWS);
+    }
+
     private JPanel getJPanel() {
         JButton viewButton = new JButton("View Selected");
         JButton deleteButton = new JButton("Delete Selected");
@@ -81,30 +141,48 @@ public class InterviewHistoryDialog extends JDialog {
     }
 
     private void loadInterviews() {
-        try {
-            List<Interview> interviews = interviewDao.getAllInterviews();
-            DefaultListModel<Interview> model = new DefaultListModel<>();
-            interviews.forEach(model::addElement);
-            interviewList.setModel(model);
-        } catch (SQLException e) {
-            Logger.error("Failed to load interview history.", e);
-            JOptionPane.showMessageDialog(this, "Could not load interview history:\n" + e.getMessage(), "Database Error", JOptionPane.ERROR_MESSAGE);
-        }
+        interviewListModel.loadNextPage();
+    }
+
+    private void showLoadError(SQLException e) {
+        JOptionPane.showMessageDialog(this, "Could not load interview history:\n" + e.getMessage(), "Database Error", JOptionPane.ERROR_MESSAGE);
+    }
+
+    private static Interview prototypeInterview() {
+        Interview prototype = new Interview();
+        prototype.setTitle("Interview - 2000-01-01 00:00");
+        prototype.setInterviewDate(LocalDateTime.of(2000, 1, 1, 0, 0));
+        return prototype;
+    }
+
+    @Override
+    public void dispose() {
+        interviewListModel.close();
+        searchPanel.close();
+        super.dispose();
     }
 
     private void viewSelectedInterview() {
+        if (showingSearchResults) {
+            searchPanel.openSelected();
+            return;
+        }
         Interview selected = interviewList.getSelectedValue();
         if (selected != null) {
-            InterviewReviewDialog reviewDialog = new InterviewReviewDialog(this, selected, interviewDao, audioOutputService);
-            reviewDialog.setVisible(true);
+            openInterview(selected);
         }
     }
 
+    private void openInterview(Interview interview) {
+        InterviewReviewDialog reviewDialog = new InterviewReviewDialog(this, interview, interviewDao, audioOutputService);
+        reviewDialog.setVisible(true);
+    }
+
     /**
      * Deletes the currently selected interview after user confirmation.
      */
     private void deleteSelectedInterview() {
-        Interview selected = interviewList.getSelectedValue();
+        Interview selected = showingSearchResults ? null : interviewList.getSelectedValue();
         if (selected == null) {
             JOptionPane.showMessageDialog(this, "Please select an interview to delete.", "No Selection", JOptionPane.WARNING_MESSAGE);
             return;
@@ -121,7 +199,8 @@ public class InterviewHistoryDialog extends JDialog {
         if (response == JOptionPane.YES_OPTION) {
             try {
                 interviewDao.deleteInterview(selected.getId());
-                ((DefaultListModel<Interview>) interviewList.getModel()).removeElement(selected);
+                interviewListModel.remove(selected);
+                searchService.onInterviewDeleted();
                 JOptionPane.showMessageDialog(this, "Interview deleted successfully.", "Success", JOptionPane.INFORMATION_MESSAGE);
             } catch (SQLException e) {
                 Logger.error("Failed to delete interview with ID: " + selected.getId(), e);
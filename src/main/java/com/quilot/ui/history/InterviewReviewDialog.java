@@ -1,17 +1,20 @@
 package com.quilot.ui.history;
 
+import com.quilot.audio.codec.AudioFormatSpec;
 import com.quilot.audio.ouput.AudioOutputService;
 import com.quilot.db.dao.InterviewDao;
 import com.quilot.db.model.Interview;
 import com.quilot.db.model.TranscriptionEntry;
 import com.quilot.utils.Logger;
+import com.quilot.utils.TaskExecutors;
 import lombok.Getter;
 
 import javax.sound.sampled.AudioFormat;
 import javax.swing.*;
 import java.awt.*;
-import java.sql.SQLException;
+import java.io.InputStream;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * A dialog to review the details of a single past interview.
@@ -25,6 +28,7 @@ public class InterviewReviewDialog extends JDialog {
     private final JTextArea transcriptArea;
     private final JButton playAudioButton;
     private final JButton stopAudioButton;
+    private final CompletableFuture<Void> transcriptionLoaded;
 
     public InterviewReviewDialog(Dialog owner, Interview interview, InterviewDao interviewDao, AudioOutputService audioOutputService) {
         super(owner, "Review: " + interview.getTitle(), true);
@@ -36,7 +40,7 @@ public class InterviewReviewDialog extends JDialog {
         this.stopAudioButton = new JButton("Stop Playback");
 
         initComponents();
-        loadTranscription();
+        this.transcriptionLoaded = loadTranscription();
     }
 
     private void initComponents() {
@@ -61,20 +65,30 @@ public class InterviewReviewDialog extends JDialog {
         add(buttonPanel, BorderLayout.SOUTH);
     }
 
-    private void loadTranscription() {
-        try {
+    /**
+     * Loads and formats the transcription in the background, then shows it.
+     * @return Completes once the transcription or an error message is shown.
+     */
+    private CompletableFuture<Void> loadTranscription() {
+        transcriptArea.setText("Loading transcription...");
+        return TaskExecutors.io("Load transcription", () -> {
             List<TranscriptionEntry> entries = interviewDao.getTranscriptionEntriesForInterview(interview.getId());
             StringBuilder sb = new StringBuilder();
             for (TranscriptionEntry entry : entries) {
                 sb.append(String.format("[%s] %s:\n", entry.getTimestamp().toLocalTime(), entry.getSpeaker()));
                 sb.append(entry.getContent()).append("\n\n");
             }
-            transcriptArea.setText(sb.toString());
-            transcriptArea.setCaretPosition(0); // Scroll to top
-        } catch (SQLException e) {
-            Logger.error("Failed to load transcription for interview " + interview.getId(), e);
-            transcriptArea.setText("Error: Could not load transcription.");
-        }
+            return sb.toString();
+        }).handleAsync((text, error) -> {
+            if (error == null) {
+                transcriptArea.setText(text);
+                transcriptArea.setCaretPosition(0); // Scroll to top
+            } else {
+                Logger.error("Failed to load transcription for interview " + interview.getId(), TaskExecutors.unwrap(error));
+                transcriptArea.setText("Error: Could not load transcription.");
+            }
+            return null;
+        }, TaskExecutors.edt());
     }
 
     private void playFullAudio() {
@@ -82,41 +96,33 @@ public class InterviewReviewDialog extends JDialog {
         playAudioButton.setText("Playing...");
         stopAudioButton.setEnabled(true);
 
-        // Use a standard Thread for more direct control over the blocking audio call.
-        new Thread(() -> {
-            try {
-                Logger.info("Playback thread started: Fetching audio for interview ID " + interview.getId());
-                Interview fullInterview = interviewDao.getInterviewById(interview.getId());
-                byte[] audioData = (fullInterview != null) ? fullInterview.getFullAudio() : null;
-
-                if (audioData != null && audioData.length > 0) {
-                    Logger.info("Audio data found. Starting playback...");
-                    AudioFormat format = new AudioFormat(44100, 16, 1, true, false);
-                    // This is a blocking call that will run until the audio is finished or stopped.
-                    audioOutputService.playAudioData(audioData, format);
-                    Logger.info("Playback finished successfully.");
-                } else {
+        TaskExecutors.io("Play interview audio", () -> {
+            Logger.info("Playback started: Streaming audio for interview ID " + interview.getId());
+            try (InputStream audioStream = interviewDao.openAudioStream(interview.getId())) {
+                if (audioStream == null) {
                     throw new Exception("No audio data found for this interview in the database.");
                 }
-            } catch (Exception e) {
-                // Since we are on a background thread, show any errors on the Event Dispatch Thread.
-                SwingUtilities.invokeLater(() -> {
-                    Logger.error("Failed to play audio for interview " + interview.getId(), e);
-                    JOptionPane.showMessageDialog(
-                            InterviewReviewDialog.this,
-                            "Could not play audio:\n" + e.getMessage(),
-                            "Playback Error",
-                            JOptionPane.ERROR_MESSAGE
-                    );
-                });
-            } finally {
-                // Always reset the button states on the Event Dispatch Thread when the task is complete.
-                SwingUtilities.invokeLater(() -> {
-                    playAudioButton.setText("Play Full Audio Recording");
-                    playAudioButton.setEnabled(true);
-                    stopAudioButton.setEnabled(false);
-                });
+                AudioFormat format = interview.getAudioFormat() != null ? interview.getAudioFormat() : AudioFormatSpec.LEGACY_FORMAT;
+                // This is a blocking call that will run until the audio is finished or stopped.
+                audioOutputService.playAudioStream(audioStream, format);
+                Logger.info("Playback finished successfully.");
+            }
+            return null;
+        }).whenCompleteAsync((_, error) -> {
+            if (error != null) {
+                Throwable cause = TaskExecutors.unwrap(error);
+                Logger.error("Failed to play audio for interview " + interview.getId(), cause);
+                JOptionPane.showMessageDialog(
+                        InterviewReviewDialog.this,
+                        "Could not play audio:\n" + cause.getMessage(),
+                        "Playback Error",
+                        JOptionPane.ERROR_MESSAGE
+                );
             }
-        }).start();
+            // Always reset the button states when the task is complete.
+            playAudioButton.setText("Play Full Audio Recording");
+            playAudioButton.setEnabled(true);
+            stopAudioButton.setEnabled(false);
+        }, TaskExecutors.edt());
     }
 }
@@ -0,0 +1,168 @@
+package com.quilot.ui.history;
+
+import com.quilot.db.dao.InterviewDao;
+import com.quilot.db.model.Interview;
+import com.quilot.utils.Logger;
+
+import javax.swing.*;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * A {@link ListModel} that loads interviews page by page in the background as the list is scrolled.
+ * <p>
+ * The model only contains the pages loaded so far. When the list asks for a row close to the end
+ * of the loaded rows (which it only does for visible rows when the list has a fixed cell height),
+ * the next page is fetched with {@link InterviewDao#getInterviewPage} on a background thread and
+ * appended on the EDT. All methods except {@link #close()} must be called on the EDT.
+ */
+public class LazyInterviewListModel extends AbstractListModel<Interview> {
+
+    static final int DEFAULT_PAGE_SIZE = 50;
+    /** How many rows before the end of the loaded rows the next page is requested. */
+    private static final int PREFETCH_DISTANCE = 20;
+
+    private final InterviewDao interviewDao;
+    private final int pageSize;
+    private final ExecutorService loader;
+    private final Consumer<SQLException> errorHandler;
+    private final List<Interview> interviews = new ArrayList<>();
+
+    private boolean loading;
+    private boolean exhausted;
+    private int generation;
+
+    /**
+     * Constructs a new LazyInterviewListModel. No data is loaded until {@link #loadNextPage()} is called.
+     *
+     * @param interviewDao The DAO used to fetch pages.
+     * @param errorHandler Called on the EDT when a page could not be loaded.
+     */
+    public LazyInterviewListModel(InterviewDao interviewDao, Consumer<SQLException> errorHandler) {
+        this(interviewDao, errorHandler, DEFAULT_PAGE_SIZE, Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "InterviewHistoryLoaderThread");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    LazyInterviewListModel(InterviewDao interviewDao, Consumer<SQLException> errorHandler, int pageSize, ExecutorService loader) {
+        this.interviewDao = Objects.requireNonNull(interviewDao, "InterviewDao cannot be null.");
+        this.errorHandler = Objects.requireNonNull(errorHandler, "Error handler cannot be null.");
+        this.pageSize = pageSize;
+        this.loader = loader;
+    }
+
+    @Override
+    public int getSize() {
+        return interviews.size();
+    }
+
+    @Override
+    public Interview getElementAt(int index) {
+        if (index >= interviews.size() - PREFETCH_DISTANCE) {
+            loadNextPage();
+        }
+        return interviews.get(index);
+    }
+
+    /**
+     * Requests the next page unless one is already loading or every interview has been loaded.
+     */
+    public void loadNextPage() {
+        if (loading || exhausted || loader.isShutdown()) {
+            return;
+        }
+        loading = true;
+        int requestGeneration = generation;
+        Interview after = interviews.isEmpty() ? null : interviews.getLast();
+        loader.execute(() -> {
+            try {
+                List<Interview> page = interviewDao.getInterviewPage(after, pageSize);
+                SwingUtilities.invokeLater(() -> appendPage(requestGeneration, page));
+            } catch (SQLException e) {
+                Logger.error("Failed to load a page of interview history.", e);
+                SwingUtilities.invokeLater(() -> failPage(requestGeneration, e));
+            }
+        });
+    }
+
+    /**
+     * Discards all loaded rows and starts again from the first page. Pages still in flight are ignored.
+     */
+    public void reload() {
+        generation++;
+        loading = false;
+        exhausted = false;
+        int size = interviews.size();
+        interviews.clear();
+        if (size > 0) {
+            fireIntervalRemoved(this, 0, size - 1);
+        }
+        loadNextPage();
+    }
+
+    /**
+     * Removes an interview from the loaded rows, e.g. after it has been deleted.
+     *
+     * @param interview The interview to remove, matched by ID.
+     */
+    public void remove(Interview interview) {
+        for (int i = 0; i < interviews.size(); i++) {
+            if (interviews.get(i).getId() == interview.getId()) {
+                interviews.remove(i);
+                fireIntervalRemoved(this, i, i);
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return True while a page is being fetched.
+     */
+    public boolean isLoading() {
+        return loading;
+    }
+
+    /**
+     * @return True once the last page has been loaded.
+     */
+    public boolean isExhausted() {
+        return exhausted;
+    }
+
+    /**
+     * Stops the background loader. Pages in flight are discarded. Safe to call from any thread.
+     */
+    public void close() {
+        loader.shutdownNow();
+    }
+
+    private void appendPage(int requestGeneration, List<Interview> page) {
+        if (requestGeneration != generation) {
+            return;
+        }
+        loading = false;
+        exhausted = page.size() < pageSize;
+        if (page.isEmpty()) {
+            return;
+        }
+        int first = interviews.size();
+        interviews.addAll(page);
+        fireIntervalAdded(this, first, interviews.size() - 1);
+    }
+
+    private void failPage(int requestGeneration, SQLException error) {
+        if (requestGeneration != generation) {
+            return;
+        }
+        loading = false;
+        exhausted = true; // Don't retry on every repaint; reload() tries again.
+        errorHandler.accept(error);
+    }
+}
@@ -0,0 +1,121 @@
+package com.quilot.ui.history;
+
+import com.quilot.ai.retrieval.TextTokenizer;
+
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Builds short HTML snippets of transcript text with the words of a search query in bold.
+ */
+final class SnippetHighlighter {
+
+    private SnippetHighlighter() {
+    }
+
+    /**
+     * Returns an HTML fragment (without the {@code <html>} tag) of at most about {@code maxChars}
+     * characters of {@code content}, centred on the first query match, with every matching word in bold.
+     *
+     * @param content The transcript text.
+     * @param query The search query; words are matched the same way the local index tokenizes them.
+     * @param maxChars The approximate maximum number of content characters to include.
+     * @return The escaped, highlighted snippet.
+     */
+    static String highlight(String content, String query, int maxChars) {
+        if (content == null) {
+            return "";
+        }
+        Set<String> terms = new HashSet<>(TextTokenizer.tokenize(query));
+
+        int firstMatch = -1;
+        for (int start = nextWordStart(content, 0); start < content.length(); start = nextWordStart(content, wordEnd(content, start))) {
+            if (terms.contains(content.substring(start, wordEnd(content, start)).toLowerCase(Locale.ROOT))) {
+                firstMatch = start;
+                break;
+            }
+        }
+
+        int from = 0;
+        if (firstMatch > maxChars / 3 && content.length() > maxChars) {
+            from = Math.min(firstMatch - maxChars / 3, content.length() - maxChars);
+            from = nextWordStart(content, Math.max(0, from));
+        }
+        int to = Math.min(content.length(), from + maxChars);
+        if (to < content.length()) {
+            int end = to;
+            while (end > from && Character.isLetterOrDigit(content.charAt(end))) {
+                end--; // Don't cut a word in half
+            }
+            to = end > from ? end : to;
+        }
+
+        StringBuilder html = new StringBuilder(to - from + 32);
+        if (from > 0) {
+            html.append("&hellip;");
+        }
+        int position = from;
+        while (position < to) {
+            int start = nextWordStart(content, position);
+            if (start >= to) {
+                escape(content, position, to, html);
+                break;
+            }
+            int end = Math.min(to, wordEnd(content, start));
+            escape(content, position, start, html);
+            boolean matches = terms.contains(content.substring(start, end).toLowerCase(Locale.ROOT));
+            if (matches) {
+                html.append("<b>");
+            }
+            escape(content, start, end, html);
+            if (matches) {
+                html.append("</b>");
+            }
+            position = end;
+        }
+        if (to < content.length()) {
+            html.append("&hellip;");
+        }
+        return html.toString();
+    }
+
+    /**
+     * Escapes text for inclusion in Swing HTML.
+     */
+    static String escape(String text) {
+        StringBuilder html = new StringBuilder(text.length());
+        escape(text, 0, text.length(), html);
+        return html.toString();
+    }
+
+    private static void escape(String text, int from, int to, StringBuilder html) {
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '&' -> html.append("&amp;");
+                case '<' -> html.append("&lt;");
+                case '>' -> html.append("&gt;");
+                case '"' -> html.append("&quot;");
+                case '\n', '\r' -> html.append(' ');
+                default -> html.append(c);
+            }
+        }
+    }
+
+    private static int nextWordStart(String text, int from) {
+        int i = from;
+        while (i < text.length() && !Character.isLetterOrDigit(text.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static int wordEnd(String text, int start) {
+        int i = start;
+        while (i < text.length() && Character.isLetterOrDigit(text.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+}
@@ -0,0 +1,163 @@
+package com.quilot.ui.history;
+
+import com.quilot.db.model.Interview;
+import com.quilot.db.model.TranscriptSearchHit;
+import com.quilot.db.search.TranscriptSearchService;
+import com.quilot.utils.Logger;
+import lombok.Getter;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.sql.SQLException;
+import java.time.format.DateTimeFormatter;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Shows ranked transcript search results with the matching words highlighted.
+ * Searches run on a background thread; results from superseded searches are discarded.
+ */
+@Getter
+public class TranscriptSearchPanel extends JPanel {
+
+    private static final int PAGE_SIZE = 25;
+    private static final int SNIPPET_CHARS = 160;
+
+    private final TranscriptSearchService searchService;
+    private final Consumer<Interview> openInterview;
+    private final ExecutorService searcher;
+    private final DefaultListModel<TranscriptSearchHit> resultModel = new DefaultListModel<>();
+    private final JList<TranscriptSearchHit> resultList = new JList<>(resultModel);
+    private final JLabel statusLabel = new JLabel(" ");
+    private final JButton moreButton = new JButton("Show More Results");
+
+    private String query = "";
+    private int generation;
+
+    /**
+     * Constructs a new TranscriptSearchPanel.
+     *
+     * @param searchService The service used to run searches.
+     * @param openInterview Called on the EDT when the user opens the interview of a result.
+     */
+    public TranscriptSearchPanel(TranscriptSearchService searchService, Consumer<Interview> openInterview) {
+        super(new BorderLayout(5, 5));
+        this.searchService = Objects.requireNonNull(searchService, "TranscriptSearchService cannot be null.");
+        this.openInterview = Objects.requireNonNull(openInterview, "Open callback cannot be null.");
+        this.searcher = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "TranscriptSearchThread");
+            thread.setDaemon(true);
+            return thread;
+        });
+        initComponents();
+    }
+
+    private void initComponents() {
+        resultList.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        resultList.setCellRenderer(new SearchHitCellRenderer());
+        resultList.addMouseListener(new MouseAdapter() {
+            public void mouseClicked(MouseEvent evt) {
+                if (evt.getClickCount() == 2) {
+                    openSelected();
+                }
+            }
+        });
+
+        moreButton.setEnabled(false);
+        moreButton.addActionListener(_ -> runSearch(resultModel.size()));
+
+        JPanel footer = new JPanel(new BorderLayout());
+        footer.add(statusLabel, BorderLayout.CENTER);
+        footer.add(moreButton, BorderLayout.EAST);
+
+        add(new JScrollPane(resultList), BorderLayout.CENTER);
+        add(footer, BorderLayout.SOUTH);
+    }
+
+    /**
+     * Starts a new search, replacing any current results.
+     *
+     * @param query The search text.
+     */
+    public void search(String query) {
+        this.query = query.trim();
+        generation++;
+        resultModel.clear();
+        runSearch(0);
+    }
+
+    /**
+     * Opens the interview of the selected result, if any.
+     */
+    public void openSelected() {
+        TranscriptSearchHit selected = resultList.getSelectedValue();
+        if (selected != null) {
+            openInterview.accept(selected.getInterview());
+        }
+    }
+
+    /**
+     * Stops the background search thread.
+     */
+    public void close() {
+        searcher.shutdownNow();
+    }
+
+    private void runSearch(int offset) {
+        int requestGeneration = generation;
+        String requestQuery = query;
+        moreButton.setEnabled(false);
+        statusLabel.setText("Searching...");
+        searcher.execute(() -> {
+            try {
+                TranscriptSearchService.Page page = searchService.search(requestQuery, offset, PAGE_SIZE);
+                SwingUtilities.invokeLater(() -> showPage(requestGeneration, page));
+            } catch (SQLException e) {
+                Logger.error("Transcript search failed for query: " + requestQuery, e);
+                SwingUtilities.invokeLater(() -> {
+                    if (requestGeneration == generation) {
+                        statusLabel.setText("Search failed: " + e.getMessage());
+                    }
+                });
+            }
+        });
+    }
+
+    private void showPage(int requestGeneration, TranscriptSearchService.Page page) {
+        if (requestGeneration != generation) {
+            return;
+        }
+        page.hits().forEach(resultModel::addElement);
+        moreButton.setEnabled(page.hasMore());
+        if (resultModel.isEmpty()) {
+            statusLabel.setText("No transcripts match \"" + query + "\".");
+        } else {
+            statusLabel.setText(String.format("%d%s result(s) in %d ms", resultModel.size(), page.hasMore() ? "+" : "", page.elapsedMillis()));
+        }
+    }
+
+    /**
+     * Renders a hit as the interview title, date and speaker above a highlighted snippet.
+     */
+    private class SearchHitCellRenderer extends DefaultListCellRenderer {
+        private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd 'at' HH:mm");
+
+        @Override
+        public Component getListCellRendererComponent(JList<?> list, Object value, int index, boolean isSelected, boolean cellHasFocus) {
+            super.getListCellRendererComponent(list, value, index, isSelected, cellHasFocus);
+            if (value instanceof TranscriptSearchHit hit) {
+                Interview interview = hit.getInterview();
+                setText(String.format("<html><b>%s</b> <small>%s &middot; %s</small><br>%s</html>",
+                        SnippetHighlighter.escape(Objects.toString(interview.getTitle(), "Untitled")),
+                        interview.getInterviewDate().format(FORMATTER),
+                        SnippetHighlighter.escape(hit.getEntry().getSpeaker()),
+                        SnippetHighlighter.highlight(hit.getEntry().getContent(), query, SNIPPET_CHARS)));
+            }
+            return this;
+        }
+    }
+}
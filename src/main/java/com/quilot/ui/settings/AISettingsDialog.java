@@ -1,7 +1,10 @@
 package com.quilot.ui.settings;
 
+import com.quilot.ai.settings.AIBackend;
 import com.quilot.ai.settings.AIConfigSettings;
+import com.quilot.ai.settings.FakeLatencyProfile;
 import com.quilot.ai.settings.IAISettingsManager;
+import com.quilot.ai.settings.ModelRaceMode;
 import com.quilot.ai.VertexAIService;
 import com.quilot.exceptions.ai.AIInitializationException;
 import com.quilot.exceptions.ai.AISettingsException;
@@ -30,6 +33,25 @@ public class AISettingsDialog extends JDialog {
     private JFormattedTextField maxOutputTokensField;
     private JFormattedTextField topPField;
     private JFormattedTextField topKField;
+    private JCheckBox speculativeGenerationCheckBox;
+    private JFormattedTextField speculationStabilityField;
+    private JTextArea knowledgeBaseFilesTextArea;
+    private JFormattedTextField retrievalTopKField;
+    private JFormattedTextField retrievalMaxContextBytesField;
+    private JComboBox<ModelRaceMode> raceModeComboBox;
+    private JTextField fastModelIdField;
+    private JFormattedTextField hedgeDelayField;
+    private JFormattedTextField upgradeWindowField;
+    private JFormattedTextField requestTimeoutField;
+    private JFormattedTextField circuitBreakerThresholdField;
+    private JFormattedTextField circuitBreakerOpenField;
+    private JComboBox<AIBackend> backendComboBox;
+    private JComboBox<FakeLatencyProfile> fakeLatencyProfileComboBox;
+    private JFormattedTextField fakeTimeToFirstTokenField;
+    private JFormattedTextField fakeTokensPerSecondField;
+    private JFormattedTextField fakeJitterField;
+    private JFormattedTextField fakeErrorRateField;
+    private JTextField fakeResponseTemplateField;
 
     private JButton saveButton;
     private JButton loadDefaultsButton;
@@ -118,6 +140,146 @@ public class AISettingsDialog extends JDialog {
         gbc.gridx = 0; gbc.gridy = 13; gbc.gridwidth = 3;
         add(new JLabel("<html><small>Top K tokens considered for sampling.</small></html>"), gbc);
 
+        // Speculative Generation
+        gbc.gridx = 0; gbc.gridy = 14; gbc.gridwidth = 1;
+        add(new JLabel("Speculative Generation:"), gbc);
+        gbc.gridx = 1; gbc.gridy = 14; gbc.gridwidth = 2; gbc.weightx = 1.0;
+        speculativeGenerationCheckBox = new JCheckBox("Start answering before the final transcript");
+        add(speculativeGenerationCheckBox, gbc);
+
+        // Speculation Stability
+        gbc.gridx = 0; gbc.gridy = 15; gbc.gridwidth = 1;
+        add(new JLabel("Stability Window (ms):"), gbc);
+        gbc.gridx = 1; gbc.gridy = 15; gbc.gridwidth = 2; gbc.weightx = 1.0;
+        speculationStabilityField = new JFormattedTextField(NumberFormat.getIntegerInstance());
+        speculationStabilityField.setColumns(5);
+        add(speculationStabilityField, gbc);
+        gbc.gridx = 0; gbc.gridy = 16; gbc.gridwidth = 3;
+        add(new JLabel("<html><small>How long an interim question must stay unchanged before it is sent.</small></html>"), gbc);
+
+        // Knowledge Base Files
+        gbc.gridx = 0; gbc.gridy = 17; gbc.gridwidth = 3;
+        add(new JLabel("Knowledge Base Files (one plain-text file path per line):"), gbc);
+        gbc.gridx = 0; gbc.gridy = 18; gbc.gridwidth = 3; gbc.weightx = 1.0;
+        knowledgeBaseFilesTextArea = new JTextArea(3, 30);
+        add(new JScrollPane(knowledgeBaseFilesTextArea), gbc);
+        gbc.gridx = 0; gbc.gridy = 19; gbc.gridwidth = 3;
+        add(new JLabel("<html><small>e.g., your resume and prep notes. Only the most relevant passages are sent.</small></html>"), gbc);
+
+        // Retrieval Top K
+        gbc.gridx = 0; gbc.gridy = 20; gbc.gridwidth = 1;
+        add(new JLabel("Passages per Question:"), gbc);
+        gbc.gridx = 1; gbc.gridy = 20; gbc.gridwidth = 2; gbc.weightx = 1.0;
+        retrievalTopKField = new JFormattedTextField(NumberFormat.getIntegerInstance());
+        retrievalTopKField.setColumns(5);
+        add(retrievalTopKField, gbc);
+
+        // Retrieval Byte Budget
+        gbc.gridx = 0; gbc.gridy = 21; gbc.gridwidth = 1;
+        add(new JLabel("Max Context Size (bytes):"), gbc);
+        gbc.gridx = 1; gbc.gridy = 21; gbc.gridwidth = 2; gbc.weightx = 1.0;
+        retrievalMaxContextBytesField = new JFormattedTextField(NumberFormat.getIntegerInstance());
+        retrievalMaxContextBytesField.setColumns(5);
+        add(retrievalMaxContextBytesField, gbc);
+
+        // Model Racing
+        gbc.gridx = 0; gbc.gridy = 22; gbc.gridwidth = 1;
+        add(new JLabel("Fast Model Racing:"), gbc);
+        gbc.gridx = 1; gbc.gridy = 22; gbc.gridwidth = 2; gbc.weightx = 1.0;
+        raceModeComboBox = new JComboBox<>(ModelRaceMode.values());
+        raceModeComboBox.setToolTipText("RACE queries both models at once; HEDGE queries the fast model only if the configured model is slow.");
+        add(raceModeComboBox, gbc);
+
+        gbc.gridx = 0; gbc.gridy = 23; gbc.gridwidth = 1;
+        add(new JLabel("Fast Model ID:"), gbc);
+        gbc.gridx = 1; gbc.gridy = 23; gbc.gridwidth = 2; gbc.weightx = 1.0;
+        fastModelIdField = new JTextField(20);
+        add(fastModelIdField, gbc);
+
+        gbc.gridx = 0; gbc.gridy = 24; gbc.gridwidth = 1;
+        add(new JLabel("Hedge Delay (ms):"), gbc);
+        gbc.gridx = 1; gbc.gridy = 24; gbc.gridwidth = 2; gbc.weightx = 1.0;
+        hedgeDelayField = new JFormattedTextField(NumberFormat.getIntegerInstance());
+        hedgeDelayField.setColumns(5);
+        hedgeDelayField.setToolTipText("Used until enough answers have been timed to hedge at the configured model's p95 latency.");
+        add(hedgeDelayField, gbc);
+
+        gbc.gridx = 0; gbc.gridy = 25; gbc.gridwidth = 1;
+        add(new JLabel("Upgrade Window (ms):"), gbc);
+        gbc.gridx = 1; gbc.gridy = 25; gbc.gridwidth = 2; gbc.weightx = 1.0;
+        upgradeWindowField = new JFormattedTextField(NumberFormat.getIntegerInstance());
+        upgradeWindowField.setColumns(5);
+        upgradeWindowField.setToolTipText("How long a fast answer may still be replaced by the configured model's answer.");
+        add(upgradeWindowField, gbc);
+
+        // Request Timeout
+        gbc.gridx = 0; gbc.gridy = 26; gbc.gridwidth = 1;
+        add(new JLabel("Request Timeout (ms):"), gbc);
+        gbc.gridx = 1; gbc.gridy = 26; gbc.gridwidth = 2; gbc.weightx = 1.0;
+        requestTimeoutField = new JFormattedTextField(NumberFormat.getIntegerInstance());
+        requestTimeoutField.setColumns(5);
+        add(requestTimeoutField, gbc);
+
+        // Circuit Breaker
+        gbc.gridx = 0; gbc.gridy = 27; gbc.gridwidth = 1;
+        add(new JLabel("Failures Before Pausing:"), gbc);
+        gbc.gridx = 1; gbc.gridy = 27; gbc.gridwidth = 2; gbc.weightx = 1.0;
+        circuitBreakerThresholdField = new JFormattedTextField(NumberFormat.getIntegerInstance());
+        circuitBreakerThresholdField.setColumns(5);
+        circuitBreakerThresholdField.setToolTipText("Consecutive timeouts or outage errors after which requests fail fast.");
+        add(circuitBreakerThresholdField, gbc);
+
+        gbc.gridx = 0; gbc.gridy = 28; gbc.gridwidth = 1;
+        add(new JLabel("Pause Duration (ms):"), gbc);
+        gbc.gridx = 1; gbc.gridy = 28; gbc.gridwidth = 2; gbc.weightx = 1.0;
+        circuitBreakerOpenField = new JFormattedTextField(NumberFormat.getIntegerInstance());
+        circuitBreakerOpenField.setColumns(5);
+        add(circuitBreakerOpenField, gbc);
+
+        // Backend
+        gbc.gridx = 0; gbc.gridy = 29; gbc.gridwidth = 1;
+        add(new JLabel("AI Backend:"), gbc);
+        gbc.gridx = 1; gbc.gridy = 29; gbc.gridwidth = 2; gbc.weightx = 1.0;
+        backendComboBox = new JComboBox<>(AIBackend.values());
+        backendComboBox.setToolTipText("FAKE answers locally with simulated latency, for testing without a Google Cloud project.");
+        add(backendComboBox, gbc);
+
+        // Simulated Latency
+        gbc.gridx = 0; gbc.gridy = 30; gbc.gridwidth = 1;
+        add(new JLabel("Simulated Latency:"), gbc);
+        gbc.gridx = 1; gbc.gridy = 30; gbc.gridwidth = 2; gbc.weightx = 1.0;
+        fakeLatencyProfileComboBox = new JComboBox<>(FakeLatencyProfile.values());
+        add(fakeLatencyProfileComboBox, gbc);
+
+        gbc.gridx = 0; gbc.gridy = 31; gbc.gridwidth = 1;
+        add(new JLabel("Custom (first token ms, tokens/s, jitter ms):"), gbc);
+        gbc.gridx = 1; gbc.gridy = 31; gbc.gridwidth = 2; gbc.weightx = 1.0;
+        fakeTimeToFirstTokenField = new JFormattedTextField(NumberFormat.getIntegerInstance());
+        fakeTimeToFirstTokenField.setColumns(5);
+        fakeTokensPerSecondField = new JFormattedTextField(NumberFormat.getIntegerInstance());
+        fakeTokensPerSecondField.setColumns(4);
+        fakeJitterField = new JFormattedTextField(NumberFormat.getIntegerInstance());
+        fakeJitterField.setColumns(5);
+        JPanel customLatencyPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 5, 0));
+        customLatencyPanel.add(fakeTimeToFirstTokenField);
+        customLatencyPanel.add(fakeTokensPerSecondField);
+        customLatencyPanel.add(fakeJitterField);
+        add(customLatencyPanel, gbc);
+
+        gbc.gridx = 0; gbc.gridy = 32; gbc.gridwidth = 1;
+        add(new JLabel("Simulated Error Rate (0-1):"), gbc);
+        gbc.gridx = 1; gbc.gridy = 32; gbc.gridwidth = 2; gbc.weightx = 1.0;
+        fakeErrorRateField = new JFormattedTextField(NumberFormat.getNumberInstance());
+        fakeErrorRateField.setColumns(5);
+        add(fakeErrorRateField, gbc);
+
+        gbc.gridx = 0; gbc.gridy = 33; gbc.gridwidth = 1;
+        add(new JLabel("Simulated Response:"), gbc);
+        gbc.gridx = 1; gbc.gridy = 33; gbc.gridwidth = 2; gbc.weightx = 1.0;
+        fakeResponseTemplateField = new JTextField(20);
+        fakeResponseTemplateField.setToolTipText("{prompt} is replaced with the question.");
+        add(fakeResponseTemplateField, gbc);
+
         // Buttons
         saveButton = new JButton("Save Settings");
         loadDefaultsButton = new JButton("Load Defaults");
@@ -128,7 +290,7 @@ public class AISettingsDialog extends JDialog {
         buttonPanel.add(loadDefaultsButton);
         buttonPanel.add(closeButton);
 
-        gbc.gridx = 0; gbc.gridy = 14; gbc.gridwidth = 3; gbc.fill = GridBagConstraints.NONE; gbc.anchor = GridBagConstraints.EAST;
+        gbc.gridx = 0; gbc.gridy = 34; gbc.gridwidth = 3; gbc.fill = GridBagConstraints.NONE; gbc.anchor = GridBagConstraints.EAST;
         add(buttonPanel, gbc);
 
         pack(); // Adjusts dialog size to fit components
@@ -150,6 +312,25 @@ public class AISettingsDialog extends JDialog {
         maxOutputTokensField.setValue(settings.getMaxOutputTokens());
         topPField.setValue(settings.getTopP());
         topKField.setValue(settings.getTopK());
+        speculativeGenerationCheckBox.setSelected(settings.isEnableSpeculativeGeneration());
+        speculationStabilityField.setValue(settings.getSpeculationStabilityMillis());
+        knowledgeBaseFilesTextArea.setText(settings.getKnowledgeBaseFiles());
+        retrievalTopKField.setValue(settings.getRetrievalTopK());
+        retrievalMaxContextBytesField.setValue(settings.getRetrievalMaxContextBytes());
+        raceModeComboBox.setSelectedItem(settings.getRaceMode());
+        fastModelIdField.setText(settings.getFastModelId());
+        hedgeDelayField.setValue(settings.getHedgeDelayMillis());
+        upgradeWindowField.setValue(settings.getUpgradeWindowMillis());
+        requestTimeoutField.setValue(settings.getRequestTimeoutMillis());
+        circuitBreakerThresholdField.setValue(settings.getCircuitBreakerFailureThreshold());
+        circuitBreakerOpenField.setValue(settings.getCircuitBreakerOpenMillis());
+        backendComboBox.setSelectedItem(settings.getBackend());
+        fakeLatencyProfileComboBox.setSelectedItem(settings.getFakeLatencyProfile());
+        fakeTimeToFirstTokenField.setValue(settings.getFakeTimeToFirstTokenMillis());
+        fakeTokensPerSecondField.setValue(settings.getFakeTokensPerSecond());
+        fakeJitterField.setValue(settings.getFakeJitterMillis());
+        fakeErrorRateField.setValue(settings.getFakeErrorRate());
+        fakeResponseTemplateField.setText(settings.getFakeResponseTemplate());
         Logger.info("AI settings loaded into UI.");
     }
 
@@ -159,7 +340,14 @@ public class AISettingsDialog extends JDialog {
             AIConfigSettings.AIConfigSettingsBuilder settingsBuilder = AIConfigSettings.builder()
                     .projectId(projectIdField.getText().trim())
                     .location(locationField.getText().trim())
-                    .modelId(modelIdField.getText().trim());
+                    .modelId(modelIdField.getText().trim())
+                    .enableSpeculativeGeneration(speculativeGenerationCheckBox.isSelected())
+                    .knowledgeBaseFiles(knowledgeBaseFilesTextArea.getText())
+                    .raceMode((ModelRaceMode) raceModeComboBox.getSelectedItem())
+                    .fastModelId(fastModelIdField.getText().trim())
+                    .backend((AIBackend) backendComboBox.getSelectedItem())
+                    .fakeLatencyProfile((FakeLatencyProfile) fakeLatencyProfileComboBox.getSelectedItem())
+                    .fakeResponseTemplate(fakeResponseTemplateField.getText());
 
             // CHANGE: Safely parse numbers from formatted fields.
             // This prevents NullPointerExceptions if a field is empty.
@@ -183,6 +371,66 @@ public class AISettingsDialog extends JDialog {
                 settingsBuilder.topK(((Number) topKValue).intValue());
             }
 
+            Object stabilityValue = speculationStabilityField.getValue();
+            if (stabilityValue instanceof Number) {
+                settingsBuilder.speculationStabilityMillis(((Number) stabilityValue).intValue());
+            }
+
+            Object retrievalTopKValue = retrievalTopKField.getValue();
+            if (retrievalTopKValue instanceof Number) {
+                settingsBuilder.retrievalTopK(((Number) retrievalTopKValue).intValue());
+            }
+
+            Object retrievalBytesValue = retrievalMaxContextBytesField.getValue();
+            if (retrievalBytesValue instanceof Number) {
+                settingsBuilder.retrievalMaxContextBytes(((Number) retrievalBytesValue).intValue());
+            }
+
+            Object hedgeDelayValue = hedgeDelayField.getValue();
+            if (hedgeDelayValue instanceof Number) {
+                settingsBuilder.hedgeDelayMillis(((Number) hedgeDelayValue).intValue());
+            }
+
+            Object upgradeWindowValue = upgradeWindowField.getValue();
+            if (upgradeWindowValue instanceof Number) {
+                settingsBuilder.upgradeWindowMillis(((Number) upgradeWindowValue).intValue());
+            }
+
+            Object requestTimeoutValue = requestTimeoutField.getValue();
+            if (requestTimeoutValue instanceof Number) {
+                settingsBuilder.requestTimeoutMillis(((Number) requestTimeoutValue).intValue());
+            }
+
+            Object thresholdValue = circuitBreakerThresholdField.getValue();
+            if (thresholdValue instanceof Number) {
+                settingsBuilder.circuitBreakerFailureThreshold(((Number) thresholdValue).intValue());
+            }
+
+            Object openValue = circuitBreakerOpenField.getValue();
+            if (openValue instanceof Number) {
+                settingsBuilder.circuitBreakerOpenMillis(((Number) openValue).intValue());
+            }
+
+            Object timeToFirstTokenValue = fakeTimeToFirstTokenField.getValue();
+            if (timeToFirstTokenValue instanceof Number) {
+                settingsBuilder.fakeTimeToFirstTokenMillis(((Number) timeToFirstTokenValue).intValue());
+            }
+
+            Object tokensPerSecondValue = fakeTokensPerSecondField.getValue();
+            if (tokensPerSecondValue instanceof Number) {
+                settingsBuilder.fakeTokensPerSecond(((Number) tokensPerSecondValue).intValue());
+            }
+
+            Object jitterValue = fakeJitterField.getValue();
+            if (jitterValue instanceof Number) {
+                settingsBuilder.fakeJitterMillis(((Number) jitterValue).intValue());
+            }
+
+            Object errorRateValue = fakeErrorRateField.getValue();
+            if (errorRateValue instanceof Number) {
+                settingsBuilder.fakeErrorRate(Math.min(1.0, Math.max(0.0, ((Number) errorRateValue).doubleValue())));
+            }
+
             AIConfigSettings newSettings = settingsBuilder.build();
 
             settingsManager.saveSettings(newSettings); // Save to preferences
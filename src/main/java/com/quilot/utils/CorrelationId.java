@@ -0,0 +1,101 @@
+package com.quilot.utils;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Identifies one utterance as it moves through speech recognition, AI generation and persistence.
+ * <p>
+ * The STT service assigns an ID with {@link #next()} when the first result of an utterance
+ * arrives, and passes it to its listener. Code that works on behalf of the utterance runs inside
+ * {@link #open(String)}, which makes the ID {@linkplain #current() current} on that thread, so
+ * every {@link Logger} message it writes is tagged with the ID. Work handed to another thread is
+ * wrapped with {@link #wrap(Runnable)} or {@link #wrapSupplier(Supplier)} to carry the ID along.
+ * The ID is also stored with each transcription entry, so the log lines of a question can be
+ * joined with its database rows.
+ * <p>
+ * IDs look like {@code 3f9a1c2e-17}: a random prefix per application run and a sequence number.
+ */
+public final class CorrelationId {
+
+    private static final String RUN_PREFIX = String.format("%08x", ThreadLocalRandom.current().nextInt());
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    /**
+     * Restores the previously current ID when closed.
+     */
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    private CorrelationId() {
+    }
+
+    /**
+     * @return A new ID, unique within this run and very likely across runs.
+     */
+    public static String next() {
+        return RUN_PREFIX + "-" + SEQUENCE.incrementAndGet();
+    }
+
+    /**
+     * @return The ID of the utterance the current thread is working on, or null.
+     */
+    public static String current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Makes the given ID current on this thread until the returned scope is closed.
+     *
+     * @param correlationId The ID, or null to run outside of any utterance.
+     * @return The scope to close, typically with try-with-resources.
+     */
+    public static Scope open(String correlationId) {
+        String previous = CURRENT.get();
+        set(correlationId);
+        return () -> set(previous);
+    }
+
+    /**
+     * @return A task that runs with the ID that is current now, on whichever thread runs it.
+     */
+    public static Runnable wrap(Runnable task) {
+        String correlationId = CURRENT.get();
+        if (correlationId == null) {
+            return task;
+        }
+        return () -> {
+            try (Scope _ = open(correlationId)) {
+                task.run();
+            }
+        };
+    }
+
+    /**
+     * @return A supplier that runs with the ID that is current now, on whichever thread runs it.
+     */
+    public static <T> Supplier<T> wrapSupplier(Supplier<T> supplier) {
+        String correlationId = CURRENT.get();
+        if (correlationId == null) {
+            return supplier;
+        }
+        return () -> {
+            try (Scope _ = open(correlationId)) {
+                return supplier.get();
+            }
+        };
+    }
+
+    private static void set(String correlationId) {
+        if (correlationId == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(correlationId);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.quilot.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A bounded, lock-free queue for many producers and a single consumer, backed by a ring of slots.
+ * <p>
+ * Every slot carries a sequence number that tells producers whether it is free and the consumer
+ * whether it has been filled (Vyukov's bounded queue). A producer claims a slot with a single CAS
+ * on the tail counter, so {@link #offer} never blocks or allocates; it fails when the ring is full.
+ * Only one thread may call {@link #poll}.
+ *
+ * @param <E> The element type.
+ */
+final class LogRingBuffer<E> {
+
+    private final Object[] slots;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head; // Written by the consumer only
+
+    /**
+     * @param capacity The number of slots; must be a power of two.
+     */
+    LogRingBuffer(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+        }
+        this.slots = new Object[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        this.mask = capacity - 1;
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Adds an element unless the ring is full. Safe to call from any thread.
+     *
+     * @return True if the element was added.
+     */
+    boolean offer(E element) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) position & mask;
+            long difference = sequences.getAcquire(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots[index] = element;
+                    sequences.setRelease(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false; // The slot still holds an element the consumer hasn't taken
+            } else {
+                position = tail.get(); // Another producer took this slot
+            }
+        }
+    }
+
+    /**
+     * Removes the oldest element. Must only be called by the consumer thread.
+     *
+     * @return The element, or null if none is ready.
+     */
+    @SuppressWarnings("unchecked")
+    E poll() {
+        long position = head;
+        int index = (int) position & mask;
+        if (sequences.getAcquire(index) != position + 1) {
+            return null;
+        }
+        E element = (E) slots[index];
+        slots[index] = null;
+        sequences.setRelease(index, position + slots.length);
+        head = position + 1;
+        return element;
+    }
+
+    /**
+     * @return True if no element is ready for the consumer.
+     */
+    boolean isEmpty() {
+        long position = head;
+        return sequences.get((int) position & mask) != position + 1;
+    }
+
+    /**
+     * @return The number of slots claimed by producers so far, including ones still being filled.
+     */
+    long producedCount() {
+        return tail.get();
+    }
+
+    /**
+     * @return The number of elements taken by the consumer so far.
+     */
+    long consumedCount() {
+        return head;
+    }
+}
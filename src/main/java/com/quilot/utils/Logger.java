@@ -1,86 +1,395 @@
 package com.quilot.utils;
 
-import java.time.format.DateTimeFormatter;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
 
 /**
  * Logger utility class for logging messages with different levels to console and a log file.
- * Supports INFO, WARN, and ERROR levels, including logging exceptions with stack traces.
+ * Supports DEBUG, INFO, WARN, and ERROR levels, including logging exceptions with stack traces.
+ * <p>
+ * Logging is asynchronous: a call below the current level returns after a single comparison, and
+ * any other call only puts an event into a lock-free ring buffer. A single "LoggerWriterThread"
+ * formats the events and writes them in batches, flushing once the buffer has been drained. When
+ * the buffer is full, events are dropped rather than blocking the caller (e.g. the audio thread),
+ * and the number of dropped events is logged afterwards.
+ * <p>
+ * Configured with system properties: {@code quilot.log.level} (default INFO),
+ * {@code quilot.log.caller} ({@code true} to capture the calling class and method, which costs a
+ * stack walk per call; otherwise the thread name is logged), {@code quilot.log.file} and
+ * {@code quilot.log.console} ({@code false} to only write to the file).
+ * <p>
+ * The log file is rolled over daily and when it exceeds {@code quilot.log.maxFileSize} bytes
+ * (default 10 MB). Rolled files are gzipped, and the oldest are deleted once the log takes more
+ * than {@code quilot.log.maxTotalSize} bytes (default 100 MB); see {@link RollingLogFile}. With
+ * {@code quilot.log.format=json}, the file gets one JSON object per line instead of plain text,
+ * while the console output stays plain text.
+ * <p>
+ * Messages logged while a {@link CorrelationId} is current are tagged with it, in brackets after
+ * the thread or caller, or as {@code correlationId} in JSON.
  */
 public class Logger {
 
-    private static final String LOG_FILE_NAME = "interview_copilot.log";
+    /**
+     * The severity of a log message, from least to most severe.
+     */
+    public enum Level {
+        DEBUG, INFO, WARN, ERROR
+    }
+
+    private static final String LOG_FILE_NAME = System.getProperty("quilot.log.file", "interview_copilot.log");
+    private static final boolean CONSOLE_ENABLED = !"false".equalsIgnoreCase(System.getProperty("quilot.log.console"));
+    private static final boolean JSON_FORMAT = "json".equalsIgnoreCase(System.getProperty("quilot.log.format"));
+    private static final long MAX_FILE_SIZE = Long.getLong("quilot.log.maxFileSize", 10L * 1024 * 1024);
+    private static final long MAX_TOTAL_SIZE = Long.getLong("quilot.log.maxTotalSize", 100L * 1024 * 1024);
     private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final int BUFFER_CAPACITY = 8192;
+    private static final int MAX_BATCH_SIZE = 512;
+    /** Upper bound on how late the writer notices an event if it raced with going to sleep. */
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 2000;
+
+    private record LogEvent(Level level, long epochMillis, String threadName, String caller,
+                            String correlationId, String message, Throwable throwable) {
+    }
+
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+    private static final LogRingBuffer<LogEvent> buffer = new LogRingBuffer<>(BUFFER_CAPACITY);
+    private static final AtomicLong droppedEvents = new AtomicLong();
+    private static final ExecutorService archiver = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "LoggerArchiveThread");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final RollingLogFile logFile = createLogFile();
+    // Only used by the writer thread.
+    private static final StringBuilder textBatch = new StringBuilder(16 * 1024);
+    private static final StringBuilder jsonBatch = new StringBuilder(16 * 1024);
+
+    private static volatile Level threshold = parseLevel(System.getProperty("quilot.log.level"));
+    private static volatile boolean captureCaller = Boolean.getBoolean("quilot.log.caller");
+    private static volatile boolean writerParked;
+    private static volatile boolean stopping;
+    private static volatile long flushedEvents;
+    private static volatile long reportedDrops; // Written by the writer thread only
 
-    private static final PrintWriter writer = createPrintWriter();
+    private static final Thread writerThread = new Thread(Logger::runWriter, "LoggerWriterThread");
 
     static {
-        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
-            if (writer != null) {
-                writer.close();
-            }
-        }));
+        writerThread.setDaemon(true);
+        writerThread.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(Logger::shutdown, "LoggerShutdownThread"));
     }
 
-    private static PrintWriter createPrintWriter() {
+    private static RollingLogFile createLogFile() {
         try {
-            return new PrintWriter(new FileWriter(LOG_FILE_NAME, true), true);
+            return new RollingLogFile(Path.of(LOG_FILE_NAME), MAX_FILE_SIZE, MAX_TOTAL_SIZE, Clock.systemDefaultZone(), archiver);
         } catch (IOException e) {
             System.err.println("CRITICAL: Failed to open log file for writing: " + e.getMessage());
             return null;
         }
     }
 
+    private static Level parseLevel(String value) {
+        if (value == null || value.isBlank()) {
+            return Level.INFO;
+        }
+        try {
+            return Level.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            System.err.println("Unknown log level '" + value + "', using INFO.");
+            return Level.INFO;
+        }
+    }
+
+    public static void debug(String message) {
+        log(Level.DEBUG, message, null);
+    }
+
+    /**
+     * Logs a DEBUG message that is only built when DEBUG is enabled.
+     *
+     * @param message Supplies the message; not called when DEBUG is disabled.
+     */
+    public static void debug(Supplier<String> message) {
+        if (isEnabled(Level.DEBUG)) {
+            log(Level.DEBUG, message.get(), null);
+        }
+    }
+
     public static void info(String message) {
-        log("INFO", message, null);
+        log(Level.INFO, message, null);
     }
 
     public static void warn(String message) {
-        log("WARN", message, null);
+        log(Level.WARN, message, null);
     }
 
     public static void error(String message) {
-        log("ERROR", message, null);
+        log(Level.ERROR, message, null);
     }
 
     public static void error(String message, Throwable throwable) {
-        log("ERROR", message, throwable);
+        log(Level.ERROR, message, throwable);
+    }
+
+    /**
+     * @return True if messages of the given level are currently logged.
+     */
+    public static boolean isEnabled(Level level) {
+        return level.compareTo(threshold) >= 0;
+    }
+
+    /**
+     * @return The least severe level that is currently logged.
+     */
+    public static Level getLevel() {
+        return threshold;
+    }
+
+    /**
+     * Sets the least severe level that is logged. Takes effect immediately on all threads.
+     */
+    public static void setLevel(Level level) {
+        threshold = level;
+    }
+
+    /**
+     * Enables or disables capturing the calling class and method of each message.
+     */
+    public static void setCallerCapture(boolean enabled) {
+        captureCaller = enabled;
+    }
+
+    /**
+     * @return The number of events dropped so far because the buffer was full.
+     */
+    public static long getDroppedCount() {
+        return droppedEvents.get() + reportedDrops;
+    }
+
+    /**
+     * @return The number of events waiting to be written.
+     */
+    public static long getQueueDepth() {
+        return Math.max(0, buffer.producedCount() - buffer.consumedCount());
     }
 
-    private static synchronized void log(String level, String message, Throwable throwable) {
-        if (writer == null) {
-            System.err.println("Logger is not initialized. Cannot write log.");
+    /**
+     * Waits until every message logged before this call has been written and flushed, or until a
+     * short timeout passes.
+     */
+    public static void flush() {
+        long target = buffer.producedCount();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(SHUTDOWN_TIMEOUT_MILLIS);
+        while (flushedEvents < target && writerThread.isAlive() && System.nanoTime() < deadline) {
+            LockSupport.unpark(writerThread);
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+    }
+
+    private static void log(Level level, String message, Throwable throwable) {
+        if (level.compareTo(threshold) < 0) {
+            return;
+        }
+        String caller = captureCaller ? getCallerInfo() : null;
+        LogEvent event = new LogEvent(level, System.currentTimeMillis(), Thread.currentThread().getName(),
+                caller, CorrelationId.current(), message, throwable);
+        if (!buffer.offer(event)) {
+            droppedEvents.incrementAndGet();
             return;
         }
+        if (writerParked) {
+            LockSupport.unpark(writerThread);
+        }
+    }
 
-        String timestamp = LocalDateTime.now().format(FORMATTER);
-        String caller = getCallerInfo();
-        String logEntry = String.format("[%s] [%s] [%s] %s", timestamp, level, caller, message);
+    private static String getCallerInfo() {
+        return STACK_WALKER.walk(frames -> frames
+                .filter(frame -> !frame.getClassName().equals(Logger.class.getName()))
+                .findFirst()
+                .map(frame -> {
+                    String className = frame.getClassName();
+                    return className.substring(className.lastIndexOf('.') + 1) + "." + frame.getMethodName() + "()";
+                })
+                .orElse("Unknown"));
+    }
 
-        System.out.println(logEntry);
-        writer.println(logEntry);
+    private static void runWriter() {
+        while (true) {
+            int count = 0;
+            LogEvent event;
+            while (count < MAX_BATCH_SIZE && (event = buffer.poll()) != null) {
+                append(event);
+                count++;
+            }
+            if (count > 0) {
+                writeBatch();
+                continue;
+            }
 
-        if (throwable != null) {
-            throwable.printStackTrace(System.out);
-            throwable.printStackTrace(writer);
+            long dropped = droppedEvents.getAndSet(0);
+            if (dropped > 0) {
+                reportedDrops += dropped;
+                append(new LogEvent(Level.WARN, System.currentTimeMillis(), writerThread.getName(), null, null,
+                        dropped + " log message(s) dropped because the log buffer was full.", null));
+                writeBatch();
+            }
+            flushOutputs();
+            flushedEvents = buffer.consumedCount();
+
+            if (stopping && buffer.isEmpty()) {
+                closeFile();
+                return;
+            }
+            writerParked = true;
+            if (buffer.isEmpty() && !stopping) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+            writerParked = false;
         }
     }
 
-    private static String getCallerInfo() {
-        StackTraceElement[] stack = Thread.currentThread().getStackTrace();
-
-        for (int i = 3; i < stack.length; i++) {
-            StackTraceElement element = stack[i];
-            String className = element.getClassName();
-            if (!className.equals(Logger.class.getName())) {
-                String simpleClassName = className.substring(className.lastIndexOf('.') + 1);
-                return simpleClassName + "." + element.getMethodName() + "()";
+    private static void append(LogEvent event) {
+        if (CONSOLE_ENABLED || !JSON_FORMAT) {
+            formatText(event, textBatch);
+        }
+        if (JSON_FORMAT) {
+            formatJson(event, jsonBatch);
+        }
+    }
+
+    private static void formatText(LogEvent event, StringBuilder out) {
+        out.append('[')
+                .append(FORMATTER.format(LocalDateTime.ofInstant(Instant.ofEpochMilli(event.epochMillis()), ZoneId.systemDefault())))
+                .append("] [").append(event.level()).append("] [")
+                .append(event.caller() != null ? event.caller() : event.threadName())
+                .append("] ");
+        if (event.correlationId() != null) {
+            out.append('[').append(event.correlationId()).append("] ");
+        }
+        out.append(event.message()).append(System.lineSeparator());
+        if (event.throwable() != null) {
+            StringWriter stackTrace = new StringWriter();
+            event.throwable().printStackTrace(new PrintWriter(stackTrace));
+            out.append(stackTrace);
+        }
+    }
+
+    private static void formatJson(LogEvent event, StringBuilder out) {
+        out.append("{\"timestamp\":\"")
+                .append(DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(
+                        OffsetDateTime.ofInstant(Instant.ofEpochMilli(event.epochMillis()), ZoneId.systemDefault())))
+                .append("\",\"level\":\"").append(event.level())
+                .append("\",\"thread\":");
+        appendJsonString(out, event.threadName());
+        if (event.caller() != null) {
+            out.append(",\"caller\":");
+            appendJsonString(out, event.caller());
+        }
+        if (event.correlationId() != null) {
+            out.append(",\"correlationId\":");
+            appendJsonString(out, event.correlationId());
+        }
+        out.append(",\"message\":");
+        appendJsonString(out, event.message());
+        if (event.throwable() != null) {
+            StringWriter stackTrace = new StringWriter();
+            event.throwable().printStackTrace(new PrintWriter(stackTrace));
+            out.append(",\"exception\":");
+            appendJsonString(out, stackTrace.toString());
+        }
+        out.append("}\n");
+    }
+
+    /**
+     * Appends a value as a quoted JSON string, escaping quotes, backslashes and control characters.
+     */
+    static void appendJsonString(StringBuilder out, String value) {
+        if (value == null) {
+            out.append("null");
+            return;
+        }
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+                }
+            }
+        }
+        out.append('"');
+    }
+
+    private static void writeBatch() {
+        if (CONSOLE_ENABLED) {
+            System.out.print(textBatch);
+        }
+        if (logFile != null) {
+            try {
+                logFile.write(JSON_FORMAT ? jsonBatch : textBatch);
+            } catch (IOException e) {
+                System.err.println("Failed to write to log file: " + e.getMessage());
             }
         }
+        textBatch.setLength(0);
+        jsonBatch.setLength(0);
+    }
 
-        return "Unknown";
+    private static void flushOutputs() {
+        if (CONSOLE_ENABLED) {
+            System.out.flush();
+        }
+        if (logFile != null) {
+            try {
+                logFile.flush();
+            } catch (IOException e) {
+                System.err.println("Failed to flush log file: " + e.getMessage());
+            }
+        }
+    }
+
+    private static void closeFile() {
+        if (logFile != null) {
+            try {
+                logFile.close();
+            } catch (IOException e) {
+                System.err.println("Failed to close log file: " + e.getMessage());
+            }
+        }
+    }
+
+    private static void shutdown() {
+        stopping = true;
+        LockSupport.unpark(writerThread);
+        try {
+            writerThread.join(SHUTDOWN_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
     }
 }
@@ -0,0 +1,208 @@
+package com.quilot.utils;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A log file that is rolled over when it reaches a size limit or when the day changes.
+ * <p>
+ * A rolled file is renamed to {@code <name>.<date>.<index>.log}, where the date is the day it was
+ * written, and then compressed to {@code .log.gz} on the archive executor. After each roll, the
+ * oldest archives are deleted until a full active file and all archives together fit in the total
+ * size limit. Only the thread that writes may call {@link #write}, {@link #flush} and {@link #close}.
+ */
+final class RollingLogFile implements Closeable {
+
+    private static final String EXTENSION = ".log";
+    private static final String ARCHIVE_EXTENSION = ".gz";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path file;
+    private final String baseName;
+    private final long maxFileSize;
+    private final long maxTotalSize;
+    private final Clock clock;
+    private final Executor archiver;
+
+    private OutputStream out;
+    private long size;
+    private LocalDate fileDate;
+
+    /**
+     * Opens the file for appending and schedules compression of any rolled files left uncompressed
+     * by a previous run.
+     *
+     * @param file The active log file; its name should end in {@code .log}.
+     * @param maxFileSize The size in bytes after which the file is rolled.
+     * @param maxTotalSize The size in bytes that the active file and all archives may take together.
+     * @param clock Decides when the day changes.
+     * @param archiver Runs compression and cleanup of rolled files.
+     */
+    RollingLogFile(Path file, long maxFileSize, long maxTotalSize, Clock clock, Executor archiver) throws IOException {
+        this.file = file.toAbsolutePath();
+        String name = this.file.getFileName().toString();
+        this.baseName = name.endsWith(EXTENSION) ? name.substring(0, name.length() - EXTENSION.length()) : name;
+        this.maxFileSize = maxFileSize;
+        this.maxTotalSize = maxTotalSize;
+        this.clock = clock;
+        this.archiver = archiver;
+
+        if (Files.exists(this.file)) {
+            size = Files.size(this.file);
+            fileDate = LocalDate.ofInstant(Files.getLastModifiedTime(this.file).toInstant(), clock.getZone());
+        } else {
+            fileDate = today();
+        }
+        open();
+        List<Path> leftovers = listArchives().stream()
+                .filter(path -> !path.getFileName().toString().endsWith(ARCHIVE_EXTENSION))
+                .toList();
+        archiver.execute(() -> {
+            leftovers.forEach(RollingLogFile::compress);
+            enforceTotalSize();
+        });
+    }
+
+    /**
+     * Appends text to the file, rolling it over first if the text would not fit or the day changed.
+     */
+    void write(CharSequence text) throws IOException {
+        byte[] bytes = text.toString().getBytes(StandardCharsets.UTF_8);
+        if (size > 0 && (size + bytes.length > maxFileSize || !today().equals(fileDate))) {
+            roll();
+        }
+        out.write(bytes);
+        size += bytes.length;
+    }
+
+    void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    /**
+     * @return The size of the active file in bytes, including buffered output.
+     */
+    long size() {
+        return size;
+    }
+
+    private void open() throws IOException {
+        out = new BufferedOutputStream(Files.newOutputStream(file,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND), BUFFER_SIZE);
+    }
+
+    private void roll() throws IOException {
+        out.close();
+        Path rolled = nextRolledPath();
+        Files.move(file, rolled);
+        size = 0;
+        fileDate = today();
+        open();
+        archiver.execute(() -> {
+            compress(rolled);
+            enforceTotalSize();
+        });
+    }
+
+    private Path nextRolledPath() {
+        String prefix = baseName + "." + fileDate + ".";
+        for (int index = 1; ; index++) {
+            Path candidate = file.resolveSibling(prefix + index + EXTENSION);
+            if (!Files.exists(candidate) && !Files.exists(candidate.resolveSibling(candidate.getFileName() + ARCHIVE_EXTENSION))) {
+                return candidate;
+            }
+        }
+    }
+
+    private LocalDate today() {
+        return LocalDate.now(clock);
+    }
+
+    private static void compress(Path rolled) {
+        Path archive = rolled.resolveSibling(rolled.getFileName() + ARCHIVE_EXTENSION);
+        Path partial = rolled.resolveSibling(archive.getFileName() + ".tmp");
+        try (InputStream in = Files.newInputStream(rolled);
+             OutputStream gzip = new GZIPOutputStream(Files.newOutputStream(partial), BUFFER_SIZE)) {
+            in.transferTo(gzip);
+        } catch (IOException e) {
+            System.err.println("Failed to compress rolled log file " + rolled + ": " + e.getMessage());
+            return;
+        }
+        try {
+            Files.move(partial, archive, StandardCopyOption.REPLACE_EXISTING);
+            Files.delete(rolled);
+        } catch (IOException e) {
+            System.err.println("Failed to replace rolled log file " + rolled + " with its archive: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Deletes the oldest archives until they fit in the total size limit next to an active file of
+     * the maximum size, which the active file can grow to before the next roll.
+     */
+    private void enforceTotalSize() {
+        try {
+            List<Path> archives = new ArrayList<>(listArchives());
+            archives.sort(Comparator.comparing(RollingLogFile::lastModified).thenComparing(Path::toString));
+            long total = Math.max(Files.exists(file) ? Files.size(file) : 0, maxFileSize);
+            for (Path archive : archives) {
+                total += Files.size(archive);
+            }
+            for (Path archive : archives) {
+                if (total <= maxTotalSize) {
+                    break;
+                }
+                long archiveSize = Files.size(archive);
+                Files.deleteIfExists(archive);
+                total -= archiveSize;
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to enforce the log size limit: " + e.getMessage());
+        }
+    }
+
+    /**
+     * @return Rolled files of this log, compressed or not.
+     */
+    List<Path> listArchives() throws IOException {
+        List<Path> archives = new ArrayList<>();
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(file.getParent(), baseName + ".*")) {
+            for (Path entry : entries) {
+                String name = entry.getFileName().toString();
+                if (!entry.equals(file) && (name.endsWith(EXTENSION) || name.endsWith(EXTENSION + ARCHIVE_EXTENSION))) {
+                    archives.add(entry);
+                }
+            }
+        }
+        return archives;
+    }
+
+    private static long lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.quilot.utils;
+
+import javax.swing.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs one-off background work for the UI, so that nothing blocking runs on the EDT.
+ * <p>
+ * {@link #io} runs each task on its own virtual thread, for work that mostly waits: database
+ * queries, credential checks, opening audio devices and playback. {@link #cpu} runs tasks on a
+ * small pool of platform threads, one per core, with a bounded queue, for work that computes.
+ * Both return a {@link CompletableFuture}; callbacks that touch Swing components are attached with
+ * {@code whenCompleteAsync(..., TaskExecutors.edt())} so they run on the EDT. The task inherits the
+ * current {@link CorrelationId}, and a failure is logged at debug level with the task's name
+ * before it completes the future.
+ * <p>
+ * Long-lived components with their own ordering needs, such as the database writers, keep their
+ * dedicated threads.
+ */
+public final class TaskExecutors {
+
+    private static final int CPU_QUEUE_CAPACITY = 256;
+
+    private static final ExecutorService IO = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("IoTaskThread-", 1).factory());
+    private static final ExecutorService CPU = createCpuPool();
+    private static final Executor EDT = SwingUtilities::invokeLater;
+
+    private TaskExecutors() {
+    }
+
+    private static ExecutorService createCpuPool() {
+        int threads = Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(CPU_QUEUE_CAPACITY), runnable -> {
+            Thread thread = new Thread(runnable, "CpuTaskThread-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Runs a blocking task on a new virtual thread.
+     *
+     * @param name Describes the task in log messages, e.g. "Save interview title".
+     * @param task The work to do.
+     * @return Completes with the task's result or the exception it threw.
+     */
+    public static <T> CompletableFuture<T> io(String name, Callable<T> task) {
+        return submit(IO, name, task);
+    }
+
+    /**
+     * Runs a computing task on the shared CPU pool. If the pool's queue is full, the future
+     * completes with a {@link RejectedExecutionException} instead of blocking the caller.
+     *
+     * @param name Describes the task in log messages.
+     * @param task The work to do.
+     * @return Completes with the task's result or the exception it threw.
+     */
+    public static <T> CompletableFuture<T> cpu(String name, Callable<T> task) {
+        return submit(CPU, name, task);
+    }
+
+    /**
+     * @return An executor that runs callbacks on the EDT.
+     */
+    public static Executor edt() {
+        return EDT;
+    }
+
+    /**
+     * @return The exception a task threw, without the {@link CompletionException} that dependent
+     *         stages wrap it in.
+     */
+    public static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    private static <T> CompletableFuture<T> submit(ExecutorService executor, String name, Callable<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            executor.execute(CorrelationId.wrap(() -> {
+                try {
+                    future.complete(task.call());
+                } catch (Exception e) {
+                    Logger.debug(() -> "Background task '" + name + "' failed: " + e);
+                    future.completeExceptionally(e);
+                }
+            }));
+        } catch (RejectedExecutionException e) {
+            Logger.warn("Background task '" + name + "' was rejected: " + e.getMessage());
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+}
@@ -1,5 +1,12 @@
 -- Create a new database for the application, if you haven't already.
 -- It's recommended to use a dedicated database.
+--
+-- This is the baseline schema. Every later change is a versioned migration in
+-- com.quilot.db.migration.SchemaMigrations, applied when the application connects,
+-- so existing databases are upgraded too. Don't change the tables here; add a migration.
+--
+-- The embedded (H2) database runs this script in MySQL compatibility mode, without
+-- CREATE DATABASE and USE, and with VISIBLE dropped. Keep other syntax portable.
 CREATE DATABASE IF NOT EXISTS quilot_interviews;
 
 -- Switch to the new database.
@@ -36,4 +43,3 @@ CREATE TABLE IF NOT EXISTS transcription_entries (
     REFERENCES `interviews` (`id`)
     ON DELETE CASCADE
     ON UPDATE NO ACTION);
-
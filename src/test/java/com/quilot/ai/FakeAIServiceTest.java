@@ -0,0 +1,87 @@
+package com.quilot.ai;
+
+import com.quilot.ai.settings.AIConfigSettings;
+import com.quilot.ai.settings.FakeLatencyProfile;
+import com.quilot.ai.settings.IAISettingsManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Random;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link FakeAIService} class.
+ */
+@ExtendWith(MockitoExtension.class)
+class FakeAIServiceTest {
+
+    @Mock
+    private IAISettingsManager mockSettingsManager;
+    @Mock
+    private IAIService.AIResponseListener mockListener;
+
+    private FakeAIService service;
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should answer with the filled template after the custom latency")
+    void generateResponse_CustomProfile_DeliversTemplatedResponse() {
+        useSettings(AIConfigSettings.builder()
+                .fakeLatencyProfile(FakeLatencyProfile.CUSTOM)
+                .fakeTimeToFirstTokenMillis(50)
+                .fakeTokensPerSecond(100)
+                .fakeJitterMillis(0)
+                .fakeResponseTemplate("Answer to {prompt}")
+                .build());
+
+        service.generateResponse(" What is Java? ", mockListener);
+
+        verify(mockListener, after(20).never()).onResponse(anyString());
+        verify(mockListener, timeout(1000)).onResponse("Answer to What is Java?");
+    }
+
+    @Test
+    @DisplayName("Should report a classified failure when errors are injected")
+    void generateResponse_FullErrorRate_ReportsFailure() {
+        useSettings(AIConfigSettings.builder()
+                .fakeLatencyProfile(FakeLatencyProfile.INSTANT)
+                .fakeErrorRate(1.0)
+                .build());
+
+        service.generateResponse("Why?", mockListener);
+
+        verify(mockListener, timeout(1000)).onFailure(any(AIFailureType.class), anyString());
+        verify(mockListener, never()).onResponse(anyString());
+    }
+
+    @Test
+    @DisplayName("Should drop pending responses when the generation is cancelled")
+    void cancelGeneration_DropsPendingResponse() {
+        useSettings(AIConfigSettings.builder()
+                .fakeLatencyProfile(FakeLatencyProfile.CUSTOM)
+                .fakeTimeToFirstTokenMillis(100)
+                .fakeJitterMillis(0)
+                .build());
+
+        service.generateResponse("Why?", mockListener);
+        service.cancelGeneration();
+
+        verify(mockListener, after(300).never()).onResponse(anyString());
+    }
+
+    private void useSettings(AIConfigSettings settings) {
+        when(mockSettingsManager.loadSettings()).thenReturn(settings);
+        service = new FakeAIService(mockSettingsManager, new Random(7));
+    }
+}
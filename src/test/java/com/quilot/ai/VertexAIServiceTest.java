@@ -0,0 +1,78 @@
+package com.quilot.ai;
+
+import com.quilot.ai.settings.AIConfigSettings;
+import com.quilot.ai.settings.IAISettingsManager;
+import com.google.cloud.vertexai.api.GenerateContentResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link VertexAIService} class.
+ */
+@ExtendWith(MockitoExtension.class)
+class VertexAIServiceTest {
+
+    @Mock
+    private IAISettingsManager mockSettingsManager;
+    @Mock
+    private IAIService.AIResponseListener mockListener;
+
+    /** A stream that never delivers a chunk, like a hung server stream, until its thread is interrupted. */
+    private static Iterable<GenerateContentResponse> hungStream(CountDownLatch interrupted) {
+        return () -> new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                try {
+                    new CountDownLatch(1).await();
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                    throw new RuntimeException("Interrupted while waiting for the next chunk.", e);
+                }
+                return false;
+            }
+
+            @Override
+            public GenerateContentResponse next() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    @Test
+    @DisplayName("Should interrupt a hung stream at the deadline, freeing its worker for the next request")
+    void generateResponse_HungStream_FreesWorkerAtDeadline() throws Exception {
+        when(mockSettingsManager.loadSettings()).thenReturn(AIConfigSettings.builder().requestTimeoutMillis(200).build());
+        CountDownLatch interrupted = new CountDownLatch(1);
+        CountDownLatch hung = new CountDownLatch(1);
+        VertexAIService service = new VertexAIService(mockSettingsManager, (_, _, _) -> {
+            if (hung.getCount() > 0) {
+                hung.countDown();
+                return hungStream(interrupted);
+            }
+            return Collections.emptyList();
+        });
+
+        service.generateResponse("What is a deadlock?", mockListener);
+
+        verify(mockListener, timeout(2000)).onFailure(eq(AIFailureType.TIMEOUT), anyString());
+        assertTrue(interrupted.await(2, TimeUnit.SECONDS), "The hung stream should be interrupted.");
+
+        service.generateResponse("What is a livelock?", mockListener);
+
+        verify(mockListener, timeout(2000)).onResponse("[AI: No response generated.]");
+        verify(mockListener, never()).onError(anyString());
+    }
+}
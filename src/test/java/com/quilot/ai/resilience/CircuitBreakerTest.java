@@ -0,0 +1,87 @@
+package com.quilot.ai.resilience;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link CircuitBreaker} class.
+ */
+class CircuitBreakerTest {
+
+    private final AtomicLong clock = new AtomicLong(0);
+    private CircuitBreaker breaker;
+
+    @BeforeEach
+    void setUp() {
+        breaker = new CircuitBreaker("test", 2, 1000, clock::get);
+    }
+
+    @Test
+    @DisplayName("Should open after the failure threshold and fail fast until the open duration elapses")
+    void recordFailure_ReachingThreshold_OpensCircuit() {
+        assertTrue(breaker.tryAcquire());
+        breaker.recordFailure();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+
+        assertTrue(breaker.tryAcquire());
+        breaker.recordFailure();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire());
+
+        clock.set(400);
+        assertEquals(600, breaker.getRemainingOpenMillis());
+        assertFalse(breaker.tryAcquire());
+    }
+
+    @Test
+    @DisplayName("Should allow a single trial request when half-open and close on success")
+    void tryAcquire_AfterOpenDuration_AllowsOneTrial() {
+        breaker.tryAcquire();
+        breaker.recordFailure();
+        breaker.tryAcquire();
+        breaker.recordFailure();
+
+        clock.set(1000);
+        assertTrue(breaker.tryAcquire(), "The first request after the open duration should be a trial.");
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire(), "Only one trial may be in flight.");
+
+        breaker.recordSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.tryAcquire());
+    }
+
+    @Test
+    @DisplayName("Should re-open immediately when the trial request fails")
+    void recordFailure_WhileHalfOpen_ReopensCircuit() {
+        breaker.tryAcquire();
+        breaker.recordFailure();
+        breaker.tryAcquire();
+        breaker.recordFailure();
+
+        clock.set(1500);
+        assertTrue(breaker.tryAcquire());
+        breaker.recordFailure();
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertEquals(1000, breaker.getRemainingOpenMillis());
+    }
+
+    @Test
+    @DisplayName("Should reset the failure count after a success")
+    void recordSuccess_ResetsConsecutiveFailures() {
+        breaker.tryAcquire();
+        breaker.recordFailure();
+        breaker.tryAcquire();
+        breaker.recordSuccess();
+        breaker.tryAcquire();
+        breaker.recordFailure();
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+}
@@ -0,0 +1,84 @@
+package com.quilot.ai.retrieval;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * A standalone benchmark for {@link Bm25Index} build and query performance on a synthetic corpus
+ * with a Zipf-like vocabulary. It is not a unit test and is not run by the build.
+ * <p>
+ * Run with: {@code java -cp target/classes:target/test-classes com.quilot.ai.retrieval.Bm25IndexBenchmark [passages]}
+ */
+public class Bm25IndexBenchmark {
+
+    private static final int VOCABULARY_SIZE = 20_000;
+    private static final int WORDS_PER_PASSAGE = 120;
+    private static final int QUERIES = 5_000;
+    private static final int WARMUP_ROUNDS = 3;
+
+    public static void main(String[] args) {
+        int passageCount = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        Random random = new Random(42);
+        String[] vocabulary = new String[VOCABULARY_SIZE];
+        for (int i = 0; i < VOCABULARY_SIZE; i++) {
+            vocabulary[i] = "term" + Integer.toString(i, 36);
+        }
+
+        List<String> passages = new ArrayList<>(passageCount);
+        for (int i = 0; i < passageCount; i++) {
+            passages.add(randomText(random, vocabulary, WORDS_PER_PASSAGE));
+        }
+        List<String> queries = new ArrayList<>(QUERIES);
+        for (int i = 0; i < QUERIES; i++) {
+            queries.add(randomText(random, vocabulary, 12));
+        }
+
+        Bm25Index index = null;
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            index = Bm25Index.build(passages);
+            runQueries(index, queries);
+        }
+
+        long buildStart = System.nanoTime();
+        index = Bm25Index.build(passages);
+        long buildNanos = System.nanoTime() - buildStart;
+
+        long[] latencies = runQueries(index, queries);
+        Arrays.sort(latencies);
+        long total = Arrays.stream(latencies).sum();
+
+        System.out.printf("Passages: %d, terms: %d%n", index.size(), index.termCount());
+        System.out.printf("Build: %.1f ms (%.1f passages/ms)%n", buildNanos / 1e6, passageCount / (buildNanos / 1e6));
+        System.out.printf("Query: %.0f queries/s, p50=%.1f us, p99=%.1f us, max=%.1f us%n",
+                QUERIES / (total / 1e9),
+                latencies[latencies.length / 2] / 1e3,
+                latencies[(int) (latencies.length * 0.99)] / 1e3,
+                latencies[latencies.length - 1] / 1e3);
+    }
+
+    private static long[] runQueries(Bm25Index index, List<String> queries) {
+        long[] latencies = new long[queries.size()];
+        int sink = 0;
+        for (int i = 0; i < queries.size(); i++) {
+            long start = System.nanoTime();
+            sink += index.search(queries.get(i), 3).size();
+            latencies[i] = System.nanoTime() - start;
+        }
+        if (sink < 0) {
+            System.out.println(sink); // Prevents the JIT from eliminating the searches
+        }
+        return latencies;
+    }
+
+    private static String randomText(Random random, String[] vocabulary, int words) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            // Squaring a uniform sample skews selection toward low ranks, approximating a Zipf distribution.
+            double skewed = random.nextDouble() * random.nextDouble();
+            text.append(vocabulary[(int) (skewed * vocabulary.length)]).append(' ');
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,77 @@
+package com.quilot.ai.retrieval;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link Bm25Index} and {@link KnowledgeBase} classes.
+ */
+class Bm25IndexTest {
+
+    private static final List<String> PASSAGES = List.of(
+            "Led the migration of the billing platform from a monolith to Kafka based microservices.",
+            "Mentored three junior engineers and introduced code review guidelines.",
+            "Built a Kafka consumer pipeline processing two million events per day with exactly once semantics.",
+            "Hobbies include climbing and photography."
+    );
+
+    @Test
+    @DisplayName("Should rank passages with more occurrences of the query terms higher")
+    void search_RanksMostRelevantPassageFirst() {
+        Bm25Index index = Bm25Index.build(PASSAGES);
+
+        List<Bm25Index.Hit> hits = index.search("Tell me about your Kafka consumer experience", 2);
+
+        assertEquals(2, hits.size());
+        assertEquals(2, hits.get(0).documentId(), "The consumer pipeline passage should rank first.");
+        assertEquals(0, hits.get(1).documentId());
+        assertTrue(hits.get(0).score() > hits.get(1).score());
+    }
+
+    @Test
+    @DisplayName("Should score passages added one at a time the same as a list built at once")
+    void builder_AddedIncrementally_MatchesListBuild() {
+        Bm25Index.Builder builder = new Bm25Index.Builder();
+        for (int i = 0; i < PASSAGES.size(); i++) {
+            assertEquals(i, builder.add(PASSAGES.get(i)));
+        }
+
+        Bm25Index index = builder.build();
+
+        assertEquals(PASSAGES.size(), index.size());
+        assertEquals(Bm25Index.build(PASSAGES).search("Kafka consumer", 3), index.search("Kafka consumer", 3));
+    }
+
+    @Test
+    @DisplayName("Should return no hits for unknown terms or an empty index")
+    void search_NoMatches_ReturnsEmptyList() {
+        assertTrue(Bm25Index.build(PASSAGES).search("kubernetes", 3).isEmpty());
+        assertTrue(Bm25Index.build(List.of()).search("kafka", 3).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should skip passages that would exceed the byte budget")
+    void buildContext_RespectsByteBudget(@TempDir Path tempDir) throws IOException {
+        String longPassage = "Kafka ".repeat(60).trim();
+        String shortPassage = "Kafka streams.";
+        Path notes = tempDir.resolve("notes.txt");
+        Files.writeString(notes, longPassage + "\n\n" + "filler ".repeat(120) + "\n\n" + shortPassage);
+
+        KnowledgeBase knowledgeBase = new KnowledgeBase();
+        knowledgeBase.ensureIndexed(List.of(notes.toString()));
+
+        String context = knowledgeBase.buildContext("kafka", 3, 100);
+        assertEquals(shortPassage, context, "Only the passage that fits into the budget should be included.");
+        assertTrue(context.getBytes(StandardCharsets.UTF_8).length <= 100);
+        assertEquals("", new KnowledgeBase().buildContext("kafka", 3, 1000), "An empty knowledge base should yield no context.");
+    }
+}
@@ -0,0 +1,97 @@
+package com.quilot.ai.speculation;
+
+import com.quilot.ai.IAIService;
+import com.quilot.ai.settings.AIConfigSettings;
+import com.quilot.ai.settings.IAISettingsManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link SpeculativeGenerationManager} class.
+ */
+@ExtendWith(MockitoExtension.class)
+class SpeculativeGenerationManagerTest {
+
+    @Mock
+    private IAIService mockAiService;
+    @Mock
+    private IAISettingsManager mockSettingsManager;
+    @Mock
+    private IAIService.AIResponseListener mockListener;
+
+    private SpeculativeGenerationManager manager;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(mockAiService.getSettingsManager()).thenReturn(mockSettingsManager);
+        lenient().when(mockSettingsManager.loadSettings()).thenReturn(AIConfigSettings.builder()
+                .enableSpeculativeGeneration(true)
+                .speculationStabilityMillis(10)
+                .build());
+        manager = new SpeculativeGenerationManager(mockAiService, text -> true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        manager.shutdown();
+    }
+
+    @Test
+    @DisplayName("Similarity should ignore case and punctuation")
+    void similarity_IgnoresCaseAndPunctuation() {
+        assertEquals(1.0, SpeculativeGenerationManager.similarity("What is polymorphism", "what is polymorphism?"));
+        assertTrue(SpeculativeGenerationManager.similarity("What is polymorphism", "What is polymorphism in Java")
+                < SpeculativeGenerationManager.COMMIT_SIMILARITY_THRESHOLD);
+    }
+
+    @Test
+    @DisplayName("Matching final transcript should commit the speculative answer without a second request")
+    void submitFinal_MatchingTranscript_CommitsSpeculation() {
+        manager.onInterimTranscript("Explain dependency injection");
+
+        ArgumentCaptor<IAIService.AIResponseListener> captor = ArgumentCaptor.forClass(IAIService.AIResponseListener.class);
+        verify(mockAiService, timeout(1000)).generateResponse(eq("Explain dependency injection"), captor.capture());
+        captor.getValue().onResponse("It is a design pattern.");
+
+        manager.submitFinal("Explain dependency injection.", mockListener);
+
+        verify(mockListener).onResponse("It is a design pattern.");
+        verify(mockAiService, times(1)).generateResponse(any(), any());
+        assertEquals(1, manager.getMetrics().getHits());
+    }
+
+    @Test
+    @DisplayName("Diverging final transcript should cancel the speculation and restart generation")
+    void submitFinal_DivergingTranscript_CancelsAndRestarts() {
+        manager.onInterimTranscript("What is a thread");
+        verify(mockAiService, timeout(1000)).generateResponse(eq("What is a thread"), any());
+
+        manager.submitFinal("What is a thread pool and when would you size it", mockListener);
+
+        verify(mockAiService).cancelGeneration();
+        verify(mockAiService).generateResponse("What is a thread pool and when would you size it", mockListener);
+        assertEquals(1, manager.getMetrics().getMisses());
+    }
+
+    @Test
+    @DisplayName("Should not speculate when the feature is disabled")
+    void onInterimTranscript_Disabled_DoesNotSpeculate() throws InterruptedException {
+        when(mockSettingsManager.loadSettings()).thenReturn(AIConfigSettings.builder().build());
+
+        manager.onInterimTranscript("What is a thread");
+        Thread.sleep(50);
+
+        verify(mockAiService, never()).generateResponse(any(), any());
+    }
+}
@@ -0,0 +1,123 @@
+package com.quilot.audio.codec;
+
+import javax.sound.sampled.AudioFormat;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Measures compression ratio and encode/decode throughput of each {@link AudioCodec}.
+ * <p>
+ * Not a unit test; run it manually from the IDE or with
+ * {@code java -cp target/classes:target/test-classes com.quilot.audio.codec.AudioCodecBenchmark [file.pcm]}.
+ * Without an argument it uses a minute of synthetic speech-like audio (voiced syllables with
+ * harmonics, separated by quiet room noise) and a minute of full-scale white noise as the worst
+ * case. A file argument must contain raw 44.1 kHz, 16-bit, mono, little-endian PCM, e.g. a
+ * recording exported from the interview history.
+ */
+public class AudioCodecBenchmark {
+
+    private static final AudioFormat FORMAT = AudioFormatSpec.LEGACY_FORMAT;
+    private static final int CHUNK_SIZE = 256 * 1024; // Same as AudioChunkRecorder
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 5;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length > 0) {
+            run(args[0], Files.readAllBytes(Path.of(args[0])));
+        } else {
+            run("synthetic speech (60 s)", syntheticSpeech(60));
+            run("white noise (60 s)", whiteNoise(60));
+        }
+    }
+
+    private static void run(String name, byte[] pcm) {
+        System.out.printf("%n%s: %.1f MB%n", name, pcm.length / 1e6);
+        System.out.printf("%-10s %8s %14s %14s%n", "codec", "ratio", "encode MB/s", "decode MB/s");
+        for (AudioCodec codec : AudioCodec.values()) {
+            byte[][] encoded = null;
+            long encodeNanos = 0;
+            long decodeNanos = 0;
+            for (int round = 0; round < WARMUP_ROUNDS + MEASURED_ROUNDS; round++) {
+                long start = System.nanoTime();
+                encoded = encodeChunks(codec, pcm);
+                long encodedAt = System.nanoTime();
+                byte[] decoded = decodeChunks(codec, encoded, pcm.length);
+                long end = System.nanoTime();
+                if (!Arrays.equals(pcm, decoded)) {
+                    throw new IllegalStateException(codec + " did not round-trip the input exactly.");
+                }
+                if (round >= WARMUP_ROUNDS) {
+                    encodeNanos += encodedAt - start;
+                    decodeNanos += end - encodedAt;
+                }
+            }
+            long storedBytes = Arrays.stream(encoded).mapToLong(chunk -> chunk.length).sum();
+            double megabytes = pcm.length / 1e6 * MEASURED_ROUNDS;
+            System.out.printf("%-10s %7.2fx %14.1f %14.1f%n", codec,
+                    (double) pcm.length / storedBytes,
+                    megabytes / (encodeNanos / 1e9),
+                    megabytes / (decodeNanos / 1e9));
+        }
+    }
+
+    private static byte[][] encodeChunks(AudioCodec codec, byte[] pcm) {
+        int chunkCount = (pcm.length + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        byte[][] chunks = new byte[chunkCount][];
+        for (int i = 0; i < chunkCount; i++) {
+            byte[] chunk = Arrays.copyOfRange(pcm, i * CHUNK_SIZE, Math.min(pcm.length, (i + 1) * CHUNK_SIZE));
+            chunks[i] = codec.encode(chunk, chunk.length, FORMAT);
+        }
+        return chunks;
+    }
+
+    private static byte[] decodeChunks(AudioCodec codec, byte[][] chunks, int totalLength) {
+        byte[] pcm = new byte[totalLength];
+        int offset = 0;
+        for (byte[] chunk : chunks) {
+            byte[] decoded = codec.decode(chunk, FORMAT);
+            System.arraycopy(decoded, 0, pcm, offset, decoded.length);
+            offset += decoded.length;
+        }
+        return pcm;
+    }
+
+    private static byte[] syntheticSpeech(int seconds) {
+        Random random = new Random(1);
+        int sampleRate = (int) FORMAT.getSampleRate();
+        short[] samples = new short[seconds * sampleRate];
+        int i = 0;
+        while (i < samples.length) {
+            int syllable = Math.min(samples.length - i, sampleRate * (120 + random.nextInt(200)) / 1000);
+            double pitch = 100 + random.nextInt(120);
+            double loudness = 2000 + random.nextInt(6000);
+            for (int n = 0; n < syllable; n++, i++) {
+                double envelope = Math.sin(Math.PI * n / syllable);
+                double t = (double) n / sampleRate;
+                double voiced = 0;
+                for (int harmonic = 1; harmonic <= 8; harmonic++) {
+                    voiced += Math.sin(2 * Math.PI * pitch * harmonic * t) / harmonic;
+                }
+                samples[i] = (short) (loudness * envelope * voiced / 2 + random.nextGaussian() * 30);
+            }
+            int pause = Math.min(samples.length - i, sampleRate * (50 + random.nextInt(400)) / 1000);
+            for (int n = 0; n < pause; n++, i++) {
+                samples[i] = (short) (random.nextGaussian() * 20);
+            }
+        }
+        byte[] pcm = new byte[samples.length * 2];
+        for (int n = 0; n < samples.length; n++) {
+            pcm[2 * n] = (byte) samples[n];
+            pcm[2 * n + 1] = (byte) (samples[n] >> 8);
+        }
+        return pcm;
+    }
+
+    private static byte[] whiteNoise(int seconds) {
+        byte[] pcm = new byte[seconds * (int) FORMAT.getSampleRate() * 2];
+        new Random(2).nextBytes(pcm);
+        return pcm;
+    }
+}
@@ -0,0 +1,107 @@
+package com.quilot.audio.codec;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sound.sampled.AudioFormat;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link LosslessAudioCodec} class.
+ */
+class LosslessAudioCodecTest {
+
+    @Test
+    @DisplayName("Should round-trip a tone exactly and compress it well")
+    void encode_Tone_RoundTripsAndCompresses() {
+        byte[] pcm = tone(44100, 440, 8000);
+
+        byte[] encoded = LosslessAudioCodec.encode(pcm, pcm.length, 1);
+
+        assertArrayEquals(pcm, LosslessAudioCodec.decode(encoded, 1));
+        assertTrue(encoded.length < pcm.length / 2, "Expected at least 2:1 on a tone, got " + encoded.length + " bytes");
+    }
+
+    @Test
+    @DisplayName("Should round-trip full-scale white noise, including the extreme sample values")
+    void encode_FullScaleNoise_RoundTrips() {
+        byte[] pcm = new byte[20_000];
+        new Random(42).nextBytes(pcm);
+        pcm[0] = 0x00; pcm[1] = (byte) 0x80; // -32768
+        pcm[2] = (byte) 0xFF; pcm[3] = 0x7F; // 32767
+
+        byte[] encoded = LosslessAudioCodec.encode(pcm, pcm.length, 1);
+
+        assertArrayEquals(pcm, LosslessAudioCodec.decode(encoded, 1));
+        assertEquals(pcm.length + 1, encoded.length, "Incompressible audio should be stored verbatim");
+    }
+
+    @Test
+    @DisplayName("Should round-trip stereo audio, an odd trailing byte and empty input")
+    void encode_EdgeCases_RoundTrip() {
+        byte[] stereo = tone(9001, 300, 4000);
+        byte[] odd = {5, 0, 9};
+
+        assertArrayEquals(stereo, LosslessAudioCodec.decode(LosslessAudioCodec.encode(stereo, stereo.length, 2), 2));
+        assertArrayEquals(odd, LosslessAudioCodec.decode(LosslessAudioCodec.encode(odd, odd.length, 1), 1));
+        assertArrayEquals(new byte[0], LosslessAudioCodec.decode(LosslessAudioCodec.encode(new byte[0], 0, 1), 1));
+    }
+
+    @Test
+    @DisplayName("Should only encode the requested length of the buffer")
+    void encode_PartialBuffer_IgnoresTail() {
+        byte[] pcm = tone(1000, 440, 3000);
+
+        byte[] decoded = LosslessAudioCodec.decode(LosslessAudioCodec.encode(pcm, 600, 1), 1);
+
+        assertEquals(600, decoded.length);
+        for (int i = 0; i < 600; i++) {
+            assertEquals(pcm[i], decoded[i]);
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject truncated data instead of returning wrong audio")
+    void decode_Truncated_Throws() {
+        byte[] pcm = tone(4000, 440, 8000);
+        byte[] encoded = LosslessAudioCodec.encode(pcm, pcm.length, 1);
+        byte[] truncated = java.util.Arrays.copyOf(encoded, encoded.length / 2);
+
+        assertThrows(IllegalArgumentException.class, () -> LosslessAudioCodec.decode(truncated, 1));
+    }
+
+    @Test
+    @DisplayName("Should choose the lossless codec only for signed 16-bit little-endian PCM")
+    void forFormat_SelectsCodecBySupport() {
+        assertEquals(AudioCodec.LOSSLESS, AudioCodec.forFormat(new AudioFormat(16000, 16, 1, true, false)));
+        assertEquals(AudioCodec.PCM, AudioCodec.forFormat(new AudioFormat(16000, 16, 1, true, true)));
+        assertEquals(AudioCodec.PCM, AudioCodec.forFormat(new AudioFormat(16000, 8, 1, true, false)));
+        assertEquals(AudioCodec.PCM, AudioCodec.fromName(null));
+        assertEquals(AudioCodec.PCM, AudioCodec.fromName("OPUS"));
+    }
+
+    @Test
+    @DisplayName("Should store and restore the capture format as text")
+    void audioFormatSpec_RoundTrips() {
+        AudioFormat format = new AudioFormat(48000, 16, 2, true, true);
+
+        AudioFormat restored = AudioFormatSpec.fromSpec(AudioFormatSpec.toSpec(format));
+
+        assertTrue(restored.matches(format));
+        assertSame(AudioFormatSpec.LEGACY_FORMAT, AudioFormatSpec.fromSpec("garbage"));
+    }
+
+    /** A 16-bit little-endian tone with a little deterministic noise, like a microphone signal. */
+    static byte[] tone(int samples, double frequency, int amplitude) {
+        Random random = new Random(7);
+        byte[] pcm = new byte[samples * 2];
+        for (int i = 0; i < samples; i++) {
+            int value = (int) (amplitude * Math.sin(2 * Math.PI * frequency * i / 44100.0)) + random.nextInt(9) - 4;
+            pcm[2 * i] = (byte) value;
+            pcm[2 * i + 1] = (byte) (value >> 8);
+        }
+        return pcm;
+    }
+}
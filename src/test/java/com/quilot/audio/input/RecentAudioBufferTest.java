@@ -0,0 +1,55 @@
+package com.quilot.audio.input;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link RecentAudioBuffer} class.
+ */
+class RecentAudioBufferTest {
+
+    @Test
+    @DisplayName("Should return all audio while it fits in the ring")
+    void write_WithinCapacity_KeepsEverything() {
+        RecentAudioBuffer buffer = new RecentAudioBuffer();
+        buffer.reset(8);
+
+        buffer.write(new byte[]{1, 2, 3}, 0, 3);
+        buffer.write(new byte[]{9, 4, 5}, 1, 2);
+
+        assertArrayEquals(new byte[]{1, 2, 3, 4, 5}, buffer.toByteArray());
+        assertFalse(buffer.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should keep only the most recent bytes once the ring is full")
+    void write_BeyondCapacity_KeepsMostRecent() {
+        RecentAudioBuffer buffer = new RecentAudioBuffer();
+        buffer.reset(4);
+
+        buffer.write(new byte[]{1, 2, 3}, 0, 3);
+        buffer.write(new byte[]{4, 5, 6}, 0, 3);
+        assertArrayEquals(new byte[]{3, 4, 5, 6}, buffer.toByteArray());
+
+        buffer.write(new byte[]{7, 8, 9, 10, 11}, 0, 5);
+        assertArrayEquals(new byte[]{8, 9, 10, 11}, buffer.toByteArray());
+    }
+
+    @Test
+    @DisplayName("Should be empty after being cleared or reset")
+    void clearAndReset_DiscardAudio() {
+        RecentAudioBuffer buffer = new RecentAudioBuffer();
+        buffer.reset(4);
+        buffer.write(new byte[]{1, 2}, 0, 2);
+
+        buffer.clear();
+        assertTrue(buffer.isEmpty());
+        assertEquals(0, buffer.toByteArray().length);
+
+        buffer.write(new byte[]{3}, 0, 1);
+        buffer.reset(2);
+        assertTrue(buffer.isEmpty());
+    }
+}
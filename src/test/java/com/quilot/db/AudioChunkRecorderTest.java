@@ -0,0 +1,93 @@
+package com.quilot.db;
+
+import com.quilot.audio.codec.AudioCodec;
+import com.quilot.audio.codec.AudioFormatSpec;
+import com.quilot.db.dao.InterviewDao;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link AudioChunkRecorder} class.
+ */
+@ExtendWith(MockitoExtension.class)
+class AudioChunkRecorderTest {
+
+    @Mock
+    private InterviewDao mockDao;
+    @Mock
+    private Consumer<String> mockErrorHandler;
+
+    @Test
+    @DisplayName("Should split captured audio into fixed-size chunks with contiguous offsets")
+    void append_WritesFullChunksAndFinalPartialChunk() throws Exception {
+        AudioChunkRecorder recorder = new AudioChunkRecorder(mockDao, mockErrorHandler, 4, 8);
+        recorder.start(7, AudioCodec.LOSSLESS, AudioFormatSpec.LEGACY_FORMAT);
+
+        recorder.append(new byte[]{1, 2, 3}, 3);
+        recorder.append(new byte[]{4, 5, 6, 7, 8, 9, 99}, 6);
+        long total = recorder.finish().get(1, TimeUnit.SECONDS);
+
+        assertEquals(9, total);
+        ArgumentCaptor<byte[]> data = ArgumentCaptor.forClass(byte[].class);
+        ArgumentCaptor<Integer> lengths = ArgumentCaptor.forClass(Integer.class);
+        verify(mockDao).addAudioChunk(eq(7), eq(0), eq(0L), data.capture(), lengths.capture(),
+                eq(AudioCodec.LOSSLESS), eq(AudioFormatSpec.LEGACY_FORMAT));
+        verify(mockDao).addAudioChunk(eq(7), eq(1), eq(4L), data.capture(), lengths.capture(),
+                eq(AudioCodec.LOSSLESS), eq(AudioFormatSpec.LEGACY_FORMAT));
+        verify(mockDao).addAudioChunk(eq(7), eq(2), eq(8L), data.capture(), lengths.capture(),
+                eq(AudioCodec.LOSSLESS), eq(AudioFormatSpec.LEGACY_FORMAT));
+        assertArrayEquals(new byte[]{1, 2, 3, 4}, data.getAllValues().get(0));
+        assertArrayEquals(new byte[]{5, 6, 7, 8}, data.getAllValues().get(1));
+        assertEquals(1, lengths.getAllValues().get(2));
+        assertEquals(9, data.getAllValues().get(2)[0]);
+    }
+
+    @Test
+    @DisplayName("Should ignore audio when no recording is active")
+    void append_NotStarted_IsIgnored() throws Exception {
+        AudioChunkRecorder recorder = new AudioChunkRecorder(mockDao, mockErrorHandler, 4, 8);
+
+        recorder.append(new byte[]{1, 2, 3, 4, 5}, 5);
+
+        assertEquals(0, recorder.finish().get(1, TimeUnit.SECONDS));
+        verifyNoInteractions(mockDao);
+    }
+
+    @Test
+    @DisplayName("Should finish without blocking when the queue is full, and complete once the writer catches up")
+    void finish_QueueFull_DoesNotBlock() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(mockDao.addAudioChunk(anyInt(), anyInt(), anyLong(), any(), anyInt(), any(), any())).thenAnswer(_ -> {
+            writing.countDown();
+            release.await();
+            return 4;
+        });
+        AudioChunkRecorder recorder = new AudioChunkRecorder(mockDao, mockErrorHandler, 4, 1);
+        recorder.start(7, AudioCodec.LOSSLESS, AudioFormatSpec.LEGACY_FORMAT);
+        recorder.append(new byte[4], 4);
+        assertTrue(writing.await(1, TimeUnit.SECONDS), "The writer should be busy with the first chunk.");
+        recorder.append(new byte[4], 4); // Fills the queue
+
+        CompletableFuture<Long> finished = assertTimeoutPreemptively(Duration.ofSeconds(1), recorder::finish);
+
+        assertFalse(finished.isDone(), "The recording must not count as finished while chunks are pending.");
+        release.countDown();
+        assertEquals(8, finished.get(2, TimeUnit.SECONDS));
+        verify(mockDao, times(2)).addAudioChunk(eq(7), anyInt(), anyLong(), any(), anyInt(), any(), any());
+    }
+}
@@ -0,0 +1,115 @@
+package com.quilot.db;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link ConnectionPool} class.
+ */
+class ConnectionPoolTest {
+
+    private final AtomicLong clock = new AtomicLong(0);
+    private final List<Connection> physicalConnections = new ArrayList<>();
+
+    private ConnectionPool createPool(ConnectionPool.Config config) {
+        return new ConnectionPool("test", () -> {
+            Connection connection = mock(Connection.class);
+            when(connection.getAutoCommit()).thenReturn(true);
+            when(connection.isValid(anyInt())).thenReturn(true);
+            physicalConnections.add(connection);
+            return connection;
+        }, config, clock::get, false);
+    }
+
+    @Test
+    @DisplayName("Should reuse the physical connection when a borrowed connection is closed")
+    void close_ReturnsConnectionToPool() throws SQLException {
+        ConnectionPool pool = createPool(ConnectionPool.Config.builder().build());
+
+        try (Connection first = pool.getConnection()) {
+            first.createStatement();
+        }
+        try (Connection second = pool.getConnection()) {
+            second.createStatement();
+        }
+
+        assertEquals(1, physicalConnections.size());
+        verify(physicalConnections.getFirst(), times(2)).createStatement();
+        verify(physicalConnections.getFirst(), never()).close();
+        ConnectionPool.Stats stats = pool.getStats();
+        assertEquals(1, stats.created());
+        assertEquals(2, stats.acquired());
+        assertEquals(1, stats.idle());
+        assertEquals(0, stats.active());
+    }
+
+    @Test
+    @DisplayName("Should reject use of a connection after it was returned")
+    void returnedConnection_CannotBeUsed() throws SQLException {
+        ConnectionPool pool = createPool(ConnectionPool.Config.builder().build());
+
+        Connection connection = pool.getConnection();
+        connection.close();
+
+        assertTrue(connection.isClosed());
+        assertThrows(SQLException.class, connection::createStatement);
+    }
+
+    @Test
+    @DisplayName("Should time out when all connections are borrowed")
+    void getConnection_PoolExhausted_TimesOut() throws SQLException {
+        ConnectionPool pool = createPool(ConnectionPool.Config.builder().maxSize(1).connectionTimeoutMillis(0).build());
+
+        pool.getConnection();
+
+        assertThrows(SQLException.class, pool::getConnection);
+        assertEquals(1, pool.getStats().timeouts());
+    }
+
+    @Test
+    @DisplayName("Should replace an idle connection that fails validation")
+    void getConnection_InvalidIdleConnection_OpensNewOne() throws SQLException {
+        ConnectionPool pool = createPool(ConnectionPool.Config.builder().validationIntervalMillis(1000).build());
+        pool.getConnection().close();
+        when(physicalConnections.getFirst().isValid(anyInt())).thenReturn(false);
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        pool.getConnection();
+
+        assertEquals(2, physicalConnections.size());
+        verify(physicalConnections.getFirst()).close();
+        assertEquals(1, pool.getStats().validationFailures());
+        assertEquals(1, pool.getStats().total());
+    }
+
+    @Test
+    @DisplayName("Should evict idle connections beyond the minimum and report leaks")
+    void runHousekeeping_EvictsIdleAndReportsLeaks() throws SQLException {
+        ConnectionPool pool = createPool(ConnectionPool.Config.builder()
+                .minIdle(1).idleTimeoutMillis(1000).leakDetectionThresholdMillis(1000).build());
+        Connection a = pool.getConnection();
+        Connection b = pool.getConnection();
+        pool.getConnection(); // Never returned
+        a.close();
+        b.close();
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(5));
+        pool.runHousekeeping();
+
+        ConnectionPool.Stats stats = pool.getStats();
+        assertEquals(1, stats.idle());
+        assertEquals(2, stats.total());
+        assertEquals(1, stats.leaks());
+    }
+}
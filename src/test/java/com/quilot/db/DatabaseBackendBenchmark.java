@@ -0,0 +1,91 @@
+package com.quilot.db;
+
+import com.quilot.db.dao.InterviewDao;
+import com.quilot.db.model.TranscriptionEntry;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares startup time and insert throughput of the embedded database with a MySQL server.
+ * <p>
+ * Not a unit test; run it manually from the IDE or with
+ * {@code java -cp target/classes:target/test-classes:<dependencies> com.quilot.db.DatabaseBackendBenchmark [mysqlUser mysqlPassword]}.
+ * The embedded database is created in a temporary directory. MySQL is only measured when credentials
+ * are given; it uses the real {@code quilot_interviews} database and deletes its interview afterwards.
+ * The saved preferences are never touched.
+ * <p>
+ * Startup is the time from an unused pool to a schema that is ready for writes, i.e. what the first
+ * save of a session pays. Inserts go through {@link InterviewDao}, one row per transaction as in
+ * {@link InterviewDao#addTranscriptionEntry} and in batches as written by {@link TranscriptionWriteBehindQueue}.
+ */
+public class DatabaseBackendBenchmark {
+
+    private static final int SINGLE_INSERTS = 500;
+    private static final int BATCHED_INSERTS = 10_000;
+    private static final int BATCH_SIZE = 50;
+
+    public static void main(String[] args) throws Exception {
+        Path dataDir = Files.createTempDirectory("quilot-benchmark");
+        System.setProperty("quilot.data.dir", dataDir.toString());
+
+        System.out.printf("%-10s %12s %18s %18s%n", "backend", "startup ms", "single rows/s", "batched rows/s");
+        run(DatabaseMode.EMBEDDED, null, null);
+        if (args.length >= 2) {
+            run(DatabaseMode.MYSQL, args[0], args[1]);
+        } else {
+            System.out.println("(pass MySQL user and password to compare with a MySQL server)");
+        }
+        DatabaseManager.useSession(null, null, null);
+    }
+
+    private static void run(DatabaseMode mode, String user, String password) throws Exception {
+        long start = System.nanoTime();
+        if (mode == DatabaseMode.MYSQL) {
+            DatabaseManager.setupDatabaseSchema(user, password);
+        }
+        DatabaseManager.useSession(mode, user, password); // The first connection applies the schema migrations
+        InterviewDao dao = new InterviewDao();
+        int interviewId = dao.createNewInterview("Benchmark " + mode);
+        double startupMillis = (System.nanoTime() - start) / 1e6;
+
+        try {
+            start = System.nanoTime();
+            for (int i = 0; i < SINGLE_INSERTS; i++) {
+                dao.addTranscriptionEntry(interviewId, "Interviewer", sentence(i), i % 5 == 0);
+            }
+            double singleRate = SINGLE_INSERTS / ((System.nanoTime() - start) / 1e9);
+
+            start = System.nanoTime();
+            for (int i = 0; i < BATCHED_INSERTS; i += BATCH_SIZE) {
+                List<TranscriptionEntry> batch = new ArrayList<>(BATCH_SIZE);
+                for (int j = i; j < i + BATCH_SIZE; j++) {
+                    batch.add(entry(interviewId, j));
+                }
+                dao.addTranscriptionEntries(batch);
+            }
+            double batchedRate = BATCHED_INSERTS / ((System.nanoTime() - start) / 1e9);
+
+            System.out.printf("%-10s %12.1f %18.0f %18.0f%n", mode, startupMillis, singleRate, batchedRate);
+        } finally {
+            dao.deleteInterview(interviewId);
+        }
+    }
+
+    private static TranscriptionEntry entry(int interviewId, int i) {
+        TranscriptionEntry entry = new TranscriptionEntry();
+        entry.setInterviewId(interviewId);
+        entry.setSpeaker(i % 2 == 0 ? "Interviewer" : "AI");
+        entry.setContent(sentence(i));
+        entry.setQuestion(i % 10 == 0);
+        entry.setTimestamp(LocalDateTime.now());
+        return entry;
+    }
+
+    private static String sentence(int i) {
+        return "Sentence " + i + ": tell me about a time you had to make a trade-off between latency and consistency.";
+    }
+}
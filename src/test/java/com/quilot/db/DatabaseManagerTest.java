@@ -0,0 +1,60 @@
+package com.quilot.db;
+
+import com.quilot.db.dao.InterviewDao;
+import com.quilot.db.model.Interview;
+import com.quilot.db.model.TranscriptionEntry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link DatabaseManager} class.
+ * The embedded mode is exercised against a real H2 database in a temporary directory.
+ */
+class DatabaseManagerTest {
+
+    @TempDir
+    Path dataDir;
+
+    @AfterEach
+    void tearDown() {
+        DatabaseManager.useSession(null, null, null);
+        System.clearProperty("quilot.data.dir");
+    }
+
+    @Test
+    @DisplayName("Should migrate a new embedded database and use it through the DAO")
+    void embeddedMode_NewDatabase_SupportsInterviewDao() throws Exception {
+        System.setProperty("quilot.data.dir", dataDir.toString());
+        DatabaseManager.useSession(DatabaseMode.EMBEDDED, null, null);
+        InterviewDao dao = new InterviewDao();
+
+        int id = dao.createNewInterview("Embedded");
+        dao.addTranscriptionEntry(id, "Interviewer", "What is a monad?", true);
+        dao.addTranscriptionEntries(List.of(entry(id, "AI", "A monoid in the category of endofunctors.")));
+
+        List<Interview> page = dao.getInterviewPage(null, 10);
+        assertEquals(1, page.size());
+        assertEquals("Embedded", page.getFirst().getTitle());
+        assertEquals(2, dao.getTranscriptionEntriesForInterview(id).size());
+        assertTrue(Files.exists(dataDir.resolve("quilot_interviews.mv.db")));
+        assertEquals(DatabaseMode.EMBEDDED, DatabaseManager.getMode());
+    }
+
+    private static TranscriptionEntry entry(int interviewId, String speaker, String content) {
+        TranscriptionEntry entry = new TranscriptionEntry();
+        entry.setInterviewId(interviewId);
+        entry.setSpeaker(speaker);
+        entry.setContent(content);
+        entry.setTimestamp(LocalDateTime.now());
+        return entry;
+    }
+}
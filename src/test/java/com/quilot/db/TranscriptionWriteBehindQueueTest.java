@@ -0,0 +1,143 @@
+package com.quilot.db;
+
+import com.quilot.db.dao.InterviewDao;
+import com.quilot.db.journal.SessionJournal;
+import com.quilot.db.model.TranscriptionEntry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link TranscriptionWriteBehindQueue} class.
+ */
+@ExtendWith(MockitoExtension.class)
+class TranscriptionWriteBehindQueueTest {
+
+    @Mock
+    private InterviewDao mockDao;
+    @Mock
+    private Consumer<String> mockErrorHandler;
+
+    private TranscriptionWriteBehindQueue queue;
+
+    @AfterEach
+    void tearDown() {
+        queue.close(1, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("Should write queued entries in one batch when flushed")
+    void flush_WritesPendingEntriesAsOneBatch() throws Exception {
+        List<List<TranscriptionEntry>> batches = recordBatches();
+        queue = new TranscriptionWriteBehindQueue(mockDao, mockErrorHandler, 10, 60_000, 100);
+
+        queue.enqueue(1, "Interviewer", "What is a monad?", true);
+        queue.enqueue(1, "AI", "A monoid in the category of endofunctors.", false);
+        queue.flush().get(1, TimeUnit.SECONDS);
+
+        assertEquals(1, batches.size());
+        assertEquals(2, batches.getFirst().size());
+        assertEquals("What is a monad?", batches.getFirst().get(0).getContent());
+        assertTrue(batches.getFirst().get(0).isQuestion());
+        assertNotNull(batches.getFirst().get(1).getTimestamp());
+    }
+
+    @Test
+    @DisplayName("Should write a batch as soon as the size limit is reached")
+    void enqueue_BatchSizeReached_WritesWithoutWaitingForInterval() throws Exception {
+        queue = new TranscriptionWriteBehindQueue(mockDao, mockErrorHandler, 2, 60_000, 100);
+
+        queue.enqueue(1, "Interviewer", "One", false);
+        queue.enqueue(1, "Interviewer", "Two", false);
+
+        verify(mockDao, timeout(1000)).addTranscriptionEntries(anyList());
+    }
+
+    @Test
+    @DisplayName("Should report an error after retries are exhausted")
+    void writeBatch_PersistentFailure_NotifiesErrorHandler() throws Exception {
+        doThrow(new SQLException("down")).when(mockDao).addTranscriptionEntries(anyList());
+        queue = new TranscriptionWriteBehindQueue(mockDao, mockErrorHandler, 10, 60_000, 100);
+
+        queue.enqueue(1, "Interviewer", "Hello", false);
+        queue.flush().get(5, TimeUnit.SECONDS);
+
+        verify(mockDao, times(3)).addTranscriptionEntries(anyList());
+        verify(mockErrorHandler).accept(anyString());
+        assertTrue(queue.summary().contains("dropped=1"));
+    }
+
+    @Test
+    @DisplayName("Should journal entries and acknowledge them once written")
+    void enqueue_WithJournal_AcknowledgesWrittenEntries() throws Exception {
+        SessionJournal journal = mock(SessionJournal.class);
+        when(journal.logEntry(any())).thenReturn(5L, 6L);
+        queue = new TranscriptionWriteBehindQueue(mockDao, mockErrorHandler, 10, 60_000, 100);
+
+        queue.enqueue(journal, 1, "Interviewer", "What is a monad?", true);
+        queue.enqueue(journal, SessionJournal.PENDING_INTERVIEW, "AI", "Only journaled", false);
+        queue.flush().get(1, TimeUnit.SECONDS);
+
+        verify(journal, times(2)).logEntry(any());
+        verify(mockDao).addTranscriptionEntries(argThat(entries -> entries.size() == 1));
+        verify(journal).acknowledgeEntries(List.of(5L));
+    }
+
+    @Test
+    @DisplayName("Should journal entries on the writer thread, not the caller's")
+    void enqueue_WithJournal_JournalsOnWriterThread() throws Exception {
+        SessionJournal journal = mock(SessionJournal.class);
+        List<String> journalingThreads = new ArrayList<>();
+        when(journal.logEntry(any())).thenAnswer(_ -> {
+            journalingThreads.add(Thread.currentThread().getName());
+            return 1L;
+        });
+        queue = new TranscriptionWriteBehindQueue(mockDao, mockErrorHandler, 10, 60_000, 100);
+
+        assertTrue(queue.enqueue(journal, 1, "Interviewer", "What is a monad?", true));
+        queue.flush().get(1, TimeUnit.SECONDS);
+
+        assertEquals(List.of("TranscriptionWriterThread"), journalingThreads);
+        verify(journal).acknowledgeEntries(List.of(1L));
+    }
+
+    @Test
+    @DisplayName("Should store the correlation ID with the entry")
+    void enqueue_WithCorrelationId_StoresItOnTheEntry() throws Exception {
+        List<List<TranscriptionEntry>> batches = recordBatches();
+        queue = new TranscriptionWriteBehindQueue(mockDao, mockErrorHandler, 10, 60_000, 100);
+
+        queue.enqueue(null, 1, "Interviewer", "What is a monad?", true, "3f9a1c2e-17");
+        queue.enqueue(1, "AI", "Untagged", false);
+        queue.flush().get(1, TimeUnit.SECONDS);
+
+        assertEquals("3f9a1c2e-17", batches.getFirst().get(0).getCorrelationId());
+        assertNull(batches.getFirst().get(1).getCorrelationId());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<List<TranscriptionEntry>> recordBatches() throws SQLException {
+        List<List<TranscriptionEntry>> batches = new ArrayList<>();
+        doAnswer(invocation -> {
+            batches.add(new ArrayList<>((List<TranscriptionEntry>) invocation.getArgument(0)));
+            return null;
+        }).when(mockDao).addTranscriptionEntries(anyList());
+        return batches;
+    }
+}
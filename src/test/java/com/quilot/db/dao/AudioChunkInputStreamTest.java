@@ -0,0 +1,73 @@
+package com.quilot.db.dao;
+
+import com.quilot.audio.codec.AudioCodec;
+import com.quilot.audio.codec.AudioFormatSpec;
+import com.quilot.db.model.AudioChunk;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the {@link AudioChunkInputStream} class.
+ */
+@ExtendWith(MockitoExtension.class)
+class AudioChunkInputStreamTest {
+
+    @Mock
+    private InterviewDao mockDao;
+
+    @Test
+    @DisplayName("Should concatenate chunks in order and skip missing sequence numbers")
+    void read_ConcatenatesChunksAcrossGaps() throws Exception {
+        when(mockDao.getNextAudioChunk(3, 0)).thenReturn(chunk(0, new byte[]{1, 2}));
+        when(mockDao.getNextAudioChunk(3, 1)).thenReturn(chunk(2, new byte[]{3, 4, 5}));
+        when(mockDao.getNextAudioChunk(3, 3)).thenReturn(null);
+
+        try (InputStream stream = new AudioChunkInputStream(mockDao, 3, AudioCodec.PCM, AudioFormatSpec.LEGACY_FORMAT)) {
+            assertArrayEquals(new byte[]{1, 2, 3, 4, 5}, stream.readAllBytes());
+            assertEquals(-1, stream.read());
+        }
+    }
+
+    @Test
+    @DisplayName("Should wrap database errors in an IOException")
+    void read_DaoFails_ThrowsIOException() throws Exception {
+        when(mockDao.getNextAudioChunk(eq(3), anyInt())).thenThrow(new SQLException("down"));
+
+        try (InputStream stream = new AudioChunkInputStream(mockDao, 3, AudioCodec.PCM, AudioFormatSpec.LEGACY_FORMAT)) {
+            assertThrows(IOException.class, stream::read);
+        }
+    }
+
+    @Test
+    @DisplayName("Should decode each chunk with the interview's codec")
+    void read_LosslessChunks_AreDecoded() throws Exception {
+        byte[] first = {1, 0, 2, 0, 3, 0};
+        byte[] second = {-1, -1, 7};
+        when(mockDao.getNextAudioChunk(3, 0)).thenReturn(chunk(0, AudioCodec.LOSSLESS.encode(first, first.length, AudioFormatSpec.LEGACY_FORMAT)));
+        when(mockDao.getNextAudioChunk(3, 1)).thenReturn(chunk(1, AudioCodec.LOSSLESS.encode(second, second.length, AudioFormatSpec.LEGACY_FORMAT)));
+        when(mockDao.getNextAudioChunk(3, 2)).thenReturn(null);
+
+        try (InputStream stream = new AudioChunkInputStream(mockDao, 3, AudioCodec.LOSSLESS, AudioFormatSpec.LEGACY_FORMAT)) {
+            assertArrayEquals(new byte[]{1, 0, 2, 0, 3, 0, -1, -1, 7}, stream.readAllBytes());
+        }
+    }
+
+    private static AudioChunk chunk(int seq, byte[] data) {
+        AudioChunk chunk = new AudioChunk();
+        chunk.setSeq(seq);
+        chunk.setData(data);
+        return chunk;
+    }
+}
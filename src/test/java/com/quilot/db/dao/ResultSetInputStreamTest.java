@@ -0,0 +1,60 @@
+package com.quilot.db.dao;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link ResultSetInputStream} class.
+ */
+@ExtendWith(MockitoExtension.class)
+class ResultSetInputStreamTest {
+
+    @Mock
+    private ResultSet mockResultSet;
+    @Mock
+    private PreparedStatement mockStatement;
+    @Mock
+    private Connection mockConnection;
+
+    @Test
+    @DisplayName("Should read the column stream and release JDBC resources in reverse order on close")
+    void close_ReleasesResultSetStatementAndConnection() throws Exception {
+        InputStream stream = new ResultSetInputStream(new ByteArrayInputStream(new byte[]{1, 2, 3}),
+                mockResultSet, mockStatement, mockConnection);
+
+        assertArrayEquals(new byte[]{1, 2, 3}, stream.readAllBytes());
+        verifyNoInteractions(mockConnection);
+        stream.close();
+
+        InOrder order = inOrder(mockResultSet, mockStatement, mockConnection);
+        order.verify(mockResultSet).close();
+        order.verify(mockStatement).close();
+        order.verify(mockConnection).close();
+    }
+
+    @Test
+    @DisplayName("Should still return the connection to the pool when closing the statement fails")
+    void close_StatementFails_StillClosesConnection() throws Exception {
+        doThrow(new SQLException("boom")).when(mockStatement).close();
+        InputStream stream = new ResultSetInputStream(new ByteArrayInputStream(new byte[0]),
+                mockResultSet, mockStatement, mockConnection);
+
+        assertThrows(IOException.class, stream::close);
+        verify(mockConnection).close();
+    }
+}
@@ -0,0 +1,182 @@
+package com.quilot.db.journal;
+
+import com.quilot.audio.codec.AudioCodec;
+import com.quilot.audio.codec.AudioFormatSpec;
+import com.quilot.db.dao.InterviewDao;
+import com.quilot.db.model.TranscriptionEntry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalMatchers.aryEq;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link JournalReplayer} class.
+ */
+@ExtendWith(MockitoExtension.class)
+class JournalReplayerTest {
+
+    @TempDir
+    Path directory;
+    @Mock
+    private InterviewDao mockDao;
+    @Mock
+    private Consumer<String> mockMessageHandler;
+
+    private JournalReplayer replayer;
+
+    @BeforeEach
+    void setUp() {
+        replayer = new JournalReplayer(mockDao, directory, mockMessageHandler);
+    }
+
+    @Test
+    @DisplayName("Should write only unacknowledged entries and audio, then delete the journal")
+    void replayPending_PartiallyAcknowledged_WritesTheRest() throws Exception {
+        when(mockDao.interviewExists(7)).thenReturn(true);
+        SessionJournal journal = newJournal(7);
+        long written = journal.logEntry(entry("Already saved"));
+        journal.logEntry(entry("Lost when the database went down"));
+        journal.logAudio(0, 0, new byte[]{1, 2}, 2);
+        journal.logAudio(1, 2, new byte[]{3, 4}, 2);
+        journal.acknowledgeEntries(List.of(written));
+        journal.acknowledgeAudio(0);
+        journal.close();
+
+        assertEquals(1, replayer.replayPending());
+
+        List<TranscriptionEntry> batch = captureBatch();
+        assertEquals(1, batch.size());
+        assertEquals("Lost when the database went down", batch.getFirst().getContent());
+        assertEquals(7, batch.getFirst().getInterviewId());
+        assertEquals(LocalDateTime.of(2024, 5, 1, 10, 30), batch.getFirst().getTimestamp());
+        verify(mockDao).addAudioChunk(eq(7), eq(1), eq(2L), aryEq(new byte[]{3, 4}), eq(2), eq(AudioCodec.LOSSLESS), any());
+        verify(mockDao, never()).addAudioChunk(anyInt(), eq(0), anyLong(), any(), anyInt(), any(), any());
+        assertEquals(0, countFiles());
+        verify(mockMessageHandler).accept(contains("Recovered 1"));
+    }
+
+    @Test
+    @DisplayName("Should create the interview of a session journaled while the database was down")
+    void replayPending_PendingInterview_CreatesInterviewAndAppliesTitle() throws Exception {
+        when(mockDao.createNewInterview(eq("Interview"), eq(AudioCodec.LOSSLESS), any())).thenReturn(42);
+        SessionJournal journal = newJournal(SessionJournal.PENDING_INTERVIEW);
+        journal.logEntry(entry("What is a monad?"));
+        journal.logTitle("System design round");
+        journal.close();
+
+        assertEquals(1, replayer.replayPending());
+
+        assertEquals(42, captureBatch().getFirst().getInterviewId());
+        verify(mockDao).updateInterviewTitle(42, "System design round");
+        assertEquals(0, countFiles());
+    }
+
+    @Test
+    @DisplayName("Should keep the journal and resume without duplicates when the database fails midway")
+    void replayPending_DatabaseFailsMidway_ResumesLater() throws Exception {
+        when(mockDao.createNewInterview(anyString(), any(), any())).thenReturn(42);
+        doThrow(new SQLException("Connection refused")).doReturn(2)
+                .when(mockDao).addAudioChunk(anyInt(), anyInt(), anyLong(), any(), anyInt(), any(), any());
+        SessionJournal journal = newJournal(SessionJournal.PENDING_INTERVIEW);
+        journal.logEntry(entry("What is a monad?"));
+        journal.logAudio(0, 0, new byte[]{1, 2}, 2);
+        journal.close();
+
+        assertEquals(0, replayer.replayPending());
+        assertEquals(2, countFiles());
+        when(mockDao.interviewExists(42)).thenReturn(true);
+        assertEquals(1, replayer.replayPending());
+
+        verify(mockDao, times(1)).createNewInterview(anyString(), any(), any());
+        verify(mockDao, times(1)).addTranscriptionEntries(anyList());
+        verify(mockDao, times(2)).addAudioChunk(eq(42), eq(0), eq(0L), any(), eq(2), any(), any());
+        assertEquals(0, countFiles());
+    }
+
+    @Test
+    @DisplayName("Should skip a journal that is still being written")
+    void replayPending_OpenJournal_IsSkipped() throws Exception {
+        SessionJournal journal = newJournal(7);
+        journal.logEntry(entry("Still recording"));
+        try {
+            assertEquals(0, replayer.replayPending());
+            verifyNoInteractions(mockDao);
+        } finally {
+            journal.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Should discard the journal of an interview that was deleted")
+    void replayPending_InterviewDeleted_DiscardsJournal() throws Exception {
+        SessionJournal journal = newJournal(7);
+        journal.logEntry(entry("Orphaned"));
+        journal.close();
+
+        assertEquals(0, replayer.replayPending());
+
+        verify(mockDao, never()).addTranscriptionEntries(anyList());
+        verify(mockDao, never()).getInterviewById(anyInt()); // Would load the audio of a legacy interview
+        assertEquals(0, countFiles());
+    }
+
+    @Test
+    @DisplayName("Should restore the correlation ID of journaled entries")
+    void replayPending_EntryWithCorrelationId_KeepsIt() throws Exception {
+        when(mockDao.interviewExists(7)).thenReturn(true);
+        SessionJournal journal = newJournal(7);
+        TranscriptionEntry tagged = entry("What is a monad?");
+        tagged.setCorrelationId("3f9a1c2e-17");
+        journal.logEntry(tagged);
+        journal.logEntry(entry("Untagged"));
+        journal.close();
+
+        replayer.replayPending();
+
+        List<TranscriptionEntry> batch = captureBatch();
+        assertEquals("3f9a1c2e-17", batch.get(0).getCorrelationId());
+        assertNull(batch.get(1).getCorrelationId());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<TranscriptionEntry> captureBatch() throws SQLException {
+        ArgumentCaptor<List<TranscriptionEntry>> captor = ArgumentCaptor.forClass(List.class);
+        verify(mockDao).addTranscriptionEntries(captor.capture());
+        return captor.getValue();
+    }
+
+    private SessionJournal newJournal(int interviewId) throws IOException {
+        return new SessionJournal(directory, interviewId, "Interview", AudioCodec.LOSSLESS, AudioFormatSpec.LEGACY_FORMAT, 10);
+    }
+
+    private long countFiles() throws IOException {
+        try (var files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+
+    private static TranscriptionEntry entry(String content) {
+        TranscriptionEntry entry = new TranscriptionEntry();
+        entry.setSpeaker("Interviewer");
+        entry.setContent(content);
+        entry.setTimestamp(LocalDateTime.of(2024, 5, 1, 10, 30));
+        return entry;
+    }
+}
@@ -0,0 +1,111 @@
+package com.quilot.db.journal;
+
+import com.quilot.audio.codec.AudioCodec;
+import com.quilot.audio.codec.AudioFormatSpec;
+import com.quilot.db.model.TranscriptionEntry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link SessionJournal} class.
+ */
+class SessionJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Should delete the journal when everything was acknowledged")
+    void close_AllAcknowledged_DeletesFiles() throws IOException {
+        SessionJournal journal = newJournal(7);
+        long seq = journal.logEntry(entry("What is a monad?"));
+        journal.logAudio(0, 0, new byte[]{1, 2, 3, 4}, 4);
+        journal.acknowledgeEntries(List.of(seq));
+        journal.acknowledgeAudio(0);
+
+        journal.close();
+
+        assertTrue(journal.isFullyPersisted());
+        assertEquals(0, countFiles());
+    }
+
+    @Test
+    @DisplayName("Should keep the journal when something was not acknowledged")
+    void close_PendingEntry_KeepsFiles() throws IOException {
+        SessionJournal journal = newJournal(7);
+        journal.logEntry(entry("What is a monad?"));
+
+        journal.close();
+
+        assertFalse(journal.isFullyPersisted());
+        assertTrue(Files.exists(journal.getJournalPath()));
+    }
+
+    @Test
+    @DisplayName("Should keep the journal of a session whose interview was never created")
+    void close_PendingInterview_KeepsFiles() throws IOException {
+        SessionJournal journal = newJournal(SessionJournal.PENDING_INTERVIEW);
+
+        journal.close();
+
+        assertFalse(journal.isFullyPersisted());
+        assertEquals(2, countFiles());
+    }
+
+    @Test
+    @DisplayName("Should read back every intact record and ignore a torn tail")
+    void journalFile_TornTail_KeepsIntactRecords() throws IOException {
+        SessionJournal journal = newJournal(7);
+        journal.logEntry(entry("First"));
+        journal.logEntry(entry("Second"));
+        journal.close();
+        long intactSize = Files.size(journal.getJournalPath());
+        Files.write(journal.getJournalPath(), new byte[]{0, 0, 0, 42, 1, 2}, StandardOpenOption.APPEND);
+
+        try (JournalFile file = JournalFile.tryOpen(journal.getJournalPath())) {
+            List<Byte> types = file.records().stream().map(JournalFile.Record::type).toList();
+            assertEquals(List.of(SessionJournal.START, SessionJournal.ENTRY, SessionJournal.ENTRY, SessionJournal.END), types);
+        }
+        assertEquals(intactSize, Files.size(journal.getJournalPath()));
+    }
+
+    @Test
+    @DisplayName("Should not let a second writer open a journal in use")
+    void tryOpen_JournalInUse_ReturnsNull() throws IOException {
+        SessionJournal journal = newJournal(7);
+        try {
+            assertNull(JournalFile.tryOpen(journal.getJournalPath()));
+        } finally {
+            journal.close();
+        }
+    }
+
+    private SessionJournal newJournal(int interviewId) throws IOException {
+        return new SessionJournal(directory, interviewId, "Interview", AudioCodec.LOSSLESS, AudioFormatSpec.LEGACY_FORMAT, 10);
+    }
+
+    private long countFiles() throws IOException {
+        try (var files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+
+    private static TranscriptionEntry entry(String content) {
+        TranscriptionEntry entry = new TranscriptionEntry();
+        entry.setSpeaker("Interviewer");
+        entry.setContent(content);
+        entry.setQuestion(true);
+        entry.setTimestamp(LocalDateTime.of(2024, 5, 1, 10, 30));
+        return entry;
+    }
+}
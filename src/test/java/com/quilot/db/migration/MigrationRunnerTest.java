@@ -0,0 +1,132 @@
+package com.quilot.db.migration;
+
+import com.quilot.db.DatabaseMode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link MigrationRunner} class, against an in-memory H2 database in MySQL mode.
+ */
+class MigrationRunnerTest {
+
+    private Connection connection;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        connection = DriverManager.getConnection(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE", "sa", "");
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    @DisplayName("Should build the whole schema on an empty database and record every version")
+    void migrate_EmptyDatabase_AppliesAllMigrations() throws SQLException {
+        List<MigrationRunner.AppliedMigration> applied = new MigrationRunner().migrate(connection, DatabaseMode.EMBEDDED);
+
+        assertEquals(SchemaMigrations.ALL.size(), applied.size());
+        assertEquals(SchemaMigrations.ALL.size(), count("SELECT COUNT(*) FROM schema_version"));
+        assertTrue(indexes("transcription_entries").contains("idx_transcription_entries_interview_time"));
+        assertTrue(indexes("transcription_entries").contains("idx_transcription_entries_correlation"));
+        assertTrue(indexes("interviews").contains("idx_interviews_date_id"));
+        execute("INSERT INTO interviews (title, audio_codec, audio_format) VALUES ('x', 'LOSSLESS', '44100:16:1:signed:little')");
+        execute("INSERT INTO audio_chunks (interview_id, seq, byte_offset, data) VALUES (1, 0, 0, X'00')");
+    }
+
+    @Test
+    @DisplayName("Should apply nothing when the schema is up to date")
+    void migrate_SecondRun_AppliesNothing() throws SQLException {
+        MigrationRunner runner = new MigrationRunner();
+        runner.migrate(connection, DatabaseMode.EMBEDDED);
+
+        assertTrue(runner.migrate(connection, DatabaseMode.EMBEDDED).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should upgrade a database created from the original schema and keep its data")
+    void migrate_OriginalSchema_AddsLaterChanges() throws SQLException {
+        MigrationStep.script("/schema.sql").apply(connection, DatabaseMode.EMBEDDED);
+        execute("INSERT INTO interviews (title) VALUES ('Before migrations')");
+
+        new MigrationRunner().migrate(connection, DatabaseMode.EMBEDDED);
+
+        assertEquals(1, count("SELECT COUNT(*) FROM interviews WHERE title = 'Before migrations' AND audio_codec IS NULL"));
+        assertEquals(0, count("SELECT COUNT(*) FROM audio_chunks"));
+    }
+
+    @Test
+    @DisplayName("Should skip changes a database already has from a newer schema script")
+    void migrate_PartiallyUpgradedSchema_SkipsExistingChanges() throws SQLException {
+        MigrationStep.script("/schema.sql").apply(connection, DatabaseMode.EMBEDDED);
+        execute("ALTER TABLE interviews ADD COLUMN audio_codec VARCHAR(16) NULL");
+        execute("CREATE INDEX idx_interviews_date_id ON interviews (interview_date DESC, id DESC)");
+
+        List<MigrationRunner.AppliedMigration> applied = new MigrationRunner().migrate(connection, DatabaseMode.EMBEDDED);
+
+        assertEquals(SchemaMigrations.ALL.size(), applied.size());
+        assertEquals(1, count("SELECT COUNT(*) FROM information_schema.columns WHERE table_name = 'interviews' AND column_name = 'audio_format'"));
+    }
+
+    @Test
+    @DisplayName("Should stop at a failing migration and retry it on the next run")
+    void migrate_FailingMigration_RecordsOnlyEarlierVersions() throws SQLException {
+        List<Migration> migrations = new ArrayList<>(List.of(
+                new Migration(1, "Create table", MigrationStep.sql("CREATE TABLE a (id INT)")),
+                new Migration(2, "Broken", MigrationStep.sql("ALTER TABLE missing ADD COLUMN x INT")),
+                new Migration(3, "Never reached", MigrationStep.sql("CREATE TABLE b (id INT)"))));
+
+        assertThrows(SQLException.class, () -> new MigrationRunner(migrations).migrate(connection, DatabaseMode.EMBEDDED));
+        assertEquals(1, count("SELECT COUNT(*) FROM schema_version"));
+
+        migrations.set(1, new Migration(2, "Fixed", MigrationStep.sql("ALTER TABLE a ADD COLUMN x INT")));
+        List<MigrationRunner.AppliedMigration> applied = new MigrationRunner(migrations).migrate(connection, DatabaseMode.EMBEDDED);
+        assertEquals(List.of(2, 3), applied.stream().map(MigrationRunner.AppliedMigration::version).toList());
+    }
+
+    @Test
+    @DisplayName("Should reject two migrations with the same version")
+    void constructor_DuplicateVersion_Throws() {
+        List<Migration> migrations = List.of(new Migration(1, "One"), new Migration(1, "Also one"));
+
+        assertThrows(IllegalArgumentException.class, () -> new MigrationRunner(migrations));
+    }
+
+    private List<String> indexes(String table) throws SQLException {
+        List<String> names = new ArrayList<>();
+        try (ResultSet rs = connection.getMetaData().getIndexInfo(connection.getCatalog(), connection.getSchema(), table, false, true)) {
+            while (rs.next()) {
+                names.add(rs.getString("INDEX_NAME").toLowerCase());
+            }
+        }
+        return names;
+    }
+
+    private int count(String sql) throws SQLException {
+        try (Statement stmt = connection.createStatement(); ResultSet rs = stmt.executeQuery(sql)) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    private void execute(String sql) throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute(sql);
+        }
+    }
+}
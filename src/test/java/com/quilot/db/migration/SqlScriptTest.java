@@ -0,0 +1,54 @@
+package com.quilot.db.migration;
+
+import com.quilot.db.DatabaseMode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link SqlScript} class.
+ */
+class SqlScriptTest {
+
+    @Test
+    @DisplayName("Should split on semicolons that end statements only")
+    void split_SemicolonsInLiteralsAndComments_AreNotSeparators() {
+        String script = """
+                -- Setup; run once
+                CREATE TABLE t (c VARCHAR(10) COMMENT 'a; b', d INT COMMENT 'it\\'s; fine');
+                /* block; comment */ INSERT INTO t VALUES ("x;y", 1);
+                # MySQL comment; too
+                SELECT `odd;name` FROM t""";
+
+        List<String> statements = SqlScript.split(script);
+
+        assertEquals(3, statements.size());
+        assertEquals("CREATE TABLE t (c VARCHAR(10) COMMENT 'a; b', d INT COMMENT 'it\\'s; fine')", statements.get(0));
+        assertEquals("INSERT INTO t VALUES (\"x;y\", 1)", statements.get(1));
+        assertEquals("SELECT `odd;name` FROM t", statements.get(2));
+    }
+
+    @Test
+    @DisplayName("Should read the baseline schema into its statements")
+    void load_Schema_ReturnsEveryStatement() throws Exception {
+        List<String> statements = SqlScript.load("/schema.sql");
+
+        assertEquals(4, statements.size());
+        assertTrue(statements.get(0).startsWith("CREATE DATABASE"));
+        assertTrue(statements.get(3).startsWith("CREATE TABLE IF NOT EXISTS transcription_entries"));
+    }
+
+    @Test
+    @DisplayName("Should drop MySQL-only syntax for the embedded database")
+    void forMode_Embedded_DropsDatabaseStatementsAndVisible() throws Exception {
+        List<String> mysql = SqlScript.forMode(SqlScript.load("/schema.sql"), DatabaseMode.MYSQL);
+        List<String> embedded = SqlScript.forMode(SqlScript.load("/schema.sql"), DatabaseMode.EMBEDDED);
+
+        assertEquals(4, mysql.size());
+        assertEquals(2, embedded.size());
+        assertFalse(embedded.stream().anyMatch(statement -> statement.contains("VISIBLE")));
+    }
+}
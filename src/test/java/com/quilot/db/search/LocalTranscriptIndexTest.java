@@ -0,0 +1,67 @@
+package com.quilot.db.search;
+
+import com.quilot.db.dao.InterviewDao;
+import com.quilot.db.model.TranscriptionEntry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link LocalTranscriptIndex} class.
+ */
+@ExtendWith(MockitoExtension.class)
+class LocalTranscriptIndexTest {
+
+    @Mock
+    private InterviewDao mockDao;
+
+    @Test
+    @DisplayName("Should build on first search and rank entries by their IDs in the database")
+    void search_FirstSearch_BuildsAndRanks() throws Exception {
+        when(mockDao.getTranscriptionContentAfter(eq(0), anyInt())).thenReturn(List.of(
+                entry(11, "Tell me about your experience with Kafka consumers"),
+                entry(12, "How would you design a rate limiter?"),
+                entry(15, "Kafka partitions and Kafka consumer groups")));
+        LocalTranscriptIndex index = new LocalTranscriptIndex(mockDao);
+
+        List<LocalTranscriptIndex.Match> matches = index.search("kafka", 10);
+
+        assertEquals(List.of(15, 11), matches.stream().map(LocalTranscriptIndex.Match::entryId).toList());
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    @DisplayName("Should rebuild in the background once new entries have been saved")
+    void search_NewEntries_RebuildsInBackground() throws Exception {
+        when(mockDao.getTranscriptionContentAfter(eq(0), anyInt()))
+                .thenReturn(List.of(entry(1, "kafka")))
+                .thenReturn(List.of(entry(1, "kafka"), entry(2, "kafka streams")));
+        when(mockDao.getMaxTranscriptionEntryId()).thenReturn(2);
+        LocalTranscriptIndex index = new LocalTranscriptIndex(mockDao);
+        index.search("kafka", 10);
+
+        index.search("kafka", 10); // Served from the old snapshot while the rebuild runs
+
+        verify(mockDao, timeout(1000).times(2)).getTranscriptionContentAfter(eq(0), anyInt());
+        for (int attempt = 0; attempt < 100 && index.size() < 2; attempt++) {
+            Thread.sleep(10);
+        }
+        assertEquals(2, index.size());
+    }
+
+    private static TranscriptionEntry entry(int id, String content) {
+        TranscriptionEntry entry = new TranscriptionEntry();
+        entry.setId(id);
+        entry.setContent(content);
+        return entry;
+    }
+}
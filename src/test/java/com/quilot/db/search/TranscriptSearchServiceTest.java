@@ -0,0 +1,102 @@
+package com.quilot.db.search;
+
+import com.quilot.db.dao.InterviewDao;
+import com.quilot.db.model.Interview;
+import com.quilot.db.model.TranscriptSearchHit;
+import com.quilot.db.model.TranscriptionEntry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link TranscriptSearchService} class.
+ */
+@ExtendWith(MockitoExtension.class)
+class TranscriptSearchServiceTest {
+
+    @Mock
+    private InterviewDao mockDao;
+    @Mock
+    private LocalTranscriptIndex mockLocalIndex;
+
+    private TranscriptSearchService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new TranscriptSearchService(mockDao, mockLocalIndex);
+    }
+
+    @Test
+    @DisplayName("Should page FULLTEXT results by fetching one extra hit to detect more pages")
+    void search_FullText_ReturnsPageAndHasMore() throws SQLException {
+        when(mockDao.searchTranscriptionsFullText("kafka", 10, 3)).thenReturn(List.of(hit(1), hit(2), hit(3)));
+
+        TranscriptSearchService.Page page = service.search("  kafka ", 10, 2);
+
+        assertEquals(2, page.hits().size());
+        assertTrue(page.hasMore());
+        assertEquals(10, page.offset());
+        assertEquals(TranscriptSearchService.Backend.FULLTEXT, page.backend());
+        verifyNoInteractions(mockLocalIndex);
+    }
+
+    @Test
+    @DisplayName("Should fall back to the local index when the FULLTEXT index is missing, keeping its ranking")
+    void search_FullTextIndexMissing_UsesLocalIndex() throws SQLException {
+        when(mockDao.searchTranscriptionsFullText(anyString(), anyInt(), anyInt()))
+                .thenThrow(new SQLException("Can't find FULLTEXT index", "HY000", 1191));
+        when(mockLocalIndex.search("kafka", 3)).thenReturn(List.of(
+                new LocalTranscriptIndex.Match(7, 3.0),
+                new LocalTranscriptIndex.Match(9, 2.0),
+                new LocalTranscriptIndex.Match(8, 1.0)));
+        // Entry 9 has been deleted since the index was built, and the DAO returns rows in any order.
+        when(mockDao.getSearchHitsForEntries(List.of(7, 9, 8))).thenReturn(List.of(hit(8), hit(7)));
+
+        TranscriptSearchService.Page first = service.search("kafka", 0, 2);
+        TranscriptSearchService.Page second = service.search("kafka", 0, 2);
+
+        assertEquals(List.of(7, 8), first.hits().stream().map(h -> h.getEntry().getId()).toList());
+        assertEquals(3.0, first.hits().getFirst().getScore());
+        assertFalse(first.hasMore());
+        assertEquals(TranscriptSearchService.Backend.LOCAL_INDEX, second.backend());
+        verify(mockDao, times(1)).searchTranscriptionsFullText(anyString(), anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should propagate database errors unrelated to FULLTEXT support")
+    void search_ConnectionFailure_Throws() throws SQLException {
+        when(mockDao.searchTranscriptionsFullText(anyString(), anyInt(), anyInt()))
+                .thenThrow(new SQLException("Communications link failure", "08S01"));
+
+        assertThrows(SQLException.class, () -> service.search("kafka", 0, 10));
+        assertEquals(TranscriptSearchService.Backend.FULLTEXT, service.getBackend());
+    }
+
+    @Test
+    @DisplayName("Should return an empty page without querying for a blank query")
+    void search_BlankQuery_ReturnsEmptyPage() throws SQLException {
+        assertTrue(service.search("   ", 0, 10).hits().isEmpty());
+        verifyNoInteractions(mockDao, mockLocalIndex);
+    }
+
+    private static TranscriptSearchHit hit(int entryId) {
+        Interview interview = new Interview();
+        interview.setId(100 + entryId);
+        TranscriptionEntry entry = new TranscriptionEntry();
+        entry.setId(entryId);
+        TranscriptSearchHit hit = new TranscriptSearchHit();
+        hit.setInterview(interview);
+        hit.setEntry(entry);
+        return hit;
+    }
+}
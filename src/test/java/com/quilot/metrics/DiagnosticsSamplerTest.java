@@ -0,0 +1,114 @@
+package com.quilot.metrics;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryUsage;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the {@link DiagnosticsSampler} class.
+ */
+@ExtendWith(MockitoExtension.class)
+class DiagnosticsSamplerTest {
+
+    @Mock
+    private MemoryMXBean mockMemory;
+
+    private final MetricsRegistry registry = new MetricsRegistry();
+    private final AtomicLong clock = new AtomicLong(TimeUnit.SECONDS.toNanos(100));
+
+    @BeforeEach
+    void setUp() {
+        when(mockMemory.getHeapMemoryUsage()).thenReturn(new MemoryUsage(0, 64L << 20, 128L << 20, 256L << 20));
+    }
+
+    @Test
+    @DisplayName("Should compute rates from counter deltas between samples")
+    void sample_ComputesRatesFromCounterDeltas() {
+        registry.counter(MetricNames.AUDIO_FRAMES_CAPTURED).add(1000); // Counted before the sampler existed
+        DiagnosticsSampler sampler = new DiagnosticsSampler(registry, clock::get, mockMemory);
+
+        registry.counter(MetricNames.AUDIO_FRAMES_CAPTURED).add(32_000);
+        registry.counter(MetricNames.STT_BYTES_SENT).add(64_000);
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        DiagnosticsSampler.Snapshot first = sampler.sample();
+
+        assertEquals(16_000, first.audioFramesPerSecond(), 0.001);
+        assertEquals(32_000, first.sttBytesPerSecond(), 0.001);
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        DiagnosticsSampler.Snapshot second = sampler.sample();
+
+        assertEquals(0, second.audioFramesPerSecond(), 0.001, "Nothing was captured since the last sample.");
+        assertSame(second, sampler.getLatest());
+    }
+
+    @Test
+    @DisplayName("Should report zero rates after the counters are reset")
+    void sample_AfterReset_ReportsZeroRate() {
+        DiagnosticsSampler sampler = new DiagnosticsSampler(registry, clock::get, mockMemory);
+        registry.counter(MetricNames.STT_BYTES_SENT).add(5000);
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        sampler.sample();
+
+        registry.reset();
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+        assertEquals(0, sampler.sample().sttBytesPerSecond(), 0.001);
+    }
+
+    @Test
+    @DisplayName("Should read gauges, AI percentiles and heap usage")
+    void sample_ReadsGaugesHistogramsAndHeap() {
+        registry.registerGauge(MetricNames.TRANSCRIPT_QUEUE_DEPTH, () -> 3);
+        registry.registerGauge(MetricNames.AI_QUEUE_DEPTH, () -> 1);
+        registry.registerGauge(MetricNames.STT_MILLIS_UNTIL_RESTART, () -> 42_000);
+        for (int i = 1; i <= 100; i++) {
+            registry.histogram(PipelineStage.AI_TOTAL.getMetricName()).recordMicros(i * 10_000L);
+        }
+        registry.histogram(MetricNames.UI_EDT_LAG).recordMicros(30_000);
+        DiagnosticsSampler sampler = new DiagnosticsSampler(registry, clock::get, mockMemory);
+
+        DiagnosticsSampler.Snapshot snapshot = sampler.sample();
+
+        assertEquals(3, snapshot.transcriptQueueDepth());
+        assertEquals(1, snapshot.aiQueueDepth());
+        assertEquals(-1, snapshot.audioQueueDepth(), "Unregistered gauges are reported as -1.");
+        assertEquals(42_000, snapshot.millisUntilStreamRestart());
+        assertEquals(500, snapshot.aiTotalP50Millis(), 20);
+        assertEquals(950, snapshot.aiTotalP95Millis(), 40);
+        assertEquals(0, snapshot.aiFirstTokenP95Millis());
+        assertEquals(30, snapshot.edtLagP95Millis(), 2);
+        assertEquals(64L << 20, snapshot.heapUsedBytes());
+        assertEquals(256L << 20, snapshot.heapMaxBytes());
+    }
+
+    @Test
+    @DisplayName("Should sample on its own thread once started")
+    void start_SamplesInBackground() throws InterruptedException {
+        DiagnosticsSampler sampler = new DiagnosticsSampler(registry, clock::get, mockMemory);
+        assertNull(sampler.getLatest());
+
+        sampler.start(10);
+        try {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (sampler.getLatest() == null && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+        } finally {
+            sampler.close();
+        }
+
+        assertNotNull(sampler.getLatest());
+    }
+}
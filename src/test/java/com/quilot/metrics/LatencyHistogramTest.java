@@ -0,0 +1,53 @@
+package com.quilot.metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link LatencyHistogram} class.
+ */
+class LatencyHistogramTest {
+
+    @Test
+    @DisplayName("Should report percentiles within the bucket precision")
+    void getValueAtPercentile_UniformValues_ReturnsApproximatePercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int millis = 1; millis <= 1000; millis++) {
+            histogram.recordMicros(millis * 1000L);
+        }
+
+        assertEquals(1000, histogram.getCount());
+        assertEquals(500_000, histogram.getValueAtPercentile(50), 500_000 * 0.04);
+        assertEquals(950_000, histogram.getValueAtPercentile(95), 950_000 * 0.04);
+        assertEquals(1_000_000, histogram.getMaxMicros());
+        assertEquals(500, histogram.getMeanMicros() / 1000);
+    }
+
+    @Test
+    @DisplayName("Should map every value into a bucket whose upper bound contains it")
+    void bucketIndex_ValueFallsWithinBucketBounds() {
+        long[] values = {0, 1, 63, 64, 65, 1_000, 123_456, 10_000_000, Long.MAX_VALUE / 2};
+        for (long value : values) {
+            int index = LatencyHistogram.bucketIndex(value);
+            if (value < (1L << 41)) {
+                assertTrue(LatencyHistogram.bucketUpperBound(index) >= value, "Upper bound too small for " + value);
+                assertTrue(index == 0 || LatencyHistogram.bucketUpperBound(index - 1) < value, "Wrong bucket for " + value);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should return zero for an empty or reset histogram")
+    void reset_ClearsRecordedValues() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getValueAtPercentile(99));
+
+        histogram.recordNanos(5_000_000);
+        histogram.reset();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getValueAtPercentile(50));
+    }
+}
@@ -0,0 +1,110 @@
+package com.quilot.metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link MetricsRegistry} class.
+ */
+class MetricsRegistryTest {
+
+    @Test
+    @DisplayName("Should return the same histogram for the same name")
+    void histogram_SameName_ReturnsSameInstance() {
+        MetricsRegistry registry = new MetricsRegistry();
+
+        LatencyHistogram first = registry.histogram("stt.final");
+        first.recordMicros(1500);
+
+        assertSame(first, registry.histogram("stt.final"));
+        assertNotSame(first, registry.histogram("ai.total"));
+        assertEquals(List.of("ai.total", "stt.final"), List.copyOf(registry.getHistograms().keySet()));
+    }
+
+    @Test
+    @DisplayName("Should keep histograms registered but empty after a reset")
+    void reset_ClearsValuesAndMarks() {
+        MetricsRegistry registry = new MetricsRegistry();
+        LatencyHistogram histogram = registry.histogram("db.write");
+        histogram.recordMicros(2000);
+        registry.mark("audio.captured", 42);
+
+        registry.reset();
+
+        assertEquals(0, histogram.getCount());
+        assertSame(histogram, registry.histogram("db.write"));
+        assertEquals(0, registry.getLastMark("audio.captured"));
+    }
+
+    @Test
+    @DisplayName("Should return the latest mark of an event and 0 for unknown events")
+    void getLastMark_ReturnsLatestValue() {
+        MetricsRegistry registry = new MetricsRegistry();
+
+        registry.mark("speech.end", 10);
+        registry.mark("speech.end", 20);
+
+        assertEquals(20, registry.getLastMark("speech.end"));
+        assertEquals(0, registry.getLastMark("never"));
+    }
+
+    @Test
+    @DisplayName("Should only list histograms with values in the summary")
+    void summary_SkipsEmptyHistograms() {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.histogram("empty");
+        registry.histogram("ui.render").recordMicros(3000);
+
+        String summary = registry.summary();
+
+        assertTrue(summary.startsWith("ui.render: n=1"), summary);
+        assertFalse(summary.contains("empty"));
+    }
+
+    @Test
+    @DisplayName("Should record pipeline stages into the global registry")
+    void pipelineStage_RecordsIntoGlobalHistogram() {
+        LatencyHistogram histogram = MetricsRegistry.global().histogram(PipelineStage.QUESTION_DETECTION.getMetricName());
+        long before = histogram.getCount();
+
+        PipelineStage.QUESTION_DETECTION.recordNanos(1_000_000);
+
+        assertSame(histogram, PipelineStage.QUESTION_DETECTION.getHistogram());
+        assertEquals(before + 1, histogram.getCount());
+    }
+
+    @Test
+    @DisplayName("Should accumulate counters and zero them on reset")
+    void counter_AccumulatesAndResets() {
+        MetricsRegistry registry = new MetricsRegistry();
+
+        registry.counter("audio.frames").add(160);
+        registry.counter("audio.frames").add(320);
+
+        assertEquals(480, registry.getCount("audio.frames"));
+        assertEquals(0, registry.getCount("stt.bytes"), "Unknown counters should read as zero.");
+
+        registry.reset();
+
+        assertEquals(0, registry.getCount("audio.frames"));
+    }
+
+    @Test
+    @DisplayName("Should read gauges on demand and keep them across a reset")
+    void gauge_ReadOnDemand() {
+        MetricsRegistry registry = new MetricsRegistry();
+        long[] depth = {2};
+        registry.registerGauge("db.queue_depth", () -> depth[0]);
+
+        assertEquals(2, registry.getGaugeValue("db.queue_depth"));
+        depth[0] = 7;
+        registry.reset();
+
+        assertEquals(7, registry.getGaugeValue("db.queue_depth"));
+        assertEquals(-1, registry.getGaugeValue("ai.queue_depth"), "Unregistered gauges should read as -1.");
+    }
+}
@@ -0,0 +1,87 @@
+package com.quilot.metrics.jfr;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link FlightRecording} class.
+ */
+class FlightRecordingTest {
+
+    @TempDir
+    Path dataDirectory;
+
+    @BeforeEach
+    void setUp() {
+        System.setProperty("quilot.data.dir", dataDirectory.toString());
+    }
+
+    @AfterEach
+    void tearDown() {
+        FlightRecording.stop();
+        System.clearProperty("quilot.jfr");
+        System.clearProperty("quilot.data.dir");
+    }
+
+    @Test
+    @DisplayName("Should not record unless enabled by the system property")
+    void startIfEnabled_NotEnabled_DoesNotRecord() {
+        FlightRecording.startIfEnabled();
+
+        assertFalse(FlightRecording.isRecording());
+        assertThrows(IOException.class, FlightRecording::dump);
+    }
+
+    @Test
+    @DisplayName("Should write pipeline events to the dumped recording")
+    void dump_ContainsPipelineEvents() throws IOException {
+        System.setProperty("quilot.jfr", "true");
+        FlightRecording.startIfEnabled();
+        assertTrue(FlightRecording.isRecording());
+
+        DbBatchFlushEvent event = new DbBatchFlushEvent();
+        event.begin();
+        event.entries = 7;
+        event.attempts = 1;
+        event.succeeded = true;
+        event.commit();
+        Path dump = FlightRecording.dump();
+
+        assertTrue(dump.startsWith(FlightRecording.getRecordingsDirectory()));
+        List<RecordedEvent> flushes = RecordingFile.readAllEvents(dump).stream()
+                .filter(recorded -> recorded.getEventType().getName().equals("com.quilot.DbBatchFlush"))
+                .toList();
+        assertEquals(1, flushes.size());
+        assertEquals(7, flushes.getFirst().getInt("entries"));
+        assertTrue(flushes.getFirst().getBoolean("succeeded"));
+    }
+
+    @Test
+    @DisplayName("Should keep only the newest dumps")
+    void dump_ManyTimes_KeepsBoundedNumberOfFiles() throws IOException, InterruptedException {
+        System.setProperty("quilot.jfr", "true");
+        FlightRecording.startIfEnabled();
+
+        for (int i = 0; i < 8; i++) {
+            FlightRecording.dump();
+            Thread.sleep(2); // Dump names have millisecond resolution
+        }
+
+        try (Stream<Path> files = Files.list(FlightRecording.getRecordingsDirectory())) {
+            assertEquals(5, files.count());
+        }
+    }
+}
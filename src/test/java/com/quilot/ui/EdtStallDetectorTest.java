@@ -0,0 +1,107 @@
+package com.quilot.ui;
+
+import com.quilot.metrics.MetricNames;
+import com.quilot.metrics.MetricsRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link EdtStallDetector} class.
+ */
+class EdtStallDetectorTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+    private final MetricsRegistry registry = new MetricsRegistry();
+    private final EdtStallDetector detector = new EdtStallDetector(50, clock::get, registry);
+
+    private void advanceMillis(long millis) {
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+    @Test
+    @DisplayName("Should count an event that runs longer than the threshold")
+    void endDispatch_SlowEvent_CountsStall() {
+        EdtStallDetector.Dispatch dispatch = detector.beginDispatch();
+        advanceMillis(80);
+
+        detector.endDispatch(dispatch, "slow event");
+
+        assertEquals(1, registry.getCount(MetricNames.EDT_STALLS));
+    }
+
+    @Test
+    @DisplayName("Should not count an event within the threshold")
+    void endDispatch_FastEvent_DoesNotCountStall() {
+        EdtStallDetector.Dispatch dispatch = detector.beginDispatch();
+        advanceMillis(10);
+
+        detector.endDispatch(dispatch, "fast event");
+
+        assertEquals(0, registry.getCount(MetricNames.EDT_STALLS));
+    }
+
+    @Test
+    @DisplayName("Should not count an event that dispatched other events, like a modal dialog")
+    void endDispatch_NestedDispatch_DoesNotCountOuterEvent() {
+        EdtStallDetector.Dispatch outer = detector.beginDispatch();
+        advanceMillis(1000);
+        EdtStallDetector.Dispatch inner = detector.beginDispatch();
+        detector.endDispatch(inner, "event in the dialog");
+        advanceMillis(1000);
+
+        detector.endDispatch(outer, "event that opened the dialog");
+
+        assertEquals(0, registry.getCount(MetricNames.EDT_STALLS));
+    }
+
+    @Test
+    @DisplayName("Should not report the stack of an idle EDT")
+    void checkForStall_Idle_ReportsNothing() {
+        assertFalse(detector.checkForStall());
+
+        EdtStallDetector.Dispatch dispatch = detector.beginDispatch();
+        advanceMillis(80);
+        detector.endDispatch(dispatch, "slow event");
+
+        assertFalse(detector.checkForStall(), "A finished event is no longer blocking the EDT.");
+    }
+
+    @Test
+    @DisplayName("Should not report the stack of an event within the threshold")
+    void checkForStall_WithinThreshold_ReportsNothing() {
+        detector.beginDispatch();
+        advanceMillis(30);
+
+        assertFalse(detector.checkForStall());
+    }
+
+    @Test
+    @DisplayName("Should report the stack of an overdue event once")
+    void checkForStall_Overdue_ReportsOnce() {
+        detector.beginDispatch();
+        advanceMillis(80);
+
+        assertTrue(detector.checkForStall());
+        advanceMillis(80);
+        assertFalse(detector.checkForStall(), "A stall is reported once.");
+    }
+
+    @Test
+    @DisplayName("Should report the next overdue event again")
+    void checkForStall_NextEventOverdue_ReportsAgain() {
+        EdtStallDetector.Dispatch first = detector.beginDispatch();
+        advanceMillis(80);
+        assertTrue(detector.checkForStall());
+        detector.endDispatch(first, "slow event");
+
+        detector.beginDispatch();
+        advanceMillis(80);
+
+        assertTrue(detector.checkForStall());
+    }
+}
@@ -0,0 +1,80 @@
+package com.quilot.ui;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link LineSpillFile} class.
+ */
+class LineSpillFileTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Should read back ranges of appended lines by line number")
+    void read_AfterAppends_ReturnsLines() throws IOException {
+        try (LineSpillFile spill = new LineSpillFile(tempDir.resolve("log.spill"))) {
+            spill.append("first\nsecond\n");
+            spill.append("third\n");
+
+            assertEquals(3, spill.getLineCount());
+            assertEquals("second\nthird\n", spill.read(1, 3));
+            assertEquals("first\n", spill.read(0, 1));
+            assertEquals("", spill.read(3, 3));
+        }
+    }
+
+    @Test
+    @DisplayName("Should split lines correctly around multibyte characters")
+    void read_MultibyteText_ReturnsSameText() throws IOException {
+        try (LineSpillFile spill = new LineSpillFile(tempDir.resolve("transcript.spill"))) {
+            spill.append("Здравей\n日本語\n");
+            spill.append("naïve\n");
+
+            assertEquals("日本語\nnaïve\n", spill.read(1, 3));
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep more lines than the initial index capacity")
+    void append_ManyLines_GrowsIndex() throws IOException {
+        try (LineSpillFile spill = new LineSpillFile(tempDir.resolve("log.spill"))) {
+            for (int i = 0; i < 5000; i++) {
+                spill.append("line " + i + "\n");
+            }
+
+            assertEquals(5000, spill.getLineCount());
+            assertEquals("line 4321\n", spill.read(4321, 4322));
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject ranges outside of the file")
+    void read_OutOfRange_Throws() throws IOException {
+        try (LineSpillFile spill = new LineSpillFile(tempDir.resolve("log.spill"))) {
+            spill.append("only\n");
+
+            assertThrows(IndexOutOfBoundsException.class, () -> spill.read(0, 2));
+        }
+    }
+
+    @Test
+    @DisplayName("Should delete the file when closed")
+    void close_DeletesFile() throws IOException {
+        Path file = tempDir.resolve("log.spill");
+        LineSpillFile spill = new LineSpillFile(file);
+        spill.append("line\n");
+
+        spill.close();
+
+        assertFalse(Files.exists(file));
+    }
+}
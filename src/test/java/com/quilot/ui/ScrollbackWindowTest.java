@@ -0,0 +1,117 @@
+package com.quilot.ui;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.swing.*;
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link ScrollbackWindow} class.
+ */
+class ScrollbackWindowTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final JTextArea area = new JTextArea();
+    private ScrollbackWindow window;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        window = new ScrollbackWindow(area, 4, new LineSpillFile(tempDir.resolve("log.spill")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        window.close();
+    }
+
+    private void appendLines(int from, int to) {
+        for (int i = from; i < to; i++) {
+            area.append("line " + i + "\n");
+            window.update();
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep only the last lines and spill the older ones")
+    void update_BeyondWindow_TrimsAndSpills() {
+        appendLines(0, 10);
+
+        assertEquals("line 6\nline 7\nline 8\nline 9\n", area.getText());
+        assertEquals(4, window.getLineCount());
+        assertEquals(6, window.getSpilledLineCount());
+        assertEquals(area.getDocument().getLength(), area.getCaretPosition(), "The view should follow new text.");
+    }
+
+    @Test
+    @DisplayName("Should prepend the previous page of spilled lines")
+    void loadOlder_AfterTrim_PrependsPage() {
+        appendLines(0, 10);
+
+        assertTrue(window.loadOlder());
+
+        assertEquals("line 5\nline 6\nline 7\nline 8\nline 9\n", area.getText());
+    }
+
+    @Test
+    @DisplayName("Should not load lines before the start of the session")
+    void loadOlder_AllLoaded_ReturnsFalse() {
+        appendLines(0, 6);
+
+        assertTrue(window.loadOlder());
+        assertTrue(window.loadOlder());
+        assertFalse(window.loadOlder());
+
+        assertEquals(6, window.getLineCount());
+        assertTrue(area.getText().startsWith("line 0\n"));
+    }
+
+    @Test
+    @DisplayName("Should not spill lines again that were loaded back")
+    void update_AfterLoadOlder_DoesNotSpillTwice() throws IOException {
+        appendLines(0, 8);
+        window.loadOlder();
+        window.loadOlder();
+
+        appendLines(8, 9);
+
+        assertEquals("line 5\nline 6\nline 7\nline 8\n", area.getText());
+        assertEquals(5, window.getSpilledLineCount());
+    }
+
+    @Test
+    @DisplayName("Should keep an interim transcript line intact when trimming")
+    void update_WithInterimLine_KeepsInterimAtEnd() {
+        TranscriptViewModel transcriptView = new TranscriptViewModel(area.getDocument());
+        for (int i = 0; i < 6; i++) {
+            transcriptView.commit("final " + i + "\n");
+            window.update();
+        }
+
+        transcriptView.showInterim("interim\n");
+        window.update();
+        transcriptView.showInterim("interim, refined\n");
+
+        assertEquals("final 3\nfinal 4\nfinal 5\ninterim, refined\n", area.getText());
+    }
+
+    @Test
+    @DisplayName("Should discard older lines when there is no spill file")
+    void update_WithoutSpillFile_DiscardsOlderLines() {
+        ScrollbackWindow discarding = new ScrollbackWindow(area, 2, null);
+        area.setText("a\nb\nc\n");
+
+        discarding.update();
+
+        assertEquals("b\nc\n", area.getText());
+        assertFalse(discarding.loadOlder());
+    }
+}
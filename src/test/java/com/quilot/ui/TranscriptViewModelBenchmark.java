@@ -0,0 +1,85 @@
+package com.quilot.ui;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import javax.swing.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the cost of showing one interim result in a long transcript with the
+ * {@link TranscriptViewModel} and with the previous approach, which copied the whole text to find
+ * the interim line.
+ * <p>
+ * Not a unit test; run it manually from the IDE or with
+ * {@code java -cp target/classes:target/test-classes:<jmh jars> com.quilot.ui.TranscriptViewModelBenchmark}.
+ * Both variants update a {@link JTextArea} that is not displayed, so the numbers cover the
+ * document work but not painting. The transcript does not grow during a trial.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class TranscriptViewModelBenchmark {
+
+    private static final String LINE = "[12:34:56] Interviewer (Final): 'Could you walk me through how you would design a rate limiter?'\n";
+
+    @Param({"1000", "100000", "1000000"})
+    public int transcriptLength;
+
+    private JTextArea legacyArea;
+    private JTextArea area;
+    private TranscriptViewModel viewModel;
+    private int counter;
+
+    @Setup
+    public void setUp() {
+        StringBuilder transcript = new StringBuilder(transcriptLength + LINE.length());
+        while (transcript.length() < transcriptLength) {
+            transcript.append(LINE);
+        }
+        legacyArea = new JTextArea(transcript.toString());
+        area = new JTextArea();
+        viewModel = new TranscriptViewModel(area.getDocument());
+        viewModel.commit(transcript.toString());
+    }
+
+    @Benchmark
+    public void legacyInterimUpdate() {
+        // The previous MainFrame.updateInterimTranscription, with the interim line kept unterminated
+        // so that it is replaced rather than appended.
+        String transcription = "Interim result " + counter++;
+        String existingText = legacyArea.getText();
+        int lastNewline = existingText.lastIndexOf('\n');
+        if (lastNewline != -1 && existingText.substring(lastNewline + 1).startsWith("Interviewer (Interim):")) {
+            legacyArea.replaceRange("Interviewer (Interim): '" + transcription + "'", lastNewline + 1, existingText.length());
+        } else {
+            legacyArea.append("Interviewer (Interim): '" + transcription + "'");
+        }
+        legacyArea.setCaretPosition(legacyArea.getDocument().getLength());
+    }
+
+    @Benchmark
+    public void viewModelInterimUpdate() {
+        viewModel.showInterim("Interviewer (Interim): 'Interim result " + counter++ + "'\n");
+        area.setCaretPosition(area.getDocument().getLength());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(TranscriptViewModelBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,71 @@
+package com.quilot.ui;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.text.BadLocationException;
+import javax.swing.text.PlainDocument;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link TranscriptViewModel} class.
+ */
+class TranscriptViewModelTest {
+
+    private final PlainDocument document = new PlainDocument();
+    private final TranscriptViewModel viewModel = new TranscriptViewModel(document);
+
+    @Test
+    @DisplayName("Should replace the previous interim line instead of appending another")
+    void showInterim_Twice_ReplacesInterimLine() throws BadLocationException {
+        viewModel.commit("Interviewer (Final): 'Hello'\n");
+
+        viewModel.showInterim("Interviewer (Interim): 'Tell me'\n");
+        viewModel.showInterim("Interviewer (Interim): 'Tell me about yourself'\n");
+
+        assertEquals("Interviewer (Final): 'Hello'\nInterviewer (Interim): 'Tell me about yourself'\n", text());
+        assertEquals("Interviewer (Interim): 'Tell me about yourself'\n".length(), viewModel.getInterimLength());
+    }
+
+    @Test
+    @DisplayName("Should replace the interim line with the committed line")
+    void commit_AfterInterim_ReplacesInterimLine() throws BadLocationException {
+        viewModel.showInterim("Interviewer (Interim): 'Why'\n");
+
+        viewModel.commit("Interviewer (Final): 'Why Java?'\n");
+        viewModel.showInterim("Interviewer (Interim): 'And'\n");
+
+        assertEquals("Interviewer (Final): 'Why Java?'\nInterviewer (Interim): 'And'\n", text());
+    }
+
+    @Test
+    @DisplayName("Should remove only the interim line when cleared")
+    void clearInterim_RemovesInterimLine() throws BadLocationException {
+        viewModel.commit("Interviewer (Final): 'Hello'\n");
+        viewModel.showInterim("Interviewer (Interim): 'Uh'\n");
+
+        viewModel.clearInterim();
+        viewModel.clearInterim();
+
+        assertEquals("Interviewer (Final): 'Hello'\n", text());
+        assertEquals(0, viewModel.getInterimLength());
+    }
+
+    @Test
+    @DisplayName("Should keep tracking the interim line after text is removed from the start")
+    void showInterim_AfterHeadTrimmed_ReplacesInterimLine() throws BadLocationException {
+        viewModel.commit("Line 1\n");
+        viewModel.commit("Line 2\n");
+        viewModel.showInterim("Interim A\n");
+
+        document.remove(0, "Line 1\n".length());
+        viewModel.showInterim("Interim B\n");
+
+        assertEquals("Line 2\nInterim B\n", text());
+    }
+
+    private String text() throws BadLocationException {
+        return document.getText(0, document.getLength());
+    }
+}
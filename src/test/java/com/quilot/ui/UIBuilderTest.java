@@ -28,7 +28,7 @@ class UIBuilderTest {
 
     @BeforeEach
     void setUp() {
-        uiBuilder = new UIBuilder(mockAudioOutputService, mockAudioInputService, mockTimerManager);
+        uiBuilder = new UIBuilder(mockAudioOutputService, mockAudioInputService, mockTimerManager, () -> null);
     }
 
     @Test
@@ -39,6 +39,7 @@ class UIBuilderTest {
         assertNotNull(uiBuilder.getTranscribedAudioPanelBuilder(), "TranscribedAudioPanelBuilder should not be null.");
         assertNotNull(uiBuilder.getAiResponsePanelBuilder(), "AIResponsePanelBuilder should not be null.");
         assertNotNull(uiBuilder.getLogPanelBuilder(), "LogPanelBuilder should not be null.");
+        assertNotNull(uiBuilder.getDiagnosticsPanelBuilder(), "DiagnosticsPanelBuilder should not be null.");
         assertNotNull(uiBuilder.getStatusBar(), "StatusBar should not be null.");
     }
 
@@ -0,0 +1,162 @@
+package com.quilot.ui;
+
+import com.quilot.metrics.MetricNames;
+import com.quilot.metrics.MetricsRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link UiUpdateScheduler} class.
+ */
+@ExtendWith(MockitoExtension.class)
+class UiUpdateSchedulerTest {
+
+    private static final long FRAME_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    @Mock
+    private ScheduledExecutorService mockTimer;
+
+    private final Queue<Runnable> edtQueue = new ArrayDeque<>();
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+    private final MetricsRegistry registry = new MetricsRegistry();
+    private final List<String> applied = new ArrayList<>();
+    private UiUpdateScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new UiUpdateScheduler(10, edtQueue::add, mockTimer, clock::get, registry);
+    }
+
+    private void runEdt() {
+        while (!edtQueue.isEmpty()) {
+            edtQueue.poll().run();
+        }
+    }
+
+    @Test
+    @DisplayName("Should apply only the latest update of a key")
+    void replace_SameKey_AppliesLatestOnly() {
+        scheduler.replace("status", () -> applied.add("Listening"));
+        scheduler.replace("status", () -> applied.add("Thinking"));
+        scheduler.replace("status", () -> applied.add("Ready"));
+
+        assertEquals(1, edtQueue.size(), "One frame should be posted for all updates.");
+        runEdt();
+
+        assertEquals(List.of("Ready"), applied);
+        assertEquals(3, registry.getCount(MetricNames.UI_UPDATES_SUBMITTED));
+        assertEquals(2, registry.getCount(MetricNames.UI_UPDATES_MERGED));
+        assertEquals(1, registry.getCount(MetricNames.UI_FRAMES));
+    }
+
+    @Test
+    @DisplayName("Should append all text of a key in one call, in submission order of keys")
+    void append_SameKey_ConcatenatesText() {
+        scheduler.append("log", "first\n", applied::add);
+        scheduler.replace("status", () -> applied.add("status"));
+        scheduler.append("log", "second\n", applied::add);
+
+        runEdt();
+
+        assertEquals(List.of("first\nsecond\n", "status"), applied);
+        assertEquals(1, registry.getCount(MetricNames.UI_UPDATES_MERGED));
+    }
+
+    @Test
+    @DisplayName("Should drop text beyond the pending limit and count it")
+    void append_BeyondLimit_DropsText() {
+        scheduler.append("log", "x".repeat(UiUpdateScheduler.MAX_PENDING_CHARS), applied::add);
+        scheduler.append("log", "overflow", applied::add);
+
+        runEdt();
+
+        assertEquals(UiUpdateScheduler.MAX_PENDING_CHARS, applied.getFirst().length());
+        assertEquals(1, registry.getCount(MetricNames.UI_UPDATES_DROPPED));
+    }
+
+    @Test
+    @DisplayName("Should not apply a cancelled update")
+    void cancel_PendingUpdate_IsNotApplied() {
+        scheduler.replace("transcript.interim", () -> applied.add("interim"));
+        scheduler.append("log", "line\n", applied::add);
+
+        scheduler.cancel("transcript.interim");
+        runEdt();
+
+        assertEquals(List.of("line\n"), applied);
+    }
+
+    @Test
+    @DisplayName("Should delay the next frame until the frame interval has passed")
+    void replace_WithinFrameInterval_SchedulesDelayedFrame() {
+        scheduler.replace("status", () -> applied.add("first"));
+        runEdt();
+        clock.addAndGet(FRAME_NANOS / 4);
+
+        scheduler.replace("status", () -> applied.add("second"));
+
+        assertTrue(edtQueue.isEmpty(), "The frame must not be posted before the interval has passed.");
+        ArgumentCaptor<Runnable> postFrame = ArgumentCaptor.forClass(Runnable.class);
+        verify(mockTimer).schedule(postFrame.capture(), eq(FRAME_NANOS * 3 / 4), eq(TimeUnit.NANOSECONDS));
+
+        clock.addAndGet(FRAME_NANOS * 3 / 4);
+        postFrame.getValue().run();
+        runEdt();
+        assertEquals(List.of("first", "second"), applied);
+    }
+
+    @Test
+    @DisplayName("Should record the time between posting a frame and running it")
+    void runFrame_RecordsEdtLag() {
+        scheduler.replace("status", () -> applied.add("status"));
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(40));
+
+        runEdt();
+
+        assertEquals(1, registry.histogram(MetricNames.UI_EDT_LAG).getCount());
+        assertEquals(40, registry.histogram(MetricNames.UI_EDT_LAG).getPercentileMillis(95), 2);
+    }
+
+    @Test
+    @DisplayName("Should keep applying updates after one of them fails")
+    void runFrame_UpdateThrows_AppliesOthers() {
+        scheduler.replace("broken", () -> {
+            throw new IllegalStateException("boom");
+        });
+        scheduler.replace("status", () -> applied.add("status"));
+
+        runEdt();
+
+        assertEquals(List.of("status"), applied);
+    }
+
+    @Test
+    @DisplayName("Should ignore updates after being closed")
+    void close_DiscardsUpdates() {
+        scheduler.close();
+
+        scheduler.replace("status", () -> applied.add("status"));
+
+        assertTrue(edtQueue.isEmpty());
+        verify(mockTimer).shutdownNow();
+        verify(mockTimer, never()).schedule(any(Runnable.class), anyLong(), any());
+    }
+}
@@ -0,0 +1,69 @@
+package com.quilot.ui.builders;
+
+import com.quilot.metrics.DiagnosticsSampler.Snapshot;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link DiagnosticsPanelBuilder} class.
+ */
+class DiagnosticsPanelBuilderTest {
+
+    private final AtomicReference<Snapshot> latest = new AtomicReference<>();
+
+    @Test
+    @DisplayName("Should build a non-null JPanel")
+    void build_ReturnsNonNullPanel() {
+        DiagnosticsPanelBuilder panelBuilder = new DiagnosticsPanelBuilder(latest::get);
+
+        JPanel panel = panelBuilder.build();
+
+        assertNotNull(panel, "The built panel should not be null.");
+    }
+
+    @Test
+    @DisplayName("Should show placeholders until the first snapshot is available")
+    void refresh_WithoutSnapshot_ShowsPlaceholders() {
+        DiagnosticsPanelBuilder panelBuilder = new DiagnosticsPanelBuilder(latest::get);
+
+        panelBuilder.refresh();
+
+        assertEquals("–", panelBuilder.getAudioFramesLabel().getText());
+        assertEquals("–", panelBuilder.getHeapLabel().getText());
+    }
+
+    @Test
+    @DisplayName("Should format the latest snapshot into the labels")
+    void refresh_WithSnapshot_UpdatesLabels() {
+        DiagnosticsPanelBuilder panelBuilder = new DiagnosticsPanelBuilder(latest::get);
+        latest.set(new Snapshot(16_000, 32_000, 2, -1, 1, 0, 251_500, 400, 900, 1200, 2500, 35, 64L << 20, 256L << 20));
+
+        panelBuilder.refresh();
+
+        assertEquals(String.format("%,d", 16_000), panelBuilder.getAudioFramesLabel().getText());
+        assertEquals("251 s", panelBuilder.getStreamRestartLabel().getText());
+        assertEquals("2 / –", panelBuilder.getDbBacklogLabel().getText(), "A stopped recorder is shown as unavailable.");
+        assertEquals("1 / 0", panelBuilder.getQueueDepthsLabel().getText());
+        assertEquals("400 / 900 ms", panelBuilder.getAiFirstTokenLabel().getText());
+        assertEquals("1200 / 2500 ms", panelBuilder.getAiTotalLabel().getText());
+        assertEquals("35 ms", panelBuilder.getEdtLagLabel().getText());
+        assertEquals("64 / 256 MB", panelBuilder.getHeapLabel().getText());
+    }
+
+    @Test
+    @DisplayName("Should show an inactive stream as unavailable")
+    void refresh_StreamInactive_ShowsPlaceholder() {
+        DiagnosticsPanelBuilder panelBuilder = new DiagnosticsPanelBuilder(latest::get);
+        latest.set(new Snapshot(0, 0, 0, 0, 0, 0, -1, 0, 0, 0, 0, 0, 0, -1));
+
+        panelBuilder.refresh();
+
+        assertEquals("–", panelBuilder.getStreamRestartLabel().getText());
+        assertEquals("0 / – MB", panelBuilder.getHeapLabel().getText());
+    }
+}
@@ -68,7 +68,7 @@ class CredentialsSetupDialogTest {
 
         dialog.getTestButton().doClick();
 
-        verify(mockSpeechToTextService, times(1)).testCredentials();
+        verify(mockSpeechToTextService, timeout(1000).times(1)).testCredentials();
     }
 
     @Test
@@ -82,6 +82,6 @@ class CredentialsSetupDialogTest {
 
         dialog.getTestButton().doClick();
 
-        verify(mockSpeechToTextService, times(1)).testCredentials();
+        verify(mockSpeechToTextService, timeout(1000).times(1)).testCredentials();
     }
 }
@@ -12,6 +12,7 @@ import javax.swing.*;
 import java.sql.SQLException;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -74,4 +75,17 @@ class DatabaseSetupDialogTest {
 
         mockedDatabaseManager.verify(() -> DatabaseManager.saveCredentials(anyString(), anyString()), never());
     }
+
+    @Test
+    @DisplayName("Should set up the embedded database without credentials when selected")
+    void onSetup_WithEmbeddedSelected_SetsUpEmbeddedDatabase() {
+        dialog.getEmbeddedRadio().doClick();
+
+        assertFalse(dialog.getUserField().isEnabled());
+        dialog.getSetupButton().doClick();
+
+        mockedDatabaseManager.verify(DatabaseManager::setupEmbeddedDatabase, times(1));
+        mockedDatabaseManager.verify(() -> DatabaseManager.setupDatabaseSchema(anyString(), anyString()), never());
+        mockedDatabaseManager.verify(() -> DatabaseManager.saveCredentials(anyString(), anyString()), never());
+    }
 }
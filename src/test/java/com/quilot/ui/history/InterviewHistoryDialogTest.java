@@ -15,6 +15,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 /**
@@ -32,7 +33,7 @@ class InterviewHistoryDialogTest {
 
     @Test
     @DisplayName("Should load and display interviews when DAO returns data")
-    void loadInterviews_WithData_PopulatesList() throws SQLException {
+    void loadInterviews_WithData_PopulatesList() throws Exception {
         // Arrange
         Interview interview1 = new Interview();
         interview1.setId(1);
@@ -44,10 +45,11 @@ class InterviewHistoryDialogTest {
         interview2.setTitle("Test Interview 2");
         interview2.setInterviewDate(LocalDateTime.now());
 
-        when(mockInterviewDao.getAllInterviews()).thenReturn(List.of(interview1, interview2));
+        when(mockInterviewDao.getInterviewPage(isNull(), anyInt())).thenReturn(List.of(interview1, interview2));
 
         // Act
         dialog = new InterviewHistoryDialog(null, mockInterviewDao, mockAudioOutputService);
+        awaitPageLoad();
         JList<Interview> list = dialog.getInterviewList();
 
         // Assert
@@ -56,10 +58,11 @@ class InterviewHistoryDialogTest {
 
     @Test
     @DisplayName("Should show an empty list when DAO throws an exception")
-    void loadInterviews_WhenDaoFails_ShowsEmptyList() throws SQLException {
-        when(mockInterviewDao.getAllInterviews()).thenThrow(new SQLException("Database connection failed"));
+    void loadInterviews_WhenDaoFails_ShowsEmptyList() throws Exception {
+        when(mockInterviewDao.getInterviewPage(isNull(), anyInt())).thenThrow(new SQLException("Database connection failed"));
 
         dialog = new InterviewHistoryDialog(null, mockInterviewDao, mockAudioOutputService);
+        awaitPageLoad();
         JList<Interview> list = dialog.getInterviewList();
 
         assertEquals(0, list.getModel().getSize(), "The list should be empty when the DAO throws an exception.");
@@ -67,9 +70,10 @@ class InterviewHistoryDialogTest {
 
     @Test
     @DisplayName("Delete button should not call DAO if no item is selected")
-    void deleteSelectedInterview_NoSelection_DoesNotCallDao() throws SQLException {
-        when(mockInterviewDao.getAllInterviews()).thenReturn(List.of(new Interview()));
+    void deleteSelectedInterview_NoSelection_DoesNotCallDao() throws Exception {
+        when(mockInterviewDao.getInterviewPage(isNull(), anyInt())).thenReturn(List.of(new Interview()));
         dialog = new InterviewHistoryDialog(null, mockInterviewDao, mockAudioOutputService);
+        awaitPageLoad();
 
         dialog.getInterviewList().clearSelection();
 
@@ -77,4 +81,13 @@ class InterviewHistoryDialogTest {
 
         verify(mockInterviewDao, never()).deleteInterview(anyInt());
     }
+
+    /** Waits until the dialog's first page has been fetched in the background and appended on the EDT. */
+    private void awaitPageLoad() throws Exception {
+        verify(mockInterviewDao, timeout(1000)).getInterviewPage(isNull(), anyInt());
+        boolean[] loading = {true};
+        for (int attempt = 0; attempt < 100 && loading[0]; attempt++) {
+            SwingUtilities.invokeAndWait(() -> loading[0] = dialog.getInterviewListModel().isLoading());
+        }
+    }
 }
@@ -58,6 +58,7 @@ class InterviewReviewDialogTest {
     @Test
     @DisplayName("Should load and format transcription entries correctly on initialization")
     void loadTranscription_Success_PopulatesTextArea() {
+        dialog.getTranscriptionLoaded().join();
         JTextArea transcriptArea = dialog.getTranscriptArea();
 
         String expectedText = "[10:30] Interviewer:\nHello there.\n\n[10:30:05] AI:\nHello! How can I help you?\n\n";
@@ -70,6 +71,7 @@ class InterviewReviewDialogTest {
         when(mockInterviewDao.getTranscriptionEntriesForInterview(1)).thenThrow(new SQLException("Test DB Error"));
 
         dialog = new InterviewReviewDialog(null, mockInterview, mockInterviewDao, mockAudioOutputService);
+        dialog.getTranscriptionLoaded().join();
 
         JTextArea transcriptArea = dialog.getTranscriptArea();
         assertTrue(transcriptArea.getText().contains("Error: Could not load transcription."),
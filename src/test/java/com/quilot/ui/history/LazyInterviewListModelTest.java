@@ -0,0 +1,136 @@
+package com.quilot.ui.history;
+
+import com.quilot.db.dao.InterviewDao;
+import com.quilot.db.model.Interview;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.swing.*;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link LazyInterviewListModel} class.
+ */
+@ExtendWith(MockitoExtension.class)
+class LazyInterviewListModelTest {
+
+    private static final int PAGE_SIZE = 30;
+
+    @Mock
+    private InterviewDao mockDao;
+    @Mock
+    private Consumer<SQLException> mockErrorHandler;
+
+    private LazyInterviewListModel model;
+
+    @BeforeEach
+    void setUp() {
+        model = new LazyInterviewListModel(mockDao, mockErrorHandler, PAGE_SIZE, Executors.newSingleThreadExecutor());
+    }
+
+    @AfterEach
+    void tearDown() {
+        model.close();
+    }
+
+    @Test
+    @DisplayName("Should request the next page after the last loaded interview when scrolling near the end")
+    void getElementAt_NearEnd_LoadsNextPageAfterLastRow() throws Exception {
+        List<Interview> firstPage = interviews(100, PAGE_SIZE);
+        List<Interview> secondPage = interviews(100 - PAGE_SIZE, 5);
+        when(mockDao.getInterviewPage(isNull(), eq(PAGE_SIZE))).thenReturn(firstPage);
+        when(mockDao.getInterviewPage(firstPage.getLast(), PAGE_SIZE)).thenReturn(secondPage);
+
+        onEdt(() -> model.loadNextPage());
+        awaitIdle();
+        assertEquals(PAGE_SIZE, onEdt(() -> model.getSize()));
+
+        onEdt(() -> model.getElementAt(0)); // Far from the end: no fetch
+        verify(mockDao, never()).getInterviewPage(firstPage.getLast(), PAGE_SIZE);
+
+        onEdt(() -> model.getElementAt(PAGE_SIZE - 1));
+        awaitIdle();
+
+        assertEquals(PAGE_SIZE + 5, onEdt(() -> model.getSize()));
+        assertTrue(onEdt(() -> model.isExhausted()), "A short page means there is nothing more to load");
+        assertEquals(100 - PAGE_SIZE, onEdt(() -> model.getElementAt(PAGE_SIZE)).getId());
+    }
+
+    @Test
+    @DisplayName("Should report a failed page and stop requesting pages until reloaded")
+    void loadNextPage_DaoFails_NotifiesErrorHandler() throws Exception {
+        SQLException failure = new SQLException("down");
+        when(mockDao.getInterviewPage(isNull(), eq(PAGE_SIZE))).thenThrow(failure);
+
+        onEdt(() -> model.loadNextPage());
+        awaitIdle();
+        onEdt(() -> model.loadNextPage());
+        awaitIdle();
+
+        verify(mockErrorHandler).accept(failure);
+        verify(mockDao, times(1)).getInterviewPage(isNull(), eq(PAGE_SIZE));
+    }
+
+    @Test
+    @DisplayName("Should remove a deleted interview by ID")
+    void remove_RemovesMatchingRow() throws Exception {
+        List<Interview> page = interviews(3, 3);
+        when(mockDao.getInterviewPage(isNull(), eq(PAGE_SIZE))).thenReturn(page);
+        onEdt(() -> model.loadNextPage());
+        awaitIdle();
+
+        Interview copy = new Interview();
+        copy.setId(2);
+        onEdt(() -> model.remove(copy));
+
+        assertEquals(2, onEdt(() -> model.getSize()));
+        assertEquals(1, onEdt(() -> model.getElementAt(1)).getId());
+    }
+
+    private void awaitIdle() throws Exception {
+        for (int attempt = 0; attempt < 200 && onEdt(() -> model.isLoading()); attempt++) {
+            Thread.sleep(5);
+        }
+        SwingUtilities.invokeAndWait(() -> { });
+    }
+
+    private static <T> T onEdt(java.util.function.Supplier<T> action) throws Exception {
+        AtomicReference<T> result = new AtomicReference<>();
+        SwingUtilities.invokeAndWait(() -> result.set(action.get()));
+        return result.get();
+    }
+
+    private static void onEdt(Runnable action) throws Exception {
+        SwingUtilities.invokeAndWait(action);
+    }
+
+    /** Interviews with descending IDs starting at {@code firstId}, most recent first. */
+    private static List<Interview> interviews(int firstId, int count) {
+        List<Interview> interviews = new ArrayList<>();
+        LocalDateTime date = LocalDateTime.of(2025, 1, 1, 12, 0);
+        for (int i = 0; i < count; i++) {
+            Interview interview = new Interview();
+            interview.setId(firstId - i);
+            interview.setTitle("Interview " + (firstId - i));
+            interview.setInterviewDate(date.minusMinutes(100 - firstId + i));
+            interviews.add(interview);
+        }
+        return interviews;
+    }
+}
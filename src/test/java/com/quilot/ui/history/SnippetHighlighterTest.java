@@ -0,0 +1,39 @@
+package com.quilot.ui.history;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link SnippetHighlighter} class.
+ */
+class SnippetHighlighterTest {
+
+    @Test
+    @DisplayName("Should bold every matching word case-insensitively and escape HTML")
+    void highlight_ShortText_BoldsMatchesAndEscapes() {
+        String html = SnippetHighlighter.highlight("Kafka <vs> kafka-streams & Pulsar", "KAFKA", 200);
+
+        assertEquals("<b>Kafka</b> &lt;vs&gt; <b>kafka</b>-streams &amp; Pulsar", html);
+    }
+
+    @Test
+    @DisplayName("Should centre long text on the first match and mark truncation with ellipses")
+    void highlight_LongText_ShowsWindowAroundMatch() {
+        String content = "word ".repeat(100) + "kafka " + "tail ".repeat(100);
+
+        String html = SnippetHighlighter.highlight(content, "kafka", 60);
+
+        assertTrue(html.startsWith("&hellip;"));
+        assertTrue(html.endsWith("&hellip;"));
+        assertTrue(html.contains("<b>kafka</b>"));
+        assertTrue(html.length() < 120);
+    }
+
+    @Test
+    @DisplayName("Should not match parts of words")
+    void highlight_PartialWord_IsNotBold() {
+        assertEquals("Kafkaesque", SnippetHighlighter.highlight("Kafkaesque", "kafka", 100));
+    }
+}
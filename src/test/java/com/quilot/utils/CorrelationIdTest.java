@@ -0,0 +1,62 @@
+package com.quilot.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link CorrelationId} class.
+ */
+class CorrelationIdTest {
+
+    @Test
+    @DisplayName("Should generate distinct IDs that share the run prefix")
+    void next_ReturnsDistinctIds() {
+        String first = CorrelationId.next();
+        String second = CorrelationId.next();
+
+        assertNotEquals(first, second);
+        assertEquals(first.substring(0, first.indexOf('-')), second.substring(0, second.indexOf('-')));
+        assertTrue(first.length() <= 32, "IDs must fit the correlation_id column.");
+    }
+
+    @Test
+    @DisplayName("Should restore the previous ID when a scope is closed")
+    void open_NestedScopes_RestorePreviousId() {
+        assertNull(CorrelationId.current());
+
+        try (CorrelationId.Scope _ = CorrelationId.open("outer")) {
+            try (CorrelationId.Scope _ = CorrelationId.open("inner")) {
+                assertEquals("inner", CorrelationId.current());
+            }
+            assertEquals("outer", CorrelationId.current());
+        }
+
+        assertNull(CorrelationId.current());
+    }
+
+    @Test
+    @DisplayName("Should carry the current ID to the thread that runs a wrapped task")
+    void wrap_RunsTaskWithCapturedId() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Runnable task;
+            CompletableFuture<String> seen = new CompletableFuture<>();
+            try (CorrelationId.Scope _ = CorrelationId.open("3f9a1c2e-17")) {
+                task = CorrelationId.wrap(() -> seen.complete(CorrelationId.current()));
+            }
+            executor.execute(task);
+
+            assertEquals("3f9a1c2e-17", seen.get(1, TimeUnit.SECONDS));
+            assertNull(executor.submit(CorrelationId::current).get(1, TimeUnit.SECONDS), "The worker must not keep the ID.");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
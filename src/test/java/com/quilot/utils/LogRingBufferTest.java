@@ -0,0 +1,107 @@
+package com.quilot.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link LogRingBuffer} class.
+ */
+class LogRingBufferTest {
+
+    @Test
+    @DisplayName("Should return elements in the order they were offered")
+    void poll_ReturnsElementsInOrder() {
+        LogRingBuffer<Integer> buffer = new LogRingBuffer<>(4);
+
+        assertTrue(buffer.isEmpty());
+        assertTrue(buffer.offer(1));
+        assertTrue(buffer.offer(2));
+
+        assertFalse(buffer.isEmpty());
+        assertEquals(1, buffer.poll());
+        assertEquals(2, buffer.poll());
+        assertNull(buffer.poll());
+        assertTrue(buffer.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should reject elements when full and accept them again once drained")
+    void offer_WhenFull_ReturnsFalse() {
+        LogRingBuffer<Integer> buffer = new LogRingBuffer<>(2);
+
+        assertTrue(buffer.offer(1));
+        assertTrue(buffer.offer(2));
+        assertFalse(buffer.offer(3));
+
+        assertEquals(1, buffer.poll());
+        assertTrue(buffer.offer(4));
+        assertEquals(2, buffer.poll());
+        assertEquals(4, buffer.poll());
+        assertEquals(3, buffer.producedCount());
+        assertEquals(3, buffer.consumedCount());
+    }
+
+    @Test
+    @DisplayName("Should reject a capacity that is not a power of two")
+    void constructor_InvalidCapacity_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> new LogRingBuffer<>(3));
+        assertThrows(IllegalArgumentException.class, () -> new LogRingBuffer<>(0));
+    }
+
+    @Test
+    @DisplayName("Should deliver every element exactly once with concurrent producers")
+    void offer_ConcurrentProducers_DeliversEveryElementOnce() throws InterruptedException {
+        int producers = 4;
+        int perProducer = 50_000;
+        LogRingBuffer<Integer> buffer = new LogRingBuffer<>(64);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < perProducer; i++) {
+                    while (!buffer.offer(producer * perProducer + i)) {
+                        Thread.onSpinWait();
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        start.countDown();
+        boolean[] seen = new boolean[producers * perProducer];
+        int[] lastPerProducer = new int[producers];
+        Arrays.fill(lastPerProducer, -1);
+        int received = 0;
+        while (received < seen.length) {
+            Integer value = buffer.poll();
+            if (value == null) {
+                Thread.onSpinWait();
+                continue;
+            }
+            assertFalse(seen[value], "Duplicate element " + value);
+            seen[value] = true;
+            int producer = value / perProducer;
+            assertTrue(value > lastPerProducer[producer], "Elements of one producer out of order");
+            lastPerProducer[producer] = value;
+            received++;
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertNull(buffer.poll());
+    }
+}
@@ -0,0 +1,140 @@
+package com.quilot.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the cost of a log call on the calling thread for the asynchronous {@link Logger} and
+ * the previous synchronized implementation, with four threads logging at once.
+ * <p>
+ * Not a unit test; run it manually from the IDE or with
+ * {@code java -cp target/classes:target/test-classes:<jmh jars> com.quilot.utils.LoggerBenchmark}.
+ * Both loggers write to files under {@code target/} and not to the console, so the comparison is
+ * not dominated by the terminal. The asynchronous logger drops messages when its writer cannot
+ * keep up with four threads logging in a tight loop; the number dropped is printed after each
+ * trial and should be read alongside the scores.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Dquilot.log.console=false", "-Dquilot.log.file=target/logger-benchmark.log"})
+@Threads(4)
+@State(Scope.Benchmark)
+public class LoggerBenchmark {
+
+    private LegacyLogger legacyLogger;
+    private long droppedBefore;
+    private int counter;
+
+    @Setup
+    public void setUp(BenchmarkParams params) throws IOException {
+        legacyLogger = new LegacyLogger("target/logger-benchmark-legacy.log");
+        Logger.setLevel(Logger.Level.INFO);
+        Logger.setCallerCapture(params.getBenchmark().endsWith("WithCaller"));
+        droppedBefore = Logger.getDroppedCount();
+    }
+
+    @TearDown
+    public void tearDown() {
+        Logger.flush();
+        legacyLogger.close();
+        System.out.printf("%nAsync logger dropped %d message(s) in this trial.%n", Logger.getDroppedCount() - droppedBefore);
+    }
+
+    @Benchmark
+    public void legacyInfo() {
+        legacyLogger.info("Transcription result received: " + counter++);
+    }
+
+    @Benchmark
+    public void asyncInfo() {
+        Logger.info("Transcription result received: " + counter++);
+    }
+
+    @Benchmark
+    public void asyncInfoWithCaller() {
+        Logger.info("Transcription result received: " + counter++);
+    }
+
+    @Benchmark
+    public void asyncDisabledDebug() {
+        Logger.debug("Transcription result received.");
+    }
+
+    @Benchmark
+    public void asyncDisabledDebugLazy() {
+        Logger.debug(() -> "Transcription result received: " + counter++);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(LoggerBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    /**
+     * The synchronized logger this class replaced: caller lookup through the full stack trace,
+     * {@code String.format}, and an autoflushing writer. The console stream discards its output.
+     */
+    static final class LegacyLogger {
+
+        private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+        private final PrintWriter writer;
+        private final PrintStream console = new PrintStream(OutputStream.nullOutputStream());
+
+        LegacyLogger(String fileName) throws IOException {
+            this.writer = new PrintWriter(new FileWriter(fileName, true), true);
+        }
+
+        void info(String message) {
+            log("INFO", message);
+        }
+
+        private synchronized void log(String level, String message) {
+            String timestamp = LocalDateTime.now().format(FORMATTER);
+            String caller = getCallerInfo();
+            String logEntry = String.format("[%s] [%s] [%s] %s", timestamp, level, caller, message);
+
+            console.println(logEntry);
+            writer.println(logEntry);
+        }
+
+        private String getCallerInfo() {
+            StackTraceElement[] stack = Thread.currentThread().getStackTrace();
+            for (int i = 3; i < stack.length; i++) {
+                String className = stack[i].getClassName();
+                if (!className.equals(LegacyLogger.class.getName())) {
+                    return className.substring(className.lastIndexOf('.') + 1) + "." + stack[i].getMethodName() + "()";
+                }
+            }
+            return "Unknown";
+        }
+
+        void close() {
+            writer.close();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.quilot.utils;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link Logger} class.
+ */
+class LoggerTest {
+
+    private Logger.Level originalLevel;
+
+    @BeforeEach
+    void setUp() {
+        originalLevel = Logger.getLevel();
+    }
+
+    @AfterEach
+    void tearDown() {
+        Logger.setLevel(originalLevel);
+    }
+
+    @Test
+    @DisplayName("Should only enable levels at or above the threshold")
+    void isEnabled_RespectsThreshold() {
+        Logger.setLevel(Logger.Level.WARN);
+
+        assertFalse(Logger.isEnabled(Logger.Level.DEBUG));
+        assertFalse(Logger.isEnabled(Logger.Level.INFO));
+        assertTrue(Logger.isEnabled(Logger.Level.WARN));
+        assertTrue(Logger.isEnabled(Logger.Level.ERROR));
+    }
+
+    @Test
+    @DisplayName("Should not build a DEBUG message when DEBUG is disabled")
+    void debug_Disabled_DoesNotCallSupplier() {
+        Logger.setLevel(Logger.Level.INFO);
+        AtomicInteger calls = new AtomicInteger();
+
+        Logger.debug(() -> "expensive " + calls.incrementAndGet());
+
+        assertEquals(0, calls.get());
+    }
+
+    @Test
+    @DisplayName("Should build a DEBUG message when DEBUG is enabled")
+    void debug_Enabled_CallsSupplier() {
+        Logger.setLevel(Logger.Level.DEBUG);
+        AtomicInteger calls = new AtomicInteger();
+
+        Logger.debug(() -> "expensive " + calls.incrementAndGet());
+        Logger.flush();
+
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    @DisplayName("Should return from flush once messages from many threads are written")
+    void flush_AfterConcurrentLogging_Returns() throws InterruptedException {
+        Thread[] threads = new Thread[4];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                for (int n = 0; n < 100; n++) {
+                    Logger.info("LoggerTest message " + n);
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        long start = System.nanoTime();
+        Logger.flush();
+
+        assertTrue(System.nanoTime() - start < 1_500_000_000L, "flush() should not wait for its timeout");
+    }
+
+    @Test
+    @DisplayName("Should escape quotes, backslashes and control characters in JSON strings")
+    void appendJsonString_EscapesSpecialCharacters() {
+        StringBuilder out = new StringBuilder();
+
+        Logger.appendJsonString(out, "say \"hi\"\\\n\tend\u0001");
+
+        assertEquals("\"say \\\"hi\\\"\\\\\\n\\tend\\u0001\"", out.toString());
+    }
+}
@@ -0,0 +1,133 @@
+package com.quilot.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link RollingLogFile} class.
+ */
+class RollingLogFileTest {
+
+    private static final Instant START = Instant.parse("2026-03-01T10:00:00Z");
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Should roll over and gzip the file when it would exceed the size limit")
+    void write_ExceedsMaxFileSize_RollsAndCompresses() throws IOException {
+        Path file = directory.resolve("app.log");
+        RollingLogFile log = new RollingLogFile(file, 20, Long.MAX_VALUE, new MutableClock(START), Runnable::run);
+
+        log.write("first line 0123456\n");
+        log.write("second line\n");
+        log.close();
+
+        assertEquals("second line\n", Files.readString(file));
+        Path archive = directory.resolve("app.2026-03-01.1.log.gz");
+        assertTrue(Files.exists(archive));
+        assertFalse(Files.exists(directory.resolve("app.2026-03-01.1.log")));
+        assertEquals("first line 0123456\n", gunzip(archive));
+    }
+
+    @Test
+    @DisplayName("Should roll over when the day changes and name the archive after the old day")
+    void write_DayChanges_RollsOver() throws IOException {
+        Path file = directory.resolve("app.log");
+        MutableClock clock = new MutableClock(START);
+        RollingLogFile log = new RollingLogFile(file, Long.MAX_VALUE, Long.MAX_VALUE, clock, Runnable::run);
+
+        log.write("monday\n");
+        clock.advance(Duration.ofDays(1));
+        log.write("tuesday\n");
+        log.close();
+
+        assertEquals("tuesday\n", Files.readString(file));
+        assertEquals("monday\n", gunzip(directory.resolve("app.2026-03-01.1.log.gz")));
+    }
+
+    @Test
+    @DisplayName("Should delete the oldest archives once the total size limit is exceeded")
+    void write_ExceedsMaxTotalSize_DeletesOldestArchives() throws IOException {
+        Path file = directory.resolve("app.log");
+        String line = "x".repeat(2000) + "\n"; // Compresses to well under 100 bytes
+        RollingLogFile log = new RollingLogFile(file, line.length(), line.length() + 150, new MutableClock(START), Runnable::run);
+
+        for (int i = 0; i < 6; i++) {
+            log.write(line);
+        }
+        log.close();
+
+        List<Path> archives = log.listArchives();
+        long total = Files.size(file);
+        for (Path archive : archives) {
+            total += Files.size(archive);
+        }
+        assertTrue(total <= line.length() + 150, "Log takes " + total + " bytes");
+        assertFalse(archives.isEmpty());
+        assertFalse(Files.exists(directory.resolve("app.2026-03-01.1.log.gz")), "The oldest archive should be deleted first");
+        assertTrue(Files.exists(directory.resolve("app.2026-03-01.5.log.gz")), "The newest archive should be kept");
+    }
+
+    @Test
+    @DisplayName("Should compress rolled files left uncompressed by a previous run")
+    void constructor_UncompressedLeftover_CompressesIt() throws IOException {
+        Path leftover = directory.resolve("app.2026-02-28.1.log");
+        Files.writeString(leftover, "left over\n");
+
+        new RollingLogFile(directory.resolve("app.log"), Long.MAX_VALUE, Long.MAX_VALUE, new MutableClock(START), Runnable::run).close();
+
+        assertFalse(Files.exists(leftover));
+        assertEquals("left over\n", gunzip(directory.resolve("app.2026-02-28.1.log.gz")));
+    }
+
+    private static String gunzip(Path archive) throws IOException {
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(archive))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
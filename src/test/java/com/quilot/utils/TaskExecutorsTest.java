@@ -0,0 +1,75 @@
+package com.quilot.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.*;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link TaskExecutors} class.
+ */
+class TaskExecutorsTest {
+
+    @Test
+    @DisplayName("Should run I/O tasks on virtual threads")
+    void io_RunsOnVirtualThread() throws Exception {
+        Thread thread = TaskExecutors.io("Test", Thread::currentThread).get(5, TimeUnit.SECONDS);
+
+        assertTrue(thread.isVirtual());
+    }
+
+    @Test
+    @DisplayName("Should run CPU tasks on the bounded pool of platform threads")
+    void cpu_RunsOnPlatformThread() throws Exception {
+        Thread thread = TaskExecutors.cpu("Test", Thread::currentThread).get(5, TimeUnit.SECONDS);
+
+        assertFalse(thread.isVirtual());
+        assertTrue(thread.getName().startsWith("CpuTaskThread-"));
+    }
+
+    @Test
+    @DisplayName("Should complete with the exception the task threw")
+    void io_TaskThrows_CompletesExceptionally() {
+        CompletableFuture<Object> future = TaskExecutors.io("Test", () -> {
+            throw new IOException("disk full");
+        });
+
+        CompletionException error = assertThrows(CompletionException.class, future::join);
+        assertInstanceOf(IOException.class, TaskExecutors.unwrap(error));
+    }
+
+    @Test
+    @DisplayName("Should run completion callbacks on the EDT")
+    void edt_RunsCallbacksOnEdt() {
+        AtomicBoolean onEdt = new AtomicBoolean();
+
+        TaskExecutors.io("Test", () -> 42)
+                .thenAcceptAsync(_ -> onEdt.set(SwingUtilities.isEventDispatchThread()), TaskExecutors.edt())
+                .join();
+
+        assertTrue(onEdt.get());
+    }
+
+    @Test
+    @DisplayName("Should carry the current correlation ID into the task")
+    void io_PropagatesCorrelationId() {
+        AtomicReference<String> seen = new AtomicReference<>();
+
+        try (CorrelationId.Scope _ = CorrelationId.open("abc-1")) {
+            TaskExecutors.io("Test", () -> {
+                seen.set(CorrelationId.current());
+                return null;
+            }).join();
+        }
+
+        assertEquals("abc-1", seen.get());
+    }
+}